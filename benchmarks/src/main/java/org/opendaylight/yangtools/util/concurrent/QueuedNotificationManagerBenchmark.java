@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util.concurrent;
+
+import com.google.common.collect.ImmutableList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark comparing {@link DispatchQueueType}s of a {@link QueuedNotificationManager}. Each operation has a number of
+ * producer threads submit notifications to a single listener and completes once the listener has seen all of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class QueuedNotificationManagerBenchmark {
+    private static final class Listener {
+        private CountDownLatch done;
+        private int remaining;
+
+        CountDownLatch expect(final int count) {
+            // Happens-before the invoker through notification submission
+            remaining = count;
+            done = new CountDownLatch(1);
+            return done;
+        }
+
+        void onNotifications(final ImmutableList<Integer> notifications) {
+            // Invoked serially by the manager
+            remaining -= notifications.size();
+            if (remaining == 0) {
+                done.countDown();
+            }
+        }
+    }
+
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+
+    private static final int NOTIFICATIONS = 100000;
+    private static final int QUEUE_CAPACITY = 1000;
+    private static final Integer NOTIFICATION = 42;
+
+    @Param({ "1", "2", "4", "8", "16", "32", "64" })
+    public int producers;
+
+    @Param
+    public DispatchQueueType queueType;
+
+    private final Listener listener = new Listener();
+
+    private ExecutorService dispatchExecutor;
+    private ExecutorService producerExecutor;
+    private QueuedNotificationManager<Listener, Integer> manager;
+    private int notificationsPerProducer;
+
+    public static void main(final String... args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + QueuedNotificationManagerBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        dispatchExecutor = Executors.newSingleThreadExecutor();
+        producerExecutor = Executors.newFixedThreadPool(producers);
+        manager = QueuedNotificationManager.create(dispatchExecutor, Listener::onNotifications, QUEUE_CAPACITY,
+            "benchmark", queueType);
+        notificationsPerProducer = NOTIFICATIONS / producers;
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        producerExecutor.shutdownNow();
+        dispatchExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public void submitNotifications() throws InterruptedException {
+        final CountDownLatch done = listener.expect(producers * notificationsPerProducer);
+        for (int i = 0; i < producers; ++i) {
+            producerExecutor.execute(this::produce);
+        }
+        done.await();
+    }
+
+    private void produce() {
+        for (int i = 0; i < notificationsPerProducer; ++i) {
+            manager.submitNotification(listener, NOTIFICATION);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec;
+
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.Uint32;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedAnydata;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.ListNodeBuilder;
+import org.opendaylight.yangtools.yang.data.util.ImmutableNormalizedAnydata;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+/**
+ * Model and data used by {@link NormalizedNodeCodecBenchmark}. The data tree consists of a deep chain of containers,
+ * a keyed list with leaves of union, identityref and instance-identifier types and, optionally, an anydata node.
+ */
+final class CodecBenchmarkModel {
+    static final QName TOP = QName.create("urn:opendaylight:yangtools:benchmark:codec", "2020-06-01", "top").intern();
+    static final QName LEVEL_1 = QName.create(TOP, "level-1").intern();
+    static final QName LEVEL_2 = QName.create(TOP, "level-2").intern();
+    static final QName LEVEL_3 = QName.create(TOP, "level-3").intern();
+    static final QName LEVEL_4 = QName.create(TOP, "level-4").intern();
+    static final QName LEVEL_5 = QName.create(TOP, "level-5").intern();
+    static final QName DEPTH = QName.create(TOP, "depth").intern();
+    static final QName ENTRY = QName.create(TOP, "entry").intern();
+    static final QName ID = QName.create(TOP, "id").intern();
+    static final QName NAME = QName.create(TOP, "name").intern();
+    static final QName VALUE = QName.create(TOP, "value").intern();
+    static final QName KIND = QName.create(TOP, "kind").intern();
+    static final QName TARGET = QName.create(TOP, "target").intern();
+    static final QName NESTED = QName.create(TOP, "nested").intern();
+    static final QName TAG = QName.create(TOP, "tag").intern();
+    static final QName PAYLOAD = QName.create(TOP, "payload").intern();
+    static final QName KIND_ONE = QName.create(TOP, "kind-one").intern();
+    static final QName KIND_TWO = QName.create(TOP, "kind-two").intern();
+
+    private static final int TAGS_PER_ENTRY = 3;
+
+    private CodecBenchmarkModel() {
+
+    }
+
+    static EffectiveModelContext createContext() {
+        return YangParserTestUtils.parseYangResource("/codec-benchmark.yang");
+    }
+
+    /**
+     * Create the {@code top} container.
+     *
+     * @param context Model context
+     * @param entries Number of entries in the list
+     * @param withAnydata True if the anydata node should be populated
+     * @return Data tree
+     */
+    static ContainerNode createData(final EffectiveModelContext context, final int entries,
+            final boolean withAnydata) {
+        final DataContainerNodeBuilder<NodeIdentifier, ContainerNode> top = Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(TOP))
+            .withChild(createLevels())
+            .withChild(createEntries(entries));
+
+        if (withAnydata) {
+            top.withChild(Builders.anydataBuilder(NormalizedAnydata.class)
+                .withNodeIdentifier(new NodeIdentifier(PAYLOAD))
+                .withValue(new ImmutableNormalizedAnydata(context,
+                    context.findDataTreeChild(TOP, LEVEL_1).orElseThrow(), createLevels()))
+                .build());
+        }
+        return top.build();
+    }
+
+    private static ContainerNode createLevels() {
+        ContainerNode level = Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(LEVEL_5))
+            .withChild(ImmutableNodes.leafNode(DEPTH, "bottom"))
+            .build();
+        for (QName name : new QName[] { LEVEL_4, LEVEL_3, LEVEL_2, LEVEL_1 }) {
+            level = Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(name)).withChild(level).build();
+        }
+        return level;
+    }
+
+    private static MapNode createEntries(final int entries) {
+        final CollectionNodeBuilder<MapEntryNode, MapNode> list = ImmutableNodes.mapNodeBuilder(ENTRY);
+        for (int i = 0; i < entries; ++i) {
+            final Uint32 id = Uint32.valueOf(i);
+
+            final ListNodeBuilder<String, LeafSetEntryNode<String>> tags = Builders.<String>leafSetBuilder()
+                .withNodeIdentifier(new NodeIdentifier(TAG));
+            for (int j = 0; j < TAGS_PER_ENTRY; ++j) {
+                final String tag = "tag-" + j;
+                tags.withChild(Builders.<String>leafSetEntryBuilder()
+                    .withNodeIdentifier(new NodeWithValue<>(TAG, tag))
+                    .withValue(tag)
+                    .build());
+            }
+
+            list.withChild(ImmutableNodes.mapEntryBuilder(ENTRY, ID, id)
+                .withChild(ImmutableNodes.leafNode(NAME, "Entry number " + i))
+                // Alternate between both members of the union
+                .withChild(ImmutableNodes.leafNode(VALUE, i % 2 == 0 ? (Object) i : "value-" + i))
+                .withChild(ImmutableNodes.leafNode(KIND, i % 2 == 0 ? KIND_ONE : KIND_TWO))
+                .withChild(ImmutableNodes.leafNode(TARGET, YangInstanceIdentifier.builder()
+                    .node(TOP)
+                    .node(ENTRY)
+                    .nodeWithKey(ENTRY, ID, id)
+                    .node(NAME)
+                    .build()))
+                .withChild(Builders.containerBuilder()
+                    .withNodeIdentifier(new NodeIdentifier(NESTED))
+                    .withChild(tags.build())
+                    .build())
+                .build());
+        }
+        return list.build();
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.gson.stream.JsonReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import org.opendaylight.yangtools.util.xml.UntrustedXML;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeWriter;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeDataInput;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeDataOutput;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeStreamVersion;
+import org.opendaylight.yangtools.yang.data.codec.gson.JSONCodecFactory;
+import org.opendaylight.yangtools.yang.data.codec.gson.JSONCodecFactorySupplier;
+import org.opendaylight.yangtools.yang.data.codec.gson.JSONNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.codec.gson.JsonParserStream;
+import org.opendaylight.yangtools.yang.data.codec.gson.JsonWriterFactory;
+import org.opendaylight.yangtools.yang.data.codec.xml.XMLStreamNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.codec.xml.XmlCodecFactory;
+import org.opendaylight.yangtools.yang.data.codec.xml.XmlParserStream;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark of serializing and parsing a {@link CodecBenchmarkModel} data tree in each of the supported formats. Run
+ * via {@link #main(String...)} to have allocation rates reported by {@link GCProfiler}.
+ *
+ * <p>
+ * The anydata node is populated only for {@link Format#XML}, as neither {@link JsonParserStream} nor the binary
+ * formats support it. {@link Format#JSON_STREAMING} differs from {@link Format#JSON} only in parsing, which does not
+ * buffer the document before emitting it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+public class NormalizedNodeCodecBenchmark {
+    public enum Format {
+        JSON {
+            @Override
+            Codec newCodec(final EffectiveModelContext context) {
+                return new JsonCodec(context, false);
+            }
+        },
+        JSON_STREAMING {
+            @Override
+            Codec newCodec(final EffectiveModelContext context) {
+                return new JsonCodec(context, true);
+            }
+        },
+        XML {
+            @Override
+            Codec newCodec(final EffectiveModelContext context) {
+                return new XmlCodec(context);
+            }
+        },
+        MAGNESIUM {
+            @Override
+            Codec newCodec(final EffectiveModelContext context) {
+                return new BinaryCodec(NormalizedNodeStreamVersion.MAGNESIUM);
+            }
+        },
+        ALUMINIUM {
+            @Override
+            Codec newCodec(final EffectiveModelContext context) {
+                return new BinaryCodec(NormalizedNodeStreamVersion.ALUMINIUM);
+            }
+        };
+
+        abstract Codec newCodec(EffectiveModelContext context);
+    }
+
+    private abstract static class Codec {
+        boolean supportsAnydata() {
+            return false;
+        }
+
+        abstract void write(ContainerNode data, OutputStream out) throws IOException;
+
+        abstract NormalizedNode<?, ?> read(InputStream in) throws Exception;
+    }
+
+    private static final class JsonCodec extends Codec {
+        private final JSONCodecFactory codecFactory;
+        private final boolean streaming;
+
+        JsonCodec(final EffectiveModelContext context, final boolean streaming) {
+            codecFactory = JSONCodecFactorySupplier.RFC7951.getShared(context);
+            this.streaming = streaming;
+        }
+
+        @Override
+        void write(final ContainerNode data, final OutputStream out) throws IOException {
+            try (NormalizedNodeWriter writer = NormalizedNodeWriter.forStreamWriter(JSONNormalizedNodeStreamWriter
+                    .createExclusiveWriter(codecFactory, SchemaPath.ROOT, null,
+                        JsonWriterFactory.createJsonWriter(out)))) {
+                writer.write(data);
+            }
+        }
+
+        @Override
+        NormalizedNode<?, ?> read(final InputStream in) {
+            final NormalizedNodeResult result = new NormalizedNodeResult();
+            final NormalizedNodeStreamWriter writer = ImmutableNormalizedNodeStreamWriter.from(result);
+            (streaming ? JsonParserStream.createStreaming(writer, codecFactory)
+                : JsonParserStream.create(writer, codecFactory))
+                .parse(new JsonReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+            return result.getResult();
+        }
+    }
+
+    private static final class XmlCodec extends Codec {
+        private static final XMLOutputFactory XOF = XMLOutputFactory.newFactory();
+
+        private final EffectiveModelContext context;
+        private final XmlCodecFactory codecFactory;
+        private final DataSchemaNode topSchema;
+
+        XmlCodec(final EffectiveModelContext context) {
+            this.context = requireNonNull(context);
+            codecFactory = XmlCodecFactory.create(context);
+            topSchema = context.findDataTreeChild(CodecBenchmarkModel.TOP).orElseThrow();
+        }
+
+        @Override
+        boolean supportsAnydata() {
+            return true;
+        }
+
+        @Override
+        void write(final ContainerNode data, final OutputStream out) throws IOException {
+            final XMLStreamWriter xmlWriter;
+            try {
+                xmlWriter = XOF.createXMLStreamWriter(out, StandardCharsets.UTF_8.name());
+            } catch (XMLStreamException e) {
+                throw new IOException("Failed to create XML writer", e);
+            }
+
+            try (NormalizedNodeWriter writer = NormalizedNodeWriter.forStreamWriter(
+                    XMLStreamNormalizedNodeStreamWriter.create(xmlWriter, context))) {
+                writer.write(data);
+            }
+        }
+
+        @Override
+        NormalizedNode<?, ?> read(final InputStream in) throws Exception {
+            final NormalizedNodeResult result = new NormalizedNodeResult();
+            final NormalizedNodeStreamWriter writer = ImmutableNormalizedNodeStreamWriter.from(result);
+            try (XmlParserStream parser = XmlParserStream.create(writer, codecFactory, topSchema)) {
+                parser.parse(UntrustedXML.createXMLStreamReader(in, StandardCharsets.UTF_8));
+            }
+            return result.getResult();
+        }
+    }
+
+    private static final class BinaryCodec extends Codec {
+        private final NormalizedNodeStreamVersion version;
+
+        BinaryCodec(final NormalizedNodeStreamVersion version) {
+            this.version = requireNonNull(version);
+        }
+
+        @Override
+        void write(final ContainerNode data, final OutputStream out) throws IOException {
+            try (NormalizedNodeDataOutput output = version.newDataOutput(new DataOutputStream(out))) {
+                output.writeNormalizedNode(data);
+            }
+        }
+
+        @Override
+        NormalizedNode<?, ?> read(final InputStream in) throws IOException {
+            return NormalizedNodeDataInput.newDataInput(new DataInputStream(in)).readNormalizedNode();
+        }
+    }
+
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+
+    @Param
+    public Format format;
+
+    @Param({ "100", "10000", "100000" })
+    public int entries;
+
+    private Codec codec;
+    private ContainerNode data;
+    private byte[] serialized;
+
+    public static void main(final String... args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + NormalizedNodeCodecBenchmark.class.getSimpleName() + ".*")
+            .addProfiler(GCProfiler.class)
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        final EffectiveModelContext context = CodecBenchmarkModel.createContext();
+        codec = format.newCodec(context);
+        data = CodecBenchmarkModel.createData(context, entries, codec.supportsAnydata());
+
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        codec.write(data, bos);
+        serialized = bos.toByteArray();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public void serialize() throws IOException {
+        codec.write(data, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public NormalizedNode<?, ?> parse() throws Exception {
+        return codec.read(new ByteArrayInputStream(serialized));
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.gson;
+
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark of {@link JSONNormalizedNodeStreamWriter} emitting a large data tree, comparing a Gson {@link JsonWriter}
+ * on top of an {@link OutputStreamWriter} with the UTF-8 writer returned by
+ * {@link JsonWriterFactory#createJsonWriter(OutputStream)}. Run via {@link #main(String...)} to have allocation rates
+ * reported by {@link GCProfiler}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class JsonWriterBenchmark {
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+    private static final int INNER_LIST_SIZE = 10;
+
+    private static final QName TEST = QName.create(
+        "urn:opendaylight:params:xml:ns:yang:controller:md:sal:dom:store:test", "2014-03-13", "test");
+    private static final QName OUTER_LIST = QName.create(TEST, "outer-list");
+    private static final QName ID = QName.create(TEST, "id");
+    private static final QName ONE = QName.create(TEST, "one");
+    private static final QName INNER_LIST = QName.create(TEST, "inner-list");
+    private static final QName NAME = QName.create(TEST, "name");
+    private static final QName VALUE = QName.create(TEST, "value");
+
+    @Param({ "1000", "10000" })
+    public int outerListSize;
+
+    private JSONCodecFactory codecFactory;
+    private ContainerNode data;
+
+    public static void main(final String... args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + JsonWriterBenchmark.class.getSimpleName() + ".*")
+            .addProfiler(GCProfiler.class)
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final EffectiveModelContext context = YangParserTestUtils.parseYangResource("/odl-datastore-test.yang");
+        codecFactory = JSONCodecFactorySupplier.RFC7951.getShared(context);
+
+        final CollectionNodeBuilder<MapEntryNode, MapNode> outerList = ImmutableNodes.mapNodeBuilder(OUTER_LIST);
+        for (int i = 0; i < outerListSize; ++i) {
+            final CollectionNodeBuilder<MapEntryNode, MapNode> innerList = ImmutableNodes.mapNodeBuilder(INNER_LIST);
+            for (int j = 0; j < INNER_LIST_SIZE; ++j) {
+                innerList.withChild(ImmutableNodes.mapEntryBuilder(INNER_LIST, NAME, j)
+                    .withChild(ImmutableNodes.leafNode(VALUE, "Value \"" + i + '/' + j + "\" of inner list entry"))
+                    .build());
+            }
+            outerList.withChild(ImmutableNodes.mapEntryBuilder(OUTER_LIST, ID, i)
+                .withChild(Builders.choiceBuilder()
+                    .withNodeIdentifier(new NodeIdentifier(QName.create(TEST, "outer-choice")))
+                    .withChild(ImmutableNodes.leafNode(ONE, "Outer list entry " + i))
+                    .build())
+                .withChild(innerList.build())
+                .build());
+        }
+        data = Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(TEST)).withChild(outerList.build())
+            .build();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public void gsonWriter() throws IOException {
+        write(JsonWriterFactory.createJsonWriter(new OutputStreamWriter(OutputStream.nullOutputStream(),
+            StandardCharsets.UTF_8)));
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public void utf8Writer() throws IOException {
+        write(JsonWriterFactory.createJsonWriter(OutputStream.nullOutputStream()));
+    }
+
+    private void write(final JsonWriter jsonWriter) throws IOException {
+        try (NormalizedNodeWriter nodeWriter = NormalizedNodeWriter.forStreamWriter(JSONNormalizedNodeStreamWriter
+                .createExclusiveWriter(codecFactory, SchemaPath.ROOT, null, jsonWriter))) {
+            nodeWriter.write(data);
+        }
+    }
+}
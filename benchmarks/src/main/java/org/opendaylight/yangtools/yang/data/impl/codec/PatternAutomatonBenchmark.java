@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.opendaylight.yangtools.yang.model.util.RegexUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark comparing {@link PatternEngine#REGEX} and {@link PatternEngine#DFA} on the patterns defined by
+ * ietf-inet-types.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+public class PatternAutomatonBenchmark {
+    public enum InetType {
+        IPV4(List.of("(([0-9]|[1-9][0-9]|1[0-9][0-9]|2[0-4][0-9]|25[0-5])\\.){3}"
+            + "([0-9]|[1-9][0-9]|1[0-9][0-9]|2[0-4][0-9]|25[0-5])(%[\\p{N}\\p{L}]+)?"),
+            "192.0.2.1", "10.255.255.254", "172.16.0.1%eth0", "256.0.0.1"),
+        IPV6(List.of("((:|[0-9a-fA-F]{0,4}):)([0-9a-fA-F]{0,4}:){0,5}((([0-9a-fA-F]{0,4}:)?(:|[0-9a-fA-F]{0,4}))"
+            + "|(((25[0-5]|2[0-4][0-9]|[01]?[0-9]?[0-9])\\.){3}(25[0-5]|2[0-4][0-9]|[01]?[0-9]?[0-9])))"
+            + "(%[\\p{N}\\p{L}]+)?",
+            "(([^:]+:){6}(([^:]+:[^:]+)|(.*\\..*)))|((([^:]+:)*[^:]+)?::(([^:]+:)*[^:]+)?)(%.+)?"),
+            "2001:db8::ff00:42:8329", "fe80::1%eth0", "::ffff:192.0.2.128", "2001:0db8:0000:0000:0000:ff00:0042:8329"),
+        DOMAIN_NAME(List.of("((([a-zA-Z0-9_]([a-zA-Z0-9\\-_]){0,61})?[a-zA-Z0-9]\\.)*"
+            + "([a-zA-Z0-9_]([a-zA-Z0-9\\-_]){0,61})?[a-zA-Z0-9]\\.?)|\\."),
+            "example.com", "www.opendaylight.org.", "a-very-long-label-with-many-characters.example.net", "-bad.com");
+
+        final List<String> patterns;
+        final String[] inputs;
+
+        InetType(final List<String> patterns, final String... inputs) {
+            this.patterns = patterns.stream().map(RegexUtils::getJavaRegexFromXSD).collect(Collectors.toList());
+            this.inputs = inputs;
+        }
+    }
+
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+
+    @Param
+    public InetType type;
+
+    private Pattern[] regexes;
+    private PatternAutomaton automaton;
+
+    public static void main(final String... args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + PatternAutomatonBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        regexes = type.patterns.stream().map(Pattern::compile).toArray(Pattern[]::new);
+        automaton = PatternAutomaton.compile(type.patterns);
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public void regex(final Blackhole blackhole) {
+        for (String input : type.inputs) {
+            for (Pattern regex : regexes) {
+                blackhole.consume(regex.matcher(input).matches());
+            }
+        }
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public void dfa(final Blackhole blackhole) {
+        for (String input : type.inputs) {
+            blackhole.consume(automaton.match(input));
+        }
+    }
+}
@@ -27,6 +27,7 @@ import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableContainerNodeBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
@@ -63,6 +64,8 @@ public class InMemoryDataTreeBenchmark {
     private static final int OUTER_LIST_50K = 50000;
     private static final int OUTER_LIST_10K = 10000;
 
+    private static final int PARALLEL_APPLY_THRESHOLD = 1000;
+
     private static final NodeIdentifierWithPredicates[] OUTER_LIST_IDS = Streams.mapWithIndex(
         IntStream.range(0, OUTER_LIST_100K),
         (i, index) -> NodeIdentifierWithPredicates.of(BenchmarkModel.OUTER_LIST_QNAME, BenchmarkModel.ID_QNAME, i))
@@ -103,6 +106,7 @@ public class InMemoryDataTreeBenchmark {
     }
 
     private DataTree datastore;
+    private DataTree parallelDatastore;
 
     public static void main(final String... args) throws RunnerException {
         Options opt = new OptionsBuilder()
@@ -115,18 +119,27 @@ public class InMemoryDataTreeBenchmark {
 
     @Setup(Level.Trial)
     public void setup() throws DataValidationFailedException {
-        datastore = new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_CONFIGURATION,
-            BenchmarkModel.createTestContext());
+        final SchemaContext schemaContext = BenchmarkModel.createTestContext();
+        datastore = createDatastore(DataTreeConfiguration.DEFAULT_CONFIGURATION, schemaContext);
+        parallelDatastore = createDatastore(DataTreeConfiguration.DEFAULT_CONFIGURATION.copyBuilder()
+            .setParallelApplyThreshold(PARALLEL_APPLY_THRESHOLD).build(), schemaContext);
+    }
 
-        final DataTreeModification modification = begin();
+    private static DataTree createDatastore(final DataTreeConfiguration treeConfig,
+            final SchemaContext schemaContext) throws DataValidationFailedException {
+        final DataTree ret = new InMemoryDataTreeFactory().create(treeConfig, schemaContext);
+
+        final DataTreeModification modification = begin(ret);
         modification.write(BenchmarkModel.TEST_PATH, ImmutableContainerNodeBuilder.create()
             .withNodeIdentifier(BenchmarkModel.TEST).withChild(EMPTY_OUTER_LIST).build());
-        commit(modification);
+        commit(ret, modification);
+        return ret;
     }
 
     @TearDown
     public void tearDown() {
         datastore = null;
+        parallelDatastore = null;
     }
 
     @Benchmark
@@ -234,13 +247,46 @@ public class InMemoryDataTreeBenchmark {
         }
     }
 
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public void write100KSingleNodeWithOneInnerItemInOneCommitParallelBenchmark()
+            throws DataValidationFailedException {
+        final DataTreeModification modification = begin(parallelDatastore);
+        for (int outerListKey = 0; outerListKey < OUTER_LIST_100K; ++outerListKey) {
+            modification.write(OUTER_LIST_PATHS[outerListKey], OUTER_LIST_ONE_ITEM_INNER_LIST[outerListKey]);
+        }
+        commit(parallelDatastore, modification);
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public void write10KSingleNodeWithTenInnerItemsInOneCommitParallelBenchmark()
+            throws DataValidationFailedException {
+        final DataTreeModification modification = begin(parallelDatastore);
+        for (int outerListKey = 0; outerListKey < OUTER_LIST_10K; ++outerListKey) {
+            modification.write(OUTER_LIST_PATHS[outerListKey], OUTER_LIST_TEN_ITEM_INNER_LIST[outerListKey]);
+        }
+        commit(parallelDatastore, modification);
+    }
+
     private CursorAwareDataTreeModification begin() {
-        return (CursorAwareDataTreeModification) datastore.takeSnapshot().newModification();
+        return begin(datastore);
+    }
+
+    private static CursorAwareDataTreeModification begin(final DataTree tree) {
+        return (CursorAwareDataTreeModification) tree.takeSnapshot().newModification();
     }
 
     private void commit(final DataTreeModification modification) throws DataValidationFailedException {
+        commit(datastore, modification);
+    }
+
+    private static void commit(final DataTree tree, final DataTreeModification modification)
+            throws DataValidationFailedException {
         modification.ready();
-        datastore.validate(modification);
-        datastore.commit(datastore.prepare(modification));
+        tree.validate(modification);
+        tree.commit(tree.prepare(modification));
     }
 }
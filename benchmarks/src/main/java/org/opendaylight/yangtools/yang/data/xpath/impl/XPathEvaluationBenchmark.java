@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.xpath.impl;
+
+import com.google.common.collect.ImmutableBiMap;
+import com.google.common.collect.Maps;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import javax.xml.xpath.XPathExpressionException;
+import org.opendaylight.yangtools.yang.common.BiMapYangNamespaceContext;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.xpath.NormalizedNodeDocument;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.jaxen.JaxenSchemaContextFactory;
+import org.opendaylight.yangtools.yang.data.jaxen.api.XPathDocument;
+import org.opendaylight.yangtools.yang.data.jaxen.api.XPathExpression;
+import org.opendaylight.yangtools.yang.data.jaxen.api.XPathSchemaContext;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+import org.opendaylight.yangtools.yang.xpath.api.YangXPathParser;
+import org.opendaylight.yangtools.yang.xpath.impl.AntlrXPathParserFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark comparing {@link CompiledXPathExpression} with the Jaxen-based evaluator in yang-data-jaxen. Both evaluate
+ * the same expressions against a {@code test} container holding {@code outerListSize} outer list entries, each with
+ * {@value #INNER_LIST_SIZE} inner list entries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class XPathEvaluationBenchmark {
+    public enum Expression {
+        // Predicate evaluated on every outer list entry
+        FILTER("count(/st:outer-list[st:id mod 2 = 0])", YangInstanceIdentifier.empty()),
+        // Keyed lookup, as done by leafref paths
+        LOOKUP("string(/st:outer-list[st:id = 7]/st:inner-list[st:name = 3]/st:value)", YangInstanceIdentifier.empty()),
+        // Relative expression evaluated from a leaf, as done by must statements
+        RELATIVE("count(../st:inner-list) = " + INNER_LIST_SIZE, YangInstanceIdentifier.create(
+            new NodeIdentifier(OUTER_LIST), NodeIdentifierWithPredicates.of(OUTER_LIST, ID, 7),
+            new NodeIdentifier(ID)));
+
+        final String xpath;
+        final YangInstanceIdentifier contextPath;
+
+        Expression(final String xpath, final YangInstanceIdentifier contextPath) {
+            this.xpath = xpath;
+            this.contextPath = contextPath;
+        }
+    }
+
+    private static final QNameModule MODULE = QNameModule.create(
+        URI.create("urn:opendaylight:params:xml:ns:yang:controller:md:sal:dom:store:test"), Revision.of("2014-03-13"));
+    private static final QName TEST = QName.create(MODULE, "test");
+    private static final QName OUTER_LIST = QName.create(MODULE, "outer-list");
+    private static final QName INNER_LIST = QName.create(MODULE, "inner-list");
+    private static final QName ID = QName.create(MODULE, "id");
+    private static final QName NAME = QName.create(MODULE, "name");
+    private static final QName VALUE = QName.create(MODULE, "value");
+    private static final ImmutableBiMap<String, QNameModule> PREFIXES = ImmutableBiMap.of("st", MODULE);
+    private static final int INNER_LIST_SIZE = 5;
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+
+    @Param({"100", "1000"})
+    public int outerListSize;
+
+    @Param
+    public Expression expression;
+
+    private CompiledXPathExpression compiled;
+    private NormalizedNodeDocument compiledDocument;
+    private XPathExpression jaxen;
+    private XPathDocument jaxenDocument;
+
+    public static void main(final String... args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + XPathEvaluationBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws XPathExpressionException {
+        final EffectiveModelContext context = YangParserTestUtils.parseYangResource("/odl-datastore-test.yang");
+        final ContainerNode data = createData(outerListSize);
+
+        final NormalizedNodeXPathCompiler compiler = new NormalizedNodeXPathCompiler(context);
+        final YangXPathParser.QualifiedBound parser = new AntlrXPathParserFactory().newParser(
+            new BiMapYangNamespaceContext(PREFIXES));
+        compiled = compiler.compile(parser.parseExpression(expression.xpath));
+        compiledDocument = compiler.createDocument(data);
+
+        final XPathSchemaContext jaxenContext = new JaxenSchemaContextFactory().createContext(context);
+        jaxen = jaxenContext.compileExpression(SchemaPath.create(true, TEST), Maps.asConverter(PREFIXES),
+            expression.xpath);
+        jaxenDocument = jaxenContext.createDocument(data);
+
+        // Make sure both evaluators agree
+        final Object expected = evaluateJaxen();
+        final Object actual = evaluateCompiled();
+        if (!String.valueOf(expected).equals(String.valueOf(actual))) {
+            throw new IllegalStateException("Jaxen evaluated to " + expected + ", compiled evaluated to " + actual);
+        }
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public Object jaxen() throws XPathExpressionException {
+        return evaluateJaxen();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public Object compiled() throws XPathExpressionException {
+        return evaluateCompiled();
+    }
+
+    private Object evaluateJaxen() throws XPathExpressionException {
+        return jaxen.evaluate(jaxenDocument, expression.contextPath).orElseThrow().getValue();
+    }
+
+    private Object evaluateCompiled() throws XPathExpressionException {
+        switch (expression) {
+            case FILTER:
+                return compiled.evaluateNumber(compiledDocument, expression.contextPath);
+            case LOOKUP:
+                return compiled.evaluateString(compiledDocument, expression.contextPath);
+            case RELATIVE:
+                return compiled.evaluateBoolean(compiledDocument, expression.contextPath);
+            default:
+                throw new IllegalStateException("Unhandled expression " + expression);
+        }
+    }
+
+    private static ContainerNode createData(final int outerListSize) {
+        final CollectionNodeBuilder<MapEntryNode, MapNode> outerList = ImmutableNodes.mapNodeBuilder(OUTER_LIST);
+        for (int i = 0; i < outerListSize; ++i) {
+            final CollectionNodeBuilder<MapEntryNode, MapNode> innerList = ImmutableNodes.mapNodeBuilder(INNER_LIST);
+            for (int j = 0; j < INNER_LIST_SIZE; ++j) {
+                innerList.withChild(ImmutableNodes.mapEntryBuilder(INNER_LIST, NAME, j)
+                    .withChild(ImmutableNodes.leafNode(VALUE, "value-" + i + "-" + j))
+                    .build());
+            }
+            outerList.withChild(ImmutableNodes.mapEntryBuilder(OUTER_LIST, ID, i)
+                .withChild(innerList.build())
+                .build());
+        }
+        return Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(TEST)).withChild(outerList.build())
+            .build();
+    }
+}
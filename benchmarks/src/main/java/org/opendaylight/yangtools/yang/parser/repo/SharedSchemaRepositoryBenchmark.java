@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.repo;
+
+import static org.opendaylight.yangtools.util.concurrent.FluentFutures.immediateFluentFuture;
+
+import com.google.common.io.ByteSource;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaContextFactoryConfiguration;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.model.repo.spi.PotentialSchemaSource;
+import org.opendaylight.yangtools.yang.parser.impl.YangParserFactoryImpl;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.TextToASTTransformer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark of {@link SharedSchemaRepository} assembling an {@link EffectiveModelContext} from a large set of
+ * {@link YangTextSchemaSource}s, comparing sequential and concurrent source parsing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class SharedSchemaRepositoryBenchmark {
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+
+    private static final int MODULE_COUNT = 200;
+    private static final int CONTAINER_COUNT = 50;
+    private static final int LEAF_COUNT = 10;
+
+    /**
+     * Number of threads used to parse sources, 0 indicates sources are parsed on the calling thread.
+     */
+    @Param({ "0", "2", "4", "8" })
+    public int parserThreads;
+
+    private final List<YangTextSchemaSource> sources = new ArrayList<>(MODULE_COUNT);
+    private final YangParserFactoryImpl parserFactory = new YangParserFactoryImpl();
+    private ExecutorService executor;
+
+    public static void main(final String... args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + SharedSchemaRepositoryBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        for (int i = 0; i < MODULE_COUNT; ++i) {
+            final SourceIdentifier id = RevisionSourceIdentifier.create(moduleName(i));
+            sources.add(YangTextSchemaSource.delegateForByteSource(id,
+                ByteSource.wrap(moduleText(i).getBytes(StandardCharsets.UTF_8))));
+        }
+        if (parserThreads != 0) {
+            executor = Executors.newFixedThreadPool(parserThreads);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+        sources.clear();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public EffectiveModelContext assembleModels() throws InterruptedException, ExecutionException {
+        // A fresh repository, so that neither parsed sources nor the resulting context are cached
+        final SharedSchemaRepository repository = new SharedSchemaRepository("benchmark", parserFactory,
+            executor != null ? executor : MoreExecutors.directExecutor());
+        repository.registerSchemaSourceListener(TextToASTTransformer.create(repository, repository));
+
+        final List<SourceIdentifier> ids = new ArrayList<>(sources.size());
+        for (YangTextSchemaSource source : sources) {
+            repository.registerSchemaSource(sourceId -> immediateFluentFuture(source),
+                PotentialSchemaSource.create(source.getIdentifier(), YangTextSchemaSource.class,
+                    PotentialSchemaSource.Costs.IMMEDIATE.getValue()));
+            ids.add(source.getIdentifier());
+        }
+
+        return repository.createEffectiveModelContextFactory(SchemaContextFactoryConfiguration.getDefault())
+            .createEffectiveModelContext(ids).get();
+    }
+
+    private static String moduleName(final int index) {
+        return "benchmark-module-" + index;
+    }
+
+    private static String moduleText(final int index) {
+        final StringBuilder sb = new StringBuilder()
+            .append("module ").append(moduleName(index)).append(" {\n")
+            .append("  namespace \"urn:opendaylight:benchmark:").append(index).append("\";\n")
+            .append("  prefix bm").append(index).append(";\n");
+        if (index != 0) {
+            // Each module imports the first one, so the reactor needs to link them
+            sb.append("  import ").append(moduleName(0)).append(" { prefix base; }\n");
+        }
+
+        sb.append("  typedef counter { type uint32 { range \"0..1000\"; } }\n");
+        for (int c = 0; c < CONTAINER_COUNT; ++c) {
+            sb.append("  container cont-").append(c).append(" {\n")
+                .append("    description \"Container ").append(c).append(" of module ").append(index).append("\";\n");
+            for (int l = 0; l < LEAF_COUNT; ++l) {
+                sb.append("    leaf leaf-").append(l).append(" { type ")
+                    .append(index != 0 && l % 2 == 0 ? "base:counter" : "counter").append("; }\n");
+            }
+            sb.append("  }\n");
+        }
+        return sb.append("}\n").toString();
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.stmt.reactor;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaSourceException;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.parser.impl.DefaultReactors;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.ASTSchemaSource;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.FilesystemASTSchemaSourceCache;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.TextToASTTransformer;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.YangStatementStreamSource;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark of {@link FilesystemASTSchemaSourceCache} over {@link ParserBenchmarkCorpus}. It compares parsing source
+ * text with restoring parse trees from a populated cache, both on their own and followed by assembly of an
+ * {@link EffectiveModelContext}, which is what a restarting process has to do.
+ *
+ * @see CrossSourceStatementReactorBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class FilesystemASTSchemaSourceCacheBenchmark {
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+
+    @Param({ "0", "50", "200" })
+    public int generatedModules;
+
+    private List<YangTextSchemaSource> textSources;
+    private FilesystemASTSchemaSourceCache cache;
+    private Path cacheDirectory;
+
+    public static void main(final String... args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + FilesystemASTSchemaSourceCacheBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, SchemaSourceException, YangSyntaxErrorException {
+        textSources = ParserBenchmarkCorpus.textSources(generatedModules);
+        cacheDirectory = Files.createTempDirectory("ast-cache-benchmark");
+        cache = new FilesystemASTSchemaSourceCache(cacheDirectory.toFile());
+
+        // Populate the cache, as a previous run would
+        restoreSources();
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() throws IOException {
+        MoreFiles.deleteRecursively(cacheDirectory, RecursiveDeleteOption.ALLOW_INSECURE);
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public List<ASTSchemaSource> parseSources() throws IOException, SchemaSourceException, YangSyntaxErrorException {
+        final List<ASTSchemaSource> ret = new ArrayList<>(textSources.size());
+        for (YangTextSchemaSource source : textSources) {
+            ret.add(TextToASTTransformer.transformText(source));
+        }
+        return ret;
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public List<ASTSchemaSource> restoreSources() throws IOException, SchemaSourceException,
+            YangSyntaxErrorException {
+        final List<ASTSchemaSource> ret = new ArrayList<>(textSources.size());
+        for (YangTextSchemaSource source : textSources) {
+            ret.add(cache.transformText(source));
+        }
+        return ret;
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public EffectiveModelContext buildFromText() throws IOException, ReactorException, SchemaSourceException,
+            YangSyntaxErrorException {
+        return buildEffective(parseSources());
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public EffectiveModelContext buildFromCache() throws IOException, ReactorException, SchemaSourceException,
+            YangSyntaxErrorException {
+        return buildEffective(restoreSources());
+    }
+
+    private static EffectiveModelContext buildEffective(final List<ASTSchemaSource> asts) throws ReactorException {
+        final List<YangStatementStreamSource> sources = new ArrayList<>(asts.size());
+        for (ASTSchemaSource ast : asts) {
+            sources.add(YangStatementStreamSource.create(ast));
+        }
+        return DefaultReactors.defaultReactor().newBuild().addSources(sources).buildEffective();
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.stmt.reactor;
+
+import com.google.common.io.ByteSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.YangStatementStreamSource;
+
+/**
+ * Corpus of models used by parser benchmarks. It consists of IETF and IANA models taken from yang-parser-rfc7950 test
+ * resources, followed by a number of generated modules modeled after OpenConfig conventions: config/state container
+ * pairs instantiated from groupings, typedefs and identities from imported modules, and augmentations of other
+ * modules.
+ */
+final class ParserBenchmarkCorpus {
+    private static final String[] BUNDLED = {
+        "iana-afn-safi@2012-06-04",
+        "iana-if-type@2012-06-05",
+        "iana-timezones@2012-07-09",
+        "ietf-inet-types@2010-09-24",
+        "ietf-yang-types@2010-09-24",
+        "network-topology@2013-10-21",
+    };
+    private static final int CONTAINER_COUNT = 20;
+
+    private ParserBenchmarkCorpus() {
+
+    }
+
+    /**
+     * Return text of all sources in the corpus.
+     *
+     * @param generatedModules Number of generated modules to include
+     * @return Corpus sources
+     */
+    static List<YangTextSchemaSource> textSources(final int generatedModules) {
+        final List<YangTextSchemaSource> sources = new ArrayList<>(BUNDLED.length + generatedModules);
+        for (String name : BUNDLED) {
+            sources.add(YangTextSchemaSource.forResource("/ietf/" + name + ".yang"));
+        }
+        for (int i = 0; i < generatedModules; ++i) {
+            sources.add(YangTextSchemaSource.delegateForByteSource(RevisionSourceIdentifier.create(moduleName(i)),
+                ByteSource.wrap(moduleText(i).getBytes(StandardCharsets.UTF_8))));
+        }
+        return sources;
+    }
+
+    /**
+     * Lex and parse specified sources.
+     *
+     * @param textSources Sources to parse
+     * @return Parsed sources, which can be reused across reactor builds
+     * @throws IOException if a source cannot be read
+     * @throws YangSyntaxErrorException if a source fails to parse
+     */
+    static List<YangStatementStreamSource> parse(final List<YangTextSchemaSource> textSources)
+            throws IOException, YangSyntaxErrorException {
+        final List<YangStatementStreamSource> sources = new ArrayList<>(textSources.size());
+        for (YangTextSchemaSource source : textSources) {
+            sources.add(YangStatementStreamSource.create(source));
+        }
+        return sources;
+    }
+
+    private static String moduleName(final int index) {
+        return "oc-benchmark-" + index;
+    }
+
+    private static String moduleText(final int index) {
+        final StringBuilder sb = new StringBuilder()
+            .append("module ").append(moduleName(index)).append(" {\n")
+            .append("  yang-version 1.1;\n")
+            .append("  namespace \"urn:opendaylight:benchmark:oc:").append(index).append("\";\n")
+            .append("  prefix oc").append(index).append(";\n")
+            .append("  import ietf-inet-types { prefix inet; }\n")
+            .append("  import ietf-yang-types { prefix yang; }\n");
+        final String base;
+        if (index != 0) {
+            // Each module builds on the first one, so the reactor needs to link them
+            sb.append("  import ").append(moduleName(0)).append(" { prefix base; }\n");
+            base = "base:";
+        } else {
+            sb.append("  identity item-kind;\n");
+            base = "";
+        }
+
+        sb.append("  identity kind-").append(index).append(" { base ").append(base).append("item-kind; }\n")
+            .append("  typedef item-name { type string { length \"1..64\"; pattern \"[a-z][a-z0-9-]*\"; } }\n")
+            .append("  grouping item-config {\n")
+            .append("    leaf name { type item-name; }\n")
+            .append("    leaf description { type string; }\n")
+            .append("    leaf address { type inet:ip-address; }\n")
+            .append("    leaf port { type inet:port-number; default 830; }\n")
+            .append("    leaf enabled { type boolean; default true; }\n")
+            .append("    leaf kind { type identityref { base ").append(base).append("item-kind; } }\n")
+            .append("  }\n")
+            .append("  grouping item-state {\n")
+            .append("    uses item-config;\n")
+            .append("    leaf in-octets { type yang:counter64; }\n")
+            .append("    leaf out-octets { type yang:counter64; }\n")
+            .append("    leaf last-change { type yang:timestamp; }\n")
+            .append("  }\n")
+            .append("  grouping items-top {\n")
+            .append("    container items {\n")
+            .append("      list item {\n")
+            .append("        key name;\n")
+            .append("        leaf name { type leafref { path \"../config/name\"; } }\n")
+            .append("        container config { uses item-config; }\n")
+            .append("        container state { config false; uses item-state; }\n")
+            .append("      }\n")
+            .append("    }\n")
+            .append("  }\n");
+
+        for (int c = 0; c < CONTAINER_COUNT; ++c) {
+            sb.append("  container top-").append(c).append(" {\n")
+                .append("    description \"Container ").append(c).append(" of module ").append(index).append("\";\n")
+                .append("    uses items-top;\n")
+                .append("  }\n");
+        }
+        if (index != 0) {
+            sb.append("  augment \"/base:top-0/base:items/base:item/base:config\" {\n")
+                .append("    leaf extra-").append(index).append(" { type string; }\n")
+                .append("  }\n");
+        }
+        return sb.append("}\n").toString();
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Common base class for {@link ImmutableHashTrieMap} and {@link MutableHashTrieMap}. Neither null keys nor null values
+ * are supported. Views of this map do not support modification.
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ */
+abstract class AbstractHashTrieMap<K, V> extends AbstractMap<K, V> {
+    private final class EntrySet extends AbstractSet<Entry<K, V>> {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return HashTrieNode.iterator(root());
+        }
+
+        @Override
+        public int size() {
+            return AbstractHashTrieMap.this.size();
+        }
+
+        @Override
+        public boolean contains(final Object obj) {
+            if (!(obj instanceof Entry)) {
+                return false;
+            }
+            final Entry<?, ?> entry = (Entry<?, ?>) obj;
+            final Object value = entry.getValue();
+            return value != null && value.equals(get(entry.getKey()));
+        }
+    }
+
+    abstract HashTrieNode root();
+
+    @Override
+    public final boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public final boolean containsKey(final Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public final V get(final Object key) {
+        return key == null ? null : (V) root().get(key, key.hashCode(), 0);
+    }
+
+    @Override
+    public final Set<Entry<K, V>> entrySet() {
+        return new EntrySet();
+    }
+}
@@ -0,0 +1,471 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A node in a Hash Array Mapped Trie, as used by {@link ImmutableHashTrieMap} and {@link MutableHashTrieMap}. The
+ * layout follows the CHAMP design, where each {@link BitmapNode} stores key/value pairs inline, followed by references
+ * to its child nodes. Keys whose hash codes are completely equal end up in a {@link CollisionNode}.
+ *
+ * <p>
+ * Nodes are persistent, i.e. each modification returns a new node, sharing untouched children with the original. The
+ * exception to this rule are nodes created by a particular owner, which are modified in place as long as that owner
+ * is passed to the modification methods. This allows {@link MutableHashTrieMap} to avoid copying nodes it has already
+ * copied.
+ */
+abstract class HashTrieNode {
+    /**
+     * Outcome of a modification, filled in by {@link #put(Object, Object, Object, int, int, Change)} and
+     * {@link #remove(Object, Object, int, int, Change)}.
+     */
+    static final class Change {
+        @Nullable Object oldValue;
+        boolean modified;
+    }
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    // Once we run out of hash bits, we need to switch to a CollisionNode
+    private static final int MAX_SHIFT = Integer.SIZE;
+
+    static final @NonNull HashTrieNode EMPTY = new BitmapNode(null, 0, 0, new Object[0]);
+
+    abstract @Nullable Object get(Object key, int hash, int shift);
+
+    abstract @NonNull HashTrieNode put(@Nullable Object owner, Object key, Object value, int hash, int shift,
+        Change change);
+
+    abstract @NonNull HashTrieNode remove(@Nullable Object owner, Object key, int hash, int shift, Change change);
+
+    abstract int payloadArity();
+
+    abstract Object keyAt(int index);
+
+    abstract Object valueAt(int index);
+
+    abstract int nodeArity();
+
+    abstract HashTrieNode nodeAt(int index);
+
+    final boolean isSingleEntry() {
+        return payloadArity() == 1 && nodeArity() == 0;
+    }
+
+    static <K, V> @NonNull Iterator<Entry<K, V>> iterator(final HashTrieNode root) {
+        return new EntryIterator<>(root);
+    }
+
+    static int bitpos(final int hash, final int shift) {
+        return 1 << (hash >>> shift & MASK);
+    }
+
+    static @NonNull HashTrieNode mergeTwo(final @Nullable Object owner, final Object key0, final Object value0,
+            final int hash0, final Object key1, final Object value1, final int hash1, final int shift) {
+        if (shift >= MAX_SHIFT) {
+            return new CollisionNode(owner, hash0, new Object[] { key0, value0, key1, value1 });
+        }
+
+        final int mask0 = hash0 >>> shift & MASK;
+        final int mask1 = hash1 >>> shift & MASK;
+        if (mask0 != mask1) {
+            return new BitmapNode(owner, 1 << mask0 | 1 << mask1, 0, mask0 < mask1
+                ? new Object[] { key0, value0, key1, value1 } : new Object[] { key1, value1, key0, value0 });
+        }
+
+        return new BitmapNode(owner, 0, 1 << mask0, new Object[] {
+            mergeTwo(owner, key0, value0, hash0, key1, value1, hash1, shift + BITS)
+        });
+    }
+
+    private static final class BitmapNode extends HashTrieNode {
+        private final @Nullable Object owner;
+
+        // These fields are only modified when this node is owned by the modifying map
+        private int dataMap;
+        private int nodeMap;
+        private Object[] content;
+
+        BitmapNode(final @Nullable Object owner, final int dataMap, final int nodeMap, final Object[] content) {
+            this.owner = owner;
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.content = content;
+        }
+
+        @Override
+        Object get(final Object key, final int hash, final int shift) {
+            final int bit = bitpos(hash, shift);
+            if ((dataMap & bit) != 0) {
+                final int index = dataIndex(bit);
+                return key.equals(content[2 * index]) ? content[2 * index + 1] : null;
+            }
+            if ((nodeMap & bit) != 0) {
+                return nodeAt(nodeIndex(bit)).get(key, hash, shift + BITS);
+            }
+            return null;
+        }
+
+        @Override
+        HashTrieNode put(final Object newOwner, final Object key, final Object value, final int hash,
+                final int shift, final Change change) {
+            final int bit = bitpos(hash, shift);
+            if ((dataMap & bit) != 0) {
+                final int index = dataIndex(bit);
+                final Object currentKey = content[2 * index];
+                final Object currentValue = content[2 * index + 1];
+                if (key.equals(currentKey)) {
+                    change.oldValue = currentValue;
+                    if (currentValue == value) {
+                        return this;
+                    }
+
+                    change.modified = true;
+                    return copyAndSet(newOwner, 2 * index + 1, value);
+                }
+
+                change.modified = true;
+                return copyAndMigrateToNode(newOwner, bit, index, mergeTwo(newOwner, currentKey, currentValue,
+                    currentKey.hashCode(), key, value, hash, shift + BITS));
+            }
+
+            if ((nodeMap & bit) != 0) {
+                final int index = nodeIndex(bit);
+                final HashTrieNode child = nodeAt(index);
+                final HashTrieNode newChild = child.put(newOwner, key, value, hash, shift + BITS, change);
+                return newChild == child ? this : copyAndSet(newOwner, nodeOffset(index), newChild);
+            }
+
+            change.modified = true;
+            return copyAndInsertValue(newOwner, bit, key, value);
+        }
+
+        @Override
+        HashTrieNode remove(final Object newOwner, final Object key, final int hash, final int shift,
+                final Change change) {
+            final int bit = bitpos(hash, shift);
+            if ((dataMap & bit) != 0) {
+                final int index = dataIndex(bit);
+                if (!key.equals(content[2 * index])) {
+                    return this;
+                }
+
+                change.oldValue = content[2 * index + 1];
+                change.modified = true;
+                return copyAndRemoveValue(newOwner, bit, index);
+            }
+
+            if ((nodeMap & bit) != 0) {
+                final int index = nodeIndex(bit);
+                final HashTrieNode child = nodeAt(index);
+                final HashTrieNode newChild = child.remove(newOwner, key, hash, shift + BITS, change);
+                if (!change.modified) {
+                    return this;
+                }
+
+                // Keep the trie canonical: a child with a single entry is inlined into this node. Note that the child
+                // may have been modified in place, hence we need to check this before checking identity.
+                if (newChild.isSingleEntry()) {
+                    return copyAndMigrateToValue(newOwner, bit, index, newChild.keyAt(0), newChild.valueAt(0));
+                }
+                return newChild == child ? this : copyAndSet(newOwner, nodeOffset(index), newChild);
+            }
+
+            return this;
+        }
+
+        @Override
+        int payloadArity() {
+            return Integer.bitCount(dataMap);
+        }
+
+        @Override
+        Object keyAt(final int index) {
+            return content[2 * index];
+        }
+
+        @Override
+        Object valueAt(final int index) {
+            return content[2 * index + 1];
+        }
+
+        @Override
+        int nodeArity() {
+            return Integer.bitCount(nodeMap);
+        }
+
+        @Override
+        HashTrieNode nodeAt(final int index) {
+            return (HashTrieNode) content[nodeOffset(index)];
+        }
+
+        private int dataIndex(final int bit) {
+            return Integer.bitCount(dataMap & bit - 1);
+        }
+
+        private int nodeIndex(final int bit) {
+            return Integer.bitCount(nodeMap & bit - 1);
+        }
+
+        private int nodeOffset(final int index) {
+            return 2 * Integer.bitCount(dataMap) + index;
+        }
+
+        private HashTrieNode copyAndSet(final Object newOwner, final int offset, final Object obj) {
+            if (owner != null && owner == newOwner) {
+                content[offset] = obj;
+                return this;
+            }
+
+            final Object[] copy = content.clone();
+            copy[offset] = obj;
+            return new BitmapNode(newOwner, dataMap, nodeMap, copy);
+        }
+
+        private HashTrieNode copyAndInsertValue(final Object newOwner, final int bit, final Object key,
+                final Object value) {
+            final int offset = 2 * dataIndex(bit);
+            final Object[] copy = new Object[content.length + 2];
+            System.arraycopy(content, 0, copy, 0, offset);
+            copy[offset] = key;
+            copy[offset + 1] = value;
+            System.arraycopy(content, offset, copy, offset + 2, content.length - offset);
+            return update(newOwner, dataMap | bit, nodeMap, copy);
+        }
+
+        private HashTrieNode copyAndRemoveValue(final Object newOwner, final int bit, final int index) {
+            final int offset = 2 * index;
+            final Object[] copy = new Object[content.length - 2];
+            System.arraycopy(content, 0, copy, 0, offset);
+            System.arraycopy(content, offset + 2, copy, offset, content.length - offset - 2);
+            return update(newOwner, dataMap ^ bit, nodeMap, copy);
+        }
+
+        private HashTrieNode copyAndMigrateToNode(final Object newOwner, final int bit, final int index,
+                final HashTrieNode node) {
+            final int offset = 2 * index;
+            final int dataLength = 2 * Integer.bitCount(dataMap);
+            final int nodeIndex = nodeIndex(bit);
+            final Object[] copy = new Object[content.length - 1];
+
+            // Data before the migrated entry, then data after it along with nodes before the new one
+            System.arraycopy(content, 0, copy, 0, offset);
+            System.arraycopy(content, offset + 2, copy, offset, dataLength - offset - 2 + nodeIndex);
+            copy[dataLength - 2 + nodeIndex] = node;
+            System.arraycopy(content, dataLength + nodeIndex, copy, dataLength - 1 + nodeIndex,
+                content.length - dataLength - nodeIndex);
+            return update(newOwner, dataMap ^ bit, nodeMap | bit, copy);
+        }
+
+        private HashTrieNode copyAndMigrateToValue(final Object newOwner, final int bit, final int nodeIndex,
+                final Object key, final Object value) {
+            final int offset = 2 * dataIndex(bit);
+            final int dataLength = 2 * Integer.bitCount(dataMap);
+            final Object[] copy = new Object[content.length + 1];
+
+            // Data before the migrated entry, then data after it along with nodes before the removed one
+            System.arraycopy(content, 0, copy, 0, offset);
+            copy[offset] = key;
+            copy[offset + 1] = value;
+            System.arraycopy(content, offset, copy, offset + 2, dataLength - offset + nodeIndex);
+            System.arraycopy(content, dataLength + nodeIndex + 1, copy, dataLength + 2 + nodeIndex,
+                content.length - dataLength - nodeIndex - 1);
+            return update(newOwner, dataMap | bit, nodeMap ^ bit, copy);
+        }
+
+        private HashTrieNode update(final Object newOwner, final int newDataMap, final int newNodeMap,
+                final Object[] newContent) {
+            if (owner != null && owner == newOwner) {
+                dataMap = newDataMap;
+                nodeMap = newNodeMap;
+                content = newContent;
+                return this;
+            }
+            return new BitmapNode(newOwner, newDataMap, newNodeMap, newContent);
+        }
+    }
+
+    private static final class CollisionNode extends HashTrieNode {
+        private final @Nullable Object owner;
+        private final int hash;
+
+        // This field is only modified when this node is owned by the modifying map
+        private Object[] content;
+
+        CollisionNode(final @Nullable Object owner, final int hash, final Object[] content) {
+            this.owner = owner;
+            this.hash = hash;
+            this.content = requireNonNull(content);
+        }
+
+        @Override
+        Object get(final Object key, final int keyHash, final int shift) {
+            final int offset = findKey(key);
+            return offset != -1 ? content[offset + 1] : null;
+        }
+
+        @Override
+        HashTrieNode put(final Object newOwner, final Object key, final Object value, final int keyHash,
+                final int shift, final Change change) {
+            final int offset = findKey(key);
+            final Object[] copy;
+            if (offset != -1) {
+                final Object currentValue = content[offset + 1];
+                change.oldValue = currentValue;
+                if (currentValue == value) {
+                    return this;
+                }
+
+                copy = isOwnedBy(newOwner) ? content : content.clone();
+                copy[offset + 1] = value;
+            } else {
+                copy = new Object[content.length + 2];
+                System.arraycopy(content, 0, copy, 0, content.length);
+                copy[content.length] = key;
+                copy[content.length + 1] = value;
+            }
+
+            change.modified = true;
+            return update(newOwner, copy);
+        }
+
+        @Override
+        HashTrieNode remove(final Object newOwner, final Object key, final int keyHash, final int shift,
+                final Change change) {
+            final int offset = findKey(key);
+            if (offset == -1) {
+                return this;
+            }
+
+            change.oldValue = content[offset + 1];
+            change.modified = true;
+            if (content.length == 4) {
+                // Single entry remains, our parent will inline it
+                final int remaining = offset == 0 ? 2 : 0;
+                return new BitmapNode(newOwner, 1, 0, new Object[] { content[remaining], content[remaining + 1] });
+            }
+
+            final Object[] copy = new Object[content.length - 2];
+            System.arraycopy(content, 0, copy, 0, offset);
+            System.arraycopy(content, offset + 2, copy, offset, content.length - offset - 2);
+            return update(newOwner, copy);
+        }
+
+        @Override
+        int payloadArity() {
+            return content.length / 2;
+        }
+
+        @Override
+        Object keyAt(final int index) {
+            return content[2 * index];
+        }
+
+        @Override
+        Object valueAt(final int index) {
+            return content[2 * index + 1];
+        }
+
+        @Override
+        int nodeArity() {
+            return 0;
+        }
+
+        @Override
+        HashTrieNode nodeAt(final int index) {
+            throw new IndexOutOfBoundsException(index);
+        }
+
+        private int findKey(final Object key) {
+            for (int offset = 0; offset < content.length; offset += 2) {
+                if (key.equals(content[offset])) {
+                    return offset;
+                }
+            }
+            return -1;
+        }
+
+        private boolean isOwnedBy(final Object newOwner) {
+            return owner != null && owner == newOwner;
+        }
+
+        private HashTrieNode update(final Object newOwner, final Object[] newContent) {
+            if (isOwnedBy(newOwner)) {
+                content = newContent;
+                return this;
+            }
+            return new CollisionNode(newOwner, hash, newContent);
+        }
+    }
+
+    /**
+     * Depth-first iterator over the entries of a trie.
+     */
+    private static final class EntryIterator<K, V> implements Iterator<Entry<K, V>> {
+        // BitmapNodes consume 32 bits of hash in 5-bit increments, with a CollisionNode at the bottom
+        private static final int MAX_DEPTH = (MAX_SHIFT + BITS - 1) / BITS + 1;
+
+        private final HashTrieNode[] nodes = new HashTrieNode[MAX_DEPTH];
+        private final int[] nodeCursors = new int[MAX_DEPTH];
+        private int depth;
+
+        private HashTrieNode current;
+        private int payloadCursor;
+
+        EntryIterator(final HashTrieNode root) {
+            nodes[0] = root;
+            current = root;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (payloadCursor >= current.payloadArity()) {
+                if (!advance()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final int index = payloadCursor++;
+            return new SimpleImmutableEntry<>((K) current.keyAt(index), (V) current.valueAt(index));
+        }
+
+        private boolean advance() {
+            while (depth >= 0) {
+                final HashTrieNode node = nodes[depth];
+                final int cursor = nodeCursors[depth];
+                if (cursor < node.nodeArity()) {
+                    nodeCursors[depth] = cursor + 1;
+                    current = node.nodeAt(cursor);
+                    payloadCursor = 0;
+                    nodes[++depth] = current;
+                    nodeCursors[depth] = 0;
+                    return true;
+                }
+                depth--;
+            }
+            return false;
+        }
+    }
+}
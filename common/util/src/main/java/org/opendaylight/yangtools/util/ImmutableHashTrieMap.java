@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Map;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * An immutable map backed by a persistent Hash Array Mapped Trie. This is what we give out from
+ * {@link MapAdaptor#optimize(Map)} when it is configured to use hash tries. Conversion to a {@link MutableHashTrieMap}
+ * does not copy any data and modifying it copies only the trie nodes along the path to the modified entry, hence
+ * a single-entry update takes O(log n) time and allocation.
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ */
+final class ImmutableHashTrieMap<K, V> extends AbstractHashTrieMap<K, V> implements UnmodifiableMapPhase<K, V> {
+    private final @NonNull HashTrieNode root;
+    private final int size;
+
+    ImmutableHashTrieMap(final HashTrieNode root, final int size) {
+        this.root = requireNonNull(root);
+        this.size = size;
+    }
+
+    static <K, V> @NonNull ImmutableHashTrieMap<K, V> copyOf(final Map<K, V> map) {
+        if (map instanceof ImmutableHashTrieMap) {
+            return (ImmutableHashTrieMap<K, V>) map;
+        }
+
+        final MutableHashTrieMap<K, V> tmp = new MutableHashTrieMap<>();
+        tmp.putAll(map);
+        return tmp.toUnmodifiableMap();
+    }
+
+    @Override
+    public MutableHashTrieMap<K, V> toModifiableMap() {
+        return new MutableHashTrieMap<>(root, size);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    HashTrieNode root() {
+        return root;
+    }
+}
@@ -31,19 +31,24 @@ public final class MapAdaptor {
     public static final int DEFAULT_PERSIST_MIN_ITEMS = 50;
     public static final String PERSIST_MIN_ITEMS_PROP = "org.opendaylight.yangtools.util.mapadaptor.minpersist";
 
+    public static final String USE_HASH_TRIE_PROP = "org.opendaylight.yangtools.util.mapadaptor.hashtrie";
+
     private static final Logger LOG = LoggerFactory.getLogger(MapAdaptor.class);
     private static final MapAdaptor DEFAULT_INSTANCE;
 
     private final boolean useSingleton;
     private final int persistMinItems;
     private final int copyMaxItems;
+    private final boolean useHashTrie;
 
     static {
         DEFAULT_INSTANCE = new MapAdaptor(true,
                 getProperty(COPY_MAX_ITEMS_MAX_PROP, DEFAULT_COPY_MAX_ITEMS),
-                getProperty(PERSIST_MIN_ITEMS_PROP, DEFAULT_PERSIST_MIN_ITEMS));
-        LOG.debug("Configured HashMap/TrieMap cutoff at {}/{} entries",
-                DEFAULT_INSTANCE.persistMinItems, DEFAULT_INSTANCE.copyMaxItems);
+                getProperty(PERSIST_MIN_ITEMS_PROP, DEFAULT_PERSIST_MIN_ITEMS),
+                Boolean.getBoolean(USE_HASH_TRIE_PROP));
+        LOG.debug("Configured HashMap/{} cutoff at {}/{} entries",
+                DEFAULT_INSTANCE.useHashTrie ? "HashTrie" : "TrieMap", DEFAULT_INSTANCE.persistMinItems,
+                DEFAULT_INSTANCE.copyMaxItems);
     }
 
     private static int getProperty(final String name, final int defaultValue) {
@@ -56,10 +61,12 @@ public final class MapAdaptor {
         return defaultValue;
     }
 
-    private MapAdaptor(final boolean useSingleton, final int copyMaxItems, final int persistMinItems) {
+    private MapAdaptor(final boolean useSingleton, final int copyMaxItems, final int persistMinItems,
+            final boolean useHashTrie) {
         this.useSingleton = useSingleton;
         this.copyMaxItems = copyMaxItems;
         this.persistMinItems = persistMinItems;
+        this.useHashTrie = useHashTrie;
     }
 
     /**
@@ -73,10 +80,27 @@ public final class MapAdaptor {
 
     public static MapAdaptor getInstance(final boolean useSingleton, final int copyMaxItems,
             final int persistMinItems) {
+        return getInstance(useSingleton, copyMaxItems, persistMinItems, false);
+    }
+
+    /**
+     * Return an instance with specified configuration.
+     *
+     * @param useSingleton Use singleton maps for single-entry maps
+     * @param copyMaxItems Maximum number of entries held in maps which are copied on modification
+     * @param persistMinItems Minimum number of entries to retain a persistent map
+     * @param useHashTrie Use a persistent Hash Array Mapped Trie instead of a TrieMap as the persistent map. This
+     *                    makes modifications of large maps cheaper, as they need to copy only O(log n) of the map's
+     *                    structure, at the cost of not supporting concurrent modification, which we do not need.
+     * @return A MapAdaptor instance
+     * @throws IllegalArgumentException if any of the arguments is invalid
+     */
+    public static MapAdaptor getInstance(final boolean useSingleton, final int copyMaxItems,
+            final int persistMinItems, final boolean useHashTrie) {
         checkArgument(copyMaxItems >= 0, "copyMaxItems has to be a non-negative integer");
         checkArgument(persistMinItems >= 0, "persistMinItems has to be a positive integer");
         checkArgument(persistMinItems <= copyMaxItems, "persistMinItems must be less than or equal to copyMaxItems");
-        return new MapAdaptor(useSingleton, copyMaxItems, persistMinItems);
+        return new MapAdaptor(useSingleton, copyMaxItems, persistMinItems, useHashTrie);
     }
 
     /**
@@ -88,7 +112,7 @@ public final class MapAdaptor {
     public <K, V> Map<K, V> initialSnapshot(final int expectedSize) {
         checkArgument(expectedSize >= 0);
         if (expectedSize > persistMinItems) {
-            return new ReadWriteTrieMap<>();
+            return useHashTrie ? new MutableHashTrieMap<>() : new ReadWriteTrieMap<>();
         }
 
         if (expectedSize < 2) {
@@ -112,6 +136,9 @@ public final class MapAdaptor {
         if (input instanceof ReadOnlyTrieMap) {
             return ((ReadOnlyTrieMap<K, V>)input).toReadWrite();
         }
+        if (input instanceof ImmutableHashTrieMap) {
+            return ((ImmutableHashTrieMap<K, V>) input).toModifiableMap();
+        }
 
         LOG.trace("Converting input {} to a HashMap", input);
 
@@ -186,6 +213,12 @@ public final class MapAdaptor {
         if (input instanceof ReadWriteTrieMap && size >= persistMinItems) {
             return ((ReadWriteTrieMap<K, V>)input).toReadOnly();
         }
+        if (input instanceof MutableHashTrieMap && size >= persistMinItems) {
+            return ((MutableHashTrieMap<K, V>) input).toUnmodifiableMap();
+        }
+        if (input instanceof ImmutableHashTrieMap && size >= persistMinItems) {
+            return input;
+        }
 
         /*
          * If the user opted to use singleton maps, use them. Except for the case
@@ -213,6 +246,16 @@ public final class MapAdaptor {
             return ret;
         }
 
+        /*
+         * Favor isolation speed: use a persistent Hash Array Mapped Trie, which we can modify without copying it.
+         */
+        if (useHashTrie) {
+            LOG.trace("Copying input {} to a HashTrie ({} entries)", input, size);
+            final Map<K, V> ret = ImmutableHashTrieMap.copyOf(input);
+            LOG.trace("Read-only HashTrie is {}", ret);
+            return ret;
+        }
+
         /*
          * Favor isolation speed: use a TrieMap and perform snapshots
          *
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import static java.util.Objects.requireNonNull;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * A mutable map backed by a Hash Array Mapped Trie, sharing structure with the {@link ImmutableHashTrieMap} it was
+ * created from. Trie nodes are copied on first modification and modified in place afterwards, until
+ * {@link #toUnmodifiableMap()} is invoked.
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ */
+final class MutableHashTrieMap<K, V> extends AbstractHashTrieMap<K, V> implements ModifiableMapPhase<K, V> {
+    // Identity of nodes we are allowed to modify in place. Replaced whenever we hand out an immutable view.
+    private @NonNull Object owner = new Object();
+    private @NonNull HashTrieNode root;
+    private int size;
+
+    MutableHashTrieMap() {
+        this(HashTrieNode.EMPTY, 0);
+    }
+
+    MutableHashTrieMap(final HashTrieNode root, final int size) {
+        this.root = requireNonNull(root);
+        this.size = size;
+    }
+
+    @Override
+    public ImmutableHashTrieMap<K, V> toUnmodifiableMap() {
+        owner = new Object();
+        return new ImmutableHashTrieMap<>(root, size);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(final K key, final V value) {
+        final HashTrieNode.Change change = new HashTrieNode.Change();
+        root = root.put(owner, requireNonNull(key), requireNonNull(value), key.hashCode(), 0, change);
+        if (change.oldValue == null) {
+            size++;
+        }
+        return (V) change.oldValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(final Object key) {
+        if (key == null) {
+            return null;
+        }
+
+        final HashTrieNode.Change change = new HashTrieNode.Change();
+        root = root.remove(owner, key, key.hashCode(), 0, change);
+        if (change.modified) {
+            size--;
+        }
+        return (V) change.oldValue;
+    }
+
+    @Override
+    public void clear() {
+        root = HashTrieNode.EMPTY;
+        size = 0;
+    }
+
+    @Override
+    HashTrieNode root() {
+        return root;
+    }
+}
@@ -21,6 +21,7 @@ import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Stream;
 import org.checkerframework.checker.lock.qual.GuardedBy;
@@ -39,6 +40,8 @@ import org.slf4j.LoggerFactory;
  * previous tasks have been dispatched are appended to the existing queue. When all tasks have been dispatched,
  * the queue and dispatcher task are discarded.
  *
+ * <p>The queue implementation is selected by {@link DispatchQueueType}.
+ *
  * @author Thomas Pantelis
  * @author Robert Varga
  *
@@ -55,14 +58,27 @@ abstract class AbstractBatchingExecutor<K, T> extends AbstractIdentifiable<Strin
     private static final int MAX_NOTIFICATION_OFFER_MINUTES = 10;
     private static final long GIVE_UP_NANOS = TimeUnit.MINUTES.toNanos(MAX_NOTIFICATION_OFFER_MINUTES);
     private static final long TASK_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    /**
+     * Number of attempts a task submitter spins on a full {@link DispatchQueueType#LOCK_FREE} queue before it starts
+     * parking, and the maximum time it parks for in one go.
+     */
+    private static final int SUBMIT_SPINS = 64;
+    private static final long SUBMIT_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
 
     private final ConcurrentMap<K, DispatcherTask> dispatcherTasks = new ConcurrentHashMap<>();
     private final @NonNull Executor executor;
+    private final @NonNull DispatchQueueType queueType;
     private final int maxQueueCapacity;
 
     AbstractBatchingExecutor(final @NonNull String name, final @NonNull Executor executor, final int maxQueueCapacity) {
+        this(name, executor, maxQueueCapacity, DispatchQueueType.LOCKING);
+    }
+
+    AbstractBatchingExecutor(final @NonNull String name, final @NonNull Executor executor, final int maxQueueCapacity,
+            final @NonNull DispatchQueueType queueType) {
         super(name);
         this.executor = requireNonNull(executor);
+        this.queueType = requireNonNull(queueType);
         checkArgument(maxQueueCapacity > 0, "Invalid maxQueueCapacity %s must be > 0", maxQueueCapacity);
         this.maxQueueCapacity = maxQueueCapacity;
     }
@@ -81,6 +97,13 @@ abstract class AbstractBatchingExecutor<K, T> extends AbstractIdentifiable<Strin
         return executor;
     }
 
+    /**
+     * Returns the type of worker queues.
+     */
+    final @NonNull DispatchQueueType queueType() {
+        return queueType;
+    }
+
     // FIXME: YANGTOOLS-1016: allow explicit blocking control
     final void submitTask(final K key, final T task) {
         submitTasks(key, Collections.singletonList(requireNonNull(task)));
@@ -103,7 +126,7 @@ abstract class AbstractBatchingExecutor<K, T> extends AbstractIdentifiable<Strin
                 DispatcherTask task = dispatcherTasks.get(key);
                 if (task == null) {
                     // No task found, try to insert a new one
-                    final DispatcherTask newTask = new DispatcherTask(key, it);
+                    final DispatcherTask newTask = newDispatcherTask(key, it);
                     task = dispatcherTasks.putIfAbsent(key, newTask);
                     if (task == null) {
                         // We were able to put our new task - now submit it to the executor and we're done. If it throws
@@ -120,7 +143,7 @@ abstract class AbstractBatchingExecutor<K, T> extends AbstractIdentifiable<Strin
                 if (!completed) {
                     // Task is indicating it is exiting before it has consumed all the items and is exiting. Rather
                     // than spinning on removal, we try to replace it.
-                    final DispatcherTask newTask = new DispatcherTask(key, it);
+                    final DispatcherTask newTask = newDispatcherTask(key, it);
                     if (dispatcherTasks.replace(key, task, newTask)) {
                         runTask(key, newTask);
                         break;
@@ -156,22 +179,93 @@ abstract class AbstractBatchingExecutor<K, T> extends AbstractIdentifiable<Strin
         executor.execute(task);
     }
 
+    private DispatcherTask newDispatcherTask(final @NonNull K key, final @NonNull Iterator<T> tasks) {
+        switch (queueType) {
+            case LOCKING:
+                return new LockingDispatcherTask(key, tasks);
+            case LOCK_FREE:
+                return new LockFreeDispatcherTask(key, tasks);
+            default:
+                throw new IllegalStateException("Unhandled queue type " + queueType);
+        }
+    }
+
     /**
      * Executor task for a single worker that queues tasks and sends them serially to the worker.
      */
-    final class DispatcherTask implements Runnable {
+    abstract class DispatcherTask implements Runnable {
+        private final @NonNull K key;
+
+        DispatcherTask(final @NonNull K key) {
+            this.key = requireNonNull(key);
+        }
+
+        /**
+         * Recover items queued in this task. This method may only be invoked when the task has not been started and
+         * will never be started.
+         *
+         * @return Queued items
+         */
+        abstract @NonNull Iterator<T> recoverItems();
+
+        /**
+         * Submit tasks to this task's queue.
+         *
+         * @param tasks Tasks to submit
+         * @return False if this task is exiting and has not consumed all tasks, true otherwise
+         * @throws InterruptedException if the calling thread was interrupted while waiting for queue capacity
+         */
+        abstract boolean submitTasks(@NonNull Iterator<T> tasks) throws InterruptedException;
+
+        abstract int size();
+
+        final @NonNull K key() {
+            return key;
+        }
+
+        final void logSubmitTimeout(final @NonNull Iterator<T> tasks) {
+            LOG.warn("{}: Failed to offer tasks {} to the queue for worker {}. Exceeded maximum allowable time of {} "
+                + "minutes; the worker is likely in an unrecoverable state (deadlock or endless loop). ",
+                getIdentifier(), ImmutableList.copyOf(tasks), key, MAX_NOTIFICATION_OFFER_MINUTES);
+        }
+
+        final void logInterrupted() {
+            // The executor is probably shutting down so log as debug.
+            LOG.debug("{}: Interrupted trying to remove from {} worker's queue", getIdentifier(), key);
+        }
+
+        final void exited() {
+            // We're exiting, gracefully or not - either way make sure we always remove ourselves from the cache.
+            dispatcherTasks.remove(key, this);
+        }
+
+        @SuppressWarnings("checkstyle:illegalCatch")
+        final void invokeWorker(final @NonNull ImmutableList<T> tasks) {
+            LOG.debug("{}: Invoking worker {} with tasks: {}", getIdentifier(), key, tasks);
+            try {
+                executeBatch(key, tasks);
+            } catch (Exception e) {
+                // We'll let a RuntimeException from the worker slide and keep sending any remaining tasks.
+                LOG.error("{}: Error invoking worker {} with {}", getIdentifier(), key, tasks, e);
+            }
+        }
+    }
+
+    /**
+     * A {@link DispatcherTask} backed by an {@link ArrayDeque} guarded by a {@link Lock}.
+     */
+    private final class LockingDispatcherTask extends DispatcherTask {
         private final Lock lock = new ReentrantLock();
         private final Condition notEmpty = lock.newCondition();
         private final Condition notFull = lock.newCondition();
-        private final @NonNull K key;
 
         @GuardedBy("lock")
         private final Queue<T> queue = new ArrayDeque<>();
         @GuardedBy("lock")
         private boolean exiting;
 
-        DispatcherTask(final @NonNull K key, final @NonNull Iterator<T> tasks) {
-            this.key = requireNonNull(key);
+        LockingDispatcherTask(final @NonNull K key, final @NonNull Iterator<T> tasks) {
+            super(key);
             while (tasks.hasNext()) {
                 final T task = tasks.next();
                 if (task != null) {
@@ -180,16 +274,14 @@ abstract class AbstractBatchingExecutor<K, T> extends AbstractIdentifiable<Strin
             }
         }
 
-        @NonNull Iterator<T> recoverItems() {
+        @Override
+        Iterator<T> recoverItems() {
             // This violates @GuardedBy annotation, but is invoked only when the task is not started and will never
             // get started, hence this is safe.
             return queue.iterator();
         }
 
-        @NonNull K key() {
-            return key;
-        }
-
+        @Override
         int size() {
             lock.lock();
             try {
@@ -199,7 +291,8 @@ abstract class AbstractBatchingExecutor<K, T> extends AbstractIdentifiable<Strin
             }
         }
 
-        boolean submitTasks(final @NonNull Iterator<T> tasks) throws InterruptedException {
+        @Override
+        boolean submitTasks(final Iterator<T> tasks) throws InterruptedException {
             final long start = System.nanoTime();
             final long deadline = start + GIVE_UP_NANOS;
 
@@ -220,10 +313,7 @@ abstract class AbstractBatchingExecutor<K, T> extends AbstractIdentifiable<Strin
                     final int avail = maxQueueCapacity - queue.size();
                     if (avail <= 0) {
                         if (canWait <= 0) {
-                            LOG.warn("{}: Failed to offer tasks {} to the queue for worker {}. Exceeded "
-                                + "maximum allowable time of {} minutes; the worker is likely in an unrecoverable "
-                                + "state (deadlock or endless loop). ", getIdentifier(), ImmutableList.copyOf(tasks),
-                                key, MAX_NOTIFICATION_OFFER_MINUTES);
+                            logSubmitTimeout(tasks);
                             return true;
                         }
 
@@ -257,8 +347,7 @@ abstract class AbstractBatchingExecutor<K, T> extends AbstractIdentifiable<Strin
                 try {
                     timeout = notEmpty.awaitNanos(timeout);
                 } catch (InterruptedException e) {
-                    // The executor is probably shutting down so log as debug.
-                    LOG.debug("{}: Interrupted trying to remove from {} worker's queue", getIdentifier(), key);
+                    logInterrupted();
                     return false;
                 }
             }
@@ -292,20 +381,106 @@ abstract class AbstractBatchingExecutor<K, T> extends AbstractIdentifiable<Strin
                     invokeWorker(tasks);
                 }
             } finally {
-                // We're exiting, gracefully or not - either way make sure we always remove
-                // ourselves from the cache.
-                dispatcherTasks.remove(key, this);
+                exited();
             }
         }
+    }
 
-        @SuppressWarnings("checkstyle:illegalCatch")
-        private void invokeWorker(final @NonNull ImmutableList<T> tasks) {
-            LOG.debug("{}: Invoking worker {} with tasks: {}", getIdentifier(), key, tasks);
+    /**
+     * A {@link DispatcherTask} backed by a {@link BoundedMpscQueue}. Submitters contend only among themselves, while
+     * the worker drains all published tasks without blocking them. Submitters facing a full queue spin for a while and
+     * then park with an exponentially-increasing timeout, as the worker does not track them.
+     */
+    private final class LockFreeDispatcherTask extends DispatcherTask {
+        private final BoundedMpscQueue<T> queue = new BoundedMpscQueue<>(maxQueueCapacity);
+
+        LockFreeDispatcherTask(final @NonNull K key, final @NonNull Iterator<T> tasks) {
+            super(key);
+            while (tasks.hasNext()) {
+                final T task = tasks.next();
+                if (task != null) {
+                    queue.forcePut(task);
+                }
+            }
+        }
+
+        @Override
+        Iterator<T> recoverItems() {
+            return queue.drain().iterator();
+        }
+
+        @Override
+        int size() {
+            return queue.size();
+        }
+
+        @Override
+        boolean submitTasks(final Iterator<T> tasks) throws InterruptedException {
+            final long deadline = System.nanoTime() + GIVE_UP_NANOS;
+            int spins = 0;
+            long parkNanos = 1;
+
+            while (tasks.hasNext()) {
+                final int reserved = queue.tryReserve();
+                if (reserved > 0) {
+                    final T task = tasks.next();
+                    if (task != null) {
+                        queue.put(task);
+                    } else {
+                        queue.cancelReservation();
+                    }
+                    spins = 0;
+                    parkNanos = 1;
+                    continue;
+                }
+                if (reserved < 0) {
+                    // The worker is exiting
+                    return false;
+                }
+
+                // Queue is full, back off
+                if (deadline - System.nanoTime() <= 0) {
+                    logSubmitTimeout(tasks);
+                    return true;
+                }
+                if (spins < SUBMIT_SPINS) {
+                    spins++;
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(this, parkNanos);
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException();
+                    }
+                    parkNanos = Math.min(parkNanos * 2, SUBMIT_PARK_NANOS);
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void run() {
             try {
-                executeBatch(key, tasks);
-            } catch (Exception e) {
-                // We'll let a RuntimeException from the worker slide and keep sending any remaining tasks.
-                LOG.error("{}: Error invoking worker {} with {}", getIdentifier(), key, tasks, e);
+                // Loop until we've dispatched all the tasks in the queue.
+                while (true) {
+                    try {
+                        if (!queue.await(TASK_WAIT_NANOS)) {
+                            if (queue.tryClose()) {
+                                break;
+                            }
+                            // A submitter has reserved capacity, but has not published its task yet
+                            continue;
+                        }
+                    } catch (InterruptedException e) {
+                        logInterrupted();
+                        break;
+                    }
+
+                    invokeWorker(queue.drain());
+                }
+            } finally {
+                // Make sure submitters do not enqueue any more tasks, even if we are exiting abnormally
+                queue.close();
+                exited();
             }
         }
     }
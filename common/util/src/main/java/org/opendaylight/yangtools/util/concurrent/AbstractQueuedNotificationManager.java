@@ -42,7 +42,12 @@ abstract class AbstractQueuedNotificationManager<T, L, N> extends AbstractBatchi
 
     AbstractQueuedNotificationManager(final String name, final Executor executor, final int maxQueueCapacity,
             final BatchedInvoker<L, N> listenerInvoker) {
-        super(name, executor, maxQueueCapacity);
+        this(name, executor, maxQueueCapacity, listenerInvoker, DispatchQueueType.LOCKING);
+    }
+
+    AbstractQueuedNotificationManager(final String name, final Executor executor, final int maxQueueCapacity,
+            final BatchedInvoker<L, N> listenerInvoker, final DispatchQueueType queueType) {
+        super(name, executor, maxQueueCapacity, queueType);
         this.listenerInvoker = requireNonNull(listenerInvoker);
     }
 
@@ -60,6 +65,13 @@ abstract class AbstractQueuedNotificationManager<T, L, N> extends AbstractBatchi
         return maxQueueCapacity();
     }
 
+    /**
+     * Returns the type of listener queues.
+     */
+    public final DispatchQueueType getQueueType() {
+        return queueType();
+    }
+
     /**
      * Return an {@link QueuedNotificationManagerMXBean} tied to this instance.
      *
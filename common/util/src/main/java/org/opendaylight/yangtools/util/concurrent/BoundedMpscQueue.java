@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util.concurrent;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableList;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.locks.LockSupport;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * A bounded, lock-free, multi-producer single-consumer queue, which can be closed by its consumer once it becomes
+ * empty. Items are kept in a linked list, where producers swap the tail and the consumer advances the head, hence
+ * producers do not contend with the consumer.
+ *
+ * <p>
+ * Producers need to reserve capacity via {@link #tryReserve()} before publishing an item via {@link #put(Object)}.
+ * Reserved capacity counts towards {@link #size()} and prevents the queue from being closed, hence a reservation must
+ * always be followed by either {@link #put(Object)} or {@link #cancelReservation()}.
+ *
+ * <p>
+ * The consumer waits for items via {@link #await(long)} and removes all published items via {@link #drain()}.
+ *
+ * @param <T> item type
+ */
+final class BoundedMpscQueue<T> {
+    private static final class Node<T> {
+        volatile Node<T> next;
+        T item;
+
+        Node(final T item) {
+            this.item = item;
+        }
+    }
+
+    // Number of times the consumer checks for items before parking
+    private static final int CONSUMER_SPINS = 128;
+    private static final int CLOSED = Integer.MIN_VALUE;
+    private static final VarHandle SIZE;
+    private static final VarHandle TAIL;
+
+    static {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            SIZE = lookup.findVarHandle(BoundedMpscQueue.class, "size", int.class);
+            TAIL = lookup.findVarHandle(BoundedMpscQueue.class, "tail", Node.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final int capacity;
+
+    // Accessed by the consumer only
+    private Node<T> head;
+
+    // All access needs to go through TAIL
+    @SuppressWarnings("unused")
+    private volatile Node<T> tail;
+    // All access needs to go through SIZE. Number of reserved items, or CLOSED.
+    @SuppressWarnings("unused")
+    private volatile int size;
+    // The consumer thread while it is waiting for items
+    private volatile Thread waiter;
+
+    BoundedMpscQueue(final int capacity) {
+        checkArgument(capacity > 0, "Invalid capacity %s", capacity);
+        this.capacity = capacity;
+        head = new Node<>(null);
+        TAIL.set(this, head);
+    }
+
+    /**
+     * Attempt to reserve capacity for a single item.
+     *
+     * @return Positive number if capacity has been reserved, zero if the queue is full, negative number if the queue
+     *         has been closed
+     */
+    int tryReserve() {
+        while (true) {
+            final int current = (int) SIZE.getVolatile(this);
+            if (current < 0) {
+                return -1;
+            }
+            if (current >= capacity) {
+                return 0;
+            }
+            if (SIZE.compareAndSet(this, current, current + 1)) {
+                return 1;
+            }
+        }
+    }
+
+    /**
+     * Cancel a reservation made via {@link #tryReserve()}.
+     */
+    void cancelReservation() {
+        release(1);
+    }
+
+    /**
+     * Publish an item for which capacity has been reserved via {@link #tryReserve()}.
+     *
+     * @param item Item to publish
+     * @throws NullPointerException if {@code item} is null
+     */
+    void put(final @NonNull T item) {
+        final Node<T> node = new Node<>(requireNonNull(item));
+        @SuppressWarnings("unchecked")
+        final Node<T> prev = (Node<T>) TAIL.getAndSet(this, node);
+        prev.next = node;
+
+        final Thread local = waiter;
+        if (local != null) {
+            LockSupport.unpark(local);
+        }
+    }
+
+    /**
+     * Publish an item without regard to capacity. This method is not thread-safe and may only be invoked before the
+     * queue is shared with other threads.
+     *
+     * @param item Item to publish
+     * @throws NullPointerException if {@code item} is null
+     */
+    void forcePut(final @NonNull T item) {
+        SIZE.set(this, (int) SIZE.get(this) + 1);
+        put(item);
+    }
+
+    /**
+     * Wait for an item to become available. The calling thread spins for a short while and then parks itself. This
+     * method may only be invoked by the consumer.
+     *
+     * @param timeoutNanos Maximum time to wait, in nanoseconds
+     * @return True if an item is available, false if the timeout has elapsed
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    boolean await(final long timeoutNanos) throws InterruptedException {
+        for (int i = 0; i < CONSUMER_SPINS; ++i) {
+            if (head.next != null) {
+                return true;
+            }
+            Thread.onSpinWait();
+        }
+
+        final long deadline = System.nanoTime() + timeoutNanos;
+        // Producers check the waiter after publishing, hence we need to check for items after setting it
+        waiter = Thread.currentThread();
+        try {
+            while (head.next == null) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+
+                LockSupport.parkNanos(this, remaining);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+            return true;
+        } finally {
+            waiter = null;
+        }
+    }
+
+    /**
+     * Remove all published items, releasing their capacity. This method may only be invoked by the consumer.
+     *
+     * @return Removed items
+     */
+    @NonNull ImmutableList<T> drain() {
+        final ImmutableList.Builder<T> builder = ImmutableList.builder();
+        int count = 0;
+        Node<T> current = head;
+        Node<T> next = current.next;
+        while (next != null) {
+            builder.add(next.item);
+            // Do not retain the item through the new head node
+            next.item = null;
+            current = next;
+            next = current.next;
+            count++;
+        }
+
+        head = current;
+        if (count != 0) {
+            release(count);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Attempt to close the queue. This succeeds only if there are no published nor reserved items. Once the queue is
+     * closed, {@link #tryReserve()} fails.
+     *
+     * @return True if the queue has been closed
+     */
+    boolean tryClose() {
+        return SIZE.compareAndSet(this, 0, CLOSED);
+    }
+
+    /**
+     * Close the queue regardless of its contents, discarding them.
+     */
+    void close() {
+        SIZE.setVolatile(this, CLOSED);
+    }
+
+    /**
+     * Return the number of items in this queue, including those which have been reserved but not published.
+     *
+     * @return Number of items
+     */
+    int size() {
+        final int local = (int) SIZE.getVolatile(this);
+        return local < 0 ? 0 : local;
+    }
+
+    private void release(final int count) {
+        while (true) {
+            final int current = (int) SIZE.getVolatile(this);
+            if (current < 0 || SIZE.compareAndSet(this, current, current - count)) {
+                // Closed queues do not track capacity
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util.concurrent;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * Type of queue used by a notification manager to hand off notifications from submitting threads to the thread
+ * dispatching them to a particular listener.
+ */
+@Beta
+public enum DispatchQueueType {
+    /**
+     * A queue guarded by a lock. Submitting threads contend with each other and with the dispatching thread, and are
+     * blocked while the queue is full.
+     */
+    LOCKING,
+    /**
+     * A lock-free queue. Submitting threads do not contend with the dispatching thread, which drains all available
+     * notifications in one go. While the queue is full, submitting threads spin for a short while and then park
+     * themselves until capacity becomes available.
+     */
+    LOCK_FREE;
+}
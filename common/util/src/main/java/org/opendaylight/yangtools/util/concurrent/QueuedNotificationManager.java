@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.util.concurrent;
 
+import com.google.common.annotations.Beta;
 import com.google.common.collect.ImmutableList;
 import java.util.concurrent.Executor;
 import org.eclipse.jdt.annotation.NonNull;
@@ -36,8 +37,8 @@ public final class QueuedNotificationManager<L, N> extends IdentityQueuedNotific
     }
 
     QueuedNotificationManager(final @NonNull Executor executor, final @NonNull BatchedInvoker<L, N> listenerInvoker,
-            final int maxQueueCapacity, final @NonNull String name) {
-        super(name, executor, maxQueueCapacity, listenerInvoker);
+            final int maxQueueCapacity, final @NonNull String name, final @NonNull DispatchQueueType queueType) {
+        super(name, executor, maxQueueCapacity, listenerInvoker, queueType);
     }
 
     /**
@@ -51,6 +52,22 @@ public final class QueuedNotificationManager<L, N> extends IdentityQueuedNotific
     public static <L, N> QueuedNotificationManager<L, N> create(final @NonNull Executor executor,
             final@NonNull  BatchedInvoker<L, N> listenerInvoker, final int maxQueueCapacity,
             final @NonNull String name) {
-        return new QueuedNotificationManager<>(executor, listenerInvoker, maxQueueCapacity, name);
+        return create(executor, listenerInvoker, maxQueueCapacity, name, DispatchQueueType.LOCKING);
+    }
+
+    /**
+     * Create a new notification manager using specified type of listener queues.
+     *
+     * @param executor the {@link Executor} to use for notification tasks
+     * @param listenerInvoker the {@link BatchedInvoker} to use for invoking listeners
+     * @param maxQueueCapacity the capacity of each listener queue
+     * @param name the name of this instance for logging info
+     * @param queueType the type of listener queues
+     */
+    @Beta
+    public static <L, N> QueuedNotificationManager<L, N> create(final @NonNull Executor executor,
+            final @NonNull BatchedInvoker<L, N> listenerInvoker, final int maxQueueCapacity,
+            final @NonNull String name, final @NonNull DispatchQueueType queueType) {
+        return new QueuedNotificationManager<>(executor, listenerInvoker, maxQueueCapacity, name, queueType);
     }
 }
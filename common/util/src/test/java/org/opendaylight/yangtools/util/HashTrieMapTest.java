@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+import org.junit.Test;
+
+public class HashTrieMapTest {
+    /**
+     * A key with controlled hash code, so we can exercise deep tries and collisions.
+     */
+    private static final class Key {
+        private final int hash;
+        private final int id;
+
+        Key(final int hash, final int id) {
+            this.hash = hash;
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof Key && id == ((Key) obj).id;
+        }
+
+        @Override
+        public String toString() {
+            return "Key" + id;
+        }
+    }
+
+    @Test
+    public void testBasicOperations() {
+        final MutableHashTrieMap<String, String> map = new MutableHashTrieMap<>();
+        assertTrue(map.isEmpty());
+        assertNull(map.put("a", "1"));
+        assertNull(map.put("b", "2"));
+        assertEquals("1", map.put("a", "3"));
+        assertEquals(2, map.size());
+        assertEquals("3", map.get("a"));
+        assertTrue(map.containsKey("b"));
+        assertFalse(map.containsKey("c"));
+        assertNull(map.get(null));
+        assertNull(map.remove("c"));
+        assertEquals("2", map.remove("b"));
+        assertEquals(Map.of("a", "3"), map);
+
+        assertThrows(NullPointerException.class, () -> map.put(null, "1"));
+        assertThrows(NullPointerException.class, () -> map.put("a", null));
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertFalse(map.entrySet().iterator().hasNext());
+    }
+
+    @Test
+    public void testCollisions() {
+        final MutableHashTrieMap<Key, Integer> map = new MutableHashTrieMap<>();
+        for (int i = 0; i < 10; ++i) {
+            map.put(new Key(42, i), i);
+        }
+        assertEquals(10, map.size());
+        for (int i = 0; i < 10; ++i) {
+            assertEquals(Integer.valueOf(i), map.get(new Key(42, i)));
+        }
+
+        for (int i = 0; i < 9; ++i) {
+            assertEquals(Integer.valueOf(i), map.remove(new Key(42, i)));
+        }
+        assertEquals(Map.of(new Key(42, 9), 9), map);
+    }
+
+    @Test
+    public void testIsolation() {
+        final MutableHashTrieMap<Integer, Integer> map = new MutableHashTrieMap<>();
+        for (int i = 0; i < 1000; ++i) {
+            map.put(i, i);
+        }
+
+        final ImmutableHashTrieMap<Integer, Integer> first = map.toUnmodifiableMap();
+        map.put(1000, 1000);
+        map.remove(0);
+        final ImmutableHashTrieMap<Integer, Integer> second = map.toUnmodifiableMap();
+
+        final MutableHashTrieMap<Integer, Integer> copy = first.toModifiableMap();
+        copy.put(0, -1);
+
+        assertEquals(1000, first.size());
+        assertEquals(Integer.valueOf(0), first.get(0));
+        assertNull(first.get(1000));
+        assertEquals(1000, second.size());
+        assertNull(second.get(0));
+        assertEquals(Integer.valueOf(1000), second.get(1000));
+        assertEquals(Integer.valueOf(-1), copy.get(0));
+    }
+
+    @Test
+    public void testRandomOperations() {
+        final Random random = new Random(1);
+        final Map<Key, Integer> expected = new HashMap<>();
+        MutableHashTrieMap<Key, Integer> map = new MutableHashTrieMap<>();
+
+        for (int i = 0; i < 100_000; ++i) {
+            // Hash codes share most of their bits, so that we end up with deep tries and collisions
+            final int id = random.nextInt(5000);
+            final Key key = new Key((id % 5) << (5 * (id % 7)) | (id % 3 == 0 ? 0x40000000 : 0), id);
+
+            final int op = random.nextInt(10);
+            if (op < 5) {
+                final Integer value = random.nextInt();
+                assertEquals(expected.put(key, value), map.put(key, value));
+            } else if (op < 9) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                final ImmutableHashTrieMap<Key, Integer> snapshot = map.toUnmodifiableMap();
+                assertEquals(expected, snapshot);
+                map = snapshot.toModifiableMap();
+            }
+            assertEquals(expected.size(), map.size());
+        }
+
+        assertEquals(expected, map);
+        assertEquals(expected.hashCode(), map.hashCode());
+
+        int count = 0;
+        for (Entry<Key, Integer> entry : map.entrySet()) {
+            assertEquals(expected.get(entry.getKey()), entry.getValue());
+            count++;
+        }
+        assertEquals(expected.size(), count);
+    }
+}
@@ -8,6 +8,7 @@
 package org.opendaylight.yangtools.util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
@@ -145,4 +146,48 @@ public class MapAdaptorTest {
         assertEquals(HashMap.class, opt2.getClass());
         assertEquals(4, opt2.size());
     }
+
+    @Test
+    public void testTreeToHashTrie() {
+        final MapAdaptor hashTrie = MapAdaptor.getInstance(true, 10, 5, true);
+        final Map<String, String> input = new TreeMap<>();
+        for (char c = 'a'; c <= 'z'; ++c) {
+            final String s = String.valueOf(c);
+            input.put(s, s);
+        }
+
+        final Map<String, String> opt1 = hashTrie.optimize(input);
+        assertEquals(input, opt1);
+        assertEquals(ImmutableHashTrieMap.class, opt1.getClass());
+
+        final Map<String, String> snap1 = hashTrie.takeSnapshot(opt1);
+        assertEquals(MutableHashTrieMap.class, snap1.getClass());
+        assertEquals(opt1, snap1);
+
+        // snap1 and snap2 are independent of each other and of opt1
+        final Map<String, String> snap2 = hashTrie.takeSnapshot(opt1);
+        snap1.remove("a");
+        snap2.put("foo", "foo");
+        assertEquals(25, snap1.size());
+        assertEquals(27, snap2.size());
+        assertEquals(input, opt1);
+
+        final Map<String, String> opt2 = hashTrie.optimize(snap1);
+        assertEquals(ImmutableHashTrieMap.class, opt2.getClass());
+        assertEquals(snap1, opt2);
+
+        // Modifications after optimization do not leak into the optimized map
+        snap1.put("a", "a");
+        assertEquals(26, snap1.size());
+        assertEquals(25, opt2.size());
+        assertFalse(opt2.containsKey("a"));
+
+        // Shrinking below persistMinItems reverts to HashMap
+        final Map<String, String> snap3 = hashTrie.takeSnapshot(opt2);
+        for (char c = 'b'; c <= 'w'; ++c) {
+            snap3.remove(String.valueOf(c));
+        }
+        assertEquals(3, snap3.size());
+        assertEquals(HashMap.class, hashTrie.optimize(snap3).getClass());
+    }
 }
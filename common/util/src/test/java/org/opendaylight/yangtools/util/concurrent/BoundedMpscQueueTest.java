@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class BoundedMpscQueueTest {
+    @Test
+    public void testCapacity() throws InterruptedException {
+        final BoundedMpscQueue<String> queue = new BoundedMpscQueue<>(2);
+        assertFalse(queue.await(1));
+
+        assertEquals(1, queue.tryReserve());
+        queue.put("a");
+        assertEquals(1, queue.tryReserve());
+        assertEquals(2, queue.size());
+        assertEquals(0, queue.tryReserve());
+
+        // Reserved item prevents closing
+        assertFalse(queue.tryClose());
+        queue.put("b");
+
+        assertTrue(queue.await(1));
+        assertEquals(ImmutableList.of("a", "b"), queue.drain());
+        assertEquals(0, queue.size());
+        assertEquals(ImmutableList.of(), queue.drain());
+
+        assertEquals(1, queue.tryReserve());
+        queue.cancelReservation();
+        assertTrue(queue.tryClose());
+        assertEquals(-1, queue.tryReserve());
+    }
+
+    @Test
+    public void testForcePut() {
+        final BoundedMpscQueue<String> queue = new BoundedMpscQueue<>(1);
+        queue.forcePut("a");
+        queue.forcePut("b");
+        assertEquals(2, queue.size());
+        assertEquals(0, queue.tryReserve());
+        assertEquals(ImmutableList.of("a", "b"), queue.drain());
+    }
+
+    @Test
+    public void testClose() {
+        final BoundedMpscQueue<String> queue = new BoundedMpscQueue<>(1);
+        assertEquals(1, queue.tryReserve());
+        queue.close();
+        assertEquals(0, queue.size());
+        assertEquals(-1, queue.tryReserve());
+        queue.cancelReservation();
+        assertEquals(-1, queue.tryReserve());
+    }
+
+    @Test(timeout = 10000)
+    public void testConcurrentProducers() throws InterruptedException {
+        final int producers = 4;
+        final int items = 10000;
+        final BoundedMpscQueue<Integer> queue = new BoundedMpscQueue<>(16);
+
+        final List<Thread> threads = new ArrayList<>(producers);
+        for (int i = 0; i < producers; ++i) {
+            final int base = i * items;
+            final Thread thread = new Thread(() -> {
+                for (int j = 0; j < items; ++j) {
+                    while (queue.tryReserve() <= 0) {
+                        Thread.onSpinWait();
+                    }
+                    queue.put(base + j);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        // Items from each producer need to be seen in order
+        final int[] next = new int[producers];
+        int received = 0;
+        while (received != producers * items) {
+            assertTrue(queue.await(TimeUnit.SECONDS.toNanos(5)));
+            for (Integer item : queue.drain()) {
+                final int producer = item / items;
+                assertEquals(producer * items + next[producer], item.intValue());
+                next[producer]++;
+                received++;
+            }
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(queue.tryClose());
+    }
+}
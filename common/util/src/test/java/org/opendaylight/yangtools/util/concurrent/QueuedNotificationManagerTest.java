@@ -149,10 +149,18 @@ public class QueuedNotificationManagerTest {
 
     @Test(timeout = 10000)
     public void testNotificationsWithSingleListener() {
+        verifyNotificationsWithSingleListener(DispatchQueueType.LOCKING);
+    }
 
+    @Test(timeout = 10000)
+    public void testNotificationsWithSingleListenerLockFree() {
+        verifyNotificationsWithSingleListener(DispatchQueueType.LOCK_FREE);
+    }
+
+    private void verifyNotificationsWithSingleListener(final DispatchQueueType queueType) {
         queueExecutor = Executors.newFixedThreadPool(2);
         NotificationManager<TestListener<Integer>, Integer> manager = QueuedNotificationManager.create(queueExecutor,
-                new TestNotifier<>(), 10, "TestMgr");
+                new TestNotifier<>(), 10, "TestMgr", queueType);
 
         int count = 100;
 
@@ -186,12 +194,21 @@ public class QueuedNotificationManagerTest {
 
     @Test
     public void testNotificationsWithMultipleListeners() throws InterruptedException {
+        verifyNotificationsWithMultipleListeners(DispatchQueueType.LOCKING);
+    }
+
+    @Test
+    public void testNotificationsWithMultipleListenersLockFree() throws InterruptedException {
+        verifyNotificationsWithMultipleListeners(DispatchQueueType.LOCK_FREE);
+    }
 
+    private void verifyNotificationsWithMultipleListeners(final DispatchQueueType queueType)
+            throws InterruptedException {
         int count = 10;
         queueExecutor = Executors.newFixedThreadPool(count);
         final ExecutorService stagingExecutor = Executors.newFixedThreadPool(count);
         final NotificationManager<TestListener<Integer>, Integer> manager = QueuedNotificationManager.create(
-                queueExecutor, new TestNotifier<>(), 5000, "TestMgr");
+                queueExecutor, new TestNotifier<>(), 5000, "TestMgr", queueType);
 
         final int nNotifications = 100000;
 
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+
+/**
+ * A {@link DataTreeCandidateNode} summarizing a sequence of {@link DataTreeCandidateNode}s for the same path, as
+ * built by {@link DataTreeCandidateAggregator}. Data before and after are not copied, but are retrieved from the first
+ * and last node seen, respectively.
+ *
+ * <p>
+ * Changed children are tracked for as long as this node sees only changes to its children. Once it is written or
+ * deleted, children are no longer tracked and changes to them are derived from data on demand.
+ *
+ * <p>
+ * This class is mutable until {@link #seal()} is invoked, after which it becomes effectively immutable.
+ */
+final class AggregatedDataTreeCandidateNode implements DataTreeCandidateNode {
+    private final @NonNull DataTreeCandidateNode first;
+
+    private @NonNull DataTreeCandidateNode last;
+    private @NonNull ModificationType modificationType;
+    private @Nullable Map<PathArgument, AggregatedDataTreeCandidateNode> children;
+
+    AggregatedDataTreeCandidateNode(final DataTreeCandidateNode node) {
+        first = last = requireNonNull(node);
+        modificationType = node.getModificationType();
+        if (tracksChildren(modificationType)) {
+            children = new HashMap<>();
+            appendChildren(node);
+        }
+    }
+
+    /**
+     * Fold a subsequent node for the same path into this node.
+     *
+     * @param node Node to fold
+     * @throws IllegalArgumentException if the node's modification cannot follow the modifications seen so far
+     */
+    void append(final DataTreeCandidateNode node) {
+        final ModificationType nodeModification = node.getModificationType();
+        if (nodeModification == ModificationType.UNMODIFIED) {
+            return;
+        }
+
+        modificationType = DataTreeCandidates.compressModifications(modificationType, nodeModification,
+            last.getDataAfter().isEmpty());
+        last = node;
+        if (children != null) {
+            if (tracksChildren(nodeModification)) {
+                appendChildren(node);
+            } else {
+                children = null;
+            }
+        }
+    }
+
+    /**
+     * Seal this node, removing children which have not been effectively modified and resolving the effective
+     * modification type.
+     *
+     * @return Effective modification type
+     */
+    @NonNull ModificationType seal() {
+        final Map<PathArgument, AggregatedDataTreeCandidateNode> local = children;
+        if (local != null) {
+            local.values().removeIf(child -> child.seal() == ModificationType.UNMODIFIED);
+        }
+
+        switch (modificationType) {
+            case DELETE:
+                if (getDataBefore().isEmpty()) {
+                    modificationType = ModificationType.UNMODIFIED;
+                }
+                break;
+            case DISAPPEARED:
+                if (getDataBefore().isEmpty() || local != null && local.isEmpty()) {
+                    modificationType = ModificationType.UNMODIFIED;
+                }
+                break;
+            case APPEARED:
+            case SUBTREE_MODIFIED:
+                if (local != null && local.isEmpty()) {
+                    modificationType = ModificationType.UNMODIFIED;
+                }
+                break;
+            default:
+                // No-op
+        }
+        return modificationType;
+    }
+
+    @Override
+    public PathArgument getIdentifier() {
+        return first.getIdentifier();
+    }
+
+    @Override
+    public Collection<DataTreeCandidateNode> getChildNodes() {
+        final Map<PathArgument, AggregatedDataTreeCandidateNode> local = children;
+        return local != null ? Collections.unmodifiableCollection(local.values())
+            : DataTreeCandidateNodes.containerDelta(dataContainer(getDataBefore()), dataContainer(getDataAfter()));
+    }
+
+    @Override
+    public Optional<DataTreeCandidateNode> getModifiedChild(final PathArgument childIdentifier) {
+        final Map<PathArgument, AggregatedDataTreeCandidateNode> local = children;
+        return local != null ? Optional.ofNullable(local.get(childIdentifier))
+            : DataTreeCandidateNodes.containerDelta(dataContainer(getDataBefore()), dataContainer(getDataAfter()),
+                childIdentifier);
+    }
+
+    @Override
+    public ModificationType getModificationType() {
+        return modificationType;
+    }
+
+    @Override
+    public Optional<NormalizedNode<?, ?>> getDataBefore() {
+        return first.getDataBefore();
+    }
+
+    @Override
+    public Optional<NormalizedNode<?, ?>> getDataAfter() {
+        return last.getDataAfter();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("modificationType", modificationType)
+            .add("children", children).toString();
+    }
+
+    private void appendChildren(final DataTreeCandidateNode node) {
+        for (DataTreeCandidateNode child : node.getChildNodes()) {
+            if (child.getModificationType() != ModificationType.UNMODIFIED) {
+                final AggregatedDataTreeCandidateNode existing = children.get(child.getIdentifier());
+                if (existing != null) {
+                    existing.append(child);
+                } else {
+                    children.put(child.getIdentifier(), new AggregatedDataTreeCandidateNode(child));
+                }
+            }
+        }
+    }
+
+    // Writes and deletes replace the entire subtree, hence tracking children is not useful
+    private static boolean tracksChildren(final ModificationType modificationType) {
+        return modificationType != ModificationType.WRITE && modificationType != ModificationType.DELETE;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static @Nullable NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>> dataContainer(
+            final Optional<NormalizedNode<?, ?>> data) {
+        if (data.isPresent()) {
+            final NormalizedNode<?, ?> node = data.get();
+            if (node instanceof NormalizedNodeContainer) {
+                return (NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>>) node;
+            }
+        }
+        return null;
+    }
+}
@@ -7,6 +7,11 @@
  */
 package org.opendaylight.yangtools.yang.data.api.schema.tree;
 
+import com.google.common.annotations.Beta;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.concepts.CheckedValue;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 
@@ -42,4 +47,42 @@ public interface DataTree extends DataTreeTip, ReadOnlyDataTree {
      * @param candidate data tree candidate
      */
     void commit(DataTreeCandidate candidate);
+
+    /**
+     * Validate, prepare and commit a batch of sealed modifications. Modifications are processed in order, each of them
+     * on top of the state resulting from the modifications preceding it. A modification which fails validation does
+     * not prevent the other modifications from being committed.
+     *
+     * <p>
+     * The default implementation invokes {@link #validate(DataTreeModification)},
+     * {@link #prepare(DataTreeModification)} and {@link #commit(DataTreeCandidate)} for each modification.
+     * Implementations are encouraged to override it to make the entire batch visible at once, amortizing the cost of
+     * publishing the new state across all modifications in the batch.
+     *
+     * @param modifications Modifications to commit
+     * @return Outcomes of individual modifications, in the order of {@code modifications}. Each outcome is either the
+     *         committed candidate or the reason why the modification failed to validate.
+     * @throws IllegalArgumentException if any of the modifications is unsealed or not supported by this data tree
+     * @throws NullPointerException if {@code modifications} is null or contains a null element
+     */
+    @Beta
+    default @NonNull List<CheckedValue<DataTreeCandidate, DataValidationFailedException>> commitBatch(
+            final List<? extends DataTreeModification> modifications) {
+        final List<CheckedValue<DataTreeCandidate, DataValidationFailedException>> ret =
+                new ArrayList<>(modifications.size());
+        for (DataTreeModification modification : modifications) {
+            final DataTreeCandidate candidate;
+            try {
+                validate(modification);
+                candidate = prepare(modification);
+            } catch (DataValidationFailedException e) {
+                ret.add(CheckedValue.ofException(e));
+                continue;
+            }
+
+            commit(candidate);
+            ret.add(CheckedValue.ofValue(candidate));
+        }
+        return ret;
+    }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.concepts.Mutable;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+
+/**
+ * A streaming counterpart to {@link DataTreeCandidates#aggregate(java.util.List)}. Candidates are folded into a compact
+ * summary one at a time, as they become available, at a cost proportional to the number of nodes they modify. Data
+ * is not copied, {@link DataTreeCandidateNode#getDataBefore()} and {@link DataTreeCandidateNode#getDataAfter()} of the
+ * resulting candidate are retrieved from the first and last candidate touching a particular node.
+ *
+ * <p>
+ * This is useful for coalescing a backlog of candidates destined to a slow listener: instead of queueing them, they
+ * can be appended to an aggregator, which is then turned into a single candidate once the listener is ready.
+ *
+ * <p>
+ * Candidates need to be appended in the order in which they have been produced. This class is not thread-safe.
+ */
+@Beta
+public final class DataTreeCandidateAggregator implements Mutable {
+    private YangInstanceIdentifier rootPath;
+    private DataTreeCandidate first;
+    private AggregatedDataTreeCandidateNode root;
+    private boolean built;
+
+    /**
+     * Append a candidate.
+     *
+     * @param candidate Candidate to append
+     * @throws NullPointerException if {@code candidate} is null
+     * @throws IllegalArgumentException if the candidate's root path does not match previous candidates, or if it
+     *                                  contains a modification which cannot follow the previous candidates
+     * @throws IllegalStateException if {@link #build()} has already been invoked
+     */
+    public void append(final @NonNull DataTreeCandidate candidate) {
+        checkState(!built, "Aggregator has already been built");
+        final YangInstanceIdentifier path = candidate.getRootPath();
+        if (first == null) {
+            rootPath = path;
+            first = candidate;
+            return;
+        }
+
+        checkArgument(rootPath.equals(path), "Expecting root path %s, encountered %s", rootPath, path);
+        if (root == null) {
+            root = new AggregatedDataTreeCandidateNode(first.getRootNode());
+        }
+        root.append(candidate.getRootNode());
+    }
+
+    /**
+     * Check whether any candidates have been appended.
+     *
+     * @return True if no candidates have been appended
+     */
+    public boolean isEmpty() {
+        return first == null;
+    }
+
+    /**
+     * Build a candidate summarizing all appended candidates. This aggregator cannot be used once this method returns.
+     *
+     * @return Summarized DataTreeCandidate
+     * @throws IllegalStateException if no candidates have been appended, or this method has already been invoked
+     */
+    public @NonNull DataTreeCandidate build() {
+        checkState(!built, "Aggregator has already been built");
+        checkState(first != null, "No candidates have been appended");
+        built = true;
+        if (root == null) {
+            // Short-circuit
+            return first;
+        }
+
+        root.seal();
+        return DataTreeCandidates.newDataTreeCandidate(requireNonNull(rootPath), root);
+    }
+}
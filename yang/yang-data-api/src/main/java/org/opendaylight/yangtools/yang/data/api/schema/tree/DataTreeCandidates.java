@@ -85,7 +85,8 @@ public final class DataTreeCandidates {
 
     /**
      * Compress a list of DataTreeCandidates into a single DataTreeCandidate. The resulting candidate is a summarization
-     * of changes recorded in the input candidates.
+     * of changes recorded in the input candidates. Use {@link DataTreeCandidateAggregator} to aggregate candidates as
+     * they become available.
      *
      * @param candidates Input list, must be non-empty
      * @return Summarized DataTreeCandidate
@@ -250,9 +251,9 @@ public final class DataTreeCandidates {
         }
     }
 
-    private static ModificationType compressModifications(final ModificationType firstModification,
-                                                          final ModificationType secondModification,
-                                                          final boolean hasNoDataBefore) {
+    static ModificationType compressModifications(final ModificationType firstModification,
+                                                  final ModificationType secondModification,
+                                                  final boolean hasNoDataBefore) {
         switch (firstModification) {
             case UNMODIFIED:
                 if (hasNoDataBefore) {
@@ -7,13 +7,20 @@
  */
 package org.opendaylight.yangtools.yang.data.api.schema.tree;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.Beta;
 import com.google.common.base.MoreObjects;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.concepts.Immutable;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.OffHeapDemotionPolicy;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.OffHeapSubtreeCodec;
 
 /**
  * DataTree configuration class.
@@ -24,6 +31,8 @@ import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
  * <li>treeType</li>
  * <li>enable/disable unique indexes and unique constraint validation</li>
  * <li>enable/disable mandatory nodes validation</li>
+ * <li>threshold for applying modifications to children in parallel</li>
+ * <li>demotion of cold subtrees into off-heap segments</li>
  * </ul>
  *
  * <p>
@@ -50,13 +59,23 @@ public class DataTreeConfiguration implements Immutable {
     private final @NonNull YangInstanceIdentifier rootPath;
     private final boolean uniqueIndexes;
     private final boolean mandatoryNodesValidation;
+    private final int parallelApplyThreshold;
+    private final @NonNull Executor parallelApplyExecutor;
+    private final @Nullable OffHeapSubtreeCodec offHeapCodec;
+    private final int offHeapThreshold;
 
     DataTreeConfiguration(final TreeType treeType, final YangInstanceIdentifier rootPath, final boolean uniqueIndexes,
-            final boolean mandatoryNodesValidation) {
+            final boolean mandatoryNodesValidation, final int parallelApplyThreshold,
+            final Executor parallelApplyExecutor, final @Nullable OffHeapSubtreeCodec offHeapCodec,
+            final int offHeapThreshold) {
         this.treeType = requireNonNull(treeType);
         this.rootPath = requireNonNull(rootPath);
         this.uniqueIndexes = uniqueIndexes;
         this.mandatoryNodesValidation = mandatoryNodesValidation;
+        this.parallelApplyThreshold = parallelApplyThreshold;
+        this.parallelApplyExecutor = requireNonNull(parallelApplyExecutor);
+        this.offHeapCodec = offHeapCodec;
+        this.offHeapThreshold = offHeapThreshold;
     }
 
     public @NonNull YangInstanceIdentifier getRootPath() {
@@ -75,11 +94,54 @@ public class DataTreeConfiguration implements Immutable {
         return mandatoryNodesValidation;
     }
 
+    /**
+     * Return the minimum number of modified children a node needs to have for the modifications to be applied in
+     * parallel, using {@link #getParallelApplyExecutor()}. Value of {@code 0} indicates parallel application is
+     * disabled.
+     *
+     * @return Parallel application threshold, {@code 0} if disabled
+     */
+    public int getParallelApplyThreshold() {
+        return parallelApplyThreshold;
+    }
+
+    /**
+     * Return the executor used to apply modifications to children in parallel. Defaults to
+     * {@link ForkJoinPool#commonPool()}.
+     *
+     * @return Parallel application executor
+     */
+    public @NonNull Executor getParallelApplyExecutor() {
+        return parallelApplyExecutor;
+    }
+
+    /**
+     * Return the codec used to move cold subtrees into off-heap segments. If present, the data tree demotes subtrees
+     * which have not been modified for {@link #getOffHeapDemotionThreshold()} commits, as described in
+     * {@link OffHeapDemotionPolicy}.
+     *
+     * @return Off-heap subtree codec, empty if demotion is disabled
+     */
+    public @NonNull Optional<OffHeapSubtreeCodec> getOffHeapSubtreeCodec() {
+        return Optional.ofNullable(offHeapCodec);
+    }
+
+    /**
+     * Return the number of commits a subtree needs to remain unmodified before it is demoted into an off-heap
+     * segment. Value of {@code 0} indicates demotion is disabled.
+     *
+     * @return Off-heap demotion threshold, {@code 0} if disabled
+     */
+    public int getOffHeapDemotionThreshold() {
+        return offHeapThreshold;
+    }
+
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this).add("type", treeType).add("root", rootPath)
                 .add("mandatory", mandatoryNodesValidation)
-                .add("unique", uniqueIndexes).toString();
+                .add("unique", uniqueIndexes).add("parallelApply", parallelApplyThreshold)
+                .add("offHeapDemotion", offHeapThreshold).toString();
     }
 
     public static DataTreeConfiguration getDefault(final TreeType treeType) {
@@ -89,7 +151,8 @@ public class DataTreeConfiguration implements Immutable {
             case OPERATIONAL:
                 return DEFAULT_OPERATIONAL;
             default:
-                return new DataTreeConfiguration(treeType, YangInstanceIdentifier.empty(), false, true);
+                return new DataTreeConfiguration(treeType, YangInstanceIdentifier.empty(), false, true, 0,
+                    ForkJoinPool.commonPool(), null, 0);
         }
     }
 
@@ -101,6 +164,9 @@ public class DataTreeConfiguration implements Immutable {
         return new Builder(treeType)
                 .setMandatoryNodesValidation(isMandatoryNodesValidationEnabled())
                 .setUniqueIndexes(isUniqueIndexEnabled())
+                .setParallelApplyThreshold(getParallelApplyThreshold())
+                .setParallelApplyExecutor(getParallelApplyExecutor())
+                .setOffHeapDemotion(offHeapCodec, getOffHeapDemotionThreshold())
                 .setRootPath(getRootPath());
     }
 
@@ -109,6 +175,10 @@ public class DataTreeConfiguration implements Immutable {
         private YangInstanceIdentifier rootPath;
         private boolean uniqueIndexes;
         private boolean mandatoryNodesValidation;
+        private int parallelApplyThreshold;
+        private Executor parallelApplyExecutor = ForkJoinPool.commonPool();
+        private OffHeapSubtreeCodec offHeapCodec;
+        private int offHeapThreshold;
 
         public Builder(final TreeType treeType) {
             this.treeType = requireNonNull(treeType);
@@ -125,6 +195,55 @@ public class DataTreeConfiguration implements Immutable {
             return this;
         }
 
+        /**
+         * Set the minimum number of modified children a node needs to have for the modifications to be applied in
+         * parallel. Value of {@code 0}, which is the default, disables parallel application.
+         *
+         * @param parallelApplyThreshold Parallel application threshold
+         * @return This builder
+         * @throws IllegalArgumentException if {@code parallelApplyThreshold} is negative
+         */
+        public Builder setParallelApplyThreshold(final int parallelApplyThreshold) {
+            checkArgument(parallelApplyThreshold >= 0, "Invalid threshold %s", parallelApplyThreshold);
+            this.parallelApplyThreshold = parallelApplyThreshold;
+            return this;
+        }
+
+        /**
+         * Set the executor used to apply modifications to children in parallel. The thread applying a modification
+         * participates in the work, hence progress is guaranteed even if the executor does not run submitted tasks
+         * promptly.
+         *
+         * @param parallelApplyExecutor Parallel application executor
+         * @return This builder
+         * @throws NullPointerException if {@code parallelApplyExecutor} is null
+         */
+        public Builder setParallelApplyExecutor(final Executor parallelApplyExecutor) {
+            this.parallelApplyExecutor = requireNonNull(parallelApplyExecutor);
+            return this;
+        }
+
+        /**
+         * Enable or disable demotion of cold subtrees into off-heap segments. Demotion is disabled by default.
+         * When enabled, the data tree demotes subtrees which have not been modified for {@code commitThreshold}
+         * commits, as described in {@link OffHeapDemotionPolicy}.
+         *
+         * @param codec Codec used to encode subtrees, {@code null} to disable demotion
+         * @param commitThreshold Number of commits a subtree needs to remain unmodified before it is demoted,
+         *                        {@code 0} to disable demotion
+         * @return This builder
+         * @throws IllegalArgumentException if {@code commitThreshold} is negative, or if exactly one of {@code codec}
+         *                                  and {@code commitThreshold} disables demotion
+         */
+        public Builder setOffHeapDemotion(final @Nullable OffHeapSubtreeCodec codec, final int commitThreshold) {
+            checkArgument(commitThreshold >= 0, "Invalid threshold %s", commitThreshold);
+            checkArgument((codec == null) == (commitThreshold == 0), "Inconsistent codec %s and threshold %s", codec,
+                commitThreshold);
+            this.offHeapCodec = codec;
+            this.offHeapThreshold = commitThreshold;
+            return this;
+        }
+
         public Builder setRootPath(final YangInstanceIdentifier rootPath) {
             this.rootPath = rootPath.toOptimized();
             return this;
@@ -132,7 +251,8 @@ public class DataTreeConfiguration implements Immutable {
 
         @Override
         public DataTreeConfiguration build() {
-            return new DataTreeConfiguration(treeType, rootPath, uniqueIndexes, mandatoryNodesValidation);
+            return new DataTreeConfiguration(treeType, rootPath, uniqueIndexes, mandatoryNodesValidation,
+                parallelApplyThreshold, parallelApplyExecutor, offHeapCodec, offHeapThreshold);
         }
     }
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.collect.ImmutableMap;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.model.api.stmt.SchemaNodeIdentifier.Descendant;
+
+/**
+ * Exception thrown when {@code unique} statement restrictions are violated, as detailed in
+ * <a href="https://tools.ietf.org/html/rfc7950#section-15.1">RFC7950 section 15.1</a>.
+ */
+@Beta
+public class UniqueConstraintException extends DataValidationFailedException {
+    private static final long serialVersionUID = 1L;
+
+    @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "Descendant is not Serializable")
+    private final @NonNull ImmutableMap<Descendant, Object> values;
+
+    public UniqueConstraintException(final YangInstanceIdentifier path, final ImmutableMap<Descendant, Object> values,
+            final String message) {
+        super(path, message);
+        this.values = requireNonNull(values);
+    }
+
+    /**
+     * Return the values of leaves which were found to be non-unique.
+     *
+     * @return Offending leaf values, keyed by their path relative to the list entry
+     */
+    public final @NonNull ImmutableMap<Descendant, Object> getValues() {
+        return values;
+    }
+}
@@ -10,6 +10,8 @@ package org.opendaylight.yangtools.yang.data.api.schema.tree.spi;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.base.MoreObjects.ToStringHelper;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import org.opendaylight.yangtools.util.MapAdaptor;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
@@ -33,6 +35,10 @@ abstract class AbstractModifiedContainerNode extends AbstractContainerNode {
         return children.get(childId);
     }
 
+    final Collection<TreeNode> modifiedChildren() {
+        return Collections.unmodifiableCollection(children.values());
+    }
+
     protected final Map<PathArgument, TreeNode> snapshotChildren() {
         return MapAdaptor.getDefaultInstance().takeSnapshot(children);
     }
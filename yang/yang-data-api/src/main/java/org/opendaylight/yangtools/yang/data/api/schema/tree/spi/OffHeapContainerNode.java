@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree.spi;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects.ToStringHelper;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * A container node which has not seen a modification and whose data has been moved into an off-heap segment by
+ * {@link OffHeapDemotionPolicy}. Its data is decoded from the segment, materializing children on demand. All nodes
+ * underneath it share the same subtree version.
+ */
+final class OffHeapContainerNode extends AbstractContainerNode {
+    private final ByteBuffer segment;
+
+    OffHeapContainerNode(final NormalizedNode<?, ?> data, final Version version, final ByteBuffer segment) {
+        super(data, version);
+        this.segment = requireNonNull(segment);
+    }
+
+    @Override
+    public Version getSubtreeVersion() {
+        return getVersion();
+    }
+
+    @Override
+    public Optional<TreeNode> getChild(final PathArgument child) {
+        return getChildFromData(child);
+    }
+
+    @Override
+    public MutableTreeNode mutable() {
+        return new LazyMutableContainerNode(this);
+    }
+
+    @Override
+    protected ToStringHelper addToStringAttributes(final ToStringHelper helper) {
+        // Do not touch data, as that would materialize it
+        return helper.add("identifier", getIdentifier()).add("segmentSize", segment.remaining());
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree.spi;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.collect.Lists;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A policy which moves cold subtrees of a data tree into off-heap segments. A subtree is considered cold when its
+ * {@link TreeNode#getSubtreeVersion()} has not changed for a configured number of commits. Such subtrees are encoded
+ * using an {@link OffHeapSubtreeCodec} and replaced by tree nodes which decode their data from the segment on demand.
+ * Ancestors of demoted subtrees are rebuilt with the same versions, hence demotion is not visible to version tracking.
+ *
+ * <p>
+ * Only subtrees whose nodes share the same version are demoted, as that information would otherwise be lost.
+ * Modified containers are traversed, demoting their cold children instead.
+ *
+ * <p>
+ * {@link DataTree} implementations use this policy when it is enabled through
+ * {@link DataTreeConfiguration.Builder#setOffHeapDemotion(OffHeapSubtreeCodec, int)}. Since the demoted root retains
+ * the versions of the original root, such implementations need to recognize candidates prepared against the original
+ * root by their versions, not by the identity of the root. This class is not thread-safe.
+ */
+@Beta
+public final class OffHeapDemotionPolicy {
+    private static final Logger LOG = LoggerFactory.getLogger(OffHeapDemotionPolicy.class);
+
+    // Commit number at which we have first observed a particular version. Versions are identity-based.
+    private final Map<Version, Long> firstSeen = new WeakHashMap<>();
+    private final @NonNull OffHeapSubtreeCodec codec;
+    private final int commitThreshold;
+
+    private long commits;
+    private long lastScan;
+
+    /**
+     * Create a new policy.
+     *
+     * @param codec Codec to use for encoding subtrees
+     * @param commitThreshold Number of commits a subtree needs to remain unchanged before it is demoted
+     * @throws NullPointerException if {@code codec} is null
+     * @throws IllegalArgumentException if {@code commitThreshold} is not positive
+     */
+    public OffHeapDemotionPolicy(final OffHeapSubtreeCodec codec, final int commitThreshold) {
+        this.codec = requireNonNull(codec);
+        checkArgument(commitThreshold > 0, "Invalid commit threshold %s", commitThreshold);
+        this.commitThreshold = commitThreshold;
+    }
+
+    /**
+     * Invoked by the owner of a tree after a commit has been made, with the resulting tree root. Every
+     * {@code commitThreshold} commits this method scans the tree and demotes its cold subtrees. Since a version needs
+     * to be observed before it can be aged, a subtree is demoted after between one and two times
+     * {@code commitThreshold} commits of inactivity.
+     *
+     * @param root Current tree root
+     * @return Tree root to use from now on, which may be {@code root} itself
+     */
+    public @NonNull TreeNode onCommit(final @NonNull TreeNode root) {
+        ++commits;
+        if (commits - lastScan < commitThreshold) {
+            return requireNonNull(root);
+        }
+
+        lastScan = commits;
+        final TreeNode demoted = demote(root);
+        return demoted != null ? demoted : root;
+    }
+
+    /**
+     * Check whether a tree node has been demoted by this policy.
+     *
+     * @param node Tree node
+     * @return True if the node's data is held in an off-heap segment
+     */
+    public static boolean isDemoted(final @NonNull TreeNode node) {
+        return node instanceof OffHeapContainerNode;
+    }
+
+    private @Nullable TreeNode demote(final TreeNode node) {
+        if (!(node instanceof AbstractContainerNode) || node instanceof OffHeapContainerNode) {
+            return null;
+        }
+
+        final Version version = node.getVersion();
+        if (version.equals(node.getSubtreeVersion())) {
+            return isCold(version) ? encode(node) : null;
+        }
+
+        final AbstractModifiedContainerNode container = (AbstractModifiedContainerNode) node;
+        final Rebuilder rebuilder = new Rebuilder(container);
+        if (isCold(version)) {
+            // Unmodified children share our version, hence we need to consider all of them
+            final NormalizedNode<?, ?> data = container.getData();
+            if (!(data instanceof NormalizedNodeContainer)) {
+                return null;
+            }
+            for (NormalizedNode<?, ?> child : ((NormalizedNodeContainer<?, ?, ?>) data).getValue()) {
+                final TreeNode modified = container.getModifiedChild(child.getIdentifier());
+                rebuilder.replace(modified != null ? demote(modified)
+                    : encode(TreeNodeFactory.createTreeNode(child, version)));
+            }
+        } else {
+            for (TreeNode child : container.modifiedChildren()) {
+                rebuilder.replace(demote(child));
+            }
+        }
+        return rebuilder.build();
+    }
+
+    private boolean isCold(final Version version) {
+        final Long seen = firstSeen.putIfAbsent(version, commits);
+        return seen != null && commits - seen >= commitThreshold;
+    }
+
+    private @Nullable TreeNode encode(final TreeNode node) {
+        if (!(node instanceof AbstractContainerNode)) {
+            // Value nodes are not worth the overhead
+            return null;
+        }
+
+        final NormalizedNode<?, ?> data = node.getData();
+        final ByteBuffer segment;
+        final NormalizedNode<?, ?> decoded;
+        try {
+            segment = codec.encode(data);
+            if (segment == null) {
+                return null;
+            }
+            decoded = codec.decode(segment);
+        } catch (IOException e) {
+            LOG.warn("Failed to demote {}, retaining it on heap", node.getIdentifier(), e);
+            return null;
+        }
+
+        LOG.debug("Demoted {} into {} bytes", node.getIdentifier(), segment.remaining());
+        return new OffHeapContainerNode(decoded, node.getVersion(), segment);
+    }
+
+    /**
+     * Accumulates demoted children of a container and rebuilds it once they are known, so that the container's data is
+     * copied only once.
+     */
+    private final class Rebuilder {
+        private final List<TreeNode> demoted = new ArrayList<>();
+        private final AbstractModifiedContainerNode container;
+
+        Rebuilder(final AbstractModifiedContainerNode container) {
+            this.container = requireNonNull(container);
+        }
+
+        void replace(final @Nullable TreeNode child) {
+            if (child != null) {
+                demoted.add(child);
+            }
+        }
+
+        @Nullable TreeNode build() {
+            if (demoted.isEmpty()) {
+                return null;
+            }
+
+            final NormalizedNode<?, ?> data = codec.replaceChildren(container.getData(),
+                Lists.transform(demoted, TreeNode::getData));
+            if (data == null) {
+                LOG.debug("Cannot rebuild {}, not demoting its children", container.getIdentifier());
+                return null;
+            }
+
+            final MutableTreeNode mutable = container.mutable();
+            demoted.forEach(mutable::addChild);
+            mutable.setData(data);
+            return mutable.seal();
+        }
+    }
+}
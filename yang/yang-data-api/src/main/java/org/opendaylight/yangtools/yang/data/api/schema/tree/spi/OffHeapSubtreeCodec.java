@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree.spi;
+
+import com.google.common.annotations.Beta;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * Codec used by {@link OffHeapDemotionPolicy} to move subtrees out of the Java heap. Implementations encode a subtree
+ * into a segment, typically a direct or memory-mapped {@link ByteBuffer}, and decode it back into a
+ * {@link NormalizedNode} which materializes its children only when they are accessed.
+ */
+@Beta
+public interface OffHeapSubtreeCodec {
+    /**
+     * Encode a subtree into a segment.
+     *
+     * @param data Subtree root
+     * @return A read-only segment holding the subtree, or null if this codec does not support the subtree
+     * @throws IOException if an error occurs
+     */
+    @Nullable ByteBuffer encode(@NonNull NormalizedNode<?, ?> data) throws IOException;
+
+    /**
+     * Decode a segment previously produced by {@link #encode(NormalizedNode)}. The returned node is expected to retain
+     * only the segment and materialize its contents on demand. This method must not modify the position or limit of
+     * the segment.
+     *
+     * @param segment Segment to decode
+     * @return Decoded subtree root
+     * @throws IOException if an error occurs
+     */
+    @NonNull NormalizedNode<?, ?> decode(@NonNull ByteBuffer segment) throws IOException;
+
+    /**
+     * Return a copy of a container node, with its children of the same identifiers replaced by specified nodes. All
+     * children of a parent are replaced in a single invocation, so that the parent is copied only once.
+     *
+     * @param parent Parent node
+     * @param children Replacement children
+     * @return A new parent node, or null if this codec cannot rebuild the parent
+     */
+    @Nullable NormalizedNode<?, ?> replaceChildren(@NonNull NormalizedNode<?, ?> parent,
+        @NonNull Collection<? extends NormalizedNode<?, ?>> children);
+}
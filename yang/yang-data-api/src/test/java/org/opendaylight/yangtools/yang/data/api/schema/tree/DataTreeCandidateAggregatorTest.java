@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.Collection;
+import java.util.Optional;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+public class DataTreeCandidateAggregatorTest {
+    private static final QName ROOT = QName.create("urn:test", "root");
+    private static final YangInstanceIdentifier ROOT_PATH = YangInstanceIdentifier.of(ROOT);
+    private static final PathArgument CHILD_A = new NodeIdentifier(QName.create(ROOT, "a"));
+    private static final PathArgument CHILD_B = new NodeIdentifier(QName.create(ROOT, "b"));
+
+    private final NormalizedNode<?, ?> root1 = mock(NormalizedNode.class);
+    private final NormalizedNode<?, ?> root2 = mock(NormalizedNode.class);
+    private final NormalizedNode<?, ?> root3 = mock(NormalizedNode.class);
+    private final NormalizedNode<?, ?> root4 = mock(NormalizedNode.class);
+    private final NormalizedNode<?, ?> a1 = mock(NormalizedNode.class);
+    private final NormalizedNode<?, ?> b1 = mock(NormalizedNode.class);
+    private final NormalizedNode<?, ?> b2 = mock(NormalizedNode.class);
+
+    @Test
+    public void testSingleCandidate() {
+        final DataTreeCandidate candidate = candidate(node(null, ModificationType.WRITE, root1, root2));
+        final DataTreeCandidateAggregator aggregator = new DataTreeCandidateAggregator();
+        assertTrue(aggregator.isEmpty());
+        aggregator.append(candidate);
+        assertSame(candidate, aggregator.build());
+        assertThrows(IllegalStateException.class, aggregator::build);
+        assertThrows(IllegalStateException.class, () -> aggregator.append(candidate));
+    }
+
+    @Test
+    public void testEmpty() {
+        assertThrows(IllegalStateException.class, () -> new DataTreeCandidateAggregator().build());
+    }
+
+    @Test
+    public void testMismatchedRootPath() {
+        final DataTreeCandidateAggregator aggregator = new DataTreeCandidateAggregator();
+        aggregator.append(candidate(node(null, ModificationType.WRITE, root1, root2)));
+        assertThrows(IllegalArgumentException.class, () -> aggregator.append(DataTreeCandidates.newDataTreeCandidate(
+            YangInstanceIdentifier.empty(), node(null, ModificationType.WRITE, root2, root3))));
+    }
+
+    @Test
+    public void testIllegalSequence() {
+        final DataTreeCandidateAggregator aggregator = new DataTreeCandidateAggregator();
+        aggregator.append(candidate(node(null, ModificationType.DELETE, root1, null)));
+        aggregator.append(candidate(node(null, ModificationType.UNMODIFIED, null, null)));
+        assertThrows(IllegalArgumentException.class,
+            () -> aggregator.append(candidate(node(null, ModificationType.DELETE, root1, null))));
+    }
+
+    @Test
+    public void testChildrenTracked() {
+        final DataTreeCandidateAggregator aggregator = new DataTreeCandidateAggregator();
+        aggregator.append(candidate(node(null, ModificationType.SUBTREE_MODIFIED, root1, root2,
+            node(CHILD_A, ModificationType.WRITE, null, a1))));
+        aggregator.append(candidate(node(null, ModificationType.SUBTREE_MODIFIED, root2, root3,
+            node(CHILD_B, ModificationType.WRITE, b1, b2))));
+        aggregator.append(candidate(node(null, ModificationType.SUBTREE_MODIFIED, root3, root4,
+            node(CHILD_A, ModificationType.DELETE, a1, null))));
+
+        final DataTreeCandidateNode root = aggregator.build().getRootNode();
+        assertEquals(ModificationType.SUBTREE_MODIFIED, root.getModificationType());
+        assertEquals(Optional.of(root1), root.getDataBefore());
+        assertEquals(Optional.of(root4), root.getDataAfter());
+
+        // Child A has been created and removed, hence it is not reported
+        final Collection<DataTreeCandidateNode> children = root.getChildNodes();
+        assertEquals(1, children.size());
+        final DataTreeCandidateNode child = children.iterator().next();
+        assertEquals(CHILD_B, child.getIdentifier());
+        assertEquals(ModificationType.WRITE, child.getModificationType());
+        assertEquals(Optional.of(b1), child.getDataBefore());
+        assertEquals(Optional.of(b2), child.getDataAfter());
+        assertEquals(Optional.of(child), root.getModifiedChild(CHILD_B));
+        assertEquals(Optional.empty(), root.getModifiedChild(CHILD_A));
+    }
+
+    @Test
+    public void testWriteStopsTracking() {
+        final DataTreeCandidateAggregator aggregator = new DataTreeCandidateAggregator();
+        aggregator.append(candidate(node(null, ModificationType.SUBTREE_MODIFIED, root1, root2,
+            node(CHILD_A, ModificationType.WRITE, null, a1))));
+        aggregator.append(candidate(node(null, ModificationType.WRITE, root2, root3)));
+        aggregator.append(candidate(node(null, ModificationType.SUBTREE_MODIFIED, root3, root4,
+            node(CHILD_B, ModificationType.WRITE, null, b1))));
+
+        final DataTreeCandidateNode root = aggregator.build().getRootNode();
+        assertEquals(ModificationType.WRITE, root.getModificationType());
+        assertEquals(Optional.of(root1), root.getDataBefore());
+        assertEquals(Optional.of(root4), root.getDataAfter());
+        // Data are not containers, hence there are no children to derive
+        assertTrue(root.getChildNodes().isEmpty());
+    }
+
+    @Test
+    public void testRevertedChanges() {
+        final DataTreeCandidateAggregator aggregator = new DataTreeCandidateAggregator();
+        aggregator.append(candidate(node(null, ModificationType.APPEARED, null, root1,
+            node(CHILD_A, ModificationType.WRITE, null, a1))));
+        aggregator.append(candidate(node(null, ModificationType.DISAPPEARED, root1, null,
+            node(CHILD_A, ModificationType.DELETE, a1, null))));
+
+        final DataTreeCandidateNode root = aggregator.build().getRootNode();
+        assertEquals(ModificationType.UNMODIFIED, root.getModificationType());
+        assertTrue(root.getChildNodes().isEmpty());
+    }
+
+    @Test
+    public void testDeleteWithoutDataBefore() {
+        final DataTreeCandidateAggregator aggregator = new DataTreeCandidateAggregator();
+        aggregator.append(candidate(node(null, ModificationType.WRITE, null, root1)));
+        aggregator.append(candidate(node(null, ModificationType.SUBTREE_MODIFIED, root1, root2,
+            node(CHILD_A, ModificationType.WRITE, null, a1))));
+        aggregator.append(candidate(node(null, ModificationType.DELETE, root2, null)));
+
+        final DataTreeCandidateNode root = aggregator.build().getRootNode();
+        assertEquals(ModificationType.UNMODIFIED, root.getModificationType());
+    }
+
+    private static DataTreeCandidate candidate(final DataTreeCandidateNode rootNode) {
+        return DataTreeCandidates.newDataTreeCandidate(ROOT_PATH, rootNode);
+    }
+
+    private static TerminalDataTreeCandidateNode node(final PathArgument identifier,
+            final ModificationType modification, final NormalizedNode<?, ?> before, final NormalizedNode<?, ?> after,
+            final TerminalDataTreeCandidateNode... children) {
+        final TerminalDataTreeCandidateNode node = new TerminalDataTreeCandidateNode(identifier, modification, before,
+            after);
+        for (TerminalDataTreeCandidateNode child : children) {
+            node.addChildNode(child);
+        }
+        return node;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * A {@link DataInput} reading directly from a memory buffer. Aside from implementing the usual {@link DataInput}
+ * contract without any stream wrapping, it provides {@link #readUTF8(int)}, which allows decoding a UTF-8 encoded
+ * string directly from the buffer.
+ */
+abstract class AbstractBulkDataInput implements DataInput {
+    /**
+     * Return the number of bytes remaining in the underlying buffer.
+     *
+     * @return Number of remaining bytes
+     */
+    abstract int remaining();
+
+    /**
+     * Return the next byte without consuming it. Caller guarantees there is at least one byte remaining.
+     *
+     * @return Next byte
+     */
+    abstract byte peekByte();
+
+    /**
+     * Read a {@link String} from its UTF-8 representation, which is {@code length} bytes long.
+     *
+     * @param length Encoded length, guaranteed to be positive
+     * @return A String
+     * @throws IOException if an error occurs
+     */
+    abstract @NonNull String readUTF8(int length) throws IOException;
+
+    /**
+     * Return an independent input covering the next {@code length} bytes and skip past them. The returned input
+     * shares the underlying memory with this input.
+     *
+     * @param length Number of bytes
+     * @return An input covering the next {@code length} bytes
+     * @throws EOFException if there are fewer than {@code length} bytes remaining
+     */
+    abstract @NonNull AbstractBulkDataInput readSlice(int length) throws EOFException;
+
+    /**
+     * Return an independent input covering the same bytes as this input, starting at its current position. The
+     * returned input shares the underlying memory with this input.
+     *
+     * @return A duplicate of this input
+     */
+    abstract @NonNull AbstractBulkDataInput duplicate();
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public final void readFully(final byte[] b) throws IOException {
+        readFully(b, 0, b.length);
+    }
+
+    @Override
+    public final boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    @Override
+    public final int readUnsignedByte() throws IOException {
+        return readByte() & 0xFF;
+    }
+
+    @Override
+    public final int readUnsignedShort() throws IOException {
+        return readShort() & 0xFFFF;
+    }
+
+    @Override
+    public final char readChar() throws IOException {
+        return (char) readShort();
+    }
+
+    @Override
+    public final float readFloat() throws IOException {
+        return Float.intBitsToFloat(readInt());
+    }
+
+    @Override
+    public final double readDouble() throws IOException {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    @Override
+    @Deprecated
+    public final String readLine() throws IOException {
+        if (remaining() == 0) {
+            return null;
+        }
+
+        final StringBuilder sb = new StringBuilder();
+        while (remaining() != 0) {
+            final char ch = (char) readUnsignedByte();
+            if (ch == '\n') {
+                break;
+            }
+            if (ch == '\r') {
+                if (remaining() != 0 && peekByte() == '\n') {
+                    skipBytes(1);
+                }
+                break;
+            }
+            sb.append(ch);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public final String readUTF() throws IOException {
+        return DataInputStream.readUTF(this);
+    }
+
+    final void checkRemaining(final int size) throws EOFException {
+        final int remaining = remaining();
+        if (remaining < size) {
+            throw new EOFException("Attempted to read " + size + " bytes, only " + remaining + " remain");
+        }
+    }
+}
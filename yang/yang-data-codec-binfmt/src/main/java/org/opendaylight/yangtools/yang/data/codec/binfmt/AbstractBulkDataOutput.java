@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+
+/**
+ * A {@link DataOutput} writing directly into a memory buffer. Aside from implementing the usual {@link DataOutput}
+ * contract without any stream wrapping, it provides {@link #writeUTF8(String, int)}, which allows encoding a string
+ * directly into the buffer without an intermediate {@code byte[]}.
+ */
+abstract class AbstractBulkDataOutput implements DataOutput {
+    /**
+     * Write the UTF-8 representation of a {@link String}. The caller has determined the encoded length of the string
+     * to be {@code length}, which implies the string does not contain any malformed surrogate pairs.
+     *
+     * @param str String to write
+     * @param length Encoded length of the string
+     * @throws IOException if an error occurs
+     */
+    abstract void writeUTF8(String str, int length) throws IOException;
+
+    /**
+     * Write a {@link String} which is known to contain only characters in range {@code U+0001-U+007F}, each as a single
+     * byte.
+     *
+     * @param str String to write
+     * @throws IOException if an error occurs
+     */
+    abstract void writeAscii(String str) throws IOException;
+
+    /**
+     * Return the current write position. Positions are only meaningful between a {@link #reserveInt()} and the
+     * corresponding {@link #patchInt(int, int)}.
+     *
+     * @return Current write position
+     */
+    abstract int position();
+
+    /**
+     * Reserve space for an {@code int} value, which will be filled in later via {@link #patchInt(int, int)}. Each
+     * invocation of this method needs to be matched by exactly one invocation of {@link #patchInt(int, int)}, in
+     * LIFO order.
+     *
+     * @return Handle of the reserved value, which is also the position of its first byte
+     * @throws IOException if an error occurs
+     */
+    int reserveInt() throws IOException {
+        final int handle = position();
+        writeInt(0);
+        return handle;
+    }
+
+    /**
+     * Fill in an {@code int} value previously reserved via {@link #reserveInt()}.
+     *
+     * @param handle Handle returned from {@link #reserveInt()}
+     * @param value Value to fill in
+     * @throws IOException if an error occurs
+     */
+    abstract void patchInt(int handle, int value) throws IOException;
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public final void write(final byte[] b) throws IOException {
+        write(b, 0, b.length);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public final void writeBoolean(final boolean v) throws IOException {
+        writeByte(v ? 1 : 0);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public final void writeFloat(final float v) throws IOException {
+        writeInt(Float.floatToIntBits(v));
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public final void writeDouble(final double v) throws IOException {
+        writeLong(Double.doubleToLongBits(v));
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public final void writeBytes(final String s) throws IOException {
+        final int length = s.length();
+        for (int i = 0; i < length; ++i) {
+            writeByte(s.charAt(i));
+        }
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public final void writeChars(final String s) throws IOException {
+        final int length = s.length();
+        for (int i = 0; i < length; ++i) {
+            writeChar(s.charAt(i));
+        }
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public final void writeUTF(final String s) throws IOException {
+        // Modified UTF-8 length, as specified by DataOutput.writeUTF()
+        final int strlen = s.length();
+        int utflen = strlen;
+        for (int i = 0; i < strlen; ++i) {
+            final char ch = s.charAt(i);
+            if (ch >= 0x80 || ch == 0) {
+                utflen += ch >= 0x800 ? 2 : 1;
+            }
+        }
+        if (utflen > 65535) {
+            throw new UTFDataFormatException("Encoded string too long: " + utflen + " bytes");
+        }
+
+        writeShort(utflen);
+        if (utflen == strlen) {
+            writeAscii(s);
+            return;
+        }
+
+        for (int i = 0; i < strlen; ++i) {
+            final char ch = s.charAt(i);
+            if (ch != 0 && ch < 0x80) {
+                writeByte(ch);
+            } else if (ch < 0x800) {
+                writeByte(0xC0 | ch >> 6 & 0x1F);
+                writeByte(0x80 | ch & 0x3F);
+            } else {
+                writeByte(0xE0 | ch >> 12 & 0x0F);
+                writeByte(0x80 | ch >> 6 & 0x3F);
+                writeByte(0x80 | ch & 0x3F);
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import java.util.Collection;
+import java.util.Optional;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.AbstractMagnesiumDataInput.CodingTables;
+
+abstract class AbstractLazyDataContainerNode<I extends PathArgument, N extends DataContainerNode<I>>
+        extends AbstractLazyNode<I, N> implements DataContainerNode<I> {
+    AbstractLazyDataContainerNode(final I identifier, final AbstractBulkDataInput body,
+            final CodingTables tables, final boolean softDelegate) {
+        super(identifier, body, tables, softDelegate);
+    }
+
+    @Override
+    public final Collection<DataContainerChild<? extends PathArgument, ?>> getValue() {
+        return delegate().getValue();
+    }
+
+    @Override
+    public final Optional<DataContainerChild<? extends PathArgument, ?>> getChild(final PathArgument child) {
+        return delegate().getChild(child);
+    }
+
+    @Override
+    public final int size() {
+        return delegate().size();
+    }
+}
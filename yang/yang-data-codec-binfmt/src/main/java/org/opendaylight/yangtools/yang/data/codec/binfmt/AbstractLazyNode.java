@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.SoftReference;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.AbstractMagnesiumDataInput.CodingTables;
+
+/**
+ * A {@link NormalizedNode} whose contents are decoded from its body only when they are first accessed. The body is a
+ * slice of the buffer the node has been read from, hence that buffer must not be modified while this node is
+ * reachable.
+ *
+ * <p>
+ * The materialized node is normally retained for the lifetime of this node. Nodes read from long-lived buffers, such as
+ * off-heap snapshots, retain it only softly, so that it can be reclaimed and decoded again when the JVM is short on
+ * heap.
+ *
+ * @param <I> identifier type
+ * @param <N> materialized node type
+ */
+abstract class AbstractLazyNode<I extends PathArgument, N extends NormalizedNode<I, ?>> {
+    private final @NonNull I identifier;
+    private final @NonNull AbstractBulkDataInput body;
+    private final @NonNull CodingTables tables;
+    private final boolean softDelegate;
+
+    // Materialized node, or a SoftReference to it if softDelegate is set. Concurrent materialization is benign, as it
+    // yields equal results.
+    private volatile Object delegate;
+
+    AbstractLazyNode(final I identifier, final AbstractBulkDataInput body, final CodingTables tables,
+            final boolean softDelegate) {
+        this.identifier = requireNonNull(identifier);
+        this.body = requireNonNull(body);
+        this.tables = requireNonNull(tables);
+        this.softDelegate = softDelegate;
+    }
+
+    public final I getIdentifier() {
+        return identifier;
+    }
+
+    public final QName getNodeType() {
+        return identifier.getNodeType();
+    }
+
+    final @NonNull N delegate() {
+        N local = cachedDelegate();
+        if (local == null) {
+            local = materialize();
+            delegate = softDelegate ? new SoftReference<>(local) : local;
+        }
+        return local;
+    }
+
+    /**
+     * Decode the body of this node.
+     *
+     * @param input Input positioned at the start of the body
+     * @return Materialized node
+     * @throws IOException if an error occurs
+     */
+    abstract @NonNull N decode(@NonNull AluminiumDataInput input) throws IOException;
+
+    // Equality follows the contract of the materialized node: a lazy node is equal to any node implementing the same
+    // contract with an equal identifier and equal value, regardless of its implementation. Immutable nodes reciprocate
+    // through AbstractImmutableNormalizedNode.foreignValueEquals(), hence the relation is symmetric.
+    @Override
+    public final int hashCode() {
+        return delegate().hashCode();
+    }
+
+    @Override
+    public final boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof AbstractLazyNode) {
+            return delegate().equals(((AbstractLazyNode<?, ?>) obj).delegate());
+        }
+        return obj instanceof NormalizedNode && delegate().equals(obj);
+    }
+
+    @Override
+    public final String toString() {
+        final N local = cachedDelegate();
+        return MoreObjects.toStringHelper(this).omitNullValues().add("identifier", identifier)
+            .add("bodyLength", local == null ? body.remaining() : null).add("value", local).toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private N cachedDelegate() {
+        final Object local = delegate;
+        return softDelegate && local != null ? ((SoftReference<N>) local).get() : (N) local;
+    }
+
+    private @NonNull N materialize() {
+        try {
+            return decode(new AluminiumDataInput(body.duplicate(), tables, softDelegate));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode " + identifier, e);
+        }
+    }
+}
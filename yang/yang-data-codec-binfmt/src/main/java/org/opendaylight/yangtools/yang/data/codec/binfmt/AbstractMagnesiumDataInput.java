@@ -22,11 +22,14 @@ import java.io.StringReader;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.RandomAccess;
 import java.util.concurrent.ExecutionException;
 import javax.xml.transform.dom.DOMSource;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.rfc8528.data.api.MountPointIdentifier;
 import org.opendaylight.yangtools.util.xml.UntrustedXML;
 import org.opendaylight.yangtools.yang.common.Empty;
@@ -42,7 +45,17 @@ import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdent
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.ReusableStreamReceiver;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ReusableImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.xml.sax.InputSource;
@@ -63,13 +76,235 @@ abstract class AbstractMagnesiumDataInput extends AbstractNormalizedNodeDataInpu
     private static final byte @NonNull[] BINARY_0 = new byte[0];
     private static final @NonNull AugmentationIdentifier EMPTY_AID = AugmentationIdentifier.create(ImmutableSet.of());
 
-    private final List<AugmentationIdentifier> codedAugments = new ArrayList<>();
-    private final List<NodeIdentifier> codedNodeIdentifiers = new ArrayList<>();
-    private final List<QNameModule> codedModules = new ArrayList<>();
-    private final List<String> codedStrings = new ArrayList<>();
+    private final SnapshotList<AugmentationIdentifier> codedAugments;
+    private final SnapshotList<NodeIdentifier> codedNodeIdentifiers;
+    private final SnapshotList<QNameModule> codedModules;
+    private final SnapshotList<String> codedStrings;
+
+    // Non-null if we can decode strings directly from the underlying buffer
+    private final @Nullable AbstractBulkDataInput bulkInput;
+    // True if container, map and map entry nodes are prefixed by their length and followed by a trailer
+    private final boolean sized;
+    // True if lazily-decoded nodes should retain their materialized form only softly
+    private final boolean softLazy;
+
+    // Last coding tables snapshot handed out to a lazy node
+    private @NonNull CodingTables lastTables;
 
     AbstractMagnesiumDataInput(final DataInput input) {
+        this(input, false, CodingTables.EMPTY, false);
+    }
+
+    AbstractMagnesiumDataInput(final DataInput input, final boolean sized, final CodingTables tables,
+            final boolean softLazy) {
         super(input);
+        bulkInput = input instanceof AbstractBulkDataInput ? (AbstractBulkDataInput) input : null;
+        this.sized = sized;
+        this.softLazy = softLazy;
+        lastTables = requireNonNull(tables);
+        codedAugments = new SnapshotList<>(tables.augments);
+        codedNodeIdentifiers = new SnapshotList<>(tables.nodeIdentifiers);
+        codedModules = new SnapshotList<>(tables.modules);
+        codedStrings = new SnapshotList<>(tables.strings);
+    }
+
+    @Override
+    public final NormalizedNode<?, ?> readLazyNormalizedNode() throws IOException {
+        if (!sized || bulkInput == null) {
+            return readNormalizedNode();
+        }
+        return readLazyNode(null, input.readByte(), ReusableImmutableNormalizedNodeStreamWriter.create());
+    }
+
+    /**
+     * Read the children of a lazily-decoded {@link DataContainerNode}, up to and including the terminating
+     * {@link MagnesiumNode#NODE_END}, and build the node. Children are themselves decoded lazily where possible.
+     *
+     * @param identifier Node identifier
+     * @param builder Builder to use
+     * @return A new DataContainerNode
+     * @throws IOException if an error occurs
+     */
+    final <I extends PathArgument, R extends DataContainerNode<I>> @NonNull R readLazyChildren(final I identifier,
+            final DataContainerNodeBuilder<I, R> builder) throws IOException {
+        builder.withNodeIdentifier(identifier);
+        final ReusableStreamReceiver receiver = ReusableImmutableNormalizedNodeStreamWriter.create();
+        for (byte nodeType = input.readByte(); nodeType != MagnesiumNode.NODE_END; nodeType = input.readByte()) {
+            final NormalizedNode<?, ?> child = readLazyNode(identifier, nodeType, receiver);
+            if (!(child instanceof DataContainerChild)) {
+                throw new InvalidNormalizedNodeStreamException("Unexpected child " + child + " in " + identifier);
+            }
+            builder.withChild((DataContainerChild<?, ?>) child);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Read the entries of a lazily-decoded {@link MapNode}, up to and including the terminating
+     * {@link MagnesiumNode#NODE_END}, and build the node. Entries are themselves decoded lazily.
+     *
+     * @param identifier Node identifier
+     * @param builder Builder to use
+     * @return A new MapNode
+     * @throws IOException if an error occurs
+     */
+    final <R extends MapNode> @NonNull R readLazyEntries(final NodeIdentifier identifier,
+            final CollectionNodeBuilder<MapEntryNode, R> builder) throws IOException {
+        builder.withNodeIdentifier(identifier);
+        final ReusableStreamReceiver receiver = ReusableImmutableNormalizedNodeStreamWriter.create();
+        for (byte nodeType = input.readByte(); nodeType != MagnesiumNode.NODE_END; nodeType = input.readByte()) {
+            final NormalizedNode<?, ?> child = readLazyNode(identifier, nodeType, receiver);
+            if (!(child instanceof MapEntryNode)) {
+                throw new InvalidNormalizedNodeStreamException("Unexpected child " + child + " in " + identifier);
+            }
+            builder.withChild((MapEntryNode) child);
+        }
+        return builder.build();
+    }
+
+    private @NonNull NormalizedNode<?, ?> readLazyNode(final PathArgument parent, final byte nodeHeader,
+            final ReusableStreamReceiver receiver) throws IOException {
+        switch (nodeHeader & MagnesiumNode.TYPE_MASK) {
+            case MagnesiumNode.NODE_CONTAINER: {
+                final NodeIdentifier identifier = decodeNodeIdentifier(nodeHeader);
+                final CodingTables tables = codingTables();
+                return new LazyContainerNode(identifier, readLazyBody(), tables, softLazy);
+            }
+            case MagnesiumNode.NODE_MAP: {
+                final NodeIdentifier identifier = decodeNodeIdentifier(nodeHeader);
+                final CodingTables tables = codingTables();
+                return new LazyMapNode(identifier, readLazyBody(), tables, softLazy);
+            }
+            case MagnesiumNode.NODE_MAP_ORDERED: {
+                final NodeIdentifier identifier = decodeNodeIdentifier(nodeHeader);
+                final CodingTables tables = codingTables();
+                return new LazyOrderedMapNode(identifier, readLazyBody(), tables, softLazy);
+            }
+            case MagnesiumNode.NODE_MAP_ENTRY: {
+                final NodeIdentifierWithPredicates identifier = readMapEntryIdentifier(parent, nodeHeader);
+                final CodingTables tables = codingTables();
+                return new LazyMapEntryNode(identifier, readLazyBody(), tables, softLazy);
+            }
+            case MagnesiumNode.NODE_CHOICE:
+                // Choices and augmentations are not sized, but their children may be
+                return readLazyChildren(decodeNodeIdentifier(nodeHeader), Builders.choiceBuilder());
+            case MagnesiumNode.NODE_AUGMENTATION:
+                return readLazyChildren(decodeAugmentationIdentifier(nodeHeader), Builders.augmentationBuilder());
+            default:
+                try {
+                    streamNormalizedNode(receiver, parent, nodeHeader);
+                    return receiver.getResult();
+                } finally {
+                    receiver.reset();
+                }
+        }
+    }
+
+    // Slice off the body of a sized node and apply its trailer, so that our coding tables match what they would be had
+    // we decoded the body
+    private @NonNull AbstractBulkDataInput readLazyBody() throws IOException {
+        final AbstractBulkDataInput body = verifyNotNull(bulkInput).readSlice(readLength());
+        applyTrailer();
+        return body;
+    }
+
+    private void applyTrailer() throws IOException {
+        if (!readTrailerType()) {
+            return;
+        }
+
+        // Trailer length, we do not need it as we are processing the trailer
+        readLength();
+
+        final int stringCount = readLength();
+        for (int i = 0; i < stringCount; ++i) {
+            codedStrings.add(readString());
+        }
+
+        final int moduleCount = readLength();
+        for (int i = 0; i < moduleCount; ++i) {
+            final String namespace = lookupString(input.readInt());
+            final int revision = input.readInt();
+            codedModules.add(createModule(namespace, revision == -1 ? null : lookupString(revision)));
+        }
+
+        final int qnameCount = readLength();
+        for (int i = 0; i < qnameCount; ++i) {
+            final QNameModule module = lookupModule(input.readInt());
+            codedNodeIdentifiers.add(createNodeIdentifier(module, lookupString(input.readInt())));
+        }
+
+        final int aidCount = readLength();
+        for (int i = 0; i < aidCount; ++i) {
+            final int size = readLength();
+            if (size == 0) {
+                codedAugments.add(EMPTY_AID);
+            } else {
+                final ImmutableSet.Builder<QName> builder = ImmutableSet.builderWithExpectedSize(size);
+                for (int j = 0; j < size; ++j) {
+                    builder.add(lookupQName(input.readInt()));
+                }
+                codedAugments.add(AugmentationIdentifier.create(builder.build()));
+            }
+        }
+    }
+
+    // Skip the length of a sized node's body, as we are about to decode it
+    private void skipBodyLength() throws IOException {
+        if (sized) {
+            readLength();
+        }
+    }
+
+    // Skip a sized node's trailer, as we have decoded the body and have therefore seen the definitions it holds
+    private void skipTrailer() throws IOException {
+        if (sized && readTrailerType()) {
+            int remaining = readLength();
+            while (remaining > 0) {
+                final int skipped = input.skipBytes(remaining);
+                if (skipped > 0) {
+                    remaining -= skipped;
+                } else {
+                    input.readByte();
+                    remaining--;
+                }
+            }
+        }
+    }
+
+    // Return true if the trailer holds definitions
+    private boolean readTrailerType() throws IOException {
+        final byte type = input.readByte();
+        switch (type) {
+            case MagnesiumNode.TRAILER_EMPTY:
+                return false;
+            case MagnesiumNode.TRAILER_DEFINITIONS:
+                return true;
+            default:
+                throw new InvalidNormalizedNodeStreamException("Unexpected trailer type " + type);
+        }
+    }
+
+    private int readLength() throws IOException {
+        final int length = input.readInt();
+        if (length < 0) {
+            throw new InvalidNormalizedNodeStreamException("Invalid length " + length);
+        }
+        return length;
+    }
+
+    private @NonNull CodingTables codingTables() {
+        final ImmutableList<AugmentationIdentifier> augments = codedAugments.snapshot();
+        final ImmutableList<NodeIdentifier> nodeIdentifiers = codedNodeIdentifiers.snapshot();
+        final ImmutableList<QNameModule> modules = codedModules.snapshot();
+        final ImmutableList<String> strings = codedStrings.snapshot();
+
+        final CodingTables prev = lastTables;
+        if (prev.augments == augments && prev.nodeIdentifiers == nodeIdentifiers && prev.modules == modules
+                && prev.strings == strings) {
+            return prev;
+        }
+        return lastTables = new CodingTables(augments, nodeIdentifiers, modules, strings);
     }
 
     @Override
@@ -162,7 +397,9 @@ abstract class AbstractMagnesiumDataInput extends AbstractNormalizedNodeDataInpu
         final NodeIdentifier identifier = decodeNodeIdentifier(nodeHeader);
         LOG.trace("Streaming container node {}", identifier);
         writer.startContainerNode(identifier, UNKNOWN_SIZE);
+        skipBodyLength();
         commonStreamContainer(writer, identifier);
+        skipTrailer();
     }
 
     private void streamLeaf(final NormalizedNodeStreamWriter writer, final PathArgument parent, final byte nodeHeader)
@@ -236,18 +473,32 @@ abstract class AbstractMagnesiumDataInput extends AbstractNormalizedNodeDataInpu
         final NodeIdentifier identifier = decodeNodeIdentifier(nodeHeader);
         LOG.trace("Streaming map node {}", identifier);
         writer.startMapNode(identifier, UNKNOWN_SIZE);
+        skipBodyLength();
         commonStreamContainer(writer, identifier);
+        skipTrailer();
     }
 
     private void streamMapOrdered(final NormalizedNodeStreamWriter writer, final byte nodeHeader) throws IOException {
         final NodeIdentifier identifier = decodeNodeIdentifier(nodeHeader);
         LOG.trace("Streaming ordered map node {}", identifier);
         writer.startOrderedMapNode(identifier, UNKNOWN_SIZE);
+        skipBodyLength();
         commonStreamContainer(writer, identifier);
+        skipTrailer();
     }
 
     private void streamMapEntry(final NormalizedNodeStreamWriter writer, final PathArgument parent,
             final byte nodeHeader) throws IOException {
+        final NodeIdentifierWithPredicates identifier = readMapEntryIdentifier(parent, nodeHeader);
+        LOG.trace("Streaming map entry node {}", identifier);
+        writer.startMapEntryNode(identifier, UNKNOWN_SIZE);
+        skipBodyLength();
+        commonStreamContainer(writer, identifier);
+        skipTrailer();
+    }
+
+    private @NonNull NodeIdentifierWithPredicates readMapEntryIdentifier(final PathArgument parent,
+            final byte nodeHeader) throws IOException {
         final NodeIdentifier nodeId = decodeNodeIdentifier(nodeHeader, parent);
 
         final int size;
@@ -270,10 +521,7 @@ abstract class AbstractMagnesiumDataInput extends AbstractNormalizedNodeDataInpu
                         + nodeHeader);
         }
 
-        final NodeIdentifierWithPredicates identifier = readNodeIdentifierWithPredicates(nodeId.getNodeType(), size);
-        LOG.trace("Streaming map entry node {}", identifier);
-        writer.startMapEntryNode(identifier, UNKNOWN_SIZE);
-        commonStreamContainer(writer, identifier);
+        return readNodeIdentifierWithPredicates(nodeId.getNodeType(), size);
     }
 
     private void commonStreamContainer(final NormalizedNodeStreamWriter writer, final PathArgument parent)
@@ -286,15 +534,7 @@ abstract class AbstractMagnesiumDataInput extends AbstractNormalizedNodeDataInpu
 
     private @NonNull NodeIdentifier decodeNodeIdentifier() throws IOException {
         final QNameModule module = decodeQNameModule();
-        final String localName = readRefString();
-        final NodeIdentifier nodeId;
-        try {
-            nodeId = QNameFactory.getNodeIdentifier(module, localName);
-        } catch (ExecutionException e) {
-            throw new InvalidNormalizedNodeStreamException("Illegal QName module=" + module + " localName="
-                    + localName, e);
-        }
-
+        final NodeIdentifier nodeId = createNodeIdentifier(module, readRefString());
         codedNodeIdentifiers.add(nodeId);
         return nodeId;
     }
@@ -331,6 +571,16 @@ abstract class AbstractMagnesiumDataInput extends AbstractNormalizedNodeDataInpu
         }
     }
 
+    private static @NonNull NodeIdentifier createNodeIdentifier(final QNameModule module, final String localName)
+            throws InvalidNormalizedNodeStreamException {
+        try {
+            return QNameFactory.getNodeIdentifier(module, localName);
+        } catch (ExecutionException e) {
+            throw new InvalidNormalizedNodeStreamException("Illegal QName module=" + module + " localName="
+                    + localName, e);
+        }
+    }
+
     private AugmentationIdentifier decodeAugmentationIdentifier(final byte nodeHeader) throws IOException {
         final int index;
         switch (nodeHeader & MagnesiumNode.ADDR_MASK) {
@@ -560,11 +810,7 @@ abstract class AbstractMagnesiumDataInput extends AbstractNormalizedNodeDataInpu
                 return decodeQNameModuleDef(type);
         }
 
-        try {
-            return codedModules.get(index);
-        } catch (IndexOutOfBoundsException e) {
-            throw new InvalidNormalizedNodeStreamException("Invalid QNameModule reference " + index, e);
-        }
+        return lookupModule(index);
     }
 
     // QNameModule definition, i.e. two encoded strings
@@ -573,16 +819,19 @@ abstract class AbstractMagnesiumDataInput extends AbstractNormalizedNodeDataInpu
 
         final byte refType = input.readByte();
         final String revision = refType == MagnesiumValue.STRING_EMPTY ? null : readRefString(refType);
-        final QNameModule module;
+        final QNameModule module = createModule(namespace, revision);
+        codedModules.add(module);
+        return module;
+    }
+
+    private static @NonNull QNameModule createModule(final String namespace, final @Nullable String revision)
+            throws InvalidNormalizedNodeStreamException {
         try {
-            module = QNameFactory.createModule(namespace, revision);
+            return QNameFactory.createModule(namespace, revision);
         } catch (UncheckedExecutionException e) {
             throw new InvalidNormalizedNodeStreamException("Illegal QNameModule ns=" + namespace + " rev=" + revision,
                 e);
         }
-
-        codedModules.add(module);
-        return module;
     }
 
     private @NonNull String readRefString() throws IOException {
@@ -649,6 +898,9 @@ abstract class AbstractMagnesiumDataInput extends AbstractNormalizedNodeDataInpu
 
     private @NonNull String readByteString(final int size) throws IOException {
         if (size > 0) {
+            if (bulkInput != null) {
+                return bulkInput.readUTF8(size);
+            }
             final byte[] bytes = new byte[size];
             input.readFully(bytes);
             return new String(bytes, StandardCharsets.UTF_8);
@@ -682,6 +934,14 @@ abstract class AbstractMagnesiumDataInput extends AbstractNormalizedNodeDataInpu
         }
     }
 
+    private @NonNull QNameModule lookupModule(final int index) throws InvalidNormalizedNodeStreamException {
+        try {
+            return codedModules.get(index);
+        } catch (IndexOutOfBoundsException e) {
+            throw new InvalidNormalizedNodeStreamException("Invalid QNameModule reference " + index, e);
+        }
+    }
+
     private @NonNull QName lookupQName(final int index) throws InvalidNormalizedNodeStreamException {
         return lookupNodeIdentifier(index).getNodeType();
     }
@@ -846,4 +1106,65 @@ abstract class AbstractMagnesiumDataInput extends AbstractNormalizedNodeDataInpu
     private static int rshift(final byte header, final byte shift) {
         return (header & 0xFF) >>> shift;
     }
+
+    /**
+     * Immutable snapshot of coding tables, allowing a sized node's body to be decoded independently of the rest of the
+     * stream.
+     */
+    static final class CodingTables {
+        static final @NonNull CodingTables EMPTY = new CodingTables(ImmutableList.of(), ImmutableList.of(),
+            ImmutableList.of(), ImmutableList.of());
+
+        final @NonNull ImmutableList<AugmentationIdentifier> augments;
+        final @NonNull ImmutableList<NodeIdentifier> nodeIdentifiers;
+        final @NonNull ImmutableList<QNameModule> modules;
+        final @NonNull ImmutableList<String> strings;
+
+        CodingTables(final ImmutableList<AugmentationIdentifier> augments,
+                final ImmutableList<NodeIdentifier> nodeIdentifiers, final ImmutableList<QNameModule> modules,
+                final ImmutableList<String> strings) {
+            this.augments = requireNonNull(augments);
+            this.nodeIdentifiers = requireNonNull(nodeIdentifiers);
+            this.modules = requireNonNull(modules);
+            this.strings = requireNonNull(strings);
+        }
+    }
+
+    /**
+     * An append-only coding table, which can cheaply provide immutable snapshots of its contents. Additions are kept in
+     * a separate list, which is folded into the immutable base when a snapshot is requested.
+     */
+    private static final class SnapshotList<T> extends AbstractList<T> implements RandomAccess {
+        private final ArrayList<T> added = new ArrayList<>();
+
+        private @NonNull ImmutableList<T> base;
+
+        SnapshotList(final ImmutableList<T> base) {
+            this.base = requireNonNull(base);
+        }
+
+        @Override
+        public T get(final int index) {
+            final int baseSize = base.size();
+            return index < baseSize ? base.get(index) : added.get(index - baseSize);
+        }
+
+        @Override
+        public int size() {
+            return base.size() + added.size();
+        }
+
+        @Override
+        public boolean add(final T element) {
+            return added.add(requireNonNull(element));
+        }
+
+        @NonNull ImmutableList<T> snapshot() {
+            if (!added.isEmpty()) {
+                base = ImmutableList.<T>builderWithExpectedSize(size()).addAll(base).addAll(added).build();
+                added.clear();
+            }
+            return base;
+        }
+    }
 }
@@ -8,7 +8,9 @@
 package org.opendaylight.yangtools.yang.data.codec.binfmt;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Verify.verifyNotNull;
 
+import com.google.common.base.Utf8;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.io.StringWriter;
@@ -16,6 +18,7 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
@@ -28,6 +31,7 @@ import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.rfc8528.data.api.MountPointIdentifier;
 import org.opendaylight.yangtools.yang.common.Empty;
 import org.opendaylight.yangtools.yang.common.QName;
@@ -74,8 +78,30 @@ abstract class AbstractMagnesiumDataOutput extends AbstractNormalizedNodeDataOut
     private final Map<String, Integer> stringCodeMap = new HashMap<>();
     private final Map<QName, Integer> qnameCodeMap = new HashMap<>();
 
+    // Coding maps' keys in order of their codes, used to emit sized node trailers
+    private final List<AugmentationIdentifier> aidCodes = new ArrayList<>();
+    private final List<QNameModule> moduleCodes = new ArrayList<>();
+    private final List<String> stringCodes = new ArrayList<>();
+    private final List<QName> qnameCodes = new ArrayList<>();
+
+    // Non-null if we can encode strings directly into the underlying buffer
+    private final @Nullable AbstractBulkDataOutput bulkOutput;
+    // Non-null if this stream encodes sized nodes
+    private final @Nullable Deque<SizedNode> sizedNodes;
+
     AbstractMagnesiumDataOutput(final DataOutput output) {
+        this(output, false);
+    }
+
+    AbstractMagnesiumDataOutput(final DataOutput output, final boolean sized) {
         super(output);
+        bulkOutput = output instanceof AbstractBulkDataOutput ? (AbstractBulkDataOutput) output : null;
+        if (sized) {
+            checkArgument(bulkOutput != null, "Sized nodes require a bulk output, %s is not", output);
+            sizedNodes = new ArrayDeque<>();
+        } else {
+            sizedNodes = null;
+        }
     }
 
     @Override
@@ -116,6 +142,7 @@ abstract class AbstractMagnesiumDataOutput extends AbstractNormalizedNodeDataOut
     @Override
     public final void startContainerNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
         startQNameNode(MagnesiumNode.NODE_CONTAINER, name);
+        startSizedBody();
     }
 
     @Override
@@ -131,6 +158,7 @@ abstract class AbstractMagnesiumDataOutput extends AbstractNormalizedNodeDataOut
     @Override
     public final void startMapNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
         startQNameNode(MagnesiumNode.NODE_MAP, name);
+        startSizedBody();
     }
 
     @Override
@@ -150,11 +178,13 @@ abstract class AbstractMagnesiumDataOutput extends AbstractNormalizedNodeDataOut
         }
 
         writePredicates(identifier);
+        startSizedBody();
     }
 
     @Override
     public final void startOrderedMapNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
         startQNameNode(MagnesiumNode.NODE_MAP_ORDERED, name);
+        startSizedBody();
     }
 
     @Override
@@ -167,6 +197,7 @@ abstract class AbstractMagnesiumDataOutput extends AbstractNormalizedNodeDataOut
         final Integer code = aidCodeMap.get(identifier);
         if (code == null) {
             aidCodeMap.put(identifier, aidCodeMap.size());
+            aidCodes.add(identifier);
             output.writeByte(MagnesiumNode.NODE_AUGMENTATION | MagnesiumNode.ADDR_DEFINE);
             final Set<QName> qnames = identifier.getPossibleChildNames();
             output.writeInt(qnames.size());
@@ -208,11 +239,75 @@ abstract class AbstractMagnesiumDataOutput extends AbstractNormalizedNodeDataOut
 
     @Override
     public final void endNode() throws IOException {
+        final int depth = stack.size();
         if (stack.pop() instanceof PathArgument) {
             output.writeByte(MagnesiumNode.NODE_END);
+            if (sizedNodes != null) {
+                final SizedNode sized = sizedNodes.peek();
+                if (sized != null && sized.depth == depth) {
+                    sizedNodes.pop();
+                    endSizedBody(sized);
+                }
+            }
         }
     }
 
+    // Start the body of a sized node, if this stream encodes them. The body is prefixed by its length.
+    private void startSizedBody() throws IOException {
+        if (sizedNodes != null) {
+            sizedNodes.push(new SizedNode(stack.size(), verifyNotNull(bulkOutput).reserveInt(), aidCodes.size(),
+                moduleCodes.size(), stringCodes.size(), qnameCodes.size()));
+        }
+    }
+
+    // End the body of a sized node: fill in its length and emit the trailer, which holds all coding definitions made
+    // within the body, so a reader skipping the body can keep its coding tables in sync with ours
+    private void endSizedBody(final SizedNode sized) throws IOException {
+        final AbstractBulkDataOutput bulk = verifyNotNull(bulkOutput);
+        bulk.patchInt(sized.lengthHandle, bulk.position() - sized.lengthHandle - Integer.BYTES);
+
+        if (sized.aidCount == aidCodes.size() && sized.moduleCount == moduleCodes.size()
+                && sized.stringCount == stringCodes.size() && sized.qnameCount == qnameCodes.size()) {
+            output.writeByte(MagnesiumNode.TRAILER_EMPTY);
+            return;
+        }
+
+        output.writeByte(MagnesiumNode.TRAILER_DEFINITIONS);
+        final int trailerHandle = bulk.reserveInt();
+        final List<String> strings = stringCodes.subList(sized.stringCount, stringCodes.size());
+        output.writeInt(strings.size());
+        for (String str : strings) {
+            writeValue(str);
+        }
+
+        final List<QNameModule> modules = moduleCodes.subList(sized.moduleCount, moduleCodes.size());
+        output.writeInt(modules.size());
+        for (QNameModule module : modules) {
+            output.writeInt(stringCodeMap.get(module.getNamespace().toString()));
+            final Optional<Revision> rev = module.getRevision();
+            output.writeInt(rev.isPresent() ? stringCodeMap.get(rev.get().toString()) : -1);
+        }
+
+        final List<QName> qnames = qnameCodes.subList(sized.qnameCount, qnameCodes.size());
+        output.writeInt(qnames.size());
+        for (QName qname : qnames) {
+            output.writeInt(moduleCodeMap.get(qname.getModule()));
+            output.writeInt(stringCodeMap.get(qname.getLocalName()));
+        }
+
+        final List<AugmentationIdentifier> aids = aidCodes.subList(sized.aidCount, aidCodes.size());
+        output.writeInt(aids.size());
+        for (AugmentationIdentifier aid : aids) {
+            final Set<QName> childNames = aid.getPossibleChildNames();
+            output.writeInt(childNames.size());
+            for (QName qname : childNames) {
+                output.writeInt(qnameCodeMap.get(qname));
+            }
+        }
+
+        bulk.patchInt(trailerHandle, bulk.position() - trailerHandle - Integer.BYTES);
+    }
+
     @Override
     public final void scalarValue(final Object value) throws IOException {
         if (KEY_LEAF_STATE.equals(stack.peek())) {
@@ -487,15 +582,11 @@ abstract class AbstractMagnesiumDataOutput extends AbstractNormalizedNodeDataOut
             output.writeByte(MagnesiumValue.STRING_UTF);
             output.writeUTF(value);
         } else if (value.length() <= 1048576) {
-            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
-            if (bytes.length < 65536) {
-                output.writeByte(MagnesiumValue.STRING_2B);
-                output.writeShort(bytes.length);
+            if (bulkOutput != null) {
+                writeBulkValue(bulkOutput, value);
             } else {
-                output.writeByte(MagnesiumValue.STRING_4B);
-                output.writeInt(bytes.length);
+                writeByteString(value.getBytes(StandardCharsets.UTF_8));
             }
-            output.write(bytes);
         } else {
             output.writeByte(MagnesiumValue.STRING_CHARS);
             output.writeInt(value.length());
@@ -556,6 +647,35 @@ abstract class AbstractMagnesiumDataOutput extends AbstractNormalizedNodeDataOut
 
     // Check if the proposed QName matches the parent. This is only effective if the parent is identified by
     // NodeIdentifier -- which is typically true
+    private void writeBulkValue(final AbstractBulkDataOutput bulk, final String value) throws IOException {
+        final int length;
+        try {
+            length = Utf8.encodedLength(value);
+        } catch (IllegalArgumentException e) {
+            LOG.debug("String contains unpaired surrogates, falling back to String.getBytes()", e);
+            writeByteString(value.getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+
+        writeStringLength(length);
+        bulk.writeUTF8(value, length);
+    }
+
+    private void writeByteString(final byte[] bytes) throws IOException {
+        writeStringLength(bytes.length);
+        output.write(bytes);
+    }
+
+    private void writeStringLength(final int length) throws IOException {
+        if (length < 65536) {
+            output.writeByte(MagnesiumValue.STRING_2B);
+            output.writeShort(length);
+        } else {
+            output.writeByte(MagnesiumValue.STRING_4B);
+            output.writeInt(length);
+        }
+    }
+
     private boolean matchesParentQName(final QName qname) {
         final Object current = stack.peek();
         return current instanceof NodeIdentifier && qname.equals(((NodeIdentifier) current).getNodeType());
@@ -616,11 +736,13 @@ abstract class AbstractMagnesiumDataOutput extends AbstractNormalizedNodeDataOut
             throw new IOException("Internal coding error: attempted to re-encode " + qname + "%s already encoded as "
                     + prev);
         }
+        qnameCodes.add(qname);
 
         final QNameModule module = qname.getModule();
         final Integer code = moduleCodeMap.get(module);
         if (code == null) {
             moduleCodeMap.put(module, moduleCodeMap.size());
+            moduleCodes.add(module);
             encodeString(module.getNamespace().toString());
             final Optional<Revision> rev = module.getRevision();
             if (rev.isPresent()) {
@@ -642,6 +764,7 @@ abstract class AbstractMagnesiumDataOutput extends AbstractNormalizedNodeDataOut
             writeRef(code);
         } else {
             stringCodeMap.put(str, stringCodeMap.size());
+            stringCodes.add(str);
             writeValue(str);
         }
     }
@@ -691,4 +814,24 @@ abstract class AbstractMagnesiumDataOutput extends AbstractNormalizedNodeDataOut
             output.writeInt(val);
         }
     }
+
+    // Book-keeping of a sized node being written
+    private static final class SizedNode {
+        final int depth;
+        final int lengthHandle;
+        final int aidCount;
+        final int moduleCount;
+        final int stringCount;
+        final int qnameCount;
+
+        SizedNode(final int depth, final int lengthHandle, final int aidCount, final int moduleCount,
+                final int stringCount, final int qnameCount) {
+            this.depth = depth;
+            this.lengthHandle = lengthHandle;
+            this.aidCount = aidCount;
+            this.moduleCount = moduleCount;
+            this.stringCount = stringCount;
+            this.qnameCount = qnameCount;
+        }
+    }
 }
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.math.BigInteger;
+
+final class AluminiumDataInput extends AbstractMagnesiumDataInput {
+    AluminiumDataInput(final DataInput input) {
+        super(input, true, CodingTables.EMPTY, false);
+    }
+
+    // Used to decode the body of a lazy node, or a headerless off-heap segment
+    AluminiumDataInput(final AbstractBulkDataInput body, final CodingTables tables, final boolean softLazy) {
+        super(body, true, tables, softLazy);
+    }
+
+    @Override
+    public NormalizedNodeStreamVersion getVersion() {
+        return NormalizedNodeStreamVersion.ALUMINIUM;
+    }
+
+    @Override
+    BigInteger readBigInteger() throws IOException {
+        throw new InvalidNormalizedNodeStreamException("BigInteger coding is not supported");
+    }
+}
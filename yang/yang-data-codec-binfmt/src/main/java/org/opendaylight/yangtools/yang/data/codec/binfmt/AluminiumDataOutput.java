@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigInteger;
+
+final class AluminiumDataOutput extends AbstractMagnesiumDataOutput {
+    AluminiumDataOutput(final DataOutput output) {
+        super(output instanceof AbstractBulkDataOutput ? output : new BufferedDataOutput(output), true);
+    }
+
+    @Override
+    short streamVersion() {
+        return TokenTypes.ALUMINIUM_VERSION;
+    }
+
+    @Override
+    void writeValue(final BigInteger value) throws IOException {
+        throw new IOException("BigInteger values are not supported");
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (output instanceof BufferedDataOutput) {
+            ((BufferedDataOutput) output).flush();
+        } else {
+            super.flush();
+        }
+    }
+}
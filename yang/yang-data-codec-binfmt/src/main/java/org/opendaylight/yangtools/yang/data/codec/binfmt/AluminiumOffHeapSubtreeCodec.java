@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.function.IntFunction;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.data.api.schema.AugmentationNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.OffHeapSubtreeCodec;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.AbstractMagnesiumDataInput.CodingTables;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableAugmentationNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableChoiceNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableOrderedMapNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableUnkeyedListEntryNodeBuilder;
+
+/**
+ * An {@link OffHeapSubtreeCodec} storing subtrees in {@link NormalizedNodeStreamVersion#ALUMINIUM} format. Decoded
+ * subtrees are lazily-decoded {@link NormalizedNode}s, which retain their materialized children only softly, so that
+ * the heap footprint of a subtree which is not being accessed is close to the size of its root node.
+ *
+ * <p>
+ * Only containers, maps and map entries are supported, as these are the nodes which can be decoded lazily.
+ */
+@Beta
+public final class AluminiumOffHeapSubtreeCodec implements OffHeapSubtreeCodec {
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+
+    private final @NonNull IntFunction<ByteBuffer> allocator;
+
+    // Size of the last encoded segment, used as a starting point for the next one. Concurrent encodes may overwrite
+    // each other's hint, which is fine, as it is only an estimate.
+    private volatile int sizeHint = INITIAL_BUFFER_SIZE;
+
+    /**
+     * Create a new codec, which allocates segments using {@link ByteBuffer#allocateDirect(int)}.
+     */
+    public AluminiumOffHeapSubtreeCodec() {
+        this(ByteBuffer::allocateDirect);
+    }
+
+    /**
+     * Create a new codec, which allocates segments using specified allocator. This can be used to place segments into
+     * a memory-mapped file, for example. Segments are filled from their position and must be big-endian.
+     *
+     * <p>
+     * Subtrees are encoded directly into allocated segments. Since the encoded size is not known up front, the
+     * allocator is first invoked with an estimate. If the estimate turns out to be too small, or much larger than
+     * needed, the allocator is invoked again and the previous segment is discarded.
+     *
+     * @param allocator Segment allocator, invoked with the requested segment size
+     * @throws NullPointerException if {@code allocator} is null
+     */
+    public AluminiumOffHeapSubtreeCodec(final IntFunction<ByteBuffer> allocator) {
+        this.allocator = requireNonNull(allocator);
+    }
+
+    @Override
+    public ByteBuffer encode(final NormalizedNode<?, ?> data) throws IOException {
+        if (!(data instanceof ContainerNode) && !(data instanceof MapNode) && !(data instanceof MapEntryNode)) {
+            return null;
+        }
+
+        final ByteBuffer encoded = encodeDirect(data);
+        final int size = encoded.remaining();
+        sizeHint = size;
+
+        // Do not retain a segment which is mostly empty, copy the data into an exact-sized one instead
+        if (size >= encoded.capacity() / 2) {
+            return encoded.asReadOnlyBuffer();
+        }
+        final ByteBuffer exact = allocate(size);
+        exact.put(encoded).flip();
+        return exact.asReadOnlyBuffer();
+    }
+
+    @Override
+    public NormalizedNode<?, ?> decode(final ByteBuffer segment) throws IOException {
+        final ByteBufferDataInput input = new ByteBufferDataInput(segment.duplicate());
+        final byte marker = input.readByte();
+        final short version = input.readShort();
+        if (marker != TokenTypes.SIGNATURE_MARKER || version != TokenTypes.ALUMINIUM_VERSION) {
+            throw new InvalidNormalizedNodeStreamException("Unexpected segment header " + marker + "/" + version);
+        }
+        return new AluminiumDataInput(input, CodingTables.EMPTY, true).readLazyNormalizedNode();
+    }
+
+    @Override
+    public NormalizedNode<?, ?> replaceChildren(final NormalizedNode<?, ?> parent,
+            final Collection<? extends NormalizedNode<?, ?>> children) {
+        if (parent instanceof MapNode) {
+            final CollectionNodeBuilder<MapEntryNode, ? extends MapNode> builder = parent instanceof OrderedMapNode
+                ? ImmutableOrderedMapNodeBuilder.create((OrderedMapNode) parent)
+                    : Builders.mapBuilder((MapNode) parent);
+            for (NormalizedNode<?, ?> child : children) {
+                if (!(child instanceof MapEntryNode)) {
+                    return null;
+                }
+                builder.withChild((MapEntryNode) child);
+            }
+            return builder.build();
+        }
+
+        final DataContainerNodeBuilder<?, ?> builder = dataContainerBuilder(parent);
+        if (builder == null) {
+            return null;
+        }
+        for (NormalizedNode<?, ?> child : children) {
+            if (!(child instanceof DataContainerChild)) {
+                return null;
+            }
+            builder.withChild((DataContainerChild<?, ?>) child);
+        }
+        return builder.build();
+    }
+
+    private static DataContainerNodeBuilder<?, ?> dataContainerBuilder(final NormalizedNode<?, ?> parent) {
+        if (parent instanceof ContainerNode) {
+            return Builders.containerBuilder((ContainerNode) parent);
+        }
+        if (parent instanceof MapEntryNode) {
+            return Builders.mapEntryBuilder((MapEntryNode) parent);
+        }
+        if (parent instanceof ChoiceNode) {
+            return ImmutableChoiceNodeBuilder.create((ChoiceNode) parent);
+        }
+        if (parent instanceof AugmentationNode) {
+            return ImmutableAugmentationNodeBuilder.create((AugmentationNode) parent);
+        }
+        if (parent instanceof UnkeyedListEntryNode) {
+            return ImmutableUnkeyedListEntryNodeBuilder.create((UnkeyedListEntryNode) parent);
+        }
+        return null;
+    }
+
+    private ByteBuffer encodeDirect(final NormalizedNode<?, ?> data) throws IOException {
+        int size = Math.max(sizeHint, INITIAL_BUFFER_SIZE);
+        while (true) {
+            final ByteBuffer segment = allocate(size);
+            try (NormalizedNodeDataOutput output = NormalizedNodeStreamVersion.ALUMINIUM.newDataOutput(segment)) {
+                output.writeNormalizedNode(data);
+            } catch (BufferOverflowException e) {
+                checkArgument(size <= Integer.MAX_VALUE / 2, "Subtree %s is too large", data.getIdentifier());
+                size *= 2;
+                continue;
+            }
+            return segment.flip();
+        }
+    }
+
+    private ByteBuffer allocate(final int size) {
+        final ByteBuffer segment = allocator.apply(size);
+        checkArgument(segment.remaining() >= size, "Allocator provided %s for %s bytes", segment, size);
+        // Restrict the segment to the requested size, so that its capacity reflects what we have asked for
+        final ByteBuffer slice = segment.slice();
+        slice.limit(size);
+        return slice.slice();
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static com.google.common.base.Verify.verify;
+import static java.util.Objects.requireNonNull;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A {@link AbstractBulkDataOutput} adapting a plain {@link DataOutput}, which does not support random access. Data
+ * is passed through to the delegate, except when there is an outstanding {@link #reserveInt()}. In that case the data
+ * is accumulated in a heap buffer until the outermost reservation is patched, at which point the buffer is written to
+ * the delegate.
+ */
+final class BufferedDataOutput extends AbstractBulkDataOutput {
+    private static final int INITIAL_CAPACITY = 4096;
+
+    private final DataOutput delegate;
+
+    private byte[] buf = new byte[0];
+    private int count;
+    private int reservations;
+
+    BufferedDataOutput(final DataOutput delegate) {
+        this.delegate = requireNonNull(delegate);
+    }
+
+    @Override
+    void writeUTF8(final String str, final int length) throws IOException {
+        write(str.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    void writeAscii(final String str) throws IOException {
+        if (reservations == 0) {
+            delegate.writeBytes(str);
+            return;
+        }
+
+        final int length = str.length();
+        ensureCapacity(length);
+        for (int i = 0; i < length; ++i) {
+            buf[count++] = (byte) str.charAt(i);
+        }
+    }
+
+    @Override
+    int position() {
+        return count;
+    }
+
+    @Override
+    int reserveInt() throws IOException {
+        reservations++;
+        return super.reserveInt();
+    }
+
+    @Override
+    void patchInt(final int handle, final int value) throws IOException {
+        verify(reservations > 0, "Attempted to patch %s without a reservation", handle);
+        buf[handle] = (byte) (value >>> 24);
+        buf[handle + 1] = (byte) (value >>> 16);
+        buf[handle + 2] = (byte) (value >>> 8);
+        buf[handle + 3] = (byte) value;
+
+        if (--reservations == 0) {
+            delegate.write(buf, 0, count);
+            count = 0;
+        }
+    }
+
+    void flush() throws IOException {
+        if (delegate instanceof OutputStream) {
+            ((OutputStream) delegate).flush();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void write(final int b) throws IOException {
+        writeByte(b);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        if (reservations == 0) {
+            delegate.write(b, off, len);
+        } else {
+            ensureCapacity(len);
+            System.arraycopy(b, off, buf, count, len);
+            count += len;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeByte(final int v) throws IOException {
+        if (reservations == 0) {
+            delegate.writeByte(v);
+        } else {
+            ensureCapacity(Byte.BYTES);
+            buf[count++] = (byte) v;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeShort(final int v) throws IOException {
+        if (reservations == 0) {
+            delegate.writeShort(v);
+        } else {
+            ensureCapacity(Short.BYTES);
+            buf[count++] = (byte) (v >>> 8);
+            buf[count++] = (byte) v;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeChar(final int v) throws IOException {
+        writeShort(v);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeInt(final int v) throws IOException {
+        if (reservations == 0) {
+            delegate.writeInt(v);
+        } else {
+            ensureCapacity(Integer.BYTES);
+            buf[count++] = (byte) (v >>> 24);
+            buf[count++] = (byte) (v >>> 16);
+            buf[count++] = (byte) (v >>> 8);
+            buf[count++] = (byte) v;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeLong(final long v) throws IOException {
+        if (reservations == 0) {
+            delegate.writeLong(v);
+        } else {
+            writeInt((int) (v >>> 32));
+            writeInt((int) v);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BufferedDataOutput{delegate=" + delegate + ", buffered=" + count + "}";
+    }
+
+    private void ensureCapacity(final int size) {
+        final int required = count + size;
+        if (required > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(required, Math.max(INITIAL_CAPACITY, buf.length * 2)));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static java.util.Objects.requireNonNull;
+
+import io.netty.buffer.ByteBuf;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A {@link AbstractBulkDataInput} backed by a Netty {@link ByteBuf}. Reads start at the buffer's reader index and
+ * advance it. Strings are decoded directly from the buffer's memory.
+ */
+final class ByteBufDataInput extends AbstractBulkDataInput {
+    private final ByteBuf buf;
+
+    ByteBufDataInput(final ByteBuf buf) {
+        this.buf = requireNonNull(buf);
+    }
+
+    @Override
+    int remaining() {
+        return buf.readableBytes();
+    }
+
+    @Override
+    byte peekByte() {
+        return buf.getByte(buf.readerIndex());
+    }
+
+    @Override
+    String readUTF8(final int length) throws IOException {
+        checkRemaining(length);
+        return buf.readCharSequence(length, StandardCharsets.UTF_8).toString();
+    }
+
+    @Override
+    ByteBufDataInput readSlice(final int length) throws EOFException {
+        checkRemaining(length);
+        return new ByteBufDataInput(buf.readSlice(length));
+    }
+
+    @Override
+    ByteBufDataInput duplicate() {
+        return new ByteBufDataInput(buf.duplicate());
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void readFully(final byte[] b, final int off, final int len) throws IOException {
+        checkRemaining(len);
+        buf.readBytes(b, off, len);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public int skipBytes(final int n) {
+        final int skip = Math.max(0, Math.min(n, buf.readableBytes()));
+        buf.skipBytes(skip);
+        return skip;
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        checkRemaining(Byte.BYTES);
+        return buf.readByte();
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        checkRemaining(Short.BYTES);
+        return buf.readShort();
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        checkRemaining(Integer.BYTES);
+        return buf.readInt();
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        checkRemaining(Long.BYTES);
+        return buf.readLong();
+    }
+
+    @Override
+    public String toString() {
+        return "ByteBufDataInput{buf=" + buf + "}";
+    }
+}
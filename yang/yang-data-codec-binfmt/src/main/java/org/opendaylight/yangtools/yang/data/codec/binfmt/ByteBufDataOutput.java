@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static java.util.Objects.requireNonNull;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A {@link AbstractBulkDataOutput} backed by a Netty {@link ByteBuf}. Writes start at the buffer's writer index and
+ * advance it, expanding the buffer as needed. Strings are encoded directly into the buffer's memory.
+ */
+final class ByteBufDataOutput extends AbstractBulkDataOutput {
+    private final ByteBuf buf;
+
+    ByteBufDataOutput(final ByteBuf buf) {
+        this.buf = requireNonNull(buf);
+    }
+
+    @Override
+    void writeUTF8(final String str, final int length) throws IOException {
+        final int written = ByteBufUtil.reserveAndWriteUtf8(buf, str, length);
+        if (written != length) {
+            throw new IOException("Encoded " + written + " bytes instead of expected " + length);
+        }
+    }
+
+    @Override
+    void writeAscii(final String str) {
+        buf.writeCharSequence(str, StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    int position() {
+        return buf.writerIndex();
+    }
+
+    @Override
+    void patchInt(final int handle, final int value) {
+        buf.setInt(handle, value);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void write(final int b) {
+        buf.writeByte(b);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void write(final byte[] b, final int off, final int len) {
+        buf.writeBytes(b, off, len);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeByte(final int v) {
+        buf.writeByte(v);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeShort(final int v) {
+        buf.writeShort(v);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeChar(final int v) {
+        buf.writeChar(v);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeInt(final int v) {
+        buf.writeInt(v);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeLong(final long v) {
+        buf.writeLong(v);
+    }
+
+    @Override
+    public String toString() {
+        return "ByteBufDataOutput{buf=" + buf + "}";
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A {@link AbstractBulkDataInput} backed by a {@link ByteBuffer}. Reads start at the buffer's position and advance it.
+ * This works for heap, direct and memory-mapped buffers alike. Strings are decoded directly from the backing array of
+ * heap buffers.
+ */
+final class ByteBufferDataInput extends AbstractBulkDataInput {
+    private final ByteBuffer buffer;
+
+    ByteBufferDataInput(final ByteBuffer buffer) {
+        this.buffer = requireNonNull(buffer);
+        checkArgument(buffer.order() == ByteOrder.BIG_ENDIAN, "Buffer %s is not big-endian", buffer);
+    }
+
+    @Override
+    int remaining() {
+        return buffer.remaining();
+    }
+
+    @Override
+    byte peekByte() {
+        return buffer.get(buffer.position());
+    }
+
+    @Override
+    String readUTF8(final int length) throws IOException {
+        checkRemaining(length);
+        final int position = buffer.position();
+        if (buffer.hasArray()) {
+            final String ret = new String(buffer.array(), buffer.arrayOffset() + position, length,
+                StandardCharsets.UTF_8);
+            buffer.position(position + length);
+            return ret;
+        }
+
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    ByteBufferDataInput readSlice(final int length) throws EOFException {
+        checkRemaining(length);
+        final int position = buffer.position();
+        final ByteBuffer slice = buffer.slice();
+        slice.limit(length);
+        buffer.position(position + length);
+        return new ByteBufferDataInput(slice);
+    }
+
+    @Override
+    ByteBufferDataInput duplicate() {
+        return new ByteBufferDataInput(buffer.duplicate());
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void readFully(final byte[] b, final int off, final int len) throws IOException {
+        checkRemaining(len);
+        buffer.get(b, off, len);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public int skipBytes(final int n) {
+        final int skip = Math.max(0, Math.min(n, buffer.remaining()));
+        buffer.position(buffer.position() + skip);
+        return skip;
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        checkRemaining(Byte.BYTES);
+        return buffer.get();
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        checkRemaining(Short.BYTES);
+        return buffer.getShort();
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        checkRemaining(Integer.BYTES);
+        return buffer.getInt();
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        checkRemaining(Long.BYTES);
+        return buffer.getLong();
+    }
+
+    @Override
+    public String toString() {
+        return "ByteBufferDataInput{buffer=" + buffer + "}";
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A {@link AbstractBulkDataOutput} backed by a {@link ByteBuffer}. Writes start at the buffer's position and advance
+ * it. Attempts to write past the buffer's limit result in a {@link java.nio.BufferOverflowException}.
+ */
+final class ByteBufferDataOutput extends AbstractBulkDataOutput {
+    private final ByteBuffer buffer;
+
+    private CharsetEncoder encoder;
+
+    ByteBufferDataOutput(final ByteBuffer buffer) {
+        this.buffer = requireNonNull(buffer);
+        checkArgument(buffer.order() == ByteOrder.BIG_ENDIAN, "Buffer %s is not big-endian", buffer);
+    }
+
+    @Override
+    void writeUTF8(final String str, final int length) throws IOException {
+        CharsetEncoder local = encoder;
+        if (local == null) {
+            encoder = local = StandardCharsets.UTF_8.newEncoder();
+        } else {
+            local.reset();
+        }
+
+        final int expected = buffer.position() + length;
+        CoderResult result = local.encode(CharBuffer.wrap(str), buffer, true);
+        if (result.isUnderflow()) {
+            result = local.flush(buffer);
+        }
+        if (!result.isUnderflow()) {
+            // Overflow results in BufferOverflowException, just like the other write methods
+            result.throwException();
+        }
+        if (buffer.position() != expected) {
+            throw new IOException("Encoded " + length + " bytes, ended at " + buffer.position() + " instead of "
+                + expected);
+        }
+    }
+
+    @Override
+    void writeAscii(final String str) {
+        final int length = str.length();
+        for (int i = 0; i < length; ++i) {
+            buffer.put((byte) str.charAt(i));
+        }
+    }
+
+    @Override
+    int position() {
+        return buffer.position();
+    }
+
+    @Override
+    void patchInt(final int handle, final int value) {
+        buffer.putInt(handle, value);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void write(final int b) {
+        buffer.put((byte) b);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void write(final byte[] b, final int off, final int len) {
+        buffer.put(b, off, len);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeByte(final int v) {
+        buffer.put((byte) v);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeShort(final int v) {
+        buffer.putShort((short) v);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeChar(final int v) {
+        buffer.putChar((char) v);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeInt(final int v) {
+        buffer.putInt(v);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeLong(final long v) {
+        buffer.putLong(v);
+    }
+
+    @Override
+    public String toString() {
+        return "ByteBufferDataOutput{buffer=" + buffer + "}";
+    }
+}
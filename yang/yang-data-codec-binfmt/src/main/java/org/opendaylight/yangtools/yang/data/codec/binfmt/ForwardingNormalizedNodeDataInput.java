@@ -38,6 +38,11 @@ abstract class ForwardingNormalizedNodeDataInput extends ForwardingDataInput imp
         return delegate().readNormalizedNode(receiver);
     }
 
+    @Override
+    public final NormalizedNode<?, ?> readLazyNormalizedNode() throws IOException {
+        return delegate().readLazyNormalizedNode();
+    }
+
     @Override
     public final YangInstanceIdentifier readYangInstanceIdentifier() throws IOException {
         return delegate().readYangInstanceIdentifier();
@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import java.io.IOException;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.AbstractMagnesiumDataInput.CodingTables;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+
+final class LazyMapEntryNode extends AbstractLazyDataContainerNode<NodeIdentifierWithPredicates, MapEntryNode>
+        implements MapEntryNode {
+    LazyMapEntryNode(final NodeIdentifierWithPredicates identifier, final AbstractBulkDataInput body,
+            final CodingTables tables, final boolean softDelegate) {
+        super(identifier, body, tables, softDelegate);
+    }
+
+    @Override
+    MapEntryNode decode(final AluminiumDataInput input) throws IOException {
+        return input.readLazyChildren(getIdentifier(), Builders.mapEntryBuilder());
+    }
+}
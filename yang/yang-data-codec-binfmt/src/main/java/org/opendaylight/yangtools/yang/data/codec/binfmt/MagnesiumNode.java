@@ -149,6 +149,19 @@ final class MagnesiumNode {
     static final byte PREDICATE_4B    = (byte) (PREDICATE_ONE | PREDICATE_1B);
     static final byte PREDICATE_MASK  = PREDICATE_4B;
 
+    /**
+     * Trailer encoding: no coding table entries have been defined in a sized node's body. Trailers are used only in
+     * {@link NormalizedNodeStreamVersion#ALUMINIUM}, where container, map and map entry nodes have their body prefixed
+     * by its {@code int} length and followed by a trailer.
+     */
+    static final byte TRAILER_EMPTY       = 0x00;
+
+    /**
+     * Trailer encoding: coding table entries have been defined in a sized node's body. They follow as an {@code int}
+     * length and their definitions.
+     */
+    static final byte TRAILER_DEFINITIONS = 0x01;
+
     private MagnesiumNode() {
 
     }
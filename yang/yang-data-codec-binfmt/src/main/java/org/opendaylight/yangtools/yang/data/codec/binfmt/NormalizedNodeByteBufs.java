@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import com.google.common.annotations.Beta;
+import io.netty.buffer.ByteBuf;
+import java.io.IOException;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * Utility methods for reading and writing {@link NormalizedNodeDataInput} and {@link NormalizedNodeDataOutput} streams
+ * directly from/to Netty {@link ByteBuf}s. This class requires {@code netty-buffer} to be present at runtime, which is
+ * an optional dependency of this artifact.
+ */
+@Beta
+public final class NormalizedNodeByteBufs {
+    private NormalizedNodeByteBufs() {
+        // Hidden on purpose
+    }
+
+    /**
+     * Creates a new {@link NormalizedNodeDataInput} instance that reads directly from the given buffer, starting at its
+     * reader index. This method first reads and validates that the buffer contains a valid NormalizedNode stream.
+     *
+     * @param buf the ByteBuf to read from
+     * @return a new {@link NormalizedNodeDataInput} instance
+     * @throws NullPointerException if {@code buf} is null
+     * @throws InvalidNormalizedNodeStreamException if the stream version is not supported
+     * @throws IOException if an error occurs reading from the buffer
+     */
+    public static @NonNull NormalizedNodeDataInput newDataInput(final @NonNull ByteBuf buf) throws IOException {
+        return NormalizedNodeDataInput.newDataInput(new ByteBufDataInput(buf));
+    }
+
+    /**
+     * Creates a new {@link NormalizedNodeDataOutput} instance that writes directly into the given buffer, starting at
+     * its writer index and expanding it as needed.
+     *
+     * @param version Stream version to use
+     * @param buf the ByteBuf to write to
+     * @return a new {@link NormalizedNodeDataOutput} instance
+     * @throws NullPointerException if any argument is null
+     * @throws UnsupportedOperationException if the version cannot be created in this runtime
+     */
+    public static @NonNull NormalizedNodeDataOutput newDataOutput(final @NonNull NormalizedNodeStreamVersion version,
+            final @NonNull ByteBuf buf) {
+        return version.newDataOutput(new ByteBufDataOutput(buf));
+    }
+}
@@ -10,6 +10,7 @@ package org.opendaylight.yangtools.yang.data.codec.binfmt;
 import com.google.common.annotations.Beta;
 import java.io.DataInput;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Optional;
 import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.yangtools.yang.common.QName;
@@ -66,6 +67,25 @@ public interface NormalizedNodeDataInput extends DataInput {
         }
     }
 
+    /**
+     * Read a normalized node from the reader, deferring decoding of its subtrees until they are accessed. This is only
+     * supported by streams which encode lengths of their nodes, i.e. {@link NormalizedNodeStreamVersion#ALUMINIUM}
+     * streams read from a {@link ByteBuffer} or a {@code ByteBuf}. Other streams are read eagerly, just as
+     * {@link #readNormalizedNode()} does.
+     *
+     * <p>
+     * Lazily-decoded nodes retain a reference to the underlying buffer, whose contents must not be modified while they
+     * are reachable. Decoding errors encountered after this method returns are reported as
+     * {@link java.io.UncheckedIOException}s.
+     *
+     * @return Next node from the stream
+     * @throws IOException if an error occurs
+     */
+    @Beta
+    default NormalizedNode<?, ?> readLazyNormalizedNode() throws IOException {
+        return readNormalizedNode();
+    }
+
     YangInstanceIdentifier readYangInstanceIdentifier() throws IOException;
 
     @NonNull QName readQName() throws IOException;
@@ -102,6 +122,21 @@ public interface NormalizedNodeDataInput extends DataInput {
         return new VersionedNormalizedNodeDataInput(input).delegate();
     }
 
+    /**
+     * Creates a new {@link NormalizedNodeDataInput} instance that reads directly from the given buffer, starting at its
+     * current position. The buffer needs to be in {@link java.nio.ByteOrder#BIG_ENDIAN} order. This method first reads
+     * and validates that the buffer contains a valid NormalizedNode stream.
+     *
+     * @param buffer the ByteBuffer to read from
+     * @return a new {@link NormalizedNodeDataInput} instance
+     * @throws IllegalArgumentException if {@code buffer} is not big-endian
+     * @throws InvalidNormalizedNodeStreamException if the stream version is not supported
+     * @throws IOException if an error occurs reading from the buffer
+     */
+    static @NonNull NormalizedNodeDataInput newDataInput(final @NonNull ByteBuffer buffer) throws IOException {
+        return newDataInput(new ByteBufferDataInput(buffer));
+    }
+
     /**
      * Creates a new {@link NormalizedNodeDataInput} instance that reads from the given input. This method does not
      * perform any initial validation of the input stream.
@@ -10,6 +10,7 @@ package org.opendaylight.yangtools.yang.data.codec.binfmt;
 import com.google.common.annotations.Beta;
 import java.io.DataOutput;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.opendaylight.yangtools.yang.common.Uint64;
 import org.opendaylight.yangtools.yang.data.api.schema.ValueNode;
@@ -75,6 +76,23 @@ public enum NormalizedNodeStreamVersion {
         public NormalizedNodeDataOutput newDataOutput(final DataOutput output) {
             return new MagnesiumDataOutput(output);
         }
+    },
+    /**
+     * Extends {@link #MAGNESIUM} with length-prefixed container, map and map entry nodes, allowing readers to skip
+     * over them. This version supports {@link NormalizedNodeDataInput#readLazyNormalizedNode()}. Each such node carries
+     * at least 5 bytes of overhead, plus a copy of any coding table definitions made within its body.
+     *
+     * <p>
+     * Since the lengths need to be known before the body is written, the body is buffered when writing to a plain
+     * {@link DataOutput}. Use {@link #newDataOutput(ByteBuffer)} or {@link NormalizedNodeByteBufs} to write directly
+     * into memory.
+     */
+    @Beta
+    ALUMINIUM {
+        @Override
+        public NormalizedNodeDataOutput newDataOutput(final DataOutput output) {
+            return new AluminiumDataOutput(output);
+        }
     };
 
     /**
@@ -96,4 +114,19 @@ public enum NormalizedNodeStreamVersion {
      * @throws UnsupportedOperationException if this version cannot be created in this runtime
      */
     public abstract NormalizedNodeDataOutput newDataOutput(DataOutput output);
+
+    /**
+     * Creates a new {@link NormalizedNodeDataOutput} instance that writes directly into the given buffer, starting at
+     * its current position. The buffer needs to be in {@link java.nio.ByteOrder#BIG_ENDIAN} order. Attempts to write
+     * past the buffer's limit result in a {@link java.nio.BufferOverflowException}.
+     *
+     * @param buffer the ByteBuffer to write to
+     * @return a new {@link NormalizedNodeDataOutput} instance
+     * @throws NullPointerException if {@code buffer} is null
+     * @throws IllegalArgumentException if {@code buffer} is not big-endian
+     * @throws UnsupportedOperationException if this version cannot be created in this runtime
+     */
+    public final NormalizedNodeDataOutput newDataOutput(final ByteBuffer buffer) {
+        return newDataOutput(new ByteBufferDataOutput(buffer));
+    }
 }
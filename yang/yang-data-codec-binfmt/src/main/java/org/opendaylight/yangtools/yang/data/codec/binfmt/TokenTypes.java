@@ -28,6 +28,12 @@ final class TokenTypes {
      * present.
      */
     static final short MAGNESIUM_VERSION = 4;
+    /**
+     * Aluminium version. Structurally matches {@link #MAGNESIUM_VERSION}, but the bodies of container, map and map
+     * entry nodes are prefixed with their length and followed by a trailer holding the coding definitions made within
+     * the body. This allows a reader to skip over such bodies and decode them later.
+     */
+    static final short ALUMINIUM_VERSION = 5;
 
     private TokenTypes() {
         // Utility class
@@ -46,6 +46,9 @@ final class VersionedNormalizedNodeDataInput extends ForwardingNormalizedNodeDat
             case TokenTypes.MAGNESIUM_VERSION:
                 ret = new MagnesiumDataInput(input);
                 break;
+            case TokenTypes.ALUMINIUM_VERSION:
+                ret = new AluminiumDataInput(input);
+                break;
             default:
                 throw defunct("Unhandled stream version %s", version);
         }
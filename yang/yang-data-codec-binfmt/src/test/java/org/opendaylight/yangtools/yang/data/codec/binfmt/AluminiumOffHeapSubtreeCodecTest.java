@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.Uint64;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.MutableTreeNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.OffHeapDemotionPolicy;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNodeFactory;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.Version;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.ReusableImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+
+public class AluminiumOffHeapSubtreeCodecTest {
+    private static final ContainerNode CONTAINER = TestModel.createBaseTestContainerBuilder(Uint64::valueOf).build();
+    private static final NodeIdentifier OUTER_LIST = new NodeIdentifier(TestModel.OUTER_LIST_QNAME);
+
+    private final AluminiumOffHeapSubtreeCodec codec = new AluminiumOffHeapSubtreeCodec();
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        final ByteBuffer segment = codec.encode(CONTAINER);
+        assertNotNull(segment);
+        assertTrue(segment.isDirect());
+        assertTrue(segment.isReadOnly());
+
+        final int size = segment.remaining();
+        final NormalizedNode<?, ?> decoded = codec.decode(segment);
+        assertTrue(decoded instanceof LazyContainerNode);
+        assertEquals(size, segment.remaining());
+        assertEquals(CONTAINER, copy(decoded));
+
+        // Decoding again yields an equal node
+        assertEquals(decoded, codec.decode(segment));
+    }
+
+    @Test
+    public void testUnsupported() throws IOException {
+        assertNull(codec.encode(ImmutableNodes.leafNode(TestModel.DESC_QNAME, "foo")));
+    }
+
+    @Test
+    public void testEncodeWithSmallEstimate() throws IOException {
+        final List<Integer> requested = new ArrayList<>();
+        final AluminiumOffHeapSubtreeCodec counting = new AluminiumOffHeapSubtreeCodec(size -> {
+            requested.add(size);
+            return ByteBuffer.allocateDirect(size);
+        });
+
+        final CollectionNodeBuilder<MapEntryNode, MapNode> builder = ImmutableNodes.mapNodeBuilder(
+            TestModel.OUTER_LIST_QNAME);
+        for (int i = 0; i < 1000; ++i) {
+            builder.withChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, i));
+        }
+        final MapNode large = builder.build();
+
+        // Initial estimate is too small, hence the segment needs to grow
+        final ByteBuffer segment = counting.encode(large);
+        assertNotNull(segment);
+        assertTrue(segment.isDirect());
+        assertEquals(large, copy(counting.decode(segment)));
+        assertTrue(requested.size() > 1);
+
+        // The estimate is now exact, hence a single allocation is enough
+        requested.clear();
+        assertEquals(segment, counting.encode(large));
+        assertEquals(List.of(segment.remaining()), requested);
+    }
+
+    @Test
+    public void testReplaceChildren() throws IOException {
+        final MapNode list = (MapNode) CONTAINER.getChild(OUTER_LIST).orElseThrow();
+        final NormalizedNode<?, ?> decodedList = codec.decode(codec.encode(list));
+        final List<NormalizedNode<?, ?>> children = new ArrayList<>();
+        children.add(decodedList);
+        for (DataContainerChild<?, ?> child : CONTAINER.getValue()) {
+            if (child instanceof ContainerNode) {
+                children.add(codec.decode(codec.encode(child)));
+            }
+        }
+
+        final NormalizedNode<?, ?> replaced = codec.replaceChildren(CONTAINER, children);
+        assertTrue(replaced instanceof ContainerNode);
+        for (NormalizedNode<?, ?> child : children) {
+            assertSame(child, ((ContainerNode) replaced).getChild((PathArgument) child.getIdentifier()).orElseThrow());
+        }
+        assertEquals(CONTAINER, copy(replaced));
+
+        // Map entries are replaced in maps
+        final MapEntryNode entry = list.getValue().iterator().next();
+        final NormalizedNode<?, ?> decodedEntry = codec.decode(codec.encode(entry));
+        final NormalizedNode<?, ?> replacedList = codec.replaceChildren(list, List.of(decodedEntry));
+        assertTrue(replacedList instanceof MapNode);
+        assertSame(decodedEntry, ((MapNode) replacedList).getChild(entry.getIdentifier()).orElseThrow());
+
+        assertNull(codec.replaceChildren(ImmutableNodes.leafNode(TestModel.DESC_QNAME, "foo"), children));
+        assertNull(codec.replaceChildren(list, children));
+    }
+
+    @Test
+    public void testDemoteUniformTree() throws IOException {
+        final Version version = Version.initial();
+        final OffHeapDemotionPolicy policy = new OffHeapDemotionPolicy(codec, 2);
+
+        TreeNode root = TreeNodeFactory.createTreeNode(CONTAINER, version);
+        // First scan observes the version, second one demotes it
+        for (int i = 0; i < 3; ++i) {
+            assertSame(root, policy.onCommit(root));
+        }
+        root = policy.onCommit(root);
+        assertTrue(OffHeapDemotionPolicy.isDemoted(root));
+        assertSame(version, root.getVersion());
+        assertSame(version, root.getSubtreeVersion());
+        assertEquals(CONTAINER.getIdentifier(), root.getIdentifier());
+        assertEquals(CONTAINER, copy(root.getData()));
+
+        final TreeNode child = root.getChild(OUTER_LIST).orElseThrow();
+        assertSame(version, child.getVersion());
+        assertEquals(CONTAINER.getChild(OUTER_LIST).orElseThrow(), copy(child.getData()));
+
+        // Demoted nodes are left alone
+        for (int i = 0; i < 4; ++i) {
+            assertSame(root, policy.onCommit(root));
+        }
+    }
+
+    @Test
+    public void testDemoteModifiedTree() throws IOException {
+        final Version initial = Version.initial();
+        final Version next = initial.next();
+        final OffHeapDemotionPolicy policy = new OffHeapDemotionPolicy(codec, 2);
+
+        // Replace the outer list in the next version
+        final MapNode list = (MapNode) CONTAINER.getChild(OUTER_LIST).orElseThrow();
+        final MapNode newList = Builders.mapBuilder(list)
+            .withChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 100))
+            .build();
+        final ContainerNode newData = Builders.containerBuilder(CONTAINER).withChild(newList).build();
+
+        final MutableTreeNode mutable = TreeNodeFactory.createTreeNode(CONTAINER, initial).mutable();
+        mutable.addChild(TreeNodeFactory.createTreeNode(newList, next));
+        mutable.setData(newData);
+        mutable.setSubtreeVersion(next);
+        TreeNode root = mutable.seal();
+
+        for (int i = 0; i < 3; ++i) {
+            assertSame(root, policy.onCommit(root));
+        }
+        root = policy.onCommit(root);
+        assertFalse(OffHeapDemotionPolicy.isDemoted(root));
+        assertSame(initial, root.getVersion());
+        assertSame(next, root.getSubtreeVersion());
+        assertEquals(newData, copy(root.getData()));
+
+        final TreeNode listNode = root.getChild(OUTER_LIST).orElseThrow();
+        assertTrue(OffHeapDemotionPolicy.isDemoted(listNode));
+        assertSame(next, listNode.getVersion());
+        assertEquals(newList, copy(listNode.getData()));
+
+        // The data of the root references the demoted subtree
+        assertSame(listNode.getData(), ((ContainerNode) root.getData()).getChild(OUTER_LIST).orElseThrow());
+
+        // Unmodified children share the initial version and have been demoted as well
+        for (NormalizedNode<?, ?> child : ((ContainerNode) root.getData()).getValue()) {
+            final PathArgument id = child.getIdentifier();
+            final TreeNode childNode = root.getChild(id).orElseThrow();
+            assertEquals(child instanceof ContainerNode || child instanceof MapNode,
+                OffHeapDemotionPolicy.isDemoted(childNode));
+        }
+    }
+
+    private static NormalizedNode<?, ?> copy(final NormalizedNode<?, ?> node) throws IOException {
+        final ReusableImmutableNormalizedNodeStreamWriter writer = ReusableImmutableNormalizedNodeStreamWriter.create();
+        NormalizedNodeWriter.forStreamWriter(writer).write(node);
+        return writer.getResult();
+    }
+}
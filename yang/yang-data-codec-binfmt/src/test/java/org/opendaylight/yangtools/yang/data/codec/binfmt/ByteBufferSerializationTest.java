@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.io.ByteStreams;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+@RunWith(Parameterized.class)
+public class ByteBufferSerializationTest {
+    private static final QName SHORT = QName.create(TestModel.TEST_QNAME, "short");
+    private static final QName MEDIUM = QName.create(TestModel.TEST_QNAME, "medium");
+    private static final QName LARGE = QName.create(TestModel.TEST_QNAME, "large");
+    private static final QName BINARY = QName.create(TestModel.TEST_QNAME, "binary");
+
+    private static final ContainerNode CONTAINER = Builders.containerBuilder()
+        .withNodeIdentifier(new NodeIdentifier(TestModel.TEST_QNAME))
+        .withChild(ImmutableNodes.leafNode(SHORT, "foo\u0000©€"))
+        .withChild(ImmutableNodes.leafNode(MEDIUM, "€".repeat(20000)))
+        .withChild(ImmutableNodes.leafNode(LARGE, "😀".repeat(20000)))
+        .withChild(ImmutableNodes.leafNode(BINARY, randomBytes(70000)))
+        .build();
+
+    @Parameters(name = "{0}")
+    public static Iterable<Object[]> data() {
+        return Arrays.asList(
+            new Object[] { NormalizedNodeStreamVersion.LITHIUM },
+            new Object[] { NormalizedNodeStreamVersion.NEON_SR2 },
+            new Object[] { NormalizedNodeStreamVersion.SODIUM_SR1 },
+            new Object[] { NormalizedNodeStreamVersion.MAGNESIUM },
+            new Object[] { NormalizedNodeStreamVersion.ALUMINIUM });
+    }
+
+    @Parameter(0)
+    public NormalizedNodeStreamVersion version;
+
+    @Test
+    public void testHeapByteBuffer() throws IOException {
+        assertByteBuffer(ByteBuffer.allocate(1048576));
+    }
+
+    @Test
+    public void testDirectByteBuffer() throws IOException {
+        assertByteBuffer(ByteBuffer.allocateDirect(1048576));
+    }
+
+    @Test
+    public void testByteBuf() throws IOException {
+        final ByteBuf buf = Unpooled.buffer();
+        try (NormalizedNodeDataOutput nnout = NormalizedNodeByteBufs.newDataOutput(version, buf)) {
+            nnout.writeNormalizedNode(CONTAINER);
+        }
+
+        final byte[] bytes = new byte[buf.readableBytes()];
+        buf.getBytes(buf.readerIndex(), bytes);
+        assertArrayEquals(streamBytes(), bytes);
+
+        assertEquals(CONTAINER, NormalizedNodeByteBufs.newDataInput(buf).readNormalizedNode());
+        assertFalse(buf.isReadable());
+    }
+
+    @Test
+    public void testLittleEndian() {
+        final ByteBuffer buffer = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+        assertThrows(IllegalArgumentException.class, () -> version.newDataOutput(buffer));
+        assertThrows(IllegalArgumentException.class, () -> NormalizedNodeDataInput.newDataInput(buffer));
+    }
+
+    private void assertByteBuffer(final ByteBuffer buffer) throws IOException {
+        try (NormalizedNodeDataOutput nnout = version.newDataOutput(buffer)) {
+            nnout.writeNormalizedNode(CONTAINER);
+        }
+        buffer.flip();
+
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        assertArrayEquals(streamBytes(), bytes);
+
+        assertEquals(CONTAINER, NormalizedNodeDataInput.newDataInput(buffer).readNormalizedNode());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    private byte[] streamBytes() throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (NormalizedNodeDataOutput nnout = version.newDataOutput(ByteStreams.newDataOutput(baos))) {
+            nnout.writeNormalizedNode(CONTAINER);
+        }
+        return baos.toByteArray();
+    }
+
+    private static byte[] randomBytes(final int size) {
+        final byte[] ret = new byte[size];
+        ThreadLocalRandom.current().nextBytes(ret);
+        return ret;
+    }
+}
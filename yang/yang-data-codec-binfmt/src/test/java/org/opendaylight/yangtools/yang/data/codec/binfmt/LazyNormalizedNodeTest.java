@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.Uint64;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.ReusableImmutableNormalizedNodeStreamWriter;
+
+public class LazyNormalizedNodeTest {
+    private static final QName FIRST = QName.create(TestModel.TEST_QNAME, "first");
+    private static final QName SECOND = QName.create(TestModel.TEST_QNAME, "second");
+    private static final QName FOO = QName.create("urn:foo", "foo");
+    private static final QName BAR = QName.create(FOO, "bar");
+
+    private static final ContainerNode CONTAINER = TestModel.createBaseTestContainerBuilder(Uint64::valueOf).build();
+
+    // Both children define nothing, all definitions are made by the first one's body
+    private static final ContainerNode SIBLINGS = Builders.containerBuilder()
+        .withNodeIdentifier(new NodeIdentifier(TestModel.TEST_QNAME))
+        .withChild(fooContainer(FIRST, "one"))
+        .withChild(fooContainer(SECOND, "two"))
+        .build();
+
+    @Test
+    public void testLazyContainer() throws IOException {
+        final NormalizedNode<?, ?> lazy = readLazy(writeBuffer(CONTAINER));
+        assertTrue(lazy instanceof LazyContainerNode);
+        assertEquals(CONTAINER.getIdentifier(), lazy.getIdentifier());
+        assertEquals(CONTAINER, copy(lazy));
+    }
+
+    @Test
+    public void testLazyChildren() throws IOException {
+        final ContainerNode lazy = (ContainerNode) readLazy(writeBuffer(CONTAINER));
+        final Optional<DataContainerChild<?, ?>> outerList = lazy.getChild(
+            new NodeIdentifier(TestModel.OUTER_LIST_QNAME));
+        assertTrue(outerList.isPresent());
+        assertTrue(outerList.get() instanceof LazyMapNode);
+
+        final MapNode expected = (MapNode) CONTAINER.getChild(new NodeIdentifier(TestModel.OUTER_LIST_QNAME))
+            .orElseThrow();
+        final MapNode map = (MapNode) outerList.get();
+        assertEquals(expected.size(), map.size());
+        for (MapEntryNode entry : expected.getValue()) {
+            final NodeIdentifierWithPredicates id = entry.getIdentifier();
+            final MapEntryNode lazyEntry = map.getChild(id).orElseThrow();
+            assertTrue(lazyEntry instanceof LazyMapEntryNode);
+            assertEquals(entry, copy(lazyEntry));
+        }
+    }
+
+    @Test
+    public void testDefinitionsInSkippedBody() throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(65536);
+        try (NormalizedNodeDataOutput nnout = NormalizedNodeStreamVersion.ALUMINIUM.newDataOutput(buffer)) {
+            nnout.writeNormalizedNode(SIBLINGS);
+            nnout.writeNormalizedNode(fooContainer(FIRST, "three"));
+        }
+        buffer.flip();
+
+        final NormalizedNodeDataInput nnin = NormalizedNodeDataInput.newDataInput(buffer);
+        final ContainerNode siblings = (ContainerNode) nnin.readLazyNormalizedNode();
+        // Not touching the first container, its definitions must be picked up from the trailer
+        final NormalizedNode<?, ?> last = nnin.readLazyNormalizedNode();
+        assertFalse(buffer.hasRemaining());
+        assertEquals(fooContainer(FIRST, "three"), copy(last));
+
+        final NormalizedNode<?, ?> second = siblings.getChild(new NodeIdentifier(SECOND)).orElseThrow();
+        assertEquals(fooContainer(SECOND, "two"), copy(second));
+        assertEquals(SIBLINGS, copy(siblings));
+    }
+
+    @Test
+    public void testEquality() throws IOException {
+        final NormalizedNode<?, ?> first = readLazy(writeBuffer(SIBLINGS));
+        final NormalizedNode<?, ?> second = readLazy(writeBuffer(SIBLINGS));
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        assertNotEquals(first, readLazy(writeBuffer(CONTAINER)));
+    }
+
+    @Test
+    public void testSymmetricEquality() throws IOException {
+        final NormalizedNode<?, ?> lazy = readLazy(writeBuffer(CONTAINER));
+        assertEquals(CONTAINER, lazy);
+        assertEquals(lazy, CONTAINER);
+        assertEquals(CONTAINER.hashCode(), lazy.hashCode());
+
+        final NodeIdentifier outerListId = new NodeIdentifier(TestModel.OUTER_LIST_QNAME);
+        final MapNode expected = (MapNode) CONTAINER.getChild(outerListId).orElseThrow();
+        final MapNode lazyMap = (MapNode) ((ContainerNode) lazy).getChild(outerListId).orElseThrow();
+        assertEquals(expected, lazyMap);
+        assertEquals(lazyMap, expected);
+        for (MapEntryNode entry : expected.getValue()) {
+            final MapEntryNode lazyEntry = lazyMap.getChild(entry.getIdentifier()).orElseThrow();
+            assertEquals(entry, lazyEntry);
+            assertEquals(lazyEntry, entry);
+        }
+
+        // Different contract, same identifier
+        final MapNode emptyMap = Builders.mapBuilder().withNodeIdentifier(new NodeIdentifier(TestModel.TEST_QNAME))
+            .build();
+        assertNotEquals(lazy, emptyMap);
+        assertNotEquals(emptyMap, lazy);
+        assertNotEquals(lazy, SIBLINGS);
+        assertNotEquals(SIBLINGS, lazy);
+    }
+
+    @Test
+    public void testBuilderCopy() throws IOException {
+        final ContainerNode lazy = (ContainerNode) readLazy(writeBuffer(SIBLINGS));
+        // Shallow copy, children remain lazy
+        final ContainerNode shallow = Builders.containerBuilder(lazy).build();
+        assertFalse(shallow instanceof LazyContainerNode);
+        assertEquals(SIBLINGS, copy(shallow));
+    }
+
+    @Test
+    public void testEagerRead() throws IOException {
+        final ByteBuffer buffer = writeBuffer(CONTAINER);
+        assertEquals(CONTAINER, NormalizedNodeDataInput.newDataInput(buffer).readNormalizedNode());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void testStream() throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (NormalizedNodeDataOutput nnout = NormalizedNodeStreamVersion.ALUMINIUM.newDataOutput(
+                ByteStreams.newDataOutput(baos))) {
+            nnout.writeNormalizedNode(CONTAINER);
+        }
+
+        final ByteBuffer buffer = writeBuffer(CONTAINER);
+        final byte[] bytes = baos.toByteArray();
+        final byte[] bufferBytes = new byte[buffer.remaining()];
+        buffer.get(bufferBytes);
+        assertArrayEquals(bufferBytes, bytes);
+
+        // Not backed by a buffer, hence read eagerly
+        final NormalizedNode<?, ?> node = NormalizedNodeDataInput.newDataInput(ByteStreams.newDataInput(bytes))
+            .readLazyNormalizedNode();
+        assertFalse(node instanceof LazyContainerNode);
+        assertEquals(CONTAINER, node);
+    }
+
+    @Test
+    public void testMagnesiumNotLazy() throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(65536);
+        try (NormalizedNodeDataOutput nnout = NormalizedNodeStreamVersion.MAGNESIUM.newDataOutput(buffer)) {
+            nnout.writeNormalizedNode(CONTAINER);
+        }
+        buffer.flip();
+
+        final NormalizedNode<?, ?> node = NormalizedNodeDataInput.newDataInput(buffer).readLazyNormalizedNode();
+        assertFalse(node instanceof LazyContainerNode);
+        assertEquals(CONTAINER, node);
+    }
+
+    private static ByteBuffer writeBuffer(final NormalizedNode<?, ?> node) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(65536);
+        try (NormalizedNodeDataOutput nnout = NormalizedNodeStreamVersion.ALUMINIUM.newDataOutput(buffer)) {
+            nnout.writeNormalizedNode(node);
+        }
+        return buffer.flip();
+    }
+
+    private static NormalizedNode<?, ?> readLazy(final ByteBuffer buffer) throws IOException {
+        final NormalizedNode<?, ?> ret = NormalizedNodeDataInput.newDataInput(buffer).readLazyNormalizedNode();
+        assertFalse(buffer.hasRemaining());
+        return ret;
+    }
+
+    private static NormalizedNode<?, ?> copy(final NormalizedNode<?, ?> node) throws IOException {
+        final ReusableImmutableNormalizedNodeStreamWriter writer = ReusableImmutableNormalizedNodeStreamWriter.create();
+        NormalizedNodeWriter.forStreamWriter(writer).write(node);
+        return writer.getResult();
+    }
+
+    private static ContainerNode fooContainer(final QName qname, final String value) {
+        return Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(qname))
+            .withChild(Builders.containerBuilder()
+                .withNodeIdentifier(new NodeIdentifier(FOO))
+                .withChild(ImmutableNodes.leafNode(BAR, value))
+                .build())
+            .build();
+    }
+}
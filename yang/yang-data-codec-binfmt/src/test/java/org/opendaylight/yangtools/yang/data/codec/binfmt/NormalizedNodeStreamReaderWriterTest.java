@@ -94,7 +94,9 @@ public class NormalizedNodeStreamReaderWriterTest {
             new Object[] { NormalizedNodeStreamVersion.SODIUM_SR1, Unsigned.UINT64,
                 1_049_618, 2_289_103, 139,   825, 103, 229,  99 },
             new Object[] { NormalizedNodeStreamVersion.MAGNESIUM,  Unsigned.UINT64,
-                1_049_618, 2_289_103, 139,   825, 103, 229,  99 });
+                1_049_618, 2_289_103, 139,   825, 103, 229,  99 },
+            new Object[] { NormalizedNodeStreamVersion.ALUMINIUM,  Unsigned.UINT64,
+                1_051_149, 2_789_304, 139, 2_064, 103, 268,  99 });
     }
 
     @Parameter(0)
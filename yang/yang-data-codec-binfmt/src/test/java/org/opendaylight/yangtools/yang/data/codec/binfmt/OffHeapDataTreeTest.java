@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+
+import java.util.Optional;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.Uint32;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateTip;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class OffHeapDataTreeTest {
+    private static final QName ROOT = QName.create("urn:test:off-heap", "root");
+    private static final QName ITEM = QName.create(ROOT, "item");
+    private static final QName ID = QName.create(ROOT, "id");
+    private static final QName PAYLOAD = QName.create(ROOT, "payload");
+    private static final QName COUNTER = QName.create(ROOT, "counter");
+    private static final QName VALUE = QName.create(ROOT, "value");
+
+    private static final YangInstanceIdentifier ROOT_PATH = YangInstanceIdentifier.of(ROOT);
+    private static final YangInstanceIdentifier ITEM_PATH = ROOT_PATH.node(ITEM);
+    private static final YangInstanceIdentifier COUNTER_VALUE_PATH = ROOT_PATH.node(COUNTER).node(VALUE);
+    private static final int ITEM_COUNT = 100;
+
+    private static EffectiveModelContext SCHEMA_CONTEXT;
+
+    private final AluminiumOffHeapSubtreeCodec codec = new AluminiumOffHeapSubtreeCodec();
+
+    @BeforeClass
+    public static void beforeClass() {
+        SCHEMA_CONTEXT = YangParserTestUtils.parseYangResource("/off-heap.yang");
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        SCHEMA_CONTEXT = null;
+    }
+
+    @Test
+    public void testDisabledByDefault() throws DataValidationFailedException {
+        final DataTreeConfiguration config = DataTreeConfiguration.builder(TreeType.OPERATIONAL).build();
+        assertEquals(Optional.empty(), config.getOffHeapSubtreeCodec());
+        assertEquals(0, config.getOffHeapDemotionThreshold());
+
+        final DataTree dataTree = new InMemoryDataTreeFactory().create(config, SCHEMA_CONTEXT);
+        populate(dataTree);
+        for (int i = 0; i < 5; ++i) {
+            commit(dataTree, setCounter(dataTree.takeSnapshot(), i));
+        }
+        assertThat(readItems(dataTree.takeSnapshot()), not(instanceOf(AbstractLazyNode.class)));
+    }
+
+    @Test
+    public void testInconsistentConfiguration() {
+        final DataTreeConfiguration.Builder builder = DataTreeConfiguration.builder(TreeType.OPERATIONAL);
+        assertThrows(IllegalArgumentException.class, () -> builder.setOffHeapDemotion(codec, 0));
+        assertThrows(IllegalArgumentException.class, () -> builder.setOffHeapDemotion(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> builder.setOffHeapDemotion(codec, -1));
+    }
+
+    @Test
+    public void testDemotionOnCommit() throws DataValidationFailedException {
+        final DataTree dataTree = createDataTree();
+        final MapNode items = populate(dataTree);
+        assertThat(readItems(dataTree.takeSnapshot()), not(instanceOf(AbstractLazyNode.class)));
+
+        // The item list is not modified by the next commit, hence it becomes cold and is demoted
+        commit(dataTree, setCounter(dataTree.takeSnapshot(), 1));
+        final DataTreeSnapshot snapshot = dataTree.takeSnapshot();
+        assertThat(readItems(snapshot), instanceOf(AbstractLazyNode.class));
+        assertEquals(items, readItems(snapshot));
+        assertEquals(Optional.of(ImmutableNodes.leafNode(VALUE, Uint32.ONE)),
+            snapshot.readNode(COUNTER_VALUE_PATH));
+    }
+
+    @Test
+    public void testChainedCandidateAfterDemotion() throws DataValidationFailedException {
+        final DataTree dataTree = createDataTree();
+        populate(dataTree);
+
+        // Prepare a candidate on top of another one, which has not been committed yet
+        final DataTreeSnapshot snapshot = dataTree.takeSnapshot();
+        final DataTreeModification first = setCounter(snapshot, 1);
+        first.ready();
+        dataTree.validate(first);
+        final DataTreeCandidateTip firstCandidate = dataTree.prepare(first);
+
+        final DataTreeModification second = snapshot.newModification();
+        second.write(payloadValuePath(7), ImmutableNodes.leafNode(VALUE, "modified"));
+        second.ready();
+        firstCandidate.validate(second);
+        final DataTreeCandidateTip secondCandidate = firstCandidate.prepare(second);
+
+        // Committing the first candidate demotes the item list, hence the tree root is replaced
+        dataTree.commit(firstCandidate);
+        assertThat(readItems(dataTree.takeSnapshot()), instanceOf(AbstractLazyNode.class));
+
+        // The second candidate is still based on the current state and has to be accepted
+        dataTree.commit(secondCandidate);
+        final DataTreeSnapshot committed = dataTree.takeSnapshot();
+        assertEquals(Optional.of(ImmutableNodes.leafNode(VALUE, Uint32.ONE)), committed.readNode(COUNTER_VALUE_PATH));
+        assertEquals(Optional.of(ImmutableNodes.leafNode(VALUE, "modified")),
+            committed.readNode(payloadValuePath(7)));
+        assertEquals(Optional.of(ImmutableNodes.leafNode(VALUE, "value-6")),
+            committed.readNode(payloadValuePath(6)));
+    }
+
+    @Test
+    public void testModifyDemotedSubtree() throws DataValidationFailedException {
+        final DataTree dataTree = createDataTree();
+        populate(dataTree);
+
+        // Take a snapshot before demotion and modify it after demotion has taken place
+        final DataTreeSnapshot beforeDemotion = dataTree.takeSnapshot();
+        commit(dataTree, setCounter(dataTree.takeSnapshot(), 1));
+        assertThat(readItems(dataTree.takeSnapshot()), instanceOf(AbstractLazyNode.class));
+
+        final DataTreeModification mod = beforeDemotion.newModification();
+        mod.write(payloadValuePath(3), ImmutableNodes.leafNode(VALUE, "modified"));
+        mod.delete(itemPath(5));
+        commit(dataTree, mod);
+
+        final DataTreeSnapshot snapshot = dataTree.takeSnapshot();
+        assertEquals(Optional.of(ImmutableNodes.leafNode(VALUE, "modified")),
+            snapshot.readNode(payloadValuePath(3)));
+        assertEquals(Optional.of(ImmutableNodes.leafNode(VALUE, "value-4")),
+            snapshot.readNode(payloadValuePath(4)));
+        assertFalse(snapshot.readNode(itemPath(5)).isPresent());
+        assertEquals(ITEM_COUNT - 1, ((MapNode) readItems(snapshot)).size());
+
+        // A conflicting modification based on the demoted state is still detected
+        final DataTreeModification stale = beforeDemotion.newModification();
+        stale.write(payloadValuePath(3), ImmutableNodes.leafNode(VALUE, "stale"));
+        stale.ready();
+        assertThrows(DataValidationFailedException.class, () -> dataTree.validate(stale));
+    }
+
+    private DataTree createDataTree() {
+        return new InMemoryDataTreeFactory().create(DataTreeConfiguration.builder(TreeType.OPERATIONAL)
+            .setOffHeapDemotion(codec, 1).build(), SCHEMA_CONTEXT);
+    }
+
+    private static MapNode populate(final DataTree dataTree) throws DataValidationFailedException {
+        final CollectionNodeBuilder<MapEntryNode, MapNode> builder = ImmutableNodes.mapNodeBuilder(ITEM);
+        for (int i = 0; i < ITEM_COUNT; ++i) {
+            builder.withChild(Builders.mapEntryBuilder()
+                .withNodeIdentifier(itemId(i))
+                .withChild(ImmutableNodes.leafNode(ID, Uint32.valueOf(i)))
+                .withChild(Builders.containerBuilder()
+                    .withNodeIdentifier(YangInstanceIdentifier.NodeIdentifier.create(PAYLOAD))
+                    .withChild(ImmutableNodes.leafNode(VALUE, "value-" + i))
+                    .build())
+                .build());
+        }
+        final MapNode items = builder.build();
+
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(ROOT_PATH, Builders.containerBuilder()
+            .withNodeIdentifier(YangInstanceIdentifier.NodeIdentifier.create(ROOT))
+            .withChild(items)
+            .build());
+        commit(dataTree, mod);
+        return items;
+    }
+
+    private static DataTreeModification setCounter(final DataTreeSnapshot snapshot, final int value) {
+        final DataTreeModification mod = snapshot.newModification();
+        mod.write(COUNTER_VALUE_PATH, ImmutableNodes.leafNode(VALUE, Uint32.valueOf(value)));
+        return mod;
+    }
+
+    private static NormalizedNode<?, ?> readItems(final DataTreeSnapshot snapshot) {
+        return snapshot.readNode(ITEM_PATH).orElseThrow();
+    }
+
+    private static void commit(final DataTree dataTree, final DataTreeModification mod)
+            throws DataValidationFailedException {
+        mod.ready();
+        dataTree.validate(mod);
+        dataTree.commit(dataTree.prepare(mod));
+    }
+
+    private static NodeIdentifierWithPredicates itemId(final int id) {
+        return NodeIdentifierWithPredicates.of(ITEM, ID, Uint32.valueOf(id));
+    }
+
+    private static YangInstanceIdentifier itemPath(final int id) {
+        return ITEM_PATH.node(itemId(id));
+    }
+
+    private static YangInstanceIdentifier payloadValuePath(final int id) {
+        return itemPath(id).node(PAYLOAD).node(VALUE);
+    }
+}
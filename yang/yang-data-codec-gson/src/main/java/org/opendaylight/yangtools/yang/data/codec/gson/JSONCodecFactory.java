@@ -7,20 +7,26 @@
  */
 package org.opendaylight.yangtools.yang.data.codec.gson;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import com.google.common.annotations.Beta;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.QNameModule;
 import org.opendaylight.yangtools.yang.data.impl.codec.AbstractIntegerStringCodec;
-import org.opendaylight.yangtools.yang.data.impl.codec.BinaryStringCodec;
-import org.opendaylight.yangtools.yang.data.impl.codec.BitsStringCodec;
-import org.opendaylight.yangtools.yang.data.impl.codec.BooleanStringCodec;
+import org.opendaylight.yangtools.yang.data.impl.codec.CompiledTypeCodecs;
 import org.opendaylight.yangtools.yang.data.impl.codec.DecimalStringCodec;
-import org.opendaylight.yangtools.yang.data.impl.codec.EnumStringCodec;
-import org.opendaylight.yangtools.yang.data.impl.codec.StringStringCodec;
+import org.opendaylight.yangtools.yang.data.impl.codec.PatternEngine;
+import org.opendaylight.yangtools.yang.data.util.OperationAsContainer;
 import org.opendaylight.yangtools.yang.data.util.codec.AbstractCodecFactory;
 import org.opendaylight.yangtools.yang.data.util.codec.CodecCache;
 import org.opendaylight.yangtools.yang.data.util.codec.LazyCodecCache;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.type.BinaryTypeDefinition;
 import org.opendaylight.yangtools.yang.model.api.type.BitsTypeDefinition;
@@ -48,28 +54,35 @@ import org.opendaylight.yangtools.yang.model.api.type.UnknownTypeDefinition;
  */
 @Beta
 public abstract class JSONCodecFactory extends AbstractCodecFactory<JSONCodec<?>> {
-    JSONCodecFactory(final @NonNull SchemaContext context, final @NonNull CodecCache<JSONCodec<?>> cache) {
+    private final ConcurrentMap<QName, JSONName> qualifiedNames = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, JSONName> localNames = new ConcurrentHashMap<>();
+    private final ConcurrentMap<DataSchemaNode, JSONMemberTable> memberTables = new ConcurrentHashMap<>();
+    private final @NonNull CompiledTypeCodecs typeCodecs;
+
+    JSONCodecFactory(final @NonNull SchemaContext context, final @NonNull CodecCache<JSONCodec<?>> cache,
+            final @NonNull PatternEngine patternEngine) {
         super(context, cache);
+        typeCodecs = CompiledTypeCodecs.forContext(context, patternEngine);
     }
 
     @Override
     protected final JSONCodec<?> binaryCodec(final BinaryTypeDefinition type) {
-        return new QuotedJSONCodec<>(BinaryStringCodec.from(type));
+        return new QuotedJSONCodec<>(typeCodecs.binaryCodec(type));
     }
 
     @Override
     protected final JSONCodec<?> booleanCodec(final BooleanTypeDefinition type) {
-        return new BooleanJSONCodec(BooleanStringCodec.from(type));
+        return new BooleanJSONCodec(typeCodecs.booleanCodec(type));
     }
 
     @Override
     protected final JSONCodec<?> bitsCodec(final BitsTypeDefinition type) {
-        return new QuotedJSONCodec<>(BitsStringCodec.from(type));
+        return new QuotedJSONCodec<>(typeCodecs.bitsCodec(type));
     }
 
     @Override
     protected final JSONCodec<?> decimalCodec(final DecimalTypeDefinition type) {
-        return wrapDecimalCodec(DecimalStringCodec.from(type));
+        return wrapDecimalCodec(typeCodecs.decimalCodec(type));
     }
 
     @Override
@@ -79,7 +92,7 @@ public abstract class JSONCodecFactory extends AbstractCodecFactory<JSONCodec<?>
 
     @Override
     protected final JSONCodec<?> enumCodec(final EnumTypeDefinition type) {
-        return new QuotedJSONCodec<>(EnumStringCodec.from(type));
+        return new QuotedJSONCodec<>(typeCodecs.enumCodec(type));
     }
 
     @Override
@@ -89,47 +102,47 @@ public abstract class JSONCodecFactory extends AbstractCodecFactory<JSONCodec<?>
 
     @Override
     protected final JSONCodec<?> int8Codec(final Int8TypeDefinition type) {
-        return new NumberJSONCodec<>(AbstractIntegerStringCodec.from(type));
+        return new NumberJSONCodec<>(typeCodecs.int8Codec(type));
     }
 
     @Override
     protected final JSONCodec<?> int16Codec(final Int16TypeDefinition type) {
-        return new NumberJSONCodec<>(AbstractIntegerStringCodec.from(type));
+        return new NumberJSONCodec<>(typeCodecs.int16Codec(type));
     }
 
     @Override
     protected final JSONCodec<?> int32Codec(final Int32TypeDefinition type) {
-        return new NumberJSONCodec<>(AbstractIntegerStringCodec.from(type));
+        return new NumberJSONCodec<>(typeCodecs.int32Codec(type));
     }
 
     @Override
     protected final JSONCodec<?> int64Codec(final Int64TypeDefinition type) {
-        return wrapIntegerCodec(AbstractIntegerStringCodec.from(type));
+        return wrapIntegerCodec(typeCodecs.int64Codec(type));
     }
 
     @Override
     protected final JSONCodec<?> stringCodec(final StringTypeDefinition type) {
-        return new QuotedJSONCodec<>(StringStringCodec.from(type));
+        return new QuotedJSONCodec<>(typeCodecs.stringCodec(type));
     }
 
     @Override
     protected final JSONCodec<?> uint8Codec(final Uint8TypeDefinition type) {
-        return new NumberJSONCodec<>(AbstractIntegerStringCodec.from(type));
+        return new NumberJSONCodec<>(typeCodecs.uint8Codec(type));
     }
 
     @Override
     protected final JSONCodec<?> uint16Codec(final Uint16TypeDefinition type) {
-        return new NumberJSONCodec<>(AbstractIntegerStringCodec.from(type));
+        return new NumberJSONCodec<>(typeCodecs.uint16Codec(type));
     }
 
     @Override
     protected final JSONCodec<?> uint32Codec(final Uint32TypeDefinition type) {
-        return new NumberJSONCodec<>(AbstractIntegerStringCodec.from(type));
+        return new NumberJSONCodec<>(typeCodecs.uint32Codec(type));
     }
 
     @Override
     protected final JSONCodec<?> uint64Codec(final Uint64TypeDefinition type) {
-        return wrapIntegerCodec(AbstractIntegerStringCodec.from(type));
+        return wrapIntegerCodec(typeCodecs.uint64Codec(type));
     }
 
     @Override
@@ -160,6 +173,70 @@ public abstract class JSONCodecFactory extends AbstractCodecFactory<JSONCodec<?>
 
     abstract JSONCodecFactory rebaseTo(SchemaContext newSchemaContext, CodecCache<JSONCodec<?>> newCache);
 
+    final @NonNull PatternEngine patternEngine() {
+        return typeCodecs.getPatternEngine();
+    }
+
+    /**
+     * Return the JSON name of a node, qualified with the name of the module defining it.
+     *
+     * @param qname Node name
+     * @return Qualified JSON name
+     * @throws IllegalArgumentException if the module cannot be found
+     */
+    final @NonNull JSONName qualifiedName(final QName qname) {
+        final JSONName existing = qualifiedNames.get(qname);
+        if (existing != null) {
+            return existing;
+        }
+
+        final QNameModule module = qname.getModule();
+        final Optional<String> moduleName = getSchemaContext().findModule(module).map(Module::getName);
+        checkArgument(moduleName.isPresent(), "Could not find module for namespace %s", module);
+        final JSONName created = new JSONName(moduleName.get() + ':' + qname.getLocalName());
+        final JSONName raced = qualifiedNames.putIfAbsent(qname, created);
+        return raced != null ? raced : created;
+    }
+
+    /**
+     * Return the JSON name of a node, without a module qualifier.
+     *
+     * @param qname Node name
+     * @return Unqualified JSON name
+     */
+    final @NonNull JSONName localName(final QName qname) {
+        final String localName = qname.getLocalName();
+        final JSONName existing = localNames.get(localName);
+        if (existing != null) {
+            return existing;
+        }
+
+        final JSONName created = new JSONName(localName);
+        final JSONName raced = localNames.putIfAbsent(localName, created);
+        return raced != null ? raced : created;
+    }
+
+    /**
+     * Return the table of JSON members which can appear inside the JSON object corresponding to a schema node.
+     *
+     * @param node Schema node
+     * @return Member table
+     */
+    final @NonNull JSONMemberTable memberTable(final DataSchemaNode node) {
+        final JSONMemberTable existing = memberTables.get(node);
+        if (existing != null) {
+            return existing;
+        }
+
+        final JSONMemberTable created = JSONMemberTable.compile(getSchemaContext(), node);
+        if (node instanceof OperationAsContainer) {
+            // These are instantiated for each parser, do not retain them
+            return created;
+        }
+        final JSONMemberTable raced = memberTables.putIfAbsent(node, created);
+        return raced != null ? raced : created;
+    }
+
     abstract JSONCodec<?> wrapDecimalCodec(DecimalStringCodec decimalCodec);
 
     abstract JSONCodec<?> wrapIntegerCodec(AbstractIntegerStringCodec<?, ?> integerCodec);
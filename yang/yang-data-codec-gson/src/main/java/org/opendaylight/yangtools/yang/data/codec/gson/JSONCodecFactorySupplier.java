@@ -18,6 +18,7 @@ import com.google.common.cache.LoadingCache;
 import java.util.Optional;
 import java.util.function.BiFunction;
 import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.data.impl.codec.PatternEngine;
 import org.opendaylight.yangtools.yang.data.util.codec.CodecCache;
 import org.opendaylight.yangtools.yang.data.util.codec.LazyCodecCache;
 import org.opendaylight.yangtools.yang.data.util.codec.NoopCodecCache;
@@ -42,8 +43,9 @@ public enum JSONCodecFactorySupplier {
      */
     RFC7951() {
         @Override
-        JSONCodecFactory createFactory(final SchemaContext context, final CodecCache<JSONCodec<?>> cache) {
-            return new RFC7951JSONCodecFactory(context, cache);
+        JSONCodecFactory createFactory(final SchemaContext context, final CodecCache<JSONCodec<?>> cache,
+                final PatternEngine patternEngine) {
+            return new RFC7951JSONCodecFactory(context, cache, patternEngine);
         }
     },
     /**
@@ -51,8 +53,9 @@ public enum JSONCodecFactorySupplier {
      */
     DRAFT_LHOTKA_NETMOD_YANG_JSON_02() {
         @Override
-        JSONCodecFactory createFactory(final SchemaContext context, final CodecCache<JSONCodec<?>> cache) {
-            return new Lhotka02JSONCodecFactory(context, cache);
+        JSONCodecFactory createFactory(final SchemaContext context, final CodecCache<JSONCodec<?>> cache,
+                final PatternEngine patternEngine) {
+            return new Lhotka02JSONCodecFactory(context, cache, patternEngine);
         }
     };
 
@@ -184,6 +187,22 @@ public enum JSONCodecFactorySupplier {
         return createFactory(context, new LazyCodecCache<>());
     }
 
+    /**
+     * Create a new thread-unsafe, lazily-caching {@link JSONCodecFactory} for a SchemaContext, using specified engine
+     * to enforce {@code pattern} restrictions of string types. This method is otherwise equivalent to
+     * {@link #createLazy(SchemaContext)}.
+     *
+     * @param context SchemaContext instance
+     * @param patternEngine Pattern engine to use
+     * @return A non-sharable {@link JSONCodecFactory}
+     * @throws NullPointerException if any argument is null
+     */
+    @Beta
+    public @NonNull JSONCodecFactory createLazy(final @NonNull SchemaContext context,
+            final @NonNull PatternEngine patternEngine) {
+        return createFactory(context, new LazyCodecCache<>(), requireNonNull(patternEngine));
+    }
+
     /**
      * Create a simplistic, thread-safe {@link JSONCodecFactory} for a {@link SchemaContext}. This method will return
      * distinct objects every time it is invoked. Returned object may be use from multiple threads concurrently.
@@ -201,5 +220,26 @@ public enum JSONCodecFactorySupplier {
         return createFactory(context, NoopCodecCache.getInstance());
     }
 
-    abstract @NonNull JSONCodecFactory createFactory(SchemaContext context, CodecCache<JSONCodec<?>> cache);
+    /**
+     * Create a simplistic, thread-safe {@link JSONCodecFactory} for a {@link SchemaContext}, using specified engine
+     * to enforce {@code pattern} restrictions of string types. This method is otherwise equivalent to
+     * {@link #createSimple(SchemaContext)}.
+     *
+     * @param context SchemaContext instance
+     * @param patternEngine Pattern engine to use
+     * @return A non-sharable {@link JSONCodecFactory}
+     * @throws NullPointerException if any argument is null
+     */
+    @Beta
+    public @NonNull JSONCodecFactory createSimple(final @NonNull SchemaContext context,
+            final @NonNull PatternEngine patternEngine) {
+        return createFactory(context, NoopCodecCache.getInstance(), requireNonNull(patternEngine));
+    }
+
+    final @NonNull JSONCodecFactory createFactory(final SchemaContext context, final CodecCache<JSONCodec<?>> cache) {
+        return createFactory(context, cache, PatternEngine.REGEX);
+    }
+
+    abstract @NonNull JSONCodecFactory createFactory(SchemaContext context, CodecCache<JSONCodec<?>> cache,
+        PatternEngine patternEngine);
 }
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.gson;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.SetMultimap;
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.concepts.Immutable;
+import org.opendaylight.yangtools.yang.data.util.AbstractNodeDataWithSchema;
+import org.opendaylight.yangtools.yang.data.util.ParserStreamUtils;
+import org.opendaylight.yangtools.yang.model.api.AugmentationTarget;
+import org.opendaylight.yangtools.yang.model.api.CaseSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+/**
+ * A lookup table of JSON member names which can appear inside a JSON object corresponding to a particular
+ * {@link DataSchemaNode}. Each member name, either qualified with a module name or unqualified, maps to the schema
+ * nodes which need to be traversed to reach the child, including any choice/case nodes on the way.
+ *
+ * <p>
+ * Only member names which resolve independently of the surrounding document are present. Unqualified names which
+ * are ambiguous, as well as names which do not match any child, are not present and need to be resolved by the caller.
+ *
+ * <p>
+ * The table also records whether the children of the schema node can be streamed, i.e. emitted as soon as they are
+ * parsed. This is not the case if any child is part of a choice or an augmentation, as such children need to be grouped
+ * under a common parent, which requires them to be buffered in an {@link AbstractNodeDataWithSchema} tree.
+ */
+final class JSONMemberTable implements Immutable {
+    /**
+     * A resolved JSON member.
+     */
+    static final class Member implements Immutable {
+        private final @NonNull String localName;
+        private final @NonNull URI namespace;
+        private final @NonNull ImmutableList<DataSchemaNode> schemas;
+
+        Member(final String localName, final URI namespace, final Collection<DataSchemaNode> schemas) {
+            this.localName = requireNonNull(localName);
+            this.namespace = requireNonNull(namespace);
+            this.schemas = ImmutableList.copyOf(schemas);
+        }
+
+        @NonNull String getLocalName() {
+            return localName;
+        }
+
+        @NonNull URI getNamespace() {
+            return namespace;
+        }
+
+        /**
+         * Return a new stack of schema nodes leading to this member, in the format returned by
+         * {@link ParserStreamUtils#findSchemaNodeByNameAndNamespace(DataSchemaNode, String, URI)}. The returned stack
+         * can be freely modified by the caller.
+         *
+         * @return A new schema node stack
+         */
+        @NonNull Deque<DataSchemaNode> newSchemaStack() {
+            return new ArrayDeque<>(schemas);
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this).add("localName", localName).add("namespace", namespace)
+                    .add("schemas", schemas).toString();
+        }
+    }
+
+    private static final JSONMemberTable EMPTY = new JSONMemberTable(ImmutableMap.of(), false);
+
+    private final ImmutableMap<String, Member> members;
+    private final boolean streamable;
+
+    private JSONMemberTable(final ImmutableMap<String, Member> members, final boolean streamable) {
+        this.members = requireNonNull(members);
+        this.streamable = streamable;
+    }
+
+    static @NonNull JSONMemberTable compile(final SchemaContext context, final DataSchemaNode node) {
+        if (!(node instanceof DataNodeContainer)) {
+            return EMPTY;
+        }
+
+        final DataNodeContainer container = (DataNodeContainer) node;
+        final boolean streamable = hasStreamableChildren(node, container);
+        final SetMultimap<String, URI> candidates = LinkedHashMultimap.create();
+        collectCandidates(candidates, container);
+        if (candidates.isEmpty()) {
+            return new JSONMemberTable(ImmutableMap.of(), streamable);
+        }
+
+        final Map<String, Member> members = new HashMap<>();
+        for (Entry<String, Collection<URI>> entry : candidates.asMap().entrySet()) {
+            final String localName = entry.getKey();
+            final Collection<URI> namespaces = entry.getValue();
+            for (URI namespace : namespaces) {
+                final Deque<DataSchemaNode> schemas = ParserStreamUtils.findSchemaNodeByNameAndNamespace(node,
+                    localName, namespace);
+                if (schemas.isEmpty()) {
+                    continue;
+                }
+
+                final Member member = new Member(localName, namespace, schemas);
+                if (namespaces.size() == 1) {
+                    members.put(localName, member);
+                }
+                for (Module module : context.findModules(namespace)) {
+                    // Module names are resolved to the namespace of the first matching module, mirror that
+                    final String moduleName = module.getName();
+                    final Iterator<? extends Module> it = context.findModules(moduleName).iterator();
+                    if (it.hasNext() && namespace.equals(it.next().getNamespace())) {
+                        members.putIfAbsent(moduleName + ':' + localName, member);
+                    }
+                }
+            }
+        }
+        return new JSONMemberTable(ImmutableMap.copyOf(members), streamable);
+    }
+
+    /**
+     * Look up a JSON member by its name.
+     *
+     * @param jsonName JSON member name
+     * @return Resolved member, or null if the name needs to be resolved by the caller
+     */
+    @Nullable Member lookup(final String jsonName) {
+        return members.get(jsonName);
+    }
+
+    /**
+     * Check whether children of the schema node can be emitted as soon as they are parsed.
+     *
+     * @return True if the children can be streamed
+     */
+    boolean isStreamable() {
+        return streamable;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("members", members.keySet()).add("streamable", streamable)
+                .toString();
+    }
+
+    private static boolean hasStreamableChildren(final DataSchemaNode node, final DataNodeContainer container) {
+        if (node instanceof AugmentationTarget && !((AugmentationTarget) node).getAvailableAugmentations().isEmpty()) {
+            return false;
+        }
+        for (DataSchemaNode child : container.getChildNodes()) {
+            if (child instanceof ChoiceSchemaNode) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void collectCandidates(final SetMultimap<String, URI> candidates, final DataNodeContainer node) {
+        for (DataSchemaNode child : node.getChildNodes()) {
+            if (child instanceof ChoiceSchemaNode) {
+                for (CaseSchemaNode caseNode : ((ChoiceSchemaNode) child).getCases()) {
+                    collectCandidates(candidates, caseNode);
+                }
+            } else {
+                candidates.put(child.getQName().getLocalName(), child.getQName().getNamespace());
+            }
+        }
+    }
+}
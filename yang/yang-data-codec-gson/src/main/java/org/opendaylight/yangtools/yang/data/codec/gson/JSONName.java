@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.gson;
+
+import static java.util.Objects.requireNonNull;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * A JSON member name, such as {@code module:node}, together with its UTF-8 encoded form as emitted by
+ * {@link Utf8JsonWriter}. Instances are cached by {@link JSONCodecFactory}, so that names do not need to be
+ * constructed and encoded for each node written.
+ */
+final class JSONName {
+    private final @NonNull String name;
+    private final byte @NonNull [] encoded;
+
+    JSONName(final String name) {
+        this.name = requireNonNull(name);
+        encoded = Utf8JsonWriter.encodeName(name);
+    }
+
+    @NonNull String getName() {
+        return name;
+    }
+
+    // Note: callers must not modify the returned array
+    byte @NonNull [] getEncoded() {
+        return encoded;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
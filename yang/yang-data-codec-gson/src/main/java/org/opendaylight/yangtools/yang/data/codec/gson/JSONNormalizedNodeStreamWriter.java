@@ -218,8 +218,8 @@ public abstract class JSONNormalizedNodeStreamWriter implements NormalizedNodeSt
     @Override
     public void startLeafNode(final NodeIdentifier name) throws IOException {
         tracker.startLeafNode(name);
-        context.emittingChild(codecs.getSchemaContext(), writer);
-        context.writeChildJsonIdentifier(codecs.getSchemaContext(), writer, name.getNodeType());
+        context.emittingChild(codecs, writer);
+        context.writeChildJsonIdentifier(codecs, writer, name.getNodeType());
     }
 
     @Override
@@ -231,7 +231,7 @@ public abstract class JSONNormalizedNodeStreamWriter implements NormalizedNodeSt
     @Override
     public void startLeafSetEntryNode(final NodeWithValue<?> name) throws IOException {
         tracker.startLeafSetEntryNode(name);
-        context.emittingChild(codecs.getSchemaContext(), writer);
+        context.emittingChild(codecs, writer);
     }
 
     @Override
@@ -299,8 +299,8 @@ public abstract class JSONNormalizedNodeStreamWriter implements NormalizedNodeSt
     public final boolean startAnydataNode(final NodeIdentifier name, final Class<?> objectModel) throws IOException {
         if (NormalizedAnydata.class.isAssignableFrom(objectModel)) {
             tracker.startAnydataNode(name);
-            context.emittingChild(codecs.getSchemaContext(), writer);
-            context.writeChildJsonIdentifier(codecs.getSchemaContext(), writer, name.getNodeType());
+            context.emittingChild(codecs, writer);
+            context.writeChildJsonIdentifier(codecs, writer, name.getNodeType());
             return true;
         }
 
@@ -319,8 +319,8 @@ public abstract class JSONNormalizedNodeStreamWriter implements NormalizedNodeSt
     public final boolean startAnyxmlNode(final NodeIdentifier name, final Class<?> objectModel) throws IOException {
         if (DOMSource.class.isAssignableFrom(objectModel)) {
             tracker.startAnyxmlNode(name);
-            context.emittingChild(codecs.getSchemaContext(), writer);
-            context.writeChildJsonIdentifier(codecs.getSchemaContext(), writer, name.getNodeType());
+            context.emittingChild(codecs, writer);
+            context.writeChildJsonIdentifier(codecs, writer, name.getNodeType());
             return true;
         }
         return false;
@@ -336,7 +336,7 @@ public abstract class JSONNormalizedNodeStreamWriter implements NormalizedNodeSt
     @Override
     public final void endNode() throws IOException {
         tracker.endNode();
-        context = context.endNode(codecs.getSchemaContext(), writer);
+        context = context.endNode(codecs, writer);
     }
 
     @Override
@@ -349,7 +349,7 @@ public abstract class JSONNormalizedNodeStreamWriter implements NormalizedNodeSt
             throw new IOException("Unexpected root context " + context);
         }
 
-        context.endNode(codecs.getSchemaContext(), writer);
+        context.endNode(codecs, writer);
         writer.close();
     }
 
@@ -7,7 +7,6 @@
  */
 package org.opendaylight.yangtools.yang.data.codec.gson;
 
-import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 
 import com.google.common.base.MoreObjects;
@@ -15,12 +14,8 @@ import com.google.common.base.MoreObjects.ToStringHelper;
 import com.google.gson.stream.JsonWriter;
 import java.io.IOException;
 import java.net.URI;
-import java.util.Optional;
 import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.yangtools.yang.common.QName;
-import org.opendaylight.yangtools.yang.common.QNameModule;
-import org.opendaylight.yangtools.yang.model.api.Module;
-import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 
 /**
  * Abstract base class for a single level of {@link JSONNormalizedNodeStreamWriter} recursion. Provides the base API
@@ -55,38 +50,34 @@ abstract class JSONStreamWriterContext {
     /**
      * Write a child JSON node identifier, optionally prefixing it with the module name corresponding to its namespace.
      *
-     * @param schema Schema context
+     * @param codecs Codec factory
      * @param writer Output writer
      * @param qname Namespace/name tuple
      * @throws IOException when the writer reports it
      */
-    final void writeChildJsonIdentifier(final SchemaContext schema, final JsonWriter writer, final QName qname)
+    final void writeChildJsonIdentifier(final JSONCodecFactory codecs, final JsonWriter writer, final QName qname)
             throws IOException {
-
-        final StringBuilder sb = new StringBuilder();
         // Prepend module name if namespaces do not match
-        final QNameModule module = qname.getModule();
-        if (!module.getNamespace().equals(getNamespace())) {
-            final Optional<String> modules = schema.findModule(module).map(Module::getName);
-            checkArgument(modules.isPresent(), "Could not find module for namespace {}", module);
-            sb.append(modules.get()).append(':');
+        final JSONName name = qname.getNamespace().equals(getNamespace()) ? codecs.localName(qname)
+            : codecs.qualifiedName(qname);
+        if (writer instanceof Utf8JsonWriter) {
+            ((Utf8JsonWriter) writer).name(name);
+        } else {
+            writer.name(name.getName());
         }
-        sb.append(qname.getLocalName());
-
-        writer.name(sb.toString());
     }
 
     /**
      * Write our JSON node identifier, optionally prefixing it with the module name corresponding to its namespace.
      *
-     * @param schema Schema context
+     * @param codecs Codec factory
      * @param writer Output writer
      * @param qname Namespace/name tuple
      * @throws IOException when the writer reports it
      */
-    protected final void writeMyJsonIdentifier(final SchemaContext schema, final JsonWriter writer, final QName qname)
-            throws IOException {
-        parent.writeChildJsonIdentifier(schema, writer, qname);
+    protected final void writeMyJsonIdentifier(final JSONCodecFactory codecs, final JsonWriter writer,
+            final QName qname) throws IOException {
+        parent.writeChildJsonIdentifier(codecs, writer, qname);
     }
 
     /**
@@ -99,28 +90,28 @@ abstract class JSONStreamWriterContext {
     /**
      * Emit the start of an element.
      *
-     * @param schema Schema context
+     * @param codecs Codec factory
      * @param writer Output writer
      * @throws IOException when the writer reports it
      */
-    protected abstract void emitStart(SchemaContext schema, JsonWriter writer) throws IOException;
+    protected abstract void emitStart(JSONCodecFactory codecs, JsonWriter writer) throws IOException;
 
     /**
      * Emit the end of an element.
      *
-     * @param schema Schema context
+     * @param codecs Codec factory
      * @param writer Output writer
      * @throws IOException when writer reports it
      */
     protected abstract void emitEnd(JsonWriter writer) throws IOException;
 
-    private void emitMyself(final SchemaContext schema, final JsonWriter writer) throws IOException {
+    private void emitMyself(final JSONCodecFactory codecs, final JsonWriter writer) throws IOException {
         if (!emittedMyself) {
             if (parent != null) {
-                parent.emitMyself(schema, writer);
+                parent.emitMyself(codecs, writer);
             }
 
-            emitStart(schema, writer);
+            emitStart(codecs, writer);
             emittedMyself = true;
         }
     }
@@ -130,13 +121,13 @@ abstract class JSONStreamWriterContext {
      * been emitted, and takes care of that if necessary. Also makes sure separator
      * is emitted before a second and subsequent child.
      *
-     * @param schema Schema context
+     * @param codecs Codec factory
      * @param writer Output writer
      * @throws IOException when writer reports it
      */
-    final void emittingChild(final SchemaContext schema, final JsonWriter writer) throws IOException {
+    final void emittingChild(final JSONCodecFactory codecs, final JsonWriter writer) throws IOException {
         checkState(!inChild, "Duplicate child encountered");
-        emitMyself(schema, writer);
+        emitMyself(codecs, writer);
         inChild = true;
     }
 
@@ -144,19 +135,19 @@ abstract class JSONStreamWriterContext {
      * Invoked by the writer when it is leaving this node. Checks whether this node
      * needs to be emitted and takes of that if necessary.
      *
-     * @param schema Schema context
+     * @param codecs Codec factory
      * @param writer Output writer
      * @return Parent node context
      * @throws IOException when writer reports it
      * @throws IllegalArgumentException if this node cannot be ended (e.g. root)
      */
-    final JSONStreamWriterContext endNode(final SchemaContext schema, final JsonWriter writer) throws IOException {
+    final JSONStreamWriterContext endNode(final JSONCodecFactory codecs, final JsonWriter writer) throws IOException {
         if (inChild) {
             inChild = false;
             return this;
         }
         if (!emittedMyself && mandatory) {
-            emitMyself(schema, writer);
+            emitMyself(codecs, writer);
         }
         if (emittedMyself) {
             emitEnd(writer);
@@ -10,7 +10,6 @@ package org.opendaylight.yangtools.yang.data.codec.gson;
 import com.google.gson.stream.JsonWriter;
 import java.io.IOException;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
-import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 
 /**
  * A recursion level of {@link JSONNormalizedNodeStreamWriter}, which represents
@@ -24,8 +23,8 @@ final class JSONStreamWriterNamedObjectContext extends JSONStreamWriterObjectCon
     }
 
     @Override
-    protected void emitStart(final SchemaContext schema, final JsonWriter writer) throws IOException {
-        writeMyJsonIdentifier(schema, writer, getQName());
-        super.emitStart(schema, writer);
+    protected void emitStart(final JSONCodecFactory codecs, final JsonWriter writer) throws IOException {
+        writeMyJsonIdentifier(codecs, writer, getQName());
+        super.emitStart(codecs, writer);
     }
 }
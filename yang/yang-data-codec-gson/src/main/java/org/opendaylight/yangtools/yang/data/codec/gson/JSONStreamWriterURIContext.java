@@ -10,7 +10,6 @@ package org.opendaylight.yangtools.yang.data.codec.gson;
 import com.google.gson.stream.JsonWriter;
 import java.io.IOException;
 import java.net.URI;
-import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 
 /**
  * Abstract class tracking a virtual level of {@link JSONNormalizedNodeStreamWriter}
@@ -34,7 +33,7 @@ abstract class JSONStreamWriterURIContext extends JSONStreamWriterContext {
     }
 
     @Override
-    protected void emitStart(final SchemaContext schema, final JsonWriter writer) throws IOException {
+    protected void emitStart(final JSONCodecFactory codecs, final JsonWriter writer) throws IOException {
         // No-op
     }
 }
\ No newline at end of file
@@ -10,12 +10,14 @@ package org.opendaylight.yangtools.yang.data.codec.gson;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.requireNonNull;
+import static org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter.UNKNOWN_SIZE;
 
 import com.google.common.annotations.Beta;
 import com.google.gson.JsonIOException;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.MalformedJsonException;
 import java.io.Closeable;
 import java.io.EOFException;
@@ -27,18 +29,29 @@ import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
 import javax.xml.transform.dom.DOMSource;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.odlext.model.api.YangModeledAnyxmlSchemaNode;
+import org.opendaylight.yangtools.util.ImmutableMapTemplate;
 import org.opendaylight.yangtools.util.xml.UntrustedXML;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
 import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.codec.gson.JSONMemberTable.Member;
 import org.opendaylight.yangtools.yang.data.util.AbstractNodeDataWithSchema;
 import org.opendaylight.yangtools.yang.data.util.AnyXmlNodeDataWithSchema;
 import org.opendaylight.yangtools.yang.data.util.CompositeNodeDataWithSchema;
+import org.opendaylight.yangtools.yang.data.util.CompositeNodeDataWithSchema.ChildReusePolicy;
+import org.opendaylight.yangtools.yang.data.util.LeafListEntryNodeDataWithSchema;
 import org.opendaylight.yangtools.yang.data.util.LeafListNodeDataWithSchema;
 import org.opendaylight.yangtools.yang.data.util.LeafNodeDataWithSchema;
+import org.opendaylight.yangtools.yang.data.util.ListEntryNodeDataWithSchema;
 import org.opendaylight.yangtools.yang.data.util.ListNodeDataWithSchema;
 import org.opendaylight.yangtools.yang.data.util.MultipleEntryDataWithSchema;
 import org.opendaylight.yangtools.yang.data.util.OperationAsContainer;
@@ -46,8 +59,12 @@ import org.opendaylight.yangtools.yang.data.util.ParserStreamUtils;
 import org.opendaylight.yangtools.yang.data.util.SimpleNodeDataWithSchema;
 import org.opendaylight.yangtools.yang.model.api.CaseSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.OperationDefinition;
 import org.opendaylight.yangtools.yang.model.api.SchemaNode;
@@ -61,6 +78,12 @@ import org.w3c.dom.Text;
 /**
  * This class parses JSON elements from a GSON JsonReader. It disallows multiple elements of the same name unlike the
  * default GSON JsonParser.
+ *
+ * <p>
+ * By default the entire input is buffered in an {@link AbstractNodeDataWithSchema} tree before it is emitted to the
+ * {@link NormalizedNodeStreamWriter}. Parsers created via {@link #createStreaming(NormalizedNodeStreamWriter,
+ * JSONCodecFactory)} emit events as soon as the schema allows, buffering only the subtrees which need it, i.e. those
+ * containing choices or augmentations, and list entries whose keys do not precede all other members.
  */
 @Beta
 public final class JsonParserStream implements Closeable, Flushable {
@@ -72,15 +95,17 @@ public final class JsonParserStream implements Closeable, Flushable {
     private final JSONCodecFactory codecs;
     private final DataSchemaNode parentNode;
 
-    // TODO: consider class specialization to remove this field
+    // TODO: consider class specialization to remove these fields
     private final boolean lenient;
+    private final boolean streaming;
 
     private JsonParserStream(final NormalizedNodeStreamWriter writer, final JSONCodecFactory codecs,
-            final DataSchemaNode parentNode, final boolean lenient) {
+            final DataSchemaNode parentNode, final boolean lenient, final boolean streaming) {
         this.writer = requireNonNull(writer);
         this.codecs = requireNonNull(codecs);
         this.parentNode = parentNode;
         this.lenient = lenient;
+        this.streaming = streaming;
     }
 
     /**
@@ -95,7 +120,7 @@ public final class JsonParserStream implements Closeable, Flushable {
      */
     public static @NonNull JsonParserStream create(final @NonNull NormalizedNodeStreamWriter writer,
             final @NonNull JSONCodecFactory codecFactory) {
-        return new JsonParserStream(writer, codecFactory, codecFactory.getSchemaContext(), false);
+        return new JsonParserStream(writer, codecFactory, codecFactory.getSchemaContext(), false, false);
     }
 
     /**
@@ -110,7 +135,7 @@ public final class JsonParserStream implements Closeable, Flushable {
      */
     public static @NonNull JsonParserStream create(final @NonNull NormalizedNodeStreamWriter writer,
             final @NonNull JSONCodecFactory codecFactory, final @NonNull SchemaNode parentNode) {
-        return new JsonParserStream(writer, codecFactory, validateParent(parentNode), false);
+        return new JsonParserStream(writer, codecFactory, validateParent(parentNode), false, false);
     }
 
     /**
@@ -131,7 +156,7 @@ public final class JsonParserStream implements Closeable, Flushable {
      */
     public static @NonNull JsonParserStream createLenient(final @NonNull NormalizedNodeStreamWriter writer,
             final @NonNull JSONCodecFactory codecFactory) {
-        return new JsonParserStream(writer, codecFactory, codecFactory.getSchemaContext(), true);
+        return new JsonParserStream(writer, codecFactory, codecFactory.getSchemaContext(), true, false);
     }
 
     /**
@@ -152,7 +177,45 @@ public final class JsonParserStream implements Closeable, Flushable {
      */
     public static @NonNull JsonParserStream createLenient(final @NonNull NormalizedNodeStreamWriter writer,
             final @NonNull JSONCodecFactory codecFactory, final @NonNull SchemaNode parentNode) {
-        return new JsonParserStream(writer, codecFactory, validateParent(parentNode), true);
+        return new JsonParserStream(writer, codecFactory, validateParent(parentNode), true, false);
+    }
+
+    /**
+     * Create a new {@link JsonParserStream} backed by specified {@link NormalizedNodeStreamWriter}
+     * and {@link JSONCodecFactory}. The stream will be logically rooted at the top of the SchemaContext associated
+     * with the specified codec factory.
+     *
+     * <p>
+     * Returned parser will emit events to the writer as soon as the schema allows, rather than buffering the entire
+     * input. As a consequence, the writer may have received a partial event stream if parsing fails.
+     *
+     * @param writer NormalizedNodeStreamWriter to use for instantiation of normalized nodes
+     * @param codecFactory {@link JSONCodecFactory} to use for parsing leaves
+     * @return A new {@link JsonParserStream}
+     * @throws NullPointerException if any of the arguments are null
+     */
+    public static @NonNull JsonParserStream createStreaming(final @NonNull NormalizedNodeStreamWriter writer,
+            final @NonNull JSONCodecFactory codecFactory) {
+        return new JsonParserStream(writer, codecFactory, codecFactory.getSchemaContext(), false, true);
+    }
+
+    /**
+     * Create a new {@link JsonParserStream} backed by specified {@link NormalizedNodeStreamWriter}
+     * and {@link JSONCodecFactory}. The stream will be logically rooted at the specified parent node.
+     *
+     * <p>
+     * Returned parser will emit events to the writer as soon as the schema allows, rather than buffering the entire
+     * input. As a consequence, the writer may have received a partial event stream if parsing fails.
+     *
+     * @param writer NormalizedNodeStreamWriter to use for instantiation of normalized nodes
+     * @param codecFactory {@link JSONCodecFactory} to use for parsing leaves
+     * @param parentNode Logical root node
+     * @return A new {@link JsonParserStream}
+     * @throws NullPointerException if any of the arguments are null
+     */
+    public static @NonNull JsonParserStream createStreaming(final @NonNull NormalizedNodeStreamWriter writer,
+            final @NonNull JSONCodecFactory codecFactory, final @NonNull SchemaNode parentNode) {
+        return new JsonParserStream(writer, codecFactory, validateParent(parentNode), false, true);
     }
 
     public JsonParserStream parse(final JsonReader reader) {
@@ -162,12 +225,18 @@ public final class JsonParserStream implements Closeable, Flushable {
         reader.setLenient(true);
         boolean isEmpty = true;
         try {
-            reader.peek();
+            final JsonToken token = reader.peek();
             isEmpty = false;
-            final CompositeNodeDataWithSchema<?> compositeNodeDataWithSchema =
-                    new CompositeNodeDataWithSchema<>(parentNode);
-            read(reader, compositeNodeDataWithSchema);
-            compositeNodeDataWithSchema.write(writer);
+            if (streaming && token == JsonToken.BEGIN_OBJECT && codecs.memberTable(parentNode).isStreamable()) {
+                reader.beginObject();
+                streamMembers(reader, parentNode, new HashSet<>());
+                reader.endObject();
+            } else {
+                final CompositeNodeDataWithSchema<?> compositeNodeDataWithSchema =
+                        new CompositeNodeDataWithSchema<>(parentNode);
+                read(reader, compositeNodeDataWithSchema);
+                compositeNodeDataWithSchema.write(writer);
+            }
 
             return this;
         } catch (final EOFException e) {
@@ -265,7 +334,6 @@ public final class JsonParserStream implements Closeable, Flushable {
                 in.endArray();
                 return;
             case BEGIN_OBJECT:
-                final Set<String> namesakes = new HashSet<>();
                 in.beginObject();
                 /*
                  * This allows parsing of incorrectly /as showcased/
@@ -277,48 +345,276 @@ public final class JsonParserStream implements Closeable, Flushable {
                 if (isArray(parent)) {
                     parent = newArrayEntry(parent);
                 }
-                while (in.hasNext()) {
-                    final String jsonElementName = in.nextName();
-                    DataSchemaNode parentSchema = parent.getSchema();
-                    if (parentSchema instanceof YangModeledAnyxmlSchemaNode) {
-                        parentSchema = ((YangModeledAnyxmlSchemaNode) parentSchema).getSchemaOfAnyXmlData();
-                    }
-                    final Entry<String, URI> namespaceAndName = resolveNamespace(jsonElementName, parentSchema);
-                    final String localName = namespaceAndName.getKey();
-                    final URI namespace = namespaceAndName.getValue();
-                    if (lenient && (localName == null || namespace == null)) {
-                        LOG.debug("Schema node with name {} was not found under {}", localName,
-                            parentSchema.getQName());
-                        in.skipValue();
-                        continue;
-                    }
-                    addNamespace(namespace);
-                    if (!namesakes.add(jsonElementName)) {
-                        throw new JsonSyntaxException("Duplicate name " + jsonElementName + " in JSON input.");
-                    }
+                readMembers(in, parent, new HashSet<>());
+                in.endObject();
+                return;
+            default:
+                break;
+        }
+    }
 
-                    final Deque<DataSchemaNode> childDataSchemaNodes =
-                            ParserStreamUtils.findSchemaNodeByNameAndNamespace(parentSchema, localName,
-                                getCurrentNamespace());
-                    checkState(!childDataSchemaNodes.isEmpty(),
-                        "Schema for node with name %s and namespace %s does not exist at %s",
-                        localName, getCurrentNamespace(), parentSchema);
+    private void readMembers(final JsonReader in, final AbstractNodeDataWithSchema<?> parent,
+            final Set<String> namesakes) throws IOException {
+        DataSchemaNode parentSchema = parent.getSchema();
+        if (parentSchema instanceof YangModeledAnyxmlSchemaNode) {
+            parentSchema = ((YangModeledAnyxmlSchemaNode) parentSchema).getSchemaOfAnyXmlData();
+        }
+        final JSONMemberTable members = codecs.memberTable(parentSchema);
+        while (in.hasNext()) {
+            final String jsonElementName = in.nextName();
+            final Deque<DataSchemaNode> childDataSchemaNodes = enterMember(members, jsonElementName, parentSchema,
+                namesakes);
+            if (childDataSchemaNodes == null) {
+                in.skipValue();
+                continue;
+            }
+            readMember(in, parent, childDataSchemaNodes, jsonElementName);
+            removeNamespace();
+        }
+    }
 
+    private void readMember(final JsonReader in, final AbstractNodeDataWithSchema<?> parent,
+            final Deque<DataSchemaNode> childDataSchemaNodes, final String jsonElementName) throws IOException {
+        final AbstractNodeDataWithSchema<?> newChild = ((CompositeNodeDataWithSchema<?>) parent)
+                .addChild(childDataSchemaNodes);
+        if (newChild instanceof AnyXmlNodeDataWithSchema) {
+            readAnyXmlValue(in, (AnyXmlNodeDataWithSchema) newChild, jsonElementName);
+        } else {
+            read(in, newChild);
+        }
+    }
 
-                    final AbstractNodeDataWithSchema<?> newChild = ((CompositeNodeDataWithSchema<?>) parent)
-                            .addChild(childDataSchemaNodes);
-                    if (newChild instanceof AnyXmlNodeDataWithSchema) {
-                        readAnyXmlValue(in, (AnyXmlNodeDataWithSchema) newChild, jsonElementName);
-                    } else {
-                        read(in, newChild);
-                    }
-                    removeNamespace();
+    /**
+     * Resolve a JSON member and enter its namespace. Returns the stack of schema nodes leading to the member, or null
+     * if the member should be skipped, in which case the namespace is not entered.
+     */
+    private @Nullable Deque<DataSchemaNode> enterMember(final JSONMemberTable members, final String jsonElementName,
+            final DataSchemaNode parentSchema, final Set<String> namesakes) {
+        final Deque<DataSchemaNode> childDataSchemaNodes;
+        final Member member = members.lookup(jsonElementName);
+        if (member != null) {
+            // Fast path: the member name has been resolved when the table was compiled
+            addNamespace(member.getNamespace());
+            childDataSchemaNodes = member.newSchemaStack();
+        } else {
+            final Entry<String, URI> namespaceAndName = resolveNamespace(jsonElementName, parentSchema);
+            final String localName = namespaceAndName.getKey();
+            final URI namespace = namespaceAndName.getValue();
+            if (lenient && (localName == null || namespace == null)) {
+                LOG.debug("Schema node with name {} was not found under {}", localName, parentSchema.getQName());
+                return null;
+            }
+            addNamespace(namespace);
+            childDataSchemaNodes = ParserStreamUtils.findSchemaNodeByNameAndNamespace(parentSchema, localName,
+                getCurrentNamespace());
+            checkState(!childDataSchemaNodes.isEmpty(),
+                "Schema for node with name %s and namespace %s does not exist at %s",
+                localName, getCurrentNamespace(), parentSchema);
+        }
+        if (!namesakes.add(jsonElementName)) {
+            throw new JsonSyntaxException("Duplicate name " + jsonElementName + " in JSON input.");
+        }
+        return childDataSchemaNodes;
+    }
+
+    /*
+     * Streaming counterparts of the above methods. These are invoked only for parents whose member table indicates they
+     * are streamable, i.e. they have no choice or augmentation children. Each member is emitted directly unless its
+     * value does not match the shape implied by its schema, in which case it is buffered, so that error reporting is
+     * the same as in buffered mode.
+     */
+    private void streamMembers(final JsonReader in, final DataSchemaNode parentSchema, final Set<String> namesakes)
+            throws IOException {
+        final JSONMemberTable members = codecs.memberTable(parentSchema);
+        while (in.hasNext()) {
+            final String jsonElementName = in.nextName();
+            final Deque<DataSchemaNode> childDataSchemaNodes = enterMember(members, jsonElementName, parentSchema,
+                namesakes);
+            if (childDataSchemaNodes == null) {
+                in.skipValue();
+                continue;
+            }
+            streamMember(in, parentSchema, childDataSchemaNodes, jsonElementName);
+            removeNamespace();
+        }
+    }
+
+    private void streamMember(final JsonReader in, final DataSchemaNode parentSchema,
+            final Deque<DataSchemaNode> childDataSchemaNodes, final String jsonElementName) throws IOException {
+        // There are no choices in a streamable parent, hence the stack holds only the child itself
+        final DataSchemaNode schema = childDataSchemaNodes.getFirst();
+        final JsonToken token = in.peek();
+        if (schema instanceof LeafSchemaNode && isScalar(token)) {
+            writeLeaf((LeafSchemaNode) schema, translateValueByType(nextScalar(in), schema));
+        } else if (schema instanceof LeafListSchemaNode && token == JsonToken.BEGIN_ARRAY) {
+            streamLeafList(in, (LeafListSchemaNode) schema);
+        } else if (schema instanceof ContainerSchemaNode && token == JsonToken.BEGIN_OBJECT
+                && codecs.memberTable(schema).isStreamable()) {
+            writer.nextDataSchemaNode(schema);
+            writer.startContainerNode(NodeIdentifier.create(schema.getQName()), UNKNOWN_SIZE);
+            in.beginObject();
+            streamMembers(in, schema, new HashSet<>());
+            in.endObject();
+            writer.endNode();
+        } else if (schema instanceof ListSchemaNode && token == JsonToken.BEGIN_ARRAY) {
+            streamList(in, (ListSchemaNode) schema);
+        } else {
+            final CompositeNodeDataWithSchema<?> buffer = new CompositeNodeDataWithSchema<>(parentSchema);
+            readMember(in, buffer, childDataSchemaNodes, jsonElementName);
+            buffer.write(writer);
+        }
+    }
+
+    private void streamLeafList(final JsonReader in, final LeafListSchemaNode schema) throws IOException {
+        writer.nextDataSchemaNode(schema);
+        final NodeIdentifier identifier = NodeIdentifier.create(schema.getQName());
+        if (schema.isUserOrdered()) {
+            writer.startOrderedLeafSet(identifier, UNKNOWN_SIZE);
+        } else {
+            writer.startLeafSet(identifier, UNKNOWN_SIZE);
+        }
+
+        in.beginArray();
+        while (in.hasNext()) {
+            if (isScalar(in.peek())) {
+                final Object value = translateValueByType(nextScalar(in), schema);
+                writer.nextDataSchemaNode(schema);
+                writer.startLeafSetEntryNode(new NodeWithValue<>(schema.getQName(), value));
+                writer.scalarValue(value);
+                writer.endNode();
+            } else {
+                final LeafListEntryNodeDataWithSchema entry = new LeafListEntryNodeDataWithSchema(schema);
+                read(in, entry);
+                entry.write(writer);
+            }
+        }
+        in.endArray();
+        writer.endNode();
+    }
+
+    private void streamList(final JsonReader in, final ListSchemaNode schema) throws IOException {
+        writer.nextDataSchemaNode(schema);
+        final NodeIdentifier identifier = NodeIdentifier.create(schema.getQName());
+        final List<QName> keyDef = schema.getKeyDefinition();
+        final ImmutableMapTemplate<QName> keyTemplate;
+        if (keyDef.isEmpty()) {
+            keyTemplate = null;
+            writer.startUnkeyedList(identifier, UNKNOWN_SIZE);
+        } else {
+            keyTemplate = ImmutableMapTemplate.ordered(keyDef);
+            if (schema.isUserOrdered()) {
+                writer.startOrderedMapNode(identifier, UNKNOWN_SIZE);
+            } else {
+                writer.startMapNode(identifier, UNKNOWN_SIZE);
+            }
+        }
+
+        final boolean streamable = codecs.memberTable(schema).isStreamable();
+        in.beginArray();
+        while (in.hasNext()) {
+            if (streamable && in.peek() == JsonToken.BEGIN_OBJECT) {
+                if (keyTemplate != null) {
+                    streamMapEntry(in, schema, keyDef, keyTemplate);
+                } else {
+                    in.beginObject();
+                    writer.nextDataSchemaNode(schema);
+                    writer.startUnkeyedListItem(identifier, UNKNOWN_SIZE);
+                    streamMembers(in, schema, new HashSet<>());
+                    in.endObject();
+                    writer.endNode();
                 }
-                in.endObject();
+            } else {
+                final ListEntryNodeDataWithSchema entry = new ListNodeDataWithSchema(schema).newChildEntry();
+                read(in, entry);
+                entry.write(writer);
+            }
+        }
+        in.endArray();
+        writer.endNode();
+    }
+
+    private void streamMapEntry(final JsonReader in, final ListSchemaNode schema, final List<QName> keyDef,
+            final ImmutableMapTemplate<QName> keyTemplate) throws IOException {
+        final JSONMemberTable members = codecs.memberTable(schema);
+        final Set<String> namesakes = new HashSet<>();
+        final LeafSchemaNode[] keySchemas = new LeafSchemaNode[keyDef.size()];
+        final Object[] keyValues = new Object[keyDef.size()];
+        int keyCount = 0;
+
+        in.beginObject();
+        while (keyCount < keyValues.length && in.hasNext()) {
+            final String jsonElementName = in.nextName();
+            final Deque<DataSchemaNode> childDataSchemaNodes = enterMember(members, jsonElementName, schema,
+                namesakes);
+            if (childDataSchemaNodes == null) {
+                in.skipValue();
+                continue;
+            }
+
+            final DataSchemaNode child = childDataSchemaNodes.getFirst();
+            final int offset = keyDef.indexOf(child.getQName());
+            if (offset == -1 || keySchemas[offset] != null || !isScalar(in.peek())) {
+                // Not a key, we need to buffer the rest of the entry to learn its identifier
+                bufferMapEntry(in, schema, keySchemas, keyValues, childDataSchemaNodes, jsonElementName, namesakes);
                 return;
-            default:
-                break;
+            }
+
+            keySchemas[offset] = (LeafSchemaNode) child;
+            keyValues[offset] = translateValueByType(nextScalar(in), child);
+            ++keyCount;
+            removeNamespace();
+        }
+        if (keyCount < keyValues.length) {
+            // Missing keys, let the buffer report them
+            bufferMapEntry(in, schema, keySchemas, keyValues, null, null, namesakes);
+            return;
         }
+
+        writer.nextDataSchemaNode(schema);
+        writer.startMapEntryNode(NodeIdentifierWithPredicates.of(schema.getQName(),
+            keyTemplate.instantiateWithValues(keyValues)), UNKNOWN_SIZE);
+        for (int i = 0; i < keySchemas.length; ++i) {
+            writeLeaf(keySchemas[i], keyValues[i]);
+        }
+        streamMembers(in, schema, namesakes);
+        in.endObject();
+        writer.endNode();
+    }
+
+    private void bufferMapEntry(final JsonReader in, final ListSchemaNode schema, final LeafSchemaNode[] keySchemas,
+            final Object[] keyValues, final @Nullable Deque<DataSchemaNode> pendingSchemas,
+            final @Nullable String pendingName, final Set<String> namesakes) throws IOException {
+        final ListEntryNodeDataWithSchema entry = new ListNodeDataWithSchema(schema).newChildEntry();
+        for (int i = 0; i < keySchemas.length; ++i) {
+            if (keySchemas[i] != null) {
+                final Deque<DataSchemaNode> keySchema = new ArrayDeque<>(1);
+                keySchema.push(keySchemas[i]);
+                ((SimpleNodeDataWithSchema<?>) entry.addChild(keySchema, ChildReusePolicy.NOOP))
+                    .setValue(keyValues[i]);
+            }
+        }
+        if (pendingSchemas != null) {
+            readMember(in, entry, pendingSchemas, pendingName);
+            removeNamespace();
+        }
+        readMembers(in, entry, namesakes);
+        in.endObject();
+        entry.write(writer);
+    }
+
+    private void writeLeaf(final LeafSchemaNode schema, final Object value) throws IOException {
+        writer.nextDataSchemaNode(schema);
+        writer.startLeafNode(NodeIdentifier.create(schema.getQName()));
+        writer.scalarValue(value);
+        writer.endNode();
+    }
+
+    private static boolean isScalar(final JsonToken token) {
+        return token == JsonToken.STRING || token == JsonToken.NUMBER || token == JsonToken.BOOLEAN;
+    }
+
+    private static String nextScalar(final JsonReader in) throws IOException {
+        return in.peek() == JsonToken.BOOLEAN ? Boolean.toString(in.nextBoolean()) : in.nextString();
     }
 
     private static boolean isArray(final AbstractNodeDataWithSchema<?> parent) {
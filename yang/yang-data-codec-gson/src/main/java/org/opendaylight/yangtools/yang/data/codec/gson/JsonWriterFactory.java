@@ -9,6 +9,7 @@ package org.opendaylight.yangtools.yang.data.codec.gson;
 
 import com.google.common.annotations.Beta;
 import com.google.gson.stream.JsonWriter;
+import java.io.OutputStream;
 import java.io.Writer;
 
 /**
@@ -43,4 +44,17 @@ public final class JsonWriterFactory {
         jsonWriter.setIndent(indent);
         return jsonWriter;
     }
+
+    /**
+     * Create a new JsonWriter, which writes UTF-8 encoded JSON to the specified output stream. The returned writer
+     * produces compact output and avoids intermediate String allocation where possible, making it suitable for
+     * emitting large documents. It is buffered internally, hence it needs to be flushed or closed for all output to
+     * reach the stream.
+     *
+     * @param stream Output stream
+     * @return A JsonWriter instance
+     */
+    public static JsonWriter createJsonWriter(final OutputStream stream) {
+        return new Utf8JsonWriter(stream);
+    }
 }
@@ -9,6 +9,7 @@ package org.opendaylight.yangtools.yang.data.codec.gson;
 
 import org.opendaylight.yangtools.yang.data.impl.codec.AbstractIntegerStringCodec;
 import org.opendaylight.yangtools.yang.data.impl.codec.DecimalStringCodec;
+import org.opendaylight.yangtools.yang.data.impl.codec.PatternEngine;
 import org.opendaylight.yangtools.yang.data.util.codec.CodecCache;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.type.InstanceIdentifierTypeDefinition;
@@ -16,8 +17,9 @@ import org.opendaylight.yangtools.yang.model.api.type.InstanceIdentifierTypeDefi
 final class Lhotka02JSONCodecFactory extends JSONCodecFactory {
     private final JSONInstanceIdentifierCodec iidCodec;
 
-    Lhotka02JSONCodecFactory(final SchemaContext context, final CodecCache<JSONCodec<?>> cache) {
-        super(context, cache);
+    Lhotka02JSONCodecFactory(final SchemaContext context, final CodecCache<JSONCodec<?>> cache,
+            final PatternEngine patternEngine) {
+        super(context, cache, patternEngine);
         iidCodec = new Lhotka02JSONInstanceIdentifierCodec(context, this);
     }
 
@@ -28,7 +30,7 @@ final class Lhotka02JSONCodecFactory extends JSONCodecFactory {
 
     @Override
     Lhotka02JSONCodecFactory rebaseTo(final SchemaContext newSchemaContext, final CodecCache<JSONCodec<?>> newCache) {
-        return new Lhotka02JSONCodecFactory(newSchemaContext, newCache);
+        return new Lhotka02JSONCodecFactory(newSchemaContext, newCache, patternEngine());
     }
 
     @Override
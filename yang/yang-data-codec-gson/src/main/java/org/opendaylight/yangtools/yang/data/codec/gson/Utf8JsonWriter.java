@@ -0,0 +1,510 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.gson;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.opendaylight.yangtools.yang.common.Uint16;
+import org.opendaylight.yangtools.yang.common.Uint32;
+import org.opendaylight.yangtools.yang.common.Uint8;
+
+/**
+ * A {@link JsonWriter} which encodes its output as UTF-8 directly into an {@link OutputStream}, bypassing the
+ * {@link Writer} used by the superclass. Strings are escaped and encoded in a single pass into an internal buffer and
+ * integral numbers are formatted without intermediate Strings. Names can also be supplied as pre-encoded
+ * {@link JSONName}s, which are copied to the output as they are.
+ *
+ * <p>
+ * The output is always compact, formatting settings inherited from {@link JsonWriter} are ignored, except for
+ * {@link #isLenient()}, {@link #isHtmlSafe()} and {@link #getSerializeNulls()}, which have the same effect as in
+ * {@link JsonWriter}.
+ */
+final class Utf8JsonWriter extends JsonWriter {
+    private static final int EMPTY_ARRAY = 1;
+    private static final int NONEMPTY_ARRAY = 2;
+    private static final int EMPTY_OBJECT = 3;
+    private static final int DANGLING_NAME = 4;
+    private static final int NONEMPTY_OBJECT = 5;
+    private static final int EMPTY_DOCUMENT = 6;
+    private static final int NONEMPTY_DOCUMENT = 7;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final byte[] NULL = { 'n', 'u', 'l', 'l' };
+    private static final byte[] TRUE = { 't', 'r', 'u', 'e' };
+    private static final byte[] FALSE = { 'f', 'a', 'l', 's', 'e' };
+    private static final byte[] HEX = { '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e',
+        'f' };
+
+    // Escape sequences for ASCII characters, null where the character does not need to be escaped
+    private static final byte[][] REPLACEMENT_CHARS;
+    private static final byte[][] HTML_SAFE_REPLACEMENT_CHARS;
+    private static final byte[] LINE_SEPARATOR_ESCAPE = unicodeEscape('\u2028');
+    private static final byte[] PARAGRAPH_SEPARATOR_ESCAPE = unicodeEscape('\u2029');
+
+    static {
+        REPLACEMENT_CHARS = new byte[128][];
+        for (int i = 0; i < 0x20; i++) {
+            REPLACEMENT_CHARS[i] = unicodeEscape((char) i);
+        }
+        REPLACEMENT_CHARS['"'] = new byte[] { '\\', '"' };
+        REPLACEMENT_CHARS['\\'] = new byte[] { '\\', '\\' };
+        REPLACEMENT_CHARS['\t'] = new byte[] { '\\', 't' };
+        REPLACEMENT_CHARS['\b'] = new byte[] { '\\', 'b' };
+        REPLACEMENT_CHARS['\n'] = new byte[] { '\\', 'n' };
+        REPLACEMENT_CHARS['\r'] = new byte[] { '\\', 'r' };
+        REPLACEMENT_CHARS['\f'] = new byte[] { '\\', 'f' };
+
+        HTML_SAFE_REPLACEMENT_CHARS = REPLACEMENT_CHARS.clone();
+        for (char ch : new char[] { '<', '>', '&', '=', '\'' }) {
+            HTML_SAFE_REPLACEMENT_CHARS[ch] = unicodeEscape(ch);
+        }
+    }
+
+    private final OutputStream out;
+    private final byte[] buf = new byte[BUFFER_SIZE];
+    private int pos;
+
+    private int[] stack = new int[32];
+    private int stackSize;
+
+    private String deferredName;
+    private JSONName deferredToken;
+
+    Utf8JsonWriter(final OutputStream out) {
+        // The superclass requires a Writer, but we override all of its output methods
+        super(Writer.nullWriter());
+        this.out = requireNonNull(out);
+        push(EMPTY_DOCUMENT);
+    }
+
+    @Override
+    public JsonWriter beginArray() throws IOException {
+        writeDeferredName();
+        return openScope(EMPTY_ARRAY, '[');
+    }
+
+    @Override
+    public JsonWriter endArray() throws IOException {
+        return closeScope(EMPTY_ARRAY, NONEMPTY_ARRAY, ']');
+    }
+
+    @Override
+    public JsonWriter beginObject() throws IOException {
+        writeDeferredName();
+        return openScope(EMPTY_OBJECT, '{');
+    }
+
+    @Override
+    public JsonWriter endObject() throws IOException {
+        return closeScope(EMPTY_OBJECT, NONEMPTY_OBJECT, '}');
+    }
+
+    @Override
+    public JsonWriter name(final String name) throws IOException {
+        requireNonNull(name, "name == null");
+        checkName();
+        deferredName = name;
+        return this;
+    }
+
+    /**
+     * Equivalent of {@link #name(String)}, taking a pre-encoded name.
+     *
+     * @param name Encoded name
+     * @return This writer
+     * @throws IOException if an I/O error occurs
+     */
+    JsonWriter name(final JSONName name) throws IOException {
+        checkName();
+        deferredToken = requireNonNull(name);
+        return this;
+    }
+
+    @Override
+    public JsonWriter jsonValue(final String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        writeDeferredName();
+        beforeValue();
+        writeUtf8(value, null);
+        return this;
+    }
+
+    @Override
+    public JsonWriter nullValue() throws IOException {
+        if (deferredName != null || deferredToken != null) {
+            if (!getSerializeNulls()) {
+                // Skip the name and the value
+                deferredName = null;
+                deferredToken = null;
+                return this;
+            }
+            writeDeferredName();
+        }
+        beforeValue();
+        write(NULL);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(final String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        writeDeferredName();
+        beforeValue();
+        writeString(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(final boolean value) throws IOException {
+        writeDeferredName();
+        beforeValue();
+        write(value ? TRUE : FALSE);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(final Boolean value) throws IOException {
+        return value == null ? nullValue() : value(value.booleanValue());
+    }
+
+    // Not present in all Gson versions, hence no @Override
+    public JsonWriter value(final float value) throws IOException {
+        writeDeferredName();
+        if (!isLenient() && (Float.isNaN(value) || Float.isInfinite(value))) {
+            throw new IllegalArgumentException("Numeric values must be finite, but was " + value);
+        }
+        beforeValue();
+        writeAscii(Float.toString(value));
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(final double value) throws IOException {
+        writeDeferredName();
+        if (!isLenient() && (Double.isNaN(value) || Double.isInfinite(value))) {
+            throw new IllegalArgumentException("Numeric values must be finite, but was " + value);
+        }
+        beforeValue();
+        writeAscii(Double.toString(value));
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(final long value) throws IOException {
+        writeDeferredName();
+        beforeValue();
+        writeLong(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(final Number value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+
+        writeDeferredName();
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte
+                || value instanceof Uint8 || value instanceof Uint16 || value instanceof Uint32) {
+            beforeValue();
+            writeLong(value.longValue());
+            return this;
+        }
+
+        final String string = value.toString();
+        if (!isLenient() && (string.equals("-Infinity") || string.equals("Infinity") || string.equals("NaN"))) {
+            throw new IllegalArgumentException("Numeric values must be finite, but was " + value);
+        }
+        beforeValue();
+        writeAscii(string);
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (stackSize == 0) {
+            throw new IllegalStateException("JsonWriter is closed.");
+        }
+        flushBuffer();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flushBuffer();
+        out.close();
+
+        final int size = stackSize;
+        if (size > 1 || size == 1 && stack[size - 1] != NONEMPTY_DOCUMENT) {
+            throw new IOException("Incomplete document");
+        }
+        stackSize = 0;
+    }
+
+    /**
+     * Encode a name into a form suitable for {@link #name(JSONName)}.
+     *
+     * @param name Name to encode
+     * @return Encoded name, including quotes
+     */
+    static byte[] encodeName(final String name) {
+        final StringBuilder sb = new StringBuilder(name.length() + 2).append('"');
+        for (int i = 0; i < name.length(); ++i) {
+            final char ch = name.charAt(i);
+            final byte[] replacement = ch < 128 ? REPLACEMENT_CHARS[ch] : lineSeparatorEscape(ch);
+            if (replacement != null) {
+                sb.append(new String(replacement, StandardCharsets.US_ASCII));
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.append('"').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private JsonWriter openScope(final int empty, final char openBracket) throws IOException {
+        beforeValue();
+        push(empty);
+        ensure(1);
+        buf[pos++] = (byte) openBracket;
+        return this;
+    }
+
+    private JsonWriter closeScope(final int empty, final int nonempty, final char closeBracket) throws IOException {
+        final int context = peek();
+        if (context != nonempty && context != empty) {
+            throw new IllegalStateException("Nesting problem.");
+        }
+        if (deferredName != null || deferredToken != null) {
+            throw new IllegalStateException("Dangling name: "
+                + (deferredName != null ? deferredName : deferredToken.getName()));
+        }
+
+        stackSize--;
+        ensure(1);
+        buf[pos++] = (byte) closeBracket;
+        return this;
+    }
+
+    private void push(final int newTop) {
+        if (stackSize == stack.length) {
+            stack = Arrays.copyOf(stack, stackSize * 2);
+        }
+        stack[stackSize++] = newTop;
+    }
+
+    private int peek() {
+        if (stackSize == 0) {
+            throw new IllegalStateException("JsonWriter is closed.");
+        }
+        return stack[stackSize - 1];
+    }
+
+    private void replaceTop(final int topOfStack) {
+        stack[stackSize - 1] = topOfStack;
+    }
+
+    private void checkName() {
+        if (deferredName != null || deferredToken != null) {
+            throw new IllegalStateException("Already wrote a name, expecting a value.");
+        }
+        if (stackSize == 0) {
+            throw new IllegalStateException("JsonWriter is closed.");
+        }
+    }
+
+    private void writeDeferredName() throws IOException {
+        if (deferredToken != null) {
+            beforeName();
+            write(deferredToken.getEncoded());
+            deferredToken = null;
+        } else if (deferredName != null) {
+            beforeName();
+            writeString(deferredName);
+            deferredName = null;
+        }
+    }
+
+    private void beforeName() throws IOException {
+        final int context = peek();
+        if (context == NONEMPTY_OBJECT) {
+            ensure(1);
+            buf[pos++] = ',';
+        } else if (context != EMPTY_OBJECT) {
+            throw new IllegalStateException("Nesting problem.");
+        }
+        replaceTop(DANGLING_NAME);
+    }
+
+    private void beforeValue() throws IOException {
+        switch (peek()) {
+            case NONEMPTY_DOCUMENT:
+                if (!isLenient()) {
+                    throw new IllegalStateException("JSON must have only one top-level value.");
+                }
+                replaceTop(NONEMPTY_DOCUMENT);
+                break;
+            case EMPTY_DOCUMENT:
+                replaceTop(NONEMPTY_DOCUMENT);
+                break;
+            case EMPTY_ARRAY:
+                replaceTop(NONEMPTY_ARRAY);
+                break;
+            case NONEMPTY_ARRAY:
+                ensure(1);
+                buf[pos++] = ',';
+                break;
+            case DANGLING_NAME:
+                ensure(1);
+                buf[pos++] = ':';
+                replaceTop(NONEMPTY_OBJECT);
+                break;
+            default:
+                throw new IllegalStateException("Nesting problem.");
+        }
+    }
+
+    private void writeString(final String value) throws IOException {
+        ensure(1);
+        buf[pos++] = '"';
+        writeUtf8(value, isHtmlSafe() ? HTML_SAFE_REPLACEMENT_CHARS : REPLACEMENT_CHARS);
+        ensure(1);
+        buf[pos++] = '"';
+    }
+
+    /**
+     * Encode a String as UTF-8, optionally escaping characters.
+     *
+     * @param str String to encode
+     * @param replacements Replacements of ASCII characters, null if no escaping should take place
+     * @throws IOException if an I/O error occurs
+     */
+    private void writeUtf8(final String str, final byte[][] replacements) throws IOException {
+        final int length = str.length();
+        for (int i = 0; i < length; ++i) {
+            final char ch = str.charAt(i);
+            if (ch < 0x80) {
+                final byte[] replacement = replacements == null ? null : replacements[ch];
+                if (replacement != null) {
+                    write(replacement);
+                } else {
+                    ensure(1);
+                    buf[pos++] = (byte) ch;
+                }
+                continue;
+            }
+
+            ensure(4);
+            if (ch < 0x800) {
+                buf[pos++] = (byte) (0xC0 | ch >> 6);
+                buf[pos++] = (byte) (0x80 | ch & 0x3F);
+            } else if (Character.isHighSurrogate(ch) && i + 1 < length && Character.isLowSurrogate(str.charAt(i + 1))) {
+                final int cp = Character.toCodePoint(ch, str.charAt(++i));
+                buf[pos++] = (byte) (0xF0 | cp >> 18);
+                buf[pos++] = (byte) (0x80 | cp >> 12 & 0x3F);
+                buf[pos++] = (byte) (0x80 | cp >> 6 & 0x3F);
+                buf[pos++] = (byte) (0x80 | cp & 0x3F);
+            } else if (Character.isSurrogate(ch)) {
+                // Unpaired surrogate, replace it just as a CharsetEncoder would
+                buf[pos++] = '?';
+            } else if (replacements != null && ch == '\u2028') {
+                write(LINE_SEPARATOR_ESCAPE);
+            } else if (replacements != null && ch == '\u2029') {
+                write(PARAGRAPH_SEPARATOR_ESCAPE);
+            } else {
+                buf[pos++] = (byte) (0xE0 | ch >> 12);
+                buf[pos++] = (byte) (0x80 | ch >> 6 & 0x3F);
+                buf[pos++] = (byte) (0x80 | ch & 0x3F);
+            }
+        }
+    }
+
+    private void writeAscii(final String str) throws IOException {
+        final int length = str.length();
+        ensure(length);
+        for (int i = 0; i < length; ++i) {
+            buf[pos++] = (byte) str.charAt(i);
+        }
+    }
+
+    private void writeLong(final long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeAscii(Long.toString(value));
+            return;
+        }
+
+        // 19 digits and a sign
+        ensure(20);
+        long remaining = value;
+        if (remaining < 0) {
+            buf[pos++] = '-';
+            remaining = -remaining;
+        }
+
+        int digits = 1;
+        for (long limit = 10; digits < 19 && remaining >= limit; limit *= 10) {
+            digits++;
+        }
+        for (int i = pos + digits - 1; i >= pos; --i) {
+            buf[i] = (byte) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+        pos += digits;
+    }
+
+    private void write(final byte[] bytes) throws IOException {
+        if (bytes.length > buf.length) {
+            flushBuffer();
+            out.write(bytes);
+            return;
+        }
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buf, pos, bytes.length);
+        pos += bytes.length;
+    }
+
+    private void ensure(final int size) throws IOException {
+        if (pos + size > buf.length) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (pos != 0) {
+            out.write(buf, 0, pos);
+            pos = 0;
+        }
+    }
+
+    private static byte[] lineSeparatorEscape(final char ch) {
+        switch (ch) {
+            case '\u2028':
+                return LINE_SEPARATOR_ESCAPE;
+            case '\u2029':
+                return PARAGRAPH_SEPARATOR_ESCAPE;
+            default:
+                return null;
+        }
+    }
+
+    private static byte[] unicodeEscape(final char ch) {
+        return new byte[] {
+            '\\', 'u', HEX[ch >> 12 & 0xF], HEX[ch >> 8 & 0xF], HEX[ch >> 4 & 0xF], HEX[ch & 0xF]
+        };
+    }
+}
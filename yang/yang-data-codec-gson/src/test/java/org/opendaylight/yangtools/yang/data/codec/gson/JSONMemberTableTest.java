@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.gson;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URI;
+import java.util.Deque;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.codec.gson.JSONMemberTable.Member;
+import org.opendaylight.yangtools.yang.model.api.CaseSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+
+public class JSONMemberTableTest extends AbstractComplexJsonTest {
+    private static final URI AUGMENTATION_NS = URI.create("ns:complex:json:augmentation");
+
+    @Test
+    public void testDirectChild() {
+        final JSONMemberTable table = cont1Table();
+        final Member unqualified = table.lookup("lf11");
+        assertNotNull(unqualified);
+        assertEquals("lf11", unqualified.getLocalName());
+        assertEquals(CONT_1.getNamespace(), unqualified.getNamespace());
+        assertSame(unqualified, table.lookup("complexjson:lf11"));
+
+        final Deque<DataSchemaNode> schemas = unqualified.newSchemaStack();
+        assertEquals(1, schemas.size());
+        assertTrue(schemas.pop() instanceof LeafSchemaNode);
+        // The stack is a copy
+        assertEquals(1, unqualified.newSchemaStack().size());
+    }
+
+    @Test
+    public void testChoiceChild() {
+        final Member member = cont1Table().lookup("lf13");
+        assertNotNull(member);
+
+        final Deque<DataSchemaNode> schemas = member.newSchemaStack();
+        assertEquals(3, schemas.size());
+        assertTrue(schemas.pop() instanceof ChoiceSchemaNode);
+        assertTrue(schemas.pop() instanceof CaseSchemaNode);
+        assertTrue(schemas.pop() instanceof LeafSchemaNode);
+    }
+
+    @Test
+    public void testNamesakes() {
+        final JSONMemberTable table = cont1Table();
+        // Ambiguous without a module name
+        assertNull(table.lookup("lf11-namesake"));
+
+        final Member member = table.lookup("complexjson-augmentation:lf11-namesake");
+        assertNotNull(member);
+        assertEquals(AUGMENTATION_NS, member.getNamespace());
+    }
+
+    @Test
+    public void testUnknown() {
+        final JSONMemberTable table = cont1Table();
+        assertNull(table.lookup("unknown"));
+        assertNull(table.lookup("complexjson:unknown"));
+        assertNull(table.lookup("complexjson-augmentation:lf11"));
+    }
+
+    @Test
+    public void testCached() {
+        final DataSchemaNode cont1 = schemaContext.findDataChildByName(CONT_1).get();
+        assertSame(lhotkaCodecFactory.memberTable(cont1), lhotkaCodecFactory.memberTable(cont1));
+    }
+
+    private static JSONMemberTable cont1Table() {
+        return lhotkaCodecFactory.memberTable(schemaContext.findDataChildByName(CONT_1).get());
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.gson;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import javax.xml.transform.dom.DOMSource;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.Uint32;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DOMSourceAnyxmlNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.ForwardingNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class JsonParserStreamingTest {
+    private static final QName TOP = QName.create("urn:opendaylight:yangtools:streaming", "2020-06-01", "top");
+    private static final QName ENTRY = QName.create(TOP, "entry");
+    private static final QName ID = QName.create(TOP, "id");
+    private static final QName NAME = QName.create(TOP, "name");
+    private static final QName DATA = QName.create(TOP, "data");
+
+    private static JSONCodecFactory codecFactory;
+
+    @BeforeClass
+    public static void beforeClass() {
+        codecFactory = JSONCodecFactorySupplier.RFC7951.getShared(
+            YangParserTestUtils.parseYangResource("/streaming/streaming.yang"));
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        codecFactory = null;
+    }
+
+    @Test
+    public void testStreamableMembers() {
+        assertTrue(memberTable().isStreamable());
+        assertTrue(memberTable("top").isStreamable());
+        assertTrue(memberTable("top", "entry").isStreamable());
+        assertTrue(memberTable("top", "entry", "nested").isStreamable());
+        assertTrue(memberTable("top", "item").isStreamable());
+        assertFalse(memberTable("top", "with-choice").isStreamable());
+        assertFalse(memberTable("top", "augmented").isStreamable());
+    }
+
+    @Test
+    public void testSameAsBuffered() {
+        final NormalizedNode<?, ?> result = assertSameAsBuffered("{\"streaming:top\":{"
+            + "\"name\":\"top\","
+            + "\"tag\":[\"a\",\"b\"],"
+            + "\"step\":[3,1,2],"
+            + "\"entry\":["
+            // Keys first, in definition order and reversed
+            + "{\"id\":1,\"name\":\"first\",\"enabled\":true,\"nested\":{\"value\":-1}},"
+            + "{\"name\":\"second\",\"id\":2,\"nested\":{\"value\":2}},"
+            // Keys after other members
+            + "{\"enabled\":false,\"id\":3,\"name\":\"third\"},"
+            + "{\"id\":4,\"nested\":{\"value\":4},\"name\":\"fourth\"},"
+            // Qualified key names
+            + "{\"streaming:id\":5,\"streaming:name\":\"fifth\"}"
+            + "],"
+            + "\"item\":[{\"value\":\"one\"},{\"value\":\"two\"}],"
+            + "\"with-choice\":{\"first\":\"choice\"},"
+            + "\"augmented\":{\"base\":\"base\",\"extra\":\"extra\"}"
+            + "}}");
+
+        final MapNode entries = (MapNode) ((ContainerNode) result).getChild(new NodeIdentifier(ENTRY)).get();
+        assertEquals(5, entries.size());
+        assertTrue(entries.getChild(NodeIdentifierWithPredicates.of(ENTRY,
+            ImmutableMap.of(ID, Uint32.valueOf(3), NAME, "third"))).isPresent());
+    }
+
+    @Test
+    public void testListEntryWithoutArray() {
+        assertSameAsBuffered("{\"streaming:top\":{\"entry\":{\"id\":1,\"name\":\"first\"}}}");
+    }
+
+    @Test
+    public void testRootWithChoice() {
+        // Nested inside a buffered parent, everything is buffered
+        assertSameAsBuffered("{\"streaming:top\":{\"with-choice\":{\"second\":\"value\"},\"name\":\"top\"}}");
+    }
+
+    @Test
+    public void testAnyxml() {
+        final NormalizedNode<?, ?> top = parse(JsonParserStream::createStreaming,
+            "{\"streaming:top\":{\"data\":{\"foo\":\"bar\"},\"name\":\"top\"}}");
+        final DataContainerChild<?, ?> data = ((ContainerNode) top).getChild(new NodeIdentifier(DATA)).get();
+        assertThat(data, instanceOf(DOMSourceAnyxmlNode.class));
+        final DOMSource source = ((DOMSourceAnyxmlNode) data).getValue();
+        assertEquals("bar", source.getNode().getTextContent());
+    }
+
+    @Test
+    public void testEventsPrecedeEndOfInput() {
+        final String truncated = "{\"streaming:top\":{\"name\":\"top\",\"entry\":[{\"id\":1,\"name\":\"first\"},"
+            + "{\"id\":2";
+
+        final RecordingStreamWriter buffered = new RecordingStreamWriter();
+        assertThrows(JsonSyntaxException.class, () -> JsonParserStream.create(buffered, codecFactory)
+            .parse(new JsonReader(new StringReader(truncated))));
+        assertEquals(List.of(), buffered.started);
+
+        final RecordingStreamWriter streaming = new RecordingStreamWriter();
+        assertThrows(JsonSyntaxException.class, () -> JsonParserStream.createStreaming(streaming, codecFactory)
+            .parse(new JsonReader(new StringReader(truncated))));
+        assertEquals(List.of(new NodeIdentifier(TOP), new NodeIdentifier(NAME), new NodeIdentifier(ENTRY),
+            NodeIdentifierWithPredicates.of(ENTRY, ImmutableMap.of(ID, Uint32.ONE, NAME, "first")),
+            new NodeIdentifier(ID), new NodeIdentifier(NAME)), streaming.started);
+    }
+
+    @Test
+    public void testFailuresSameAsBuffered() {
+        // Duplicate member in a streamed container
+        assertSameFailure(JsonSyntaxException.class, "{\"streaming:top\":{\"name\":\"a\",\"name\":\"b\"}}");
+        // Duplicate member in a streamed list entry, before and after the keys
+        assertSameFailure(JsonSyntaxException.class,
+            "{\"streaming:top\":{\"entry\":[{\"id\":1,\"id\":1,\"name\":\"a\"}]}}");
+        assertSameFailure(JsonSyntaxException.class,
+            "{\"streaming:top\":{\"entry\":[{\"id\":1,\"name\":\"a\",\"name\":\"b\"}]}}");
+        // Unknown member
+        assertSameFailure(IllegalStateException.class, "{\"streaming:top\":{\"unknown\":\"a\"}}");
+        // Missing key
+        assertSameFailure(IllegalArgumentException.class, "{\"streaming:top\":{\"entry\":[{\"id\":1}]}}");
+        // Invalid value
+        assertSameFailure(IllegalArgumentException.class, "{\"streaming:top\":{\"step\":[300]}}");
+    }
+
+    private static NormalizedNode<?, ?> assertSameAsBuffered(final String json) {
+        final NormalizedNode<?, ?> buffered = parse(JsonParserStream::create, json);
+        final NormalizedNode<?, ?> streamed = parse(JsonParserStream::createStreaming, json);
+        assertEquals(buffered, streamed);
+        return streamed;
+    }
+
+    private static void assertSameFailure(final Class<? extends Throwable> expected, final String json) {
+        assertThrows(expected, () -> parse(JsonParserStream::create, json));
+        assertThrows(expected, () -> parse(JsonParserStream::createStreaming, json));
+    }
+
+    private static NormalizedNode<?, ?> parse(
+            final BiFunction<NormalizedNodeStreamWriter, JSONCodecFactory, JsonParserStream> factory,
+            final String json) {
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        factory.apply(ImmutableNormalizedNodeStreamWriter.from(result), codecFactory)
+            .parse(new JsonReader(new StringReader(json)));
+        return result.getResult();
+    }
+
+
+    private static JSONMemberTable memberTable(final String... path) {
+        DataSchemaNode node = codecFactory.getSchemaContext();
+        for (String localName : path) {
+            node = ((DataNodeContainer) node).findDataChildByName(QName.create(TOP, localName)).get();
+        }
+        return codecFactory.memberTable(node);
+    }
+
+    /**
+     * A writer recording the identifiers of nodes which have been started, in order.
+     */
+    private static final class RecordingStreamWriter extends ForwardingNormalizedNodeStreamWriter {
+        private final NormalizedNodeStreamWriter delegate =
+            ImmutableNormalizedNodeStreamWriter.from(new NormalizedNodeResult());
+        final List<PathArgument> started = new ArrayList<>();
+
+        @Override
+        protected NormalizedNodeStreamWriter delegate() {
+            return delegate;
+        }
+
+        @Override
+        public void startLeafNode(final NodeIdentifier name) throws IOException {
+            started.add(name);
+            super.startLeafNode(name);
+        }
+
+        @Override
+        public void startContainerNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+            started.add(name);
+            super.startContainerNode(name, childSizeHint);
+        }
+
+        @Override
+        public void startMapNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+            started.add(name);
+            super.startMapNode(name, childSizeHint);
+        }
+
+        @Override
+        public void startMapEntryNode(final NodeIdentifierWithPredicates identifier, final int childSizeHint)
+                throws IOException {
+            started.add(identifier);
+            super.startMapEntryNode(identifier, childSizeHint);
+        }
+    }
+}
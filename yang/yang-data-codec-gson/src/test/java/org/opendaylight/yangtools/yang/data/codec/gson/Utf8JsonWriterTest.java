@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.gson;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import com.google.gson.stream.JsonWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.Uint32;
+import org.opendaylight.yangtools.yang.common.Uint64;
+import org.opendaylight.yangtools.yang.common.Uint8;
+
+public class Utf8JsonWriterTest {
+    @FunctionalInterface
+    private interface WriterAction {
+        void writeTo(JsonWriter writer) throws IOException;
+    }
+
+    @Test
+    public void testSameAsGson() throws IOException {
+        assertSameAsGson(writer -> {
+            writer.beginObject();
+            // Control, separator, two-byte, three-byte and four-byte characters
+            writer.name("str").value("a\"b\\c\n\t\u0001\u2028 \u00e9\u20ac\ud83d\ude00 <&>=' end"); // escapes
+            writer.name("arr").beginArray()
+                .value(0).value(-1).value(Long.MAX_VALUE).value(Long.MIN_VALUE).value(1234567890123L)
+                .value(Uint8.MAX_VALUE).value(Uint32.valueOf(4000000000L)).value(Uint64.MAX_VALUE)
+                .value(new BigDecimal("1.50")).value(0.25).value(true).value(Boolean.FALSE).nullValue()
+                .value((String) null)
+                .endArray();
+            writer.name("empty").beginObject().endObject();
+            writer.name("nested").beginArray().beginArray().endArray().beginObject()
+                .name("n\u00e4me").jsonValue("[1]") // non-ASCII name
+                .endObject().endArray();
+            writer.endObject();
+        });
+    }
+
+    @Test
+    public void testPreencodedName() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final Utf8JsonWriter writer = new Utf8JsonWriter(out);
+        writer.beginObject();
+        writer.name(new JSONName("mod:fo\"o")).value(1);
+        writer.name("bar").value("x");
+        writer.name(new JSONName("baz")).beginArray().endArray();
+        writer.endObject();
+        writer.close();
+
+        assertEquals("{\"mod:fo\\\"o\":1,\"bar\":\"x\",\"baz\":[]}", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testLargeOutput() throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 5000; ++i) {
+            sb.append("\u00e9x\""); // two-byte character
+        }
+        final String str = sb.toString();
+
+        assertSameAsGson(writer -> {
+            writer.beginArray();
+            for (int i = 0; i < 10; ++i) {
+                writer.value(str);
+            }
+            writer.endArray();
+        });
+    }
+
+    @Test
+    public void testIllegalStates() throws IOException {
+        final Utf8JsonWriter writer = new Utf8JsonWriter(new ByteArrayOutputStream());
+        assertThrows(IllegalArgumentException.class, () -> writer.value(Double.NaN));
+        writer.beginObject();
+        writer.name("a");
+        assertThrows(IllegalStateException.class, () -> writer.name("b"));
+        assertThrows(IllegalStateException.class, writer::endObject);
+        writer.value(1);
+        assertThrows(IllegalStateException.class, writer::endArray);
+        assertThrows(IOException.class, writer::close);
+    }
+
+    private static void assertSameAsGson(final WriterAction action) throws IOException {
+        final StringWriter gsonOut = new StringWriter();
+        final JsonWriter gson = new JsonWriter(gsonOut);
+        action.writeTo(gson);
+        gson.close();
+
+        final ByteArrayOutputStream utf8Out = new ByteArrayOutputStream();
+        final JsonWriter utf8 = JsonWriterFactory.createJsonWriter(utf8Out);
+        action.writeTo(utf8);
+        utf8.close();
+
+        assertEquals(gsonOut.toString(), utf8Out.toString(StandardCharsets.UTF_8));
+    }
+}
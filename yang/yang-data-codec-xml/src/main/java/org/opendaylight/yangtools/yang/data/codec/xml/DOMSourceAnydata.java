@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.data.codec.xml;
 
+import static com.google.common.base.Verify.verifyNotNull;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -17,6 +18,7 @@ import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.dom.DOMSource;
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
 import org.opendaylight.yangtools.yang.data.impl.schema.AbstractNormalizableAnydata;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
@@ -25,8 +27,8 @@ import org.xml.sax.SAXException;
 
 /**
  * Internal parser representation of a parsed-out chunk of XML. This format is completely internal to the parser
- * and can be changed at any time. Current implementation uses W3C DOM tree as the backing implementations, but others
- * are possible as well.
+ * and can be changed at any time. Values produced by the parser are backed by an {@link XmlEventBuffer}, from which
+ * a W3C DOM tree is built only when it is actually requested. Values supplied by users are backed by a DOM tree.
  *
  * <p>
  * Note that the DOMSource is expected to contain a top-level synthetic element, which acts as holder of namespace
@@ -38,14 +40,30 @@ import org.xml.sax.SAXException;
  */
 @NonNullByDefault
 final class DOMSourceAnydata extends AbstractNormalizableAnydata {
-    private final DOMSource source;
+    private final @Nullable XmlEventBuffer buffer;
+
+    private volatile @Nullable DOMSource source;
 
     DOMSourceAnydata(final DOMSource source) {
         this.source = requireNonNull(source);
+        this.buffer = null;
+    }
+
+    DOMSourceAnydata(final XmlEventBuffer buffer) {
+        this.buffer = requireNonNull(buffer);
     }
 
     XMLStreamReader toStreamReader() throws XMLStreamException {
-        return new DOMSourceXMLStreamReader(source);
+        return new DOMSourceXMLStreamReader(getSource());
+    }
+
+    /**
+     * Return the recorded events backing this value, if available.
+     *
+     * @return Recorded events, or null if this value is backed by a DOM tree
+     */
+    @Nullable XmlEventBuffer getBuffer() {
+        return buffer;
     }
 
     @Override
@@ -70,11 +88,18 @@ final class DOMSourceAnydata extends AbstractNormalizableAnydata {
 
     @Override
     protected ToStringHelper addToStringAttributes(final ToStringHelper helper) {
-        return helper.add("source", source);
+        final XmlEventBuffer local = buffer;
+        return local != null ? helper.add("buffer", local) : helper.add("source", source);
     }
 
     @VisibleForTesting
     DOMSource getSource() {
-        return source;
+        DOMSource local = source;
+        if (local == null) {
+            // Benign race: concurrent callers may end up building separate, but equivalent, trees
+            local = new DOMSource(verifyNotNull(buffer).toDocument().getDocumentElement());
+            source = local;
+        }
+        return local;
     }
 }
@@ -10,14 +10,23 @@ package org.opendaylight.yangtools.yang.data.codec.xml;
 import static java.util.Objects.requireNonNull;
 
 import java.io.IOException;
+import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Optional;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.dom.DOMSource;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.opendaylight.yangtools.rfc8528.data.api.MountPointContext;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
 import org.opendaylight.yangtools.yang.data.impl.schema.AbstractMountPointChild;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
 import org.xml.sax.SAXException;
 
 /**
@@ -34,9 +43,12 @@ final class DOMSourceMountPointChild extends AbstractMountPointChild {
     @Override
     public void writeTo(final NormalizedNodeStreamWriter writer, final MountPointContext mountCtx) throws IOException {
 
+        // Each recorded element is a top-level data node of the mounted schema, hence we need to parse it as such
+        final Element element = documentElement(source.getNode());
         final XmlParserStream xmlParser;
         try {
-            xmlParser = XmlParserStream.create(writer, mountCtx, mountCtx.getSchemaContext());
+            xmlParser = XmlParserStream.create(writer, mountCtx, childSchema(mountCtx.getEffectiveModelContext(),
+                element));
         } catch (IllegalArgumentException e) {
             throw new IOException("Failed to instantiate XML parser", e);
         }
@@ -48,4 +60,30 @@ final class DOMSourceMountPointChild extends AbstractMountPointChild {
             throw new IOException("Failed to parse payload", e);
         }
     }
+
+    private static Element documentElement(final Node node) throws IOException {
+        if (node instanceof Element) {
+            return (Element) node;
+        }
+        if (node instanceof Document) {
+            return ((Document) node).getDocumentElement();
+        }
+        throw new IOException("Unhandled source node " + node);
+    }
+
+    private static DataSchemaNode childSchema(final EffectiveModelContext context, final Element element)
+            throws IOException {
+        final String namespace = element.getNamespaceURI();
+        if (namespace != null) {
+            for (Module module : context.findModules(URI.create(namespace))) {
+                final Optional<DataSchemaNode> child = module.findDataTreeChild(
+                    QName.create(module.getQNameModule(), element.getLocalName()));
+                if (child.isPresent()) {
+                    return child.get();
+                }
+            }
+        }
+        throw new IOException("Schema for node with name " + element.getLocalName() + " and namespace " + namespace
+            + " does not exist in mounted context");
+    }
 }
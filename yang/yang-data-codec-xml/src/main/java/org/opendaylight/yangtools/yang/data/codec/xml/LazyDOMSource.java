@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.xml;
+
+import static java.util.Objects.requireNonNull;
+
+import javax.xml.transform.dom.DOMSource;
+import org.eclipse.jdt.annotation.Nullable;
+import org.w3c.dom.Node;
+
+/**
+ * A {@link DOMSource} of a parsed anyxml value, backed by an {@link XmlEventBuffer}. The W3C DOM tree is built only
+ * when {@link #getNode()} is first invoked, until then the value can be written out directly from recorded events.
+ *
+ * <p>
+ * A DOM tree, once handed out, is mutable. Recorded events are therefore discarded as soon as the tree is built or
+ * replaced, so that any subsequent modifications are observed by writers.
+ */
+final class LazyDOMSource extends DOMSource {
+    private volatile @Nullable XmlEventBuffer buffer;
+
+    LazyDOMSource(final XmlEventBuffer buffer) {
+        this.buffer = requireNonNull(buffer);
+    }
+
+    @Override
+    public synchronized Node getNode() {
+        final XmlEventBuffer local = buffer;
+        if (local != null) {
+            super.setNode(local.toDocument().getDocumentElement());
+            buffer = null;
+        }
+        return super.getNode();
+    }
+
+    @Override
+    public synchronized void setNode(final Node node) {
+        buffer = null;
+        super.setNode(node);
+    }
+
+    /**
+     * Return the recorded events backing this source, if the DOM tree has not been built yet.
+     *
+     * @return Recorded events, or null if this source is backed by a DOM tree
+     */
+    @Nullable XmlEventBuffer getBuffer() {
+        return buffer;
+    }
+}
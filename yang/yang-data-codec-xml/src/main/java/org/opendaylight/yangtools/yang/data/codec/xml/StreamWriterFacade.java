@@ -218,6 +218,16 @@ final class StreamWriterFacade extends ValueWriter {
         }
     }
 
+    void anydataWriteEventBuffer(final XmlEventBuffer buffer) throws XMLStreamException {
+        flushElement();
+        buffer.writeAnydataContent(writer);
+    }
+
+    void anyxmlWriteEventBuffer(final XmlEventBuffer buffer) throws XMLStreamException {
+        flushElement();
+        buffer.writeAnyxmlContent(writer);
+    }
+
     void anyxmlWriteStreamReader(final DOMSourceXMLStreamReader reader) throws XMLStreamException {
         flushElement();
 
@@ -153,8 +153,14 @@ public abstract class XMLStreamNormalizedNodeStreamWriter<T> implements Normaliz
 
     final void anydataValue(final Object value) throws IOException {
         if (value instanceof DOMSourceAnydata) {
+            final DOMSourceAnydata anydata = (DOMSourceAnydata) value;
+            final XmlEventBuffer buffer = anydata.getBuffer();
             try {
-                facade.anydataWriteStreamReader(((DOMSourceAnydata) value).toStreamReader());
+                if (buffer != null) {
+                    facade.anydataWriteEventBuffer(buffer);
+                } else {
+                    facade.anydataWriteStreamReader(anydata.toStreamReader());
+                }
             } catch (XMLStreamException e) {
                 throw new IOException("Unable to transform anydata value: " + value, e);
             }
@@ -170,6 +176,17 @@ public abstract class XMLStreamNormalizedNodeStreamWriter<T> implements Normaliz
     }
 
     final void anyxmlValue(final DOMSource domSource) throws IOException {
+        if (domSource instanceof LazyDOMSource) {
+            final XmlEventBuffer buffer = ((LazyDOMSource) domSource).getBuffer();
+            if (buffer != null) {
+                try {
+                    facade.anyxmlWriteEventBuffer(buffer);
+                } catch (XMLStreamException e) {
+                    throw new IOException("Unable to transform anyXml value: " + domSource, e);
+                }
+                return;
+            }
+        }
         if (domSource != null) {
             final Node domNode = requireNonNull(domSource.getNode());
             try {
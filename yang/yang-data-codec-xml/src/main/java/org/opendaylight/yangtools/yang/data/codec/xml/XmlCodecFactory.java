@@ -15,13 +15,8 @@ import java.util.List;
 import org.opendaylight.yangtools.rcf8528.data.util.EmptyMountPointContext;
 import org.opendaylight.yangtools.rfc8528.data.api.MountPointContext;
 import org.opendaylight.yangtools.yang.common.QNameModule;
-import org.opendaylight.yangtools.yang.data.impl.codec.AbstractIntegerStringCodec;
-import org.opendaylight.yangtools.yang.data.impl.codec.BinaryStringCodec;
-import org.opendaylight.yangtools.yang.data.impl.codec.BitsStringCodec;
-import org.opendaylight.yangtools.yang.data.impl.codec.BooleanStringCodec;
-import org.opendaylight.yangtools.yang.data.impl.codec.DecimalStringCodec;
-import org.opendaylight.yangtools.yang.data.impl.codec.EnumStringCodec;
-import org.opendaylight.yangtools.yang.data.impl.codec.StringStringCodec;
+import org.opendaylight.yangtools.yang.data.impl.codec.CompiledTypeCodecs;
+import org.opendaylight.yangtools.yang.data.impl.codec.PatternEngine;
 import org.opendaylight.yangtools.yang.data.util.codec.AbstractCodecFactory;
 import org.opendaylight.yangtools.yang.data.util.codec.SharedCodecCache;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
@@ -51,10 +46,12 @@ import org.opendaylight.yangtools.yang.model.api.type.UnknownTypeDefinition;
 @Beta
 public final class XmlCodecFactory extends AbstractCodecFactory<XmlCodec<?>> {
     private final MountPointContext mountCtx;
+    private final CompiledTypeCodecs typeCodecs;
 
-    private XmlCodecFactory(final MountPointContext mountCtx) {
+    private XmlCodecFactory(final MountPointContext mountCtx, final PatternEngine patternEngine) {
         super(mountCtx.getSchemaContext(), new SharedCodecCache<>());
         this.mountCtx = requireNonNull(mountCtx);
+        typeCodecs = CompiledTypeCodecs.forContext(mountCtx.getEffectiveModelContext(), patternEngine);
     }
 
     MountPointContext mountPointContext() {
@@ -68,7 +65,19 @@ public final class XmlCodecFactory extends AbstractCodecFactory<XmlCodec<?>> {
      * @return A codec factory instance.
      */
     public static XmlCodecFactory create(final MountPointContext context) {
-        return new XmlCodecFactory(context);
+        return create(context, PatternEngine.REGEX);
+    }
+
+    /**
+     * Instantiate a new codec factory attached to a particular context, using specified engine to enforce string
+     * patterns.
+     *
+     * @param context MountPointContext to which the factory should be bound
+     * @param patternEngine Engine used to enforce {@code pattern} restrictions
+     * @return A codec factory instance.
+     */
+    public static XmlCodecFactory create(final MountPointContext context, final PatternEngine patternEngine) {
+        return new XmlCodecFactory(context, patternEngine);
     }
 
     /**
@@ -81,19 +90,31 @@ public final class XmlCodecFactory extends AbstractCodecFactory<XmlCodec<?>> {
         return create(new EmptyMountPointContext(context));
     }
 
+    /**
+     * Instantiate a new codec factory attached to a particular context, using specified engine to enforce string
+     * patterns.
+     *
+     * @param context SchemaContext to which the factory should be bound
+     * @param patternEngine Engine used to enforce {@code pattern} restrictions
+     * @return A codec factory instance.
+     */
+    public static XmlCodecFactory create(final EffectiveModelContext context, final PatternEngine patternEngine) {
+        return create(new EmptyMountPointContext(context), patternEngine);
+    }
+
     @Override
     protected XmlCodec<?> binaryCodec(final BinaryTypeDefinition type) {
-        return new QuotedXmlCodec<>(BinaryStringCodec.from(type));
+        return new QuotedXmlCodec<>(typeCodecs.binaryCodec(type));
     }
 
     @Override
     protected XmlCodec<?> booleanCodec(final BooleanTypeDefinition type) {
-        return new BooleanXmlCodec(BooleanStringCodec.from(type));
+        return new BooleanXmlCodec(typeCodecs.booleanCodec(type));
     }
 
     @Override
     protected XmlCodec<?> bitsCodec(final BitsTypeDefinition type) {
-        return new QuotedXmlCodec<>(BitsStringCodec.from(type));
+        return new QuotedXmlCodec<>(typeCodecs.bitsCodec(type));
     }
 
     @Override
@@ -103,7 +124,7 @@ public final class XmlCodecFactory extends AbstractCodecFactory<XmlCodec<?>> {
 
     @Override
     protected XmlCodec<?> enumCodec(final EnumTypeDefinition type) {
-        return new QuotedXmlCodec<>(EnumStringCodec.from(type));
+        return new QuotedXmlCodec<>(typeCodecs.enumCodec(type));
     }
 
     @Override
@@ -118,52 +139,52 @@ public final class XmlCodecFactory extends AbstractCodecFactory<XmlCodec<?>> {
 
     @Override
     protected XmlCodec<?> int8Codec(final Int8TypeDefinition type) {
-        return new NumberXmlCodec<>(AbstractIntegerStringCodec.from(type));
+        return new NumberXmlCodec<>(typeCodecs.int8Codec(type));
     }
 
     @Override
     protected XmlCodec<?> int16Codec(final Int16TypeDefinition type) {
-        return new NumberXmlCodec<>(AbstractIntegerStringCodec.from(type));
+        return new NumberXmlCodec<>(typeCodecs.int16Codec(type));
     }
 
     @Override
     protected XmlCodec<?> int32Codec(final Int32TypeDefinition type) {
-        return new NumberXmlCodec<>(AbstractIntegerStringCodec.from(type));
+        return new NumberXmlCodec<>(typeCodecs.int32Codec(type));
     }
 
     @Override
     protected XmlCodec<?> int64Codec(final Int64TypeDefinition type) {
-        return new NumberXmlCodec<>(AbstractIntegerStringCodec.from(type));
+        return new NumberXmlCodec<>(typeCodecs.int64Codec(type));
     }
 
     @Override
     protected XmlCodec<?> decimalCodec(final DecimalTypeDefinition type) {
-        return new NumberXmlCodec<>(DecimalStringCodec.from(type));
+        return new NumberXmlCodec<>(typeCodecs.decimalCodec(type));
     }
 
     @Override
     protected XmlCodec<?> stringCodec(final StringTypeDefinition type) {
-        return new QuotedXmlCodec<>(StringStringCodec.from(type));
+        return new QuotedXmlCodec<>(typeCodecs.stringCodec(type));
     }
 
     @Override
     protected XmlCodec<?> uint8Codec(final Uint8TypeDefinition type) {
-        return new NumberXmlCodec<>(AbstractIntegerStringCodec.from(type));
+        return new NumberXmlCodec<>(typeCodecs.uint8Codec(type));
     }
 
     @Override
     protected XmlCodec<?> uint16Codec(final Uint16TypeDefinition type) {
-        return new NumberXmlCodec<>(AbstractIntegerStringCodec.from(type));
+        return new NumberXmlCodec<>(typeCodecs.uint16Codec(type));
     }
 
     @Override
     protected XmlCodec<?> uint32Codec(final Uint32TypeDefinition type) {
-        return new NumberXmlCodec<>(AbstractIntegerStringCodec.from(type));
+        return new NumberXmlCodec<>(typeCodecs.uint32Codec(type));
     }
 
     @Override
     protected XmlCodec<?> uint64Codec(final Uint64TypeDefinition type) {
-        return new NumberXmlCodec<>(AbstractIntegerStringCodec.from(type));
+        return new NumberXmlCodec<>(typeCodecs.uint64Codec(type));
     }
 
     @Override
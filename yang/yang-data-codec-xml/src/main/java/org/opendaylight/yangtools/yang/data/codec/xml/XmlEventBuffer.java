@@ -0,0 +1,340 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.xml;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Strings;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.concepts.Immutable;
+import org.opendaylight.yangtools.util.xml.UntrustedXML;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.Text;
+
+/**
+ * A recorded XML element subtree, as observed through an {@link XMLStreamReader}. This is a compact alternative to
+ * a W3C DOM tree for opaque content, such as anyxml and anydata values, which are often just passed through. Recorded
+ * events can be written out to an {@link XMLStreamWriter} directly, or be used to build a {@link Document} when it is
+ * actually needed.
+ *
+ * <p>
+ * Events are stored in two flat arrays: event types (followed by namespace and attribute counts in case of
+ * {@link XMLStreamConstants#START_ELEMENT}) and the strings carried by those events, in the order they are consumed.
+ */
+final class XmlEventBuffer implements Immutable {
+    private final int[] events;
+    private final String[] strings;
+
+    private XmlEventBuffer(final int[] events, final String[] strings) {
+        this.events = events;
+        this.strings = strings;
+    }
+
+    /**
+     * Record the element at which specified reader is positioned, including all of its content. When this method
+     * returns, the reader is positioned at the corresponding {@link XMLStreamConstants#END_ELEMENT}.
+     *
+     * @param in reader positioned at a {@link XMLStreamConstants#START_ELEMENT}
+     * @return A new buffer
+     * @throws XMLStreamException if the reader fails
+     * @throws IllegalStateException if the reader is not positioned at a start element
+     */
+    static @NonNull XmlEventBuffer record(final XMLStreamReader in) throws XMLStreamException {
+        checkState(in.isStartElement(), "Reader %s is not positioned at a start element", in);
+
+        final List<String> strings = new ArrayList<>();
+        int[] events = new int[16];
+        int size = 0;
+        int depth = 0;
+
+        int event = in.getEventType();
+        while (true) {
+            if (size + 3 > events.length) {
+                events = Arrays.copyOf(events, events.length * 2);
+            }
+
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT:
+                    final int nsCount = in.getNamespaceCount();
+                    final int attrCount = in.getAttributeCount();
+                    events[size++] = event;
+                    events[size++] = nsCount;
+                    events[size++] = attrCount;
+                    strings.add(in.getNamespaceURI());
+                    strings.add(in.getPrefix());
+                    strings.add(in.getLocalName());
+                    for (int i = 0; i < nsCount; ++i) {
+                        // Default namespace declarations may be reported with a null prefix, normalize them
+                        strings.add(Strings.nullToEmpty(in.getNamespacePrefix(i)));
+                        strings.add(in.getNamespaceURI(i));
+                    }
+                    for (int i = 0; i < attrCount; ++i) {
+                        strings.add(in.getAttributeNamespace(i));
+                        strings.add(in.getAttributePrefix(i));
+                        strings.add(in.getAttributeLocalName(i));
+                        strings.add(in.getAttributeValue(i));
+                    }
+                    ++depth;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    events[size++] = event;
+                    --depth;
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.COMMENT:
+                case XMLStreamConstants.SPACE:
+                    events[size++] = event;
+                    strings.add(in.getText());
+                    break;
+                case XMLStreamConstants.ENTITY_REFERENCE:
+                    // Unresolved entity, retain its replacement text, if any
+                    events[size++] = XMLStreamConstants.CHARACTERS;
+                    strings.add(Strings.nullToEmpty(in.getText()));
+                    break;
+                case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                    events[size++] = event;
+                    strings.add(in.getPITarget());
+                    strings.add(in.getPIData());
+                    break;
+                default:
+                    throw new XMLStreamException("Unhandled event " + event, in.getLocation());
+            }
+
+            if (depth == 0) {
+                break;
+            }
+            event = in.next();
+        }
+
+        return new XmlEventBuffer(Arrays.copyOf(events, size), strings.toArray(new String[0]));
+    }
+
+    /**
+     * Build a W3C DOM document containing the recorded element as its document element.
+     *
+     * @return A new document
+     */
+    @NonNull Document toDocument() {
+        final Document doc = UntrustedXML.newDocumentBuilder().newDocument();
+        Node parent = doc;
+        int str = 0;
+        for (int i = 0; i < events.length; ++i) {
+            switch (events[i]) {
+                case XMLStreamConstants.START_ELEMENT:
+                    final int nsCount = events[++i];
+                    final int attrCount = events[++i];
+                    final Element element = doc.createElementNS(Strings.emptyToNull(strings[str]),
+                        prefixed(strings[str + 1], strings[str + 2]));
+                    str += 3;
+                    for (int j = 0; j < nsCount; ++j, str += 2) {
+                        final String prefix = strings[str];
+                        element.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI,
+                            Strings.isNullOrEmpty(prefix) ? XMLConstants.XMLNS_ATTRIBUTE
+                                : XMLConstants.XMLNS_ATTRIBUTE + ':' + prefix, strings[str + 1]);
+                    }
+                    for (int j = 0; j < attrCount; ++j, str += 4) {
+                        element.setAttributeNS(Strings.emptyToNull(strings[str]),
+                            prefixed(strings[str + 1], strings[str + 2]), strings[str + 3]);
+                    }
+                    parent.appendChild(element);
+                    parent = element;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    parent = parent.getParentNode();
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                    final String text = strings[str++];
+                    final Node last = parent.getLastChild();
+                    if (last instanceof Text) {
+                        // Adjacent text is coalesced, just as a DOM parser would
+                        ((Text) last).appendData(text);
+                    } else {
+                        parent.appendChild(doc.createTextNode(text));
+                    }
+                    break;
+                case XMLStreamConstants.COMMENT:
+                    parent.appendChild(doc.createComment(strings[str++]));
+                    break;
+                case XMLStreamConstants.SPACE:
+                    // Ignorable whitespace
+                    str++;
+                    break;
+                case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                    parent.appendChild(doc.createProcessingInstruction(strings[str], strings[str + 1]));
+                    str += 2;
+                    break;
+                default:
+                    throw new IllegalStateException("Unhandled event " + events[i]);
+            }
+        }
+        return doc;
+    }
+
+    /**
+     * Write the content of the recorded element as an anydata value. The element itself is not emitted, only its
+     * non-default namespace declarations are forwarded. Comments and ignorable whitespace are skipped.
+     *
+     * @param writer Target writer
+     * @throws XMLStreamException if the writer fails
+     * @throws IllegalStateException if the content contains a processing instruction
+     */
+    void writeAnydataContent(final XMLStreamWriter writer) throws XMLStreamException {
+        int depth = 0;
+        int str = 0;
+        for (int i = 0; i < events.length; ++i) {
+            final int event = events[i];
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT:
+                    final int nsCount = events[++i];
+                    final int attrCount = events[++i];
+                    if (depth != 0) {
+                        final String prefix = strings[str + 1];
+                        if (prefix != null) {
+                            writer.writeStartElement(prefix, strings[str + 2], strings[str]);
+                        } else {
+                            writer.writeStartElement(strings[str + 2]);
+                        }
+                    }
+                    str += 3;
+                    for (int j = 0; j < nsCount; ++j, str += 2) {
+                        final String prefix = strings[str];
+                        if (depth != 0 || !XMLConstants.DEFAULT_NS_PREFIX.equals(prefix)) {
+                            writer.writeNamespace(prefix, strings[str + 1]);
+                        }
+                    }
+                    if (depth != 0) {
+                        for (int j = 0; j < attrCount; ++j, str += 4) {
+                            final String prefix = strings[str + 1];
+                            if (prefix != null) {
+                                writer.writeAttribute(prefix, strings[str], strings[str + 2], strings[str + 3]);
+                            } else {
+                                writer.writeAttribute(strings[str + 2], strings[str + 3]);
+                            }
+                        }
+                    } else {
+                        str += attrCount * 4;
+                    }
+                    ++depth;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    --depth;
+                    if (depth != 0) {
+                        writer.writeEndElement();
+                    }
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                    writer.writeCharacters(strings[str++]);
+                    break;
+                case XMLStreamConstants.CDATA:
+                    writer.writeCData(strings[str++]);
+                    break;
+                case XMLStreamConstants.COMMENT:
+                case XMLStreamConstants.SPACE:
+                    // Ignore comments and insignificant whitespace
+                    str++;
+                    break;
+                default:
+                    throw new IllegalStateException("Unhandled event " + event);
+            }
+        }
+    }
+
+    /**
+     * Write the content of the recorded element as an anyxml value. The element itself is not emitted, only its
+     * namespace declarations and attributes are forwarded. The output matches what would be written from the
+     * {@link #toDocument()} tree: character data is emitted as text and ignorable whitespace is skipped.
+     *
+     * @param writer Target writer
+     * @throws XMLStreamException if the writer fails
+     */
+    void writeAnyxmlContent(final XMLStreamWriter writer) throws XMLStreamException {
+        int depth = 0;
+        int str = 0;
+        for (int i = 0; i < events.length; ++i) {
+            final int event = events[i];
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT:
+                    final int nsCount = events[++i];
+                    final int attrCount = events[++i];
+                    if (depth != 0) {
+                        final String prefix = strings[str + 1];
+                        if (prefix != null) {
+                            writer.writeStartElement(prefix, strings[str + 2], strings[str]);
+                        } else {
+                            writer.writeStartElement(strings[str + 2]);
+                        }
+                    }
+                    str += 3;
+                    for (int j = 0; j < nsCount; ++j, str += 2) {
+                        writer.writeNamespace(strings[str], strings[str + 1]);
+                    }
+                    for (int j = 0; j < attrCount; ++j, str += 4) {
+                        final String prefix = strings[str + 1];
+                        if (!Strings.isNullOrEmpty(prefix)) {
+                            writer.writeAttribute(prefix, strings[str], strings[str + 2], strings[str + 3]);
+                        } else {
+                            writer.writeAttribute(strings[str + 2], strings[str + 3]);
+                        }
+                    }
+                    ++depth;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    --depth;
+                    if (depth != 0) {
+                        writer.writeEndElement();
+                    }
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                    writer.writeCharacters(strings[str++]);
+                    break;
+                case XMLStreamConstants.COMMENT:
+                    writer.writeComment(strings[str++]);
+                    break;
+                case XMLStreamConstants.SPACE:
+                    // Ignore insignificant whitespace
+                    str++;
+                    break;
+                case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                    final String data = strings[str + 1];
+                    if (data != null) {
+                        writer.writeProcessingInstruction(strings[str], data);
+                    } else {
+                        writer.writeProcessingInstruction(strings[str]);
+                    }
+                    str += 2;
+                    break;
+                default:
+                    throw new IllegalStateException("Unhandled event " + event);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("events", events.length).add("strings", strings.length)
+                .toString();
+    }
+
+    private static String prefixed(final String prefix, final String localName) {
+        return Strings.isNullOrEmpty(prefix) ? localName : prefix + ':' + localName;
+    }
+}
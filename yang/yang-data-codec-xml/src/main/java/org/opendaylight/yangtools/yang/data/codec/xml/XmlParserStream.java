@@ -35,13 +35,7 @@ import javax.xml.namespace.NamespaceContext;
 import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
-import javax.xml.stream.util.StreamReaderDelegate;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.TransformerFactoryConfigurationError;
-import javax.xml.transform.dom.DOMResult;
 import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stax.StAXSource;
 import org.opendaylight.yangtools.odlext.model.api.YangModeledAnyxmlSchemaNode;
 import org.opendaylight.yangtools.rfc7952.model.api.AnnotationSchemaNode;
 import org.opendaylight.yangtools.rfc8528.data.api.MountPointContext;
@@ -86,7 +80,6 @@ import org.opendaylight.yangtools.yang.model.api.SchemaNode;
 import org.opendaylight.yangtools.yang.model.api.TypedDataSchemaNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
 
 /**
@@ -114,25 +107,6 @@ public final class XmlParserStream implements Closeable, Flushable {
     public static final QNameModule LEGACY_ATTRIBUTE_NAMESPACE = QNameModule.create(URI.create("")).intern();
 
     private static final Logger LOG = LoggerFactory.getLogger(XmlParserStream.class);
-    private static final String XML_STANDARD_VERSION = "1.0";
-    private static final String COM_SUN_TRANSFORMER =
-            "com.sun.org.apache.xalan.internal.xsltc.trax.TransformerFactoryImpl";
-
-    private static final TransformerFactory TRANSFORMER_FACTORY;
-
-    static {
-        TransformerFactory fa = TransformerFactory.newInstance();
-        if (!fa.getFeature(StAXSource.FEATURE)) {
-            LOG.warn("Platform-default TransformerFactory {} does not support StAXSource, attempting fallback to {}",
-                    fa, COM_SUN_TRANSFORMER);
-            fa = TransformerFactory.newInstance(COM_SUN_TRANSFORMER, null);
-            if (!fa.getFeature(StAXSource.FEATURE)) {
-                throw new TransformerFactoryConfigurationError("No TransformerFactory supporting StAXResult found.");
-            }
-        }
-
-        TRANSFORMER_FACTORY = fa;
-    }
 
     // Cache of nsUri Strings to QNameModules, as resolved in context
     private final Map<String, Optional<QNameModule>> resolvedNamespaces = new HashMap<>();
@@ -341,31 +315,6 @@ public final class XmlParserStream implements Closeable, Flushable {
         return ImmutableMap.copyOf(attributes);
     }
 
-    private static Document readAnyXmlValue(final XMLStreamReader in) throws XMLStreamException {
-        // Underlying reader might return null when asked for version, however when such reader is plugged into
-        // Stax -> DOM transformer, it fails with NPE due to null version. Use default xml version in such case.
-        final XMLStreamReader inWrapper;
-        if (in.getVersion() == null) {
-            inWrapper = new StreamReaderDelegate(in) {
-                @Override
-                public String getVersion() {
-                    final String ver = super.getVersion();
-                    return ver != null ? ver : XML_STANDARD_VERSION;
-                }
-            };
-        } else {
-            inWrapper = in;
-        }
-
-        final DOMResult result = new DOMResult();
-        try {
-            TRANSFORMER_FACTORY.newTransformer().transform(new StAXSource(inWrapper), result);
-        } catch (final TransformerException e) {
-            throw new XMLStreamException("Unable to read anyxml value", e);
-        }
-        return (Document) result.getNode();
-    }
-
     private void read(final XMLStreamReader in, final AbstractNodeDataWithSchema<?> parent, final String rootElement)
             throws XMLStreamException {
         if (!in.hasNext()) {
@@ -404,7 +353,7 @@ public final class XmlParserStream implements Closeable, Flushable {
         }
 
         if (parent instanceof AnyXmlNodeDataWithSchema) {
-            setValue((AnyXmlNodeDataWithSchema) parent, readAnyXmlValue(in), in.getNamespaceContext());
+            setValue((AnyXmlNodeDataWithSchema) parent, XmlEventBuffer.record(in), in.getNamespaceContext());
             if (isNextEndDocument(in)) {
                 return;
             }
@@ -420,7 +369,7 @@ public final class XmlParserStream implements Closeable, Flushable {
             final AnydataNodeDataWithSchema anydata = (AnydataNodeDataWithSchema) parent;
             anydata.setObjectModel(DOMSourceAnydata.class);
             anydata.setAttributes(getElementAttributes(in));
-            setValue(anydata, readAnyXmlValue(in), in.getNamespaceContext());
+            setValue(anydata, XmlEventBuffer.record(in), in.getNamespaceContext());
             if (isNextEndDocument(in)) {
                 return;
             }
@@ -517,7 +466,15 @@ public final class XmlParserStream implements Closeable, Flushable {
                                 final MountPointData mountData = ((AbstractMountPointDataWithSchema<?>) parent)
                                         .getMountPointData(mountId, optFactory.get());
                                 addMountPointChild(mountData, nsUri, xmlElementName,
-                                    new DOMSource(readAnyXmlValue(in).getDocumentElement()));
+                                    new DOMSource(XmlEventBuffer.record(in).toDocument().getDocumentElement()));
+
+                                // Move past the recorded element's END_ELEMENT
+                                if (isNextEndDocument(in)) {
+                                    break;
+                                }
+                                if (!isAtElement(in)) {
+                                    in.nextTag();
+                                }
                                 continue;
                             }
 
@@ -625,16 +582,16 @@ public final class XmlParserStream implements Closeable, Flushable {
     private Object translateValueByType(final Object value, final DataSchemaNode node,
             final NamespaceContext namespaceCtx) {
         if (node instanceof AnyxmlSchemaNode) {
-            checkArgument(value instanceof Document);
+            checkArgument(value instanceof XmlEventBuffer);
             /*
              * FIXME: Figure out some YANG extension dispatch, which will reuse JSON parsing or XML parsing -
              *        anyxml is not well-defined in JSON.
              */
-            return new DOMSource(((Document) value).getDocumentElement());
+            return new LazyDOMSource((XmlEventBuffer) value);
         }
         if (node instanceof AnydataSchemaNode) {
-            checkArgument(value instanceof Document);
-            return new DOMSourceAnydata(new DOMSource(((Document) value).getDocumentElement()));
+            checkArgument(value instanceof XmlEventBuffer);
+            return new DOMSourceAnydata((XmlEventBuffer) value);
         }
 
         checkArgument(node instanceof TypedDataSchemaNode);
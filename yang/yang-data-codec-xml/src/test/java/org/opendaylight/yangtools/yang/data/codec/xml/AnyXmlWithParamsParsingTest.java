@@ -8,8 +8,10 @@
 package org.opendaylight.yangtools.yang.data.codec.xml;
 
 import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
 import java.io.InputStream;
 import java.io.StringWriter;
@@ -71,7 +73,11 @@ public class AnyXmlWithParamsParsingTest {
                 .getValue();
 
         assertNotNull(anyXmlParsedDom);
+        // The DOM tree is built only once it is requested
+        assertThat(anyXmlParsedDom, instanceOf(LazyDOMSource.class));
+        assertNotNull(((LazyDOMSource) anyXmlParsedDom).getBuffer());
         final String anyXmlParsedDomString = toStringDom(anyXmlParsedDom);
+        assertNull(((LazyDOMSource) anyXmlParsedDom).getBuffer());
 
         assertThat(anyXmlParsedDomString, containsString(
                 "active xmpref:prefixed2=\"attribute2\""));
@@ -128,6 +128,31 @@ public class AnydataSerializeTest extends AbstractAnydataTest {
         XMLAssert.assertXMLEqual(diff, true);
     }
 
+    @Test
+    public void testDefaultNamespaceRoundTrip() throws IOException, SAXException, XMLStreamException,
+            URISyntaxException {
+        final String inputXml = "<foo xmlns=\"test-anydata\"><bar xmlns=\"urn:bar\"><baz/></bar></foo>";
+
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        final XmlParserStream xmlParser = XmlParserStream.create(ImmutableNormalizedNodeStreamWriter.from(result),
+            SCHEMA_CONTEXT, SCHEMA_CONTEXT.findDataChildByName(FOO_QNAME).get());
+        xmlParser.parse(UntrustedXML.createXMLStreamReader(toInputStream(inputXml)));
+
+        final StringWriter writer = new StringWriter();
+        final NormalizedNodeWriter normalizedNodeWriter = NormalizedNodeWriter.forStreamWriter(
+            XMLStreamNormalizedNodeStreamWriter.create(factory.createXMLStreamWriter(writer), SCHEMA_CONTEXT));
+        normalizedNodeWriter.write(result.getResult());
+        normalizedNodeWriter.flush();
+
+        // The default namespace declaration of the anydata element must be emitted exactly once
+        final String serializedXml = writer.toString();
+        final String startTag = serializedXml.substring(0, serializedXml.indexOf('>'));
+        assertEquals(startTag.indexOf("xmlns="), startTag.lastIndexOf("xmlns="));
+
+        XMLUnit.setIgnoreWhitespace(true);
+        XMLAssert.assertXMLEqual(inputXml, serializedXml);
+    }
+
     @Test
     public void testAnydataLoadFromXML() throws IOException, SAXException, XMLStreamException, URISyntaxException {
         // Load XML file
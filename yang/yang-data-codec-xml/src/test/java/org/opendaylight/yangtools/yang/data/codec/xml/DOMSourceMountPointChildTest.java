@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+import javax.xml.transform.dom.DOMSource;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.rcf8528.data.util.EmptyMountPointContext;
+import org.opendaylight.yangtools.util.xml.UntrustedXML;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+import org.xml.sax.InputSource;
+
+public class DOMSourceMountPointChildTest {
+    private static final QName FIRST = QName.create("urn:mounted", "first");
+    private static final QName VALUE = QName.create(FIRST, "value");
+
+    private static EmptyMountPointContext MOUNT_CTX;
+
+    @BeforeClass
+    public static void beforeClass() {
+        final EffectiveModelContext mounted = YangParserTestUtils.parseYangResourceDirectory("/mount-point/mounted");
+        MOUNT_CTX = new EmptyMountPointContext(mounted);
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        MOUNT_CTX = null;
+    }
+
+    @Test
+    public void testTopLevelContainer() throws Exception {
+        // The recorded element is the mounted top-level node itself, not a wrapper of mounted nodes
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        childOf("<first xmlns=\"urn:mounted\"><value>one</value></first>")
+            .writeTo(ImmutableNormalizedNodeStreamWriter.from(result), MOUNT_CTX);
+
+        assertEquals(Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(FIRST))
+            .withChild(ImmutableNodes.leafNode(VALUE, "one"))
+            .build(), result.getResult());
+    }
+
+    @Test
+    public void testUnknownTopLevelNode() throws Exception {
+        final DOMSourceMountPointChild child = childOf("<third xmlns=\"urn:mounted\"/>");
+        assertThrows(IOException.class,
+            () -> child.writeTo(ImmutableNormalizedNodeStreamWriter.from(new NormalizedNodeResult()), MOUNT_CTX));
+    }
+
+    private static DOMSourceMountPointChild childOf(final String xml) throws Exception {
+        return new DOMSourceMountPointChild(new DOMSource(UntrustedXML.newDocumentBuilder()
+            .parse(new InputSource(new StringReader(xml))).getDocumentElement()));
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.xml;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Optional;
+import javax.xml.stream.XMLStreamReader;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.rcf8528.data.util.EmptyMountPointContext;
+import org.opendaylight.yangtools.rfc8528.data.api.MountPointContext;
+import org.opendaylight.yangtools.rfc8528.data.api.MountPointContextFactory;
+import org.opendaylight.yangtools.rfc8528.data.api.MountPointIdentifier;
+import org.opendaylight.yangtools.rfc8528.data.api.MountPointNode;
+import org.opendaylight.yangtools.util.xml.UntrustedXML;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableMountPointNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class MountPointParseTest {
+    private static final QName ROOT = QName.create("urn:parent", "root");
+    private static final QName AFTER = QName.create(ROOT, "after");
+    private static final QName MNT = QName.create(ROOT, "mnt");
+    private static final QName FIRST = QName.create("urn:mounted", "first");
+    private static final QName SECOND = QName.create(FIRST, "second");
+    private static final QName VALUE = QName.create(FIRST, "value");
+
+    private static EffectiveModelContext PARENT_CONTEXT;
+    private static EffectiveModelContext MOUNTED_CONTEXT;
+
+    @BeforeClass
+    public static void beforeClass() {
+        // IETF models come from rfc8528-parser-support tests
+        PARENT_CONTEXT = YangParserTestUtils.parseYangResources(MountPointParseTest.class,
+            "/mount-point/parent/parent.yang", "/ietf-yang-schema-mount@2019-01-14.yang",
+            "/ietf-yang-types@2013-07-15.yang", "/ietf-inet-types@2013-07-15.yang");
+        MOUNTED_CONTEXT = YangParserTestUtils.parseYangResourceDirectory("/mount-point/mounted");
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        PARENT_CONTEXT = null;
+        MOUNTED_CONTEXT = null;
+    }
+
+    @Test
+    public void testParseMountPointChildren() throws Exception {
+        final XMLStreamReader reader = UntrustedXML.createXMLStreamReader(
+            MountPointParseTest.class.getResourceAsStream("/mount-point/mount-point.xml"));
+
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        final MountPointContext mountCtx = new ParentMountPointContext();
+        try (XmlParserStream xmlParser = XmlParserStream.create(new ImmutableMountPointNormalizedNodeStreamWriter(
+                result) { }, mountCtx, PARENT_CONTEXT.findDataTreeChild(ROOT).get())) {
+            xmlParser.parse(reader);
+        }
+
+        assertThat(result.getResult(), instanceOf(ContainerNode.class));
+        final ContainerNode root = (ContainerNode) result.getResult();
+
+        // Content following the mounted elements has to be picked up as well
+        assertEquals(Optional.of("three"), root.getChild(new NodeIdentifier(AFTER)).map(DataContainerChild::getValue));
+
+        final Optional<DataContainerChild<?, ?>> mount = root.getChild(MountPointIdentifier.of(MNT));
+        assertTrue(mount.isPresent());
+        assertThat(mount.get(), instanceOf(MountPointNode.class));
+        final MountPointNode mountNode = (MountPointNode) mount.get();
+        assertEquals("one", mountedValue(mountNode, FIRST));
+        assertEquals("two", mountedValue(mountNode, SECOND));
+    }
+
+    private static Object mountedValue(final MountPointNode mount, final QName container) {
+        final DataContainerChild<?, ?> child = mount.getChild(new NodeIdentifier(container)).get();
+        assertThat(child, instanceOf(ContainerNode.class));
+        final DataContainerChild<?, ?> leaf = ((ContainerNode) child).getChild(new NodeIdentifier(VALUE)).get();
+        assertThat(leaf, instanceOf(LeafNode.class));
+        return leaf.getValue();
+    }
+
+    private static final class ParentMountPointContext implements MountPointContext {
+        @Override
+        public EffectiveModelContext getEffectiveModelContext() {
+            return PARENT_CONTEXT;
+        }
+
+        @Override
+        public Optional<MountPointContextFactory> findMountPoint(final MountPointIdentifier label) {
+            return MNT.equals(label.getLabel())
+                ? Optional.of((libraryContainers, schemaMounts) -> new EmptyMountPointContext(MOUNTED_CONTEXT))
+                    : Optional.empty();
+        }
+    }
+}
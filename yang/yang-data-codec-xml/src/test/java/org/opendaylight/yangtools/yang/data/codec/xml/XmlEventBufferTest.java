@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.dom.DOMSource;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.w3c.dom.Comment;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+public class XmlEventBufferTest {
+    private static final String XML = "<root xmlns=\"urn:foo\">"
+            + "<anydata xmlns:b=\"urn:bar\" attr=\"1\">"
+            + "<a>text &amp; more</a>"
+            + "<!-- comment -->"
+            + "<b:b b:battr=\"2\"><c/></b:b>"
+            + "</anydata>"
+            + "<next/>"
+            + "</root>";
+
+    @Test
+    public void testToDocument() throws Exception {
+        final XMLStreamReader reader = readerAtAnydata();
+        final XmlEventBuffer buffer = XmlEventBuffer.record(reader);
+
+        // Reader is left at the end of the recorded element
+        assertEquals(XMLStreamConstants.END_ELEMENT, reader.getEventType());
+        assertEquals("anydata", reader.getLocalName());
+        assertEquals(XMLStreamConstants.START_ELEMENT, reader.nextTag());
+        assertEquals("next", reader.getLocalName());
+
+        final Element element = buffer.toDocument().getDocumentElement();
+        assertEquals("urn:foo", element.getNamespaceURI());
+        assertEquals("anydata", element.getLocalName());
+        assertEquals("1", element.getAttribute("attr"));
+        assertEquals("urn:bar", element.getAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, "b"));
+
+        final NodeList children = element.getChildNodes();
+        assertEquals(3, children.getLength());
+        final Element first = (Element) children.item(0);
+        assertEquals("urn:foo", first.getNamespaceURI());
+        assertEquals("a", first.getLocalName());
+        assertEquals(1, first.getChildNodes().getLength());
+        assertEquals("text & more", first.getTextContent());
+        assertEquals(" comment ", ((Comment) children.item(1)).getData());
+
+        final Element third = (Element) children.item(2);
+        assertEquals("urn:bar", third.getNamespaceURI());
+        assertEquals("b:b", third.getTagName());
+        assertEquals("2", third.getAttributeNS("urn:bar", "battr"));
+        assertEquals("urn:foo", third.getFirstChild().getNamespaceURI());
+    }
+
+    @Test
+    public void testWriteAnydataContent() throws Exception {
+        final XmlEventBuffer buffer = XmlEventBuffer.record(readerAtAnydata());
+
+        final StringWriter out = new StringWriter();
+        final XMLStreamWriter writer = XMLOutputFactory.newFactory().createXMLStreamWriter(out);
+        writer.writeStartElement("", "anydata", "urn:foo");
+        writer.writeDefaultNamespace("urn:foo");
+        buffer.writeAnydataContent(writer);
+        writer.writeEndElement();
+        writer.close();
+
+        assertEquals("<anydata xmlns=\"urn:foo\" xmlns:b=\"urn:bar\">"
+            + "<a>text &amp; more</a>"
+            + "<b:b b:battr=\"2\"><c></c></b:b>"
+            + "</anydata>", out.toString());
+    }
+
+    @Test
+    public void testWriteAnyxmlContent() throws Exception {
+        final String xml = "<root xmlns=\"urn:foo\">"
+                + "<anyxml xmlns:b=\"urn:bar\" attr=\"1\" b:battr=\"2\">"
+                + "<a>text &amp; <![CDATA[x < y]]></a>"
+                + "<!-- comment --><?target data?>"
+                + "<b:b b:battr=\"3\"><c/></b:b>"
+                + "</anyxml>"
+                + "</root>";
+        final XMLStreamReader reader = XMLInputFactory.newFactory().createXMLStreamReader(new StringReader(xml));
+        reader.nextTag();
+        reader.nextTag();
+        final XmlEventBuffer buffer = XmlEventBuffer.record(reader);
+
+        // Writing recorded events directly has to produce the same output as going through a DOM tree
+        final StringWriter direct = new StringWriter();
+        final StreamWriterFacade directFacade = startAnyxml(direct);
+        directFacade.anyxmlWriteEventBuffer(buffer);
+        endAnyxml(directFacade);
+
+        final StringWriter viaDom = new StringWriter();
+        final StreamWriterFacade viaDomFacade = startAnyxml(viaDom);
+        viaDomFacade.anyxmlWriteStreamReader(new DOMSourceXMLStreamReader(
+            new DOMSource(buffer.toDocument().getDocumentElement())));
+        endAnyxml(viaDomFacade);
+
+        assertEquals(viaDom.toString(), direct.toString());
+    }
+
+    @Test
+    public void testLazyDOMSource() throws Exception {
+        final XmlEventBuffer buffer = XmlEventBuffer.record(readerAtAnydata());
+        final LazyDOMSource source = new LazyDOMSource(buffer);
+        assertSame(buffer, source.getBuffer());
+
+        // Building the tree discards recorded events, as the tree may be modified
+        final Node node = source.getNode();
+        assertNull(source.getBuffer());
+        assertSame(node, source.getNode());
+        assertEquals("anydata", node.getLocalName());
+        assertEquals(3, node.getChildNodes().getLength());
+
+        final LazyDOMSource replaced = new LazyDOMSource(buffer);
+        replaced.setNode(node);
+        assertNull(replaced.getBuffer());
+        assertSame(node, replaced.getNode());
+    }
+
+    @Test
+    public void testNotAtElement() throws Exception {
+        final XMLStreamReader reader = XMLInputFactory.newFactory().createXMLStreamReader(new StringReader(XML));
+        assertThrows(IllegalStateException.class, () -> XmlEventBuffer.record(reader));
+    }
+
+    private static StreamWriterFacade startAnyxml(final StringWriter out) throws XMLStreamException {
+        final StreamWriterFacade facade = new StreamWriterFacade(
+            XMLOutputFactory.newFactory().createXMLStreamWriter(out));
+        facade.writeStartElement(QName.create("urn:foo", "anyxml"));
+        return facade;
+    }
+
+    private static void endAnyxml(final StreamWriterFacade facade) throws XMLStreamException {
+        facade.writeEndElement();
+        facade.close();
+    }
+
+    private static XMLStreamReader readerAtAnydata() throws XMLStreamException {
+        final XMLStreamReader reader = XMLInputFactory.newFactory().createXMLStreamReader(new StringReader(XML));
+        reader.nextTag();
+        reader.nextTag();
+        return reader;
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.concepts.Immutable;
+
+/**
+ * An immutable set of Unicode code points, stored as a sorted array of non-overlapping, non-adjacent inclusive ranges.
+ */
+final class CodePointSet implements Immutable {
+    static final @NonNull CodePointSet EMPTY = new CodePointSet(new int[0]);
+    static final @NonNull CodePointSet ALL = range(Character.MIN_CODE_POINT, Character.MAX_CODE_POINT);
+
+    // Pairs of inclusive [low, high] bounds
+    private final int[] ranges;
+
+    private CodePointSet(final int[] ranges) {
+        this.ranges = ranges;
+    }
+
+    static @NonNull CodePointSet of(final int codePoint) {
+        return range(codePoint, codePoint);
+    }
+
+    static @NonNull CodePointSet range(final int low, final int high) {
+        checkArgument(low <= high, "Invalid range %s-%s", low, high);
+        return new CodePointSet(new int[] { low, high });
+    }
+
+    /**
+     * Compute the set of code points matched by a Java regular expression matching a single code point, such as
+     * a character class or a Unicode property. This is done by evaluating the expression against every code point,
+     * hence it should be used only for constructs which cannot be interpreted directly.
+     *
+     * @param regex Regular expression
+     * @return Set of matching code points
+     * @throws java.util.regex.PatternSyntaxException if the expression is not valid
+     */
+    static @NonNull CodePointSet evaluate(final String regex) {
+        final Matcher matcher = Pattern.compile(regex).matcher("");
+        final StringBuilder sb = new StringBuilder(2);
+        final Builder builder = new Builder();
+        for (int cp = Character.MIN_CODE_POINT; cp <= Character.MAX_CODE_POINT; ++cp) {
+            sb.setLength(0);
+            if (matcher.reset(sb.appendCodePoint(cp)).matches()) {
+                builder.add(cp, cp);
+            }
+        }
+        return builder.build();
+    }
+
+    boolean isEmpty() {
+        return ranges.length == 0;
+    }
+
+    boolean contains(final int codePoint) {
+        // Find the last range starting at or before the code point
+        int low = 0;
+        int high = ranges.length / 2 - 1;
+        while (low <= high) {
+            final int mid = low + high >>> 1;
+            if (ranges[mid * 2] <= codePoint) {
+                if (codePoint <= ranges[mid * 2 + 1]) {
+                    return true;
+                }
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return false;
+    }
+
+    @NonNull CodePointSet union(final CodePointSet other) {
+        if (other.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return other;
+        }
+
+        final int[] merged = Arrays.copyOf(ranges, ranges.length + other.ranges.length);
+        System.arraycopy(other.ranges, 0, merged, ranges.length, other.ranges.length);
+        final Builder builder = new Builder();
+        for (int i = 0; i < merged.length; i += 2) {
+            builder.add(merged[i], merged[i + 1]);
+        }
+        return builder.build();
+    }
+
+    @NonNull CodePointSet complement() {
+        final Builder builder = new Builder();
+        int next = Character.MIN_CODE_POINT;
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (ranges[i] > next) {
+                builder.add(next, ranges[i] - 1);
+            }
+            next = ranges[i + 1] + 1;
+        }
+        if (next <= Character.MAX_CODE_POINT) {
+            builder.add(next, Character.MAX_CODE_POINT);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Add the boundaries of this set to an accumulator. A boundary is a code point at which membership changes, i.e.
+     * the start of a range or the code point following its end.
+     *
+     * @param acc Accumulator
+     */
+    void addBoundaries(final IntAccumulator acc) {
+        for (int i = 0; i < ranges.length; i += 2) {
+            acc.add(ranges[i]);
+            acc.add(ranges[i + 1] + 1);
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(ranges);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        return this == obj || obj instanceof CodePointSet && Arrays.equals(ranges, ((CodePointSet) obj).ranges);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < ranges.length; i += 2) {
+            sb.append(Integer.toHexString(ranges[i]));
+            if (ranges[i] != ranges[i + 1]) {
+                sb.append('-').append(Integer.toHexString(ranges[i + 1]));
+            }
+            sb.append(' ');
+        }
+        if (sb.length() > 1) {
+            sb.setLength(sb.length() - 1);
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * A growable array of ints.
+     */
+    static final class IntAccumulator {
+        private int[] values = new int[16];
+        private int size;
+
+        void add(final int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+
+        /**
+         * Return the accumulated values, sorted and without duplicates.
+         *
+         * @return Sorted distinct values
+         */
+        int[] toSortedDistinct() {
+            final int[] sorted = toArray();
+            Arrays.sort(sorted);
+            int distinct = 0;
+            for (int i = 0; i < sorted.length; ++i) {
+                if (distinct == 0 || sorted[distinct - 1] != sorted[i]) {
+                    sorted[distinct++] = sorted[i];
+                }
+            }
+            return Arrays.copyOf(sorted, distinct);
+        }
+    }
+
+    /**
+     * Builder of a {@link CodePointSet}. Ranges can be added in any order and may overlap.
+     */
+    static final class Builder {
+        private final IntAccumulator acc = new IntAccumulator();
+        private int lastLow = -1;
+        private int lastHigh = -2;
+        private boolean sorted = true;
+
+        Builder add(final int low, final int high) {
+            checkArgument(low <= high, "Invalid range %s-%s", low, high);
+            // Fast path for ordered additions, coalescing adjacent ranges
+            if (sorted && low >= lastLow) {
+                if (low <= lastHigh + 1) {
+                    lastHigh = Math.max(lastHigh, high);
+                    return this;
+                }
+            } else {
+                sorted = false;
+            }
+            flush();
+            lastLow = low;
+            lastHigh = high;
+            return this;
+        }
+
+        Builder add(final CodePointSet set) {
+            for (int i = 0; i < set.ranges.length; i += 2) {
+                add(set.ranges[i], set.ranges[i + 1]);
+            }
+            return this;
+        }
+
+        @NonNull CodePointSet build() {
+            flush();
+            lastLow = -1;
+            lastHigh = -2;
+
+            final int[] raw = acc.values;
+            final int size = acc.size;
+            if (size == 0) {
+                return EMPTY;
+            }
+            if (sorted) {
+                return new CodePointSet(Arrays.copyOf(raw, size));
+            }
+
+            // Sort ranges by their low bound, then coalesce
+            final long[] packed = new long[size / 2];
+            for (int i = 0; i < packed.length; ++i) {
+                packed[i] = (long) raw[i * 2] << 32 | raw[i * 2 + 1];
+            }
+            Arrays.sort(packed);
+
+            final IntAccumulator result = new IntAccumulator();
+            int low = (int) (packed[0] >>> 32);
+            int high = (int) packed[0];
+            for (int i = 1; i < packed.length; ++i) {
+                final int nextLow = (int) (packed[i] >>> 32);
+                final int nextHigh = (int) packed[i];
+                if (nextLow <= high + 1) {
+                    high = Math.max(high, nextHigh);
+                } else {
+                    result.add(low);
+                    result.add(high);
+                    low = nextLow;
+                    high = nextHigh;
+                }
+            }
+            result.add(low);
+            result.add(high);
+            return new CodePointSet(Arrays.copyOf(result.values, result.size));
+        }
+
+        private void flush() {
+            if (lastLow >= 0) {
+                acc.add(lastLow);
+                acc.add(lastHigh);
+            }
+        }
+    }
+}
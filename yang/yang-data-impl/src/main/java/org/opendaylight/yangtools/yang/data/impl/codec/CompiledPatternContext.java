@@ -40,11 +40,23 @@ final class CompiledPatternContext {
         }
     }
 
+    String getJavaPatternString() {
+        return pattern.pattern();
+    }
+
+    boolean isInverted() {
+        return invert;
+    }
+
     void validate(final String str) {
         if (pattern.matcher(str).matches() == invert) {
-            throw new YangInvalidValueException(ErrorType.PROTOCOL, constraint,
-                "Value '" + str + "' " + (invert ? "matches" : "does not match") + " regular expression '"
-                        + constraint.getRegularExpressionString() + "'");
+            throw newMismatchException(str);
         }
     }
+
+    YangInvalidValueException newMismatchException(final String str) {
+        return new YangInvalidValueException(ErrorType.PROTOCOL, constraint,
+            "Value '" + str + "' " + (invert ? "matches" : "does not match") + " regular expression '"
+                    + constraint.getRegularExpressionString() + "'");
+    }
 }
@@ -0,0 +1,336 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec;
+
+import static com.google.common.base.Verify.verifyNotNull;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.common.Uint16;
+import org.opendaylight.yangtools.yang.common.Uint32;
+import org.opendaylight.yangtools.yang.common.Uint64;
+import org.opendaylight.yangtools.yang.common.Uint8;
+import org.opendaylight.yangtools.yang.model.api.ActionDefinition;
+import org.opendaylight.yangtools.yang.model.api.ActionNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.CaseSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
+import org.opendaylight.yangtools.yang.model.api.NotificationNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.OperationDefinition;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.TypedDataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.type.BinaryTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.BitsTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.BooleanTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.DecimalTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.EmptyTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.EnumTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.Int16TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.Int32TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.Int64TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.Int8TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.StringTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.Uint16TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.Uint32TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.Uint64TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.Uint8TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.UnionTypeDefinition;
+
+/**
+ * A registry of compiled {@link TypeDefinitionAwareCodec}s, shared by all users of a particular {@link SchemaContext}.
+ * Codecs are keyed by {@link TypeDefinition} identity and are compiled at most once per context, hence expensive
+ * preparation, such as compiling patterns or building enumeration and bits lookup tables, is shared by all codec
+ * factories bound to that context, including short-lived per-request ones.
+ *
+ * <p>
+ * Instances are acquired via {@link #forContext(SchemaContext)} and are retained only as long as the corresponding
+ * SchemaContext is reachable. They can optionally be populated ahead of time via
+ * {@link #precompute(SchemaContext, PatternEngine, Executor)}. This class is thread-safe.
+ */
+@Beta
+public final class CompiledTypeCodecs {
+    // Weak keys to retire the entry when SchemaContext goes away and to force identity-based lookup
+    private static final ImmutableMap<PatternEngine, LoadingCache<SchemaContext, CompiledTypeCodecs>> INSTANCES;
+
+    static {
+        final Map<PatternEngine, LoadingCache<SchemaContext, CompiledTypeCodecs>> map =
+                new EnumMap<>(PatternEngine.class);
+        for (PatternEngine engine : PatternEngine.values()) {
+            map.put(engine, CacheBuilder.newBuilder().weakKeys().build(new CacheLoader<>() {
+                @Override
+                public CompiledTypeCodecs load(final SchemaContext key) {
+                    return new CompiledTypeCodecs(engine);
+                }
+            }));
+        }
+        INSTANCES = Maps.immutableEnumMap(map);
+    }
+
+    // Note: values must not reference the SchemaContext, as that would prevent it from being retired. Weak keys are
+    //       compared by identity, which is both cheaper than TypeDefinition.equals() and does not merge distinct types.
+    //       Type definitions are strongly reachable from the SchemaContext, hence entries are not evicted prematurely.
+    private final ConcurrentMap<TypeDefinition<?>, TypeDefinitionAwareCodec<?, ?>> codecs =
+            CacheBuilder.newBuilder().weakKeys().<TypeDefinition<?>, TypeDefinitionAwareCodec<?, ?>>build().asMap();
+    private final @NonNull PatternEngine patternEngine;
+
+    private CompiledTypeCodecs(final PatternEngine patternEngine) {
+        this.patternEngine = requireNonNull(patternEngine);
+    }
+
+    /**
+     * Return the registry associated with a SchemaContext, using {@link PatternEngine#REGEX} to enforce string
+     * patterns.
+     *
+     * @param context SchemaContext instance
+     * @return A shared registry
+     * @throws NullPointerException if context is null
+     */
+    public static @NonNull CompiledTypeCodecs forContext(final SchemaContext context) {
+        return forContext(context, PatternEngine.REGEX);
+    }
+
+    /**
+     * Return the registry associated with a SchemaContext, using specified engine to enforce string patterns.
+     *
+     * @param context SchemaContext instance
+     * @param patternEngine Pattern engine to use
+     * @return A shared registry
+     * @throws NullPointerException if any argument is null
+     */
+    public static @NonNull CompiledTypeCodecs forContext(final SchemaContext context,
+            final PatternEngine patternEngine) {
+        return verifyNotNull(INSTANCES.get(requireNonNull(patternEngine)).getUnchecked(requireNonNull(context)));
+    }
+
+    /**
+     * Compile codecs for all types used in a SchemaContext, spreading the work across an executor. This is useful
+     * when installing a new context, so that codec factories subsequently bound to it do not need to compile any
+     * types on first use.
+     *
+     * @param context SchemaContext instance
+     * @param patternEngine Pattern engine to use
+     * @param executor Executor on which to compile codecs
+     * @return A future completing with the populated registry
+     * @throws NullPointerException if any argument is null
+     */
+    public static @NonNull CompletableFuture<CompiledTypeCodecs> precompute(final SchemaContext context,
+            final PatternEngine patternEngine, final Executor executor) {
+        requireNonNull(executor);
+        final CompiledTypeCodecs codecs = forContext(context, patternEngine);
+        final Set<TypeDefinition<?>> types = Sets.newIdentityHashSet();
+        collectTypes(types, context);
+        for (OperationDefinition operation : context.getOperations()) {
+            collectTypes(types, operation);
+        }
+        for (Module module : context.getModules()) {
+            types.addAll(module.getTypeDefinitions());
+        }
+
+        final List<CompletableFuture<?>> futures = new ArrayList<>(types.size());
+        for (TypeDefinition<?> type : types) {
+            futures.add(CompletableFuture.runAsync(() -> codecs.codecFor(type), executor));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> codecs);
+    }
+
+    /**
+     * Return the engine used to enforce string patterns.
+     *
+     * @return Pattern engine
+     */
+    public @NonNull PatternEngine getPatternEngine() {
+        return patternEngine;
+    }
+
+    /**
+     * Return the codec for a type definition. This method is the cached equivalent of
+     * {@link TypeDefinitionAwareCodec#fromType(TypeDefinition)}.
+     *
+     * @param type Type definition
+     * @return A codec, or null if the type does not have a codec
+     */
+    public @Nullable TypeDefinitionAwareCodec<?, ?> codecFor(final TypeDefinition<?> type) {
+        if (type instanceof StringTypeDefinition) {
+            return stringCodec((StringTypeDefinition) type);
+        } else if (type instanceof Int8TypeDefinition) {
+            return int8Codec((Int8TypeDefinition) type);
+        } else if (type instanceof Int16TypeDefinition) {
+            return int16Codec((Int16TypeDefinition) type);
+        } else if (type instanceof Int32TypeDefinition) {
+            return int32Codec((Int32TypeDefinition) type);
+        } else if (type instanceof Int64TypeDefinition) {
+            return int64Codec((Int64TypeDefinition) type);
+        } else if (type instanceof Uint8TypeDefinition) {
+            return uint8Codec((Uint8TypeDefinition) type);
+        } else if (type instanceof Uint16TypeDefinition) {
+            return uint16Codec((Uint16TypeDefinition) type);
+        } else if (type instanceof Uint32TypeDefinition) {
+            return uint32Codec((Uint32TypeDefinition) type);
+        } else if (type instanceof Uint64TypeDefinition) {
+            return uint64Codec((Uint64TypeDefinition) type);
+        } else if (type instanceof BooleanTypeDefinition) {
+            return booleanCodec((BooleanTypeDefinition) type);
+        } else if (type instanceof DecimalTypeDefinition) {
+            return decimalCodec((DecimalTypeDefinition) type);
+        } else if (type instanceof EnumTypeDefinition) {
+            return enumCodec((EnumTypeDefinition) type);
+        } else if (type instanceof BitsTypeDefinition) {
+            return bitsCodec((BitsTypeDefinition) type);
+        } else if (type instanceof BinaryTypeDefinition) {
+            return binaryCodec((BinaryTypeDefinition) type);
+        } else if (type instanceof UnionTypeDefinition) {
+            return unionCodec((UnionTypeDefinition) type);
+        } else if (type instanceof EmptyTypeDefinition) {
+            return EmptyStringCodec.INSTANCE;
+        } else {
+            return null;
+        }
+    }
+
+    public @NonNull BinaryStringCodec binaryCodec(final BinaryTypeDefinition type) {
+        return lookup(type, BinaryStringCodec::from);
+    }
+
+    public @NonNull BitsStringCodec bitsCodec(final BitsTypeDefinition type) {
+        return lookup(type, BitsStringCodec::from);
+    }
+
+    public @NonNull BooleanStringCodec booleanCodec(final BooleanTypeDefinition type) {
+        return lookup(type, BooleanStringCodec::from);
+    }
+
+    public @NonNull DecimalStringCodec decimalCodec(final DecimalTypeDefinition type) {
+        return lookup(type, DecimalStringCodec::from);
+    }
+
+    public @NonNull EnumStringCodec enumCodec(final EnumTypeDefinition type) {
+        return lookup(type, EnumStringCodec::from);
+    }
+
+    public @NonNull StringStringCodec stringCodec(final StringTypeDefinition type) {
+        return lookup(type, this::newStringCodec);
+    }
+
+    public @NonNull AbstractIntegerStringCodec<Byte, Int8TypeDefinition> int8Codec(final Int8TypeDefinition type) {
+        return lookup(type, AbstractIntegerStringCodec::from);
+    }
+
+    public @NonNull AbstractIntegerStringCodec<Short, Int16TypeDefinition> int16Codec(
+            final Int16TypeDefinition type) {
+        return lookup(type, AbstractIntegerStringCodec::from);
+    }
+
+    public @NonNull AbstractIntegerStringCodec<Integer, Int32TypeDefinition> int32Codec(
+            final Int32TypeDefinition type) {
+        return lookup(type, AbstractIntegerStringCodec::from);
+    }
+
+    public @NonNull AbstractIntegerStringCodec<Long, Int64TypeDefinition> int64Codec(
+            final Int64TypeDefinition type) {
+        return lookup(type, AbstractIntegerStringCodec::from);
+    }
+
+    public @NonNull AbstractIntegerStringCodec<Uint8, Uint8TypeDefinition> uint8Codec(
+            final Uint8TypeDefinition type) {
+        return lookup(type, AbstractIntegerStringCodec::from);
+    }
+
+    public @NonNull AbstractIntegerStringCodec<Uint16, Uint16TypeDefinition> uint16Codec(
+            final Uint16TypeDefinition type) {
+        return lookup(type, AbstractIntegerStringCodec::from);
+    }
+
+    public @NonNull AbstractIntegerStringCodec<Uint32, Uint32TypeDefinition> uint32Codec(
+            final Uint32TypeDefinition type) {
+        return lookup(type, AbstractIntegerStringCodec::from);
+    }
+
+    public @NonNull AbstractIntegerStringCodec<Uint64, Uint64TypeDefinition> uint64Codec(
+            final Uint64TypeDefinition type) {
+        return lookup(type, AbstractIntegerStringCodec::from);
+    }
+
+    public @NonNull TypeDefinitionAwareCodec<?, UnionTypeDefinition> unionCodec(final UnionTypeDefinition type) {
+        return lookup(type, union -> new UnionStringCodec(union, this::codecFor));
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("engine", patternEngine).add("codecs", codecs.size()).toString();
+    }
+
+    private @NonNull StringStringCodec newStringCodec(final StringTypeDefinition type) {
+        return StringStringCodec.from(type, patternEngine);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends TypeDefinition<?>, C extends TypeDefinitionAwareCodec<?, ?>> @NonNull C lookup(final T type,
+            final Function<T, C> factory) {
+        final TypeDefinitionAwareCodec<?, ?> existing = codecs.get(type);
+        if (existing != null) {
+            return (C) existing;
+        }
+
+        final C created = verifyNotNull(factory.apply(type));
+        final TypeDefinitionAwareCodec<?, ?> raced = codecs.putIfAbsent(type, created);
+        return raced == null ? created : (C) raced;
+    }
+
+    private static void collectTypes(final Set<TypeDefinition<?>> types, final OperationDefinition operation) {
+        types.addAll(operation.getTypeDefinitions());
+        collectTypes(types, operation.getInput());
+        collectTypes(types, operation.getOutput());
+    }
+
+    private static void collectTypes(final Set<TypeDefinition<?>> types, final DataNodeContainer container) {
+        types.addAll(container.getTypeDefinitions());
+        for (DataSchemaNode child : container.getChildNodes()) {
+            if (child instanceof TypedDataSchemaNode) {
+                types.add(((TypedDataSchemaNode) child).getType());
+            } else if (child instanceof DataNodeContainer) {
+                collectTypes(types, (DataNodeContainer) child);
+            } else if (child instanceof ChoiceSchemaNode) {
+                for (CaseSchemaNode caseNode : ((ChoiceSchemaNode) child).getCases()) {
+                    collectTypes(types, caseNode);
+                }
+            }
+        }
+        if (container instanceof ActionNodeContainer) {
+            for (ActionDefinition action : ((ActionNodeContainer) container).getActions()) {
+                collectTypes(types, action);
+            }
+        }
+        if (container instanceof NotificationNodeContainer) {
+            for (NotificationDefinition notification : ((NotificationNodeContainer) container).getNotifications()) {
+                collectTypes(types, notification);
+            }
+        }
+    }
+}
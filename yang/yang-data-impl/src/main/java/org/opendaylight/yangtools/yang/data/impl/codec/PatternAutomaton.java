@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.base.MoreObjects;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.concepts.Immutable;
+import org.opendaylight.yangtools.yang.data.impl.codec.CodePointSet.IntAccumulator;
+
+/**
+ * A deterministic finite automaton matching a string against a number of regular expressions at once. Matching runs
+ * in time linear to the length of the input, without any allocation, and yields the set of expressions which match
+ * the entire input.
+ *
+ * <p>
+ * The automaton operates on equivalence classes of code points: two code points belong to the same class if they are
+ * not distinguished by any of the expressions. Transitions are kept in a flat table indexed by state and class.
+ */
+final class PatternAutomaton implements Immutable {
+    static final int MAX_PATTERNS = Long.SIZE;
+
+    private static final int MAX_STATES = 16384;
+    private static final int ASCII_SIZE = 128;
+    private static final int DEAD_STATE = 0;
+
+    // Class of each ASCII code point
+    private final byte[] asciiClasses;
+    // Starting code points of non-ASCII intervals and their classes
+    private final int[] intervalStarts;
+    private final int[] intervalClasses;
+    private final int classCount;
+    // Transitions, indexed by state * classCount + class
+    private final int[] transitions;
+    // Matched patterns for each state
+    private final long[] acceptMasks;
+    private final int startState;
+
+    private PatternAutomaton(final byte[] asciiClasses, final int[] intervalStarts, final int[] intervalClasses,
+            final int classCount, final int[] transitions, final long[] acceptMasks, final int startState) {
+        this.asciiClasses = asciiClasses;
+        this.intervalStarts = intervalStarts;
+        this.intervalClasses = intervalClasses;
+        this.classCount = classCount;
+        this.transitions = transitions;
+        this.acceptMasks = acceptMasks;
+        this.startState = startState;
+    }
+
+    /**
+     * Compile a set of Java regular expressions into an automaton.
+     *
+     * @param javaPatterns Java regular expressions
+     * @return A new automaton
+     * @throws IllegalArgumentException if there are too many patterns, some of them use constructs which are not
+     *                                  supported, or the resulting automaton would be too large
+     */
+    static @NonNull PatternAutomaton compile(final List<String> javaPatterns) {
+        checkArgument(javaPatterns.size() <= MAX_PATTERNS, "Too many patterns %s", javaPatterns.size());
+        final PatternNfa nfa = new PatternNfa();
+        for (String pattern : javaPatterns) {
+            nfa.addPattern(pattern);
+        }
+        return new Compiler(nfa).compile();
+    }
+
+    /**
+     * Match a string against all patterns.
+     *
+     * @param str String to match
+     * @return Bit mask of matching patterns, bit {@code n} being set indicating the {@code n}-th pattern matches
+     */
+    long match(final String str) {
+        int state = startState;
+        final int length = str.length();
+        int offset = 0;
+        while (offset < length) {
+            final char ch = str.charAt(offset);
+            final int cls;
+            if (ch < ASCII_SIZE) {
+                cls = asciiClasses[ch];
+                offset++;
+            } else {
+                final int cp = str.codePointAt(offset);
+                cls = classOf(cp);
+                offset += Character.charCount(cp);
+            }
+
+            state = transitions[state * classCount + cls];
+            if (state == DEAD_STATE) {
+                return 0;
+            }
+        }
+        return acceptMasks[state];
+    }
+
+    int stateCount() {
+        return acceptMasks.length;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("states", acceptMasks.length).add("classes", classCount)
+                .toString();
+    }
+
+    private int classOf(final int codePoint) {
+        int idx = Arrays.binarySearch(intervalStarts, codePoint);
+        if (idx < 0) {
+            // Insertion point is the following interval
+            idx = -idx - 2;
+        }
+        return intervalClasses[idx];
+    }
+
+    private static final class Compiler {
+        private final Map<BitSet, Integer> stateIds = new HashMap<>();
+        private final List<BitSet> states = new ArrayList<>();
+        private final PatternNfa nfa;
+
+        // For each NFA state, the classes on which its edges can be taken
+        private final BitSet[][] edgeClasses;
+        private byte[] asciiClasses;
+        private int[] intervalStarts;
+        private int[] intervalClasses;
+        private int classCount;
+
+        Compiler(final PatternNfa nfa) {
+            this.nfa = nfa;
+            edgeClasses = new BitSet[nfa.stateCount()][];
+        }
+
+        PatternAutomaton compile() {
+            computeClasses();
+
+            // Dead state is always present and always first
+            addState(new BitSet());
+
+            final BitSet start = new BitSet();
+            for (int i = 0; i < nfa.patternCount(); ++i) {
+                start.set(nfa.startState(i));
+            }
+            final int startState = addState(closure(start));
+
+            final IntAccumulator transitions = new IntAccumulator();
+            for (int state = 0; state < states.size(); ++state) {
+                final BitSet current = states.get(state);
+                for (int cls = 0; cls < classCount; ++cls) {
+                    final BitSet next = new BitSet();
+                    for (int nfaState = current.nextSetBit(0); nfaState >= 0;
+                            nfaState = current.nextSetBit(nfaState + 1)) {
+                        final int[] targets = nfa.edgeTargets(nfaState);
+                        final BitSet[] classes = edgeClasses[nfaState];
+                        for (int i = 0; i < targets.length; ++i) {
+                            if (classes[i].get(cls)) {
+                                next.set(targets[i]);
+                            }
+                        }
+                    }
+                    transitions.add(addState(closure(next)));
+                }
+            }
+
+            final long[] acceptMasks = new long[states.size()];
+            for (int state = 0; state < acceptMasks.length; ++state) {
+                final BitSet current = states.get(state);
+                long mask = 0;
+                for (int i = 0; i < nfa.patternCount(); ++i) {
+                    if (current.get(nfa.acceptState(i))) {
+                        mask |= 1L << i;
+                    }
+                }
+                acceptMasks[state] = mask;
+            }
+
+            return new PatternAutomaton(asciiClasses, intervalStarts, intervalClasses, classCount,
+                transitions.toArray(), acceptMasks, startState);
+        }
+
+        /**
+         * Partition code points into classes, such that members of a class cannot be distinguished by any edge.
+         */
+        private void computeClasses() {
+            // Assign an index to each distinct set
+            final Map<CodePointSet, Integer> setIds = new LinkedHashMap<>();
+            final IntAccumulator boundaries = new IntAccumulator();
+            boundaries.add(Character.MIN_CODE_POINT);
+            boundaries.add(ASCII_SIZE);
+            for (int state = 0; state < nfa.stateCount(); ++state) {
+                for (CodePointSet set : nfa.edgeSets(state)) {
+                    if (setIds.putIfAbsent(set, setIds.size()) == null) {
+                        set.addBoundaries(boundaries);
+                    }
+                }
+            }
+            final CodePointSet[] sets = setIds.keySet().toArray(new CodePointSet[0]);
+
+            // Elementary intervals between boundaries, each identified by the sets it belongs to
+            final int[] starts = Arrays.stream(boundaries.toSortedDistinct())
+                    .filter(cp -> cp <= Character.MAX_CODE_POINT).toArray();
+            final int[] classes = new int[starts.length];
+            final Map<BitSet, Integer> signatures = new HashMap<>();
+            final List<BitSet> classSignatures = new ArrayList<>();
+            for (int i = 0; i < starts.length; ++i) {
+                final BitSet signature = new BitSet(sets.length);
+                for (int j = 0; j < sets.length; ++j) {
+                    if (sets[j].contains(starts[i])) {
+                        signature.set(j);
+                    }
+                }
+                Integer cls = signatures.get(signature);
+                if (cls == null) {
+                    cls = classSignatures.size();
+                    signatures.put(signature, cls);
+                    classSignatures.add(signature);
+                }
+                classes[i] = cls;
+            }
+            classCount = classSignatures.size();
+            checkArgument(classCount <= Byte.MAX_VALUE + 1, "Too many character classes %s", classCount);
+
+            // ASCII lookup table
+            asciiClasses = new byte[ASCII_SIZE];
+            int interval = 0;
+            for (int cp = 0; cp < ASCII_SIZE; ++cp) {
+                while (interval + 1 < starts.length && starts[interval + 1] <= cp) {
+                    interval++;
+                }
+                asciiClasses[cp] = (byte) classes[interval];
+            }
+            intervalStarts = starts;
+            intervalClasses = classes;
+
+            // Classes on which each edge can be taken
+            for (int state = 0; state < nfa.stateCount(); ++state) {
+                final CodePointSet[] edgeSets = nfa.edgeSets(state);
+                final BitSet[] edges = new BitSet[edgeSets.length];
+                for (int i = 0; i < edgeSets.length; ++i) {
+                    final int setId = setIds.get(edgeSets[i]);
+                    final BitSet edge = new BitSet(classCount);
+                    for (int cls = 0; cls < classCount; ++cls) {
+                        if (classSignatures.get(cls).get(setId)) {
+                            edge.set(cls);
+                        }
+                    }
+                    edges[i] = edge;
+                }
+                edgeClasses[state] = edges;
+            }
+        }
+
+        private BitSet closure(final BitSet set) {
+            final BitSet result = (BitSet) set.clone();
+            final Deque<Integer> work = new ArrayDeque<>();
+            set.stream().forEach(work::push);
+            while (!work.isEmpty()) {
+                for (int target : nfa.epsilonTargets(work.pop())) {
+                    if (!result.get(target)) {
+                        result.set(target);
+                        work.push(target);
+                    }
+                }
+            }
+            return result;
+        }
+
+        private int addState(final BitSet set) {
+            final Integer existing = stateIds.get(set);
+            if (existing != null) {
+                return existing;
+            }
+            final int id = states.size();
+            checkArgument(id < MAX_STATES, "Automaton exceeds %s states", MAX_STATES);
+            states.add(set);
+            stateIds.put(set, id);
+            return id;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * Engine used to enforce {@code pattern} restrictions of {@code string} types.
+ */
+@Beta
+public enum PatternEngine {
+    /**
+     * Each pattern is matched separately via {@link java.util.regex.Pattern}. This is the default.
+     */
+    REGEX,
+    /**
+     * All patterns of a type are compiled into a single deterministic finite automaton, which matches in linear time
+     * without allocating any objects. This makes validation of large volumes of data faster, at the cost of memory
+     * and time needed to construct the automaton. Types whose patterns cannot be expressed as an automaton, or whose
+     * automaton would be too large, fall back to {@link #REGEX}.
+     */
+    DFA;
+}
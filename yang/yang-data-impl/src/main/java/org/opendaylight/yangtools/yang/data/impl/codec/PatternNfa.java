@@ -0,0 +1,681 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * A Thompson-style non-deterministic finite automaton, built from one or more Java regular expressions, as produced
+ * by {@link org.opendaylight.yangtools.yang.model.util.RegexUtils}. Each expression is expected to match the entire
+ * input, as if matched via {@link java.util.regex.Matcher#matches()}.
+ *
+ * <p>
+ * Only the regular subset of Java regular expressions is supported: literals, escapes, character classes, groups,
+ * alternation and quantifiers. Constructs which cannot be expressed in a finite automaton, like back-references and
+ * look-around, as well as those which are not produced from XSD regular expressions, like flags or quotations, cause
+ * an {@link IllegalArgumentException} to be thrown.
+ */
+final class PatternNfa {
+    private static final int MAX_STATES = 65536;
+
+    private static final CodePointSet DIGIT = CodePointSet.range('0', '9');
+    private static final CodePointSet WORD = new CodePointSet.Builder().add('0', '9').add('A', 'Z').add('_', '_')
+            .add('a', 'z').build();
+    private static final CodePointSet SPACE = new CodePointSet.Builder().add('\t', '\r').add(' ', ' ').build();
+    private static final CodePointSet DOT = new CodePointSet.Builder().add('\n', '\n').add('\r', '\r')
+            .add('\u0085', '\u0085').add('\u2028', '\u2029').build().complement();
+
+    // Character classes and properties which are not interpreted directly, evaluated through java.util.regex
+    private static final LoadingCache<String, CodePointSet> EVALUATED = CacheBuilder.newBuilder().maximumSize(1024)
+            .build(CacheLoader.from(CodePointSet::evaluate));
+
+    private final List<int[]> epsilons = new ArrayList<>();
+    private final List<CodePointSet[]> edgeSets = new ArrayList<>();
+    private final List<int[]> edgeTargets = new ArrayList<>();
+    private final List<int[]> patterns = new ArrayList<>();
+
+    /**
+     * Add a pattern to this automaton.
+     *
+     * @param javaPattern Java regular expression
+     * @throws IllegalArgumentException if the pattern contains unsupported constructs
+     */
+    void addPattern(final String javaPattern) {
+        final Node node = new Parser(javaPattern).parse();
+        final int start = newState();
+        final int accept = newState();
+        node.build(this, start, accept);
+        patterns.add(new int[] { start, accept });
+    }
+
+    int stateCount() {
+        return epsilons.size();
+    }
+
+    int patternCount() {
+        return patterns.size();
+    }
+
+    int startState(final int pattern) {
+        return patterns.get(pattern)[0];
+    }
+
+    int acceptState(final int pattern) {
+        return patterns.get(pattern)[1];
+    }
+
+    int[] epsilonTargets(final int state) {
+        return epsilons.get(state);
+    }
+
+    CodePointSet[] edgeSets(final int state) {
+        return edgeSets.get(state);
+    }
+
+    int[] edgeTargets(final int state) {
+        return edgeTargets.get(state);
+    }
+
+    private int newState() {
+        final int state = epsilons.size();
+        if (state == MAX_STATES) {
+            throw new IllegalArgumentException("Automaton exceeds " + MAX_STATES + " states");
+        }
+        epsilons.add(new int[0]);
+        edgeSets.add(new CodePointSet[0]);
+        edgeTargets.add(new int[0]);
+        return state;
+    }
+
+    private void addEpsilon(final int from, final int to) {
+        epsilons.set(from, append(epsilons.get(from), to));
+    }
+
+    private void addEdge(final int from, final CodePointSet set, final int to) {
+        final CodePointSet[] sets = edgeSets.get(from);
+        final CodePointSet[] newSets = new CodePointSet[sets.length + 1];
+        System.arraycopy(sets, 0, newSets, 0, sets.length);
+        newSets[sets.length] = set;
+        edgeSets.set(from, newSets);
+        edgeTargets.set(from, append(edgeTargets.get(from), to));
+    }
+
+    private static int[] append(final int[] array, final int value) {
+        final int[] ret = new int[array.length + 1];
+        System.arraycopy(array, 0, ret, 0, array.length);
+        ret[array.length] = value;
+        return ret;
+    }
+
+    /**
+     * A node of the parsed regular expression. It can be instantiated multiple times, as needed by bounded
+     * quantifiers.
+     */
+    private abstract static class Node {
+        /**
+         * Instantiate this node between two states.
+         *
+         * @param nfa Automaton being built
+         * @param from State on which matching of this node starts
+         * @param to State reached once this node has been matched
+         */
+        abstract void build(PatternNfa nfa, int from, int to);
+    }
+
+    private static final class CharNode extends Node {
+        private final CodePointSet set;
+
+        CharNode(final CodePointSet set) {
+            this.set = set;
+        }
+
+        @Override
+        void build(final PatternNfa nfa, final int from, final int to) {
+            nfa.addEdge(from, set, to);
+        }
+    }
+
+    private static final class SeqNode extends Node {
+        private final List<Node> nodes;
+
+        SeqNode(final List<Node> nodes) {
+            this.nodes = nodes;
+        }
+
+        @Override
+        void build(final PatternNfa nfa, final int from, final int to) {
+            if (nodes.isEmpty()) {
+                nfa.addEpsilon(from, to);
+                return;
+            }
+
+            int current = from;
+            final int last = nodes.size() - 1;
+            for (int i = 0; i < last; ++i) {
+                final int next = nfa.newState();
+                nodes.get(i).build(nfa, current, next);
+                current = next;
+            }
+            nodes.get(last).build(nfa, current, to);
+        }
+    }
+
+    private static final class AltNode extends Node {
+        private final List<Node> nodes;
+
+        AltNode(final List<Node> nodes) {
+            this.nodes = nodes;
+        }
+
+        @Override
+        void build(final PatternNfa nfa, final int from, final int to) {
+            for (Node node : nodes) {
+                final int start = nfa.newState();
+                nfa.addEpsilon(from, start);
+                node.build(nfa, start, to);
+            }
+        }
+    }
+
+    private static final class RepeatNode extends Node {
+        private final Node node;
+        private final int min;
+        // -1 for unbounded
+        private final int max;
+
+        RepeatNode(final Node node, final int min, final int max) {
+            this.node = node;
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        void build(final PatternNfa nfa, final int from, final int to) {
+            int current = from;
+            for (int i = 0; i < min; ++i) {
+                final int next = nfa.newState();
+                node.build(nfa, current, next);
+                current = next;
+            }
+
+            if (max == -1) {
+                // Kleene star, the loop goes through dedicated states so it cannot leak into surrounding nodes
+                final int loopStart = nfa.newState();
+                final int loopEnd = nfa.newState();
+                nfa.addEpsilon(current, loopStart);
+                node.build(nfa, loopStart, loopEnd);
+                nfa.addEpsilon(loopEnd, loopStart);
+                nfa.addEpsilon(current, to);
+                nfa.addEpsilon(loopEnd, to);
+                return;
+            }
+
+            for (int i = min; i < max; ++i) {
+                nfa.addEpsilon(current, to);
+                final int next = nfa.newState();
+                node.build(nfa, current, next);
+                current = next;
+            }
+            nfa.addEpsilon(current, to);
+        }
+    }
+
+    private static final class Parser {
+        private final String pattern;
+        private int pos;
+
+        Parser(final String pattern) {
+            this.pattern = pattern;
+        }
+
+        Node parse() {
+            // Anchors are implied by whole-input matching, they are allowed only at the very start and end
+            if (pattern.startsWith("^")) {
+                pos = 1;
+            }
+            final Node ret = parseAlternatives(0);
+            if (pos != pattern.length()) {
+                throw unsupported("unexpected character");
+            }
+            return ret;
+        }
+
+        private Node parseAlternatives(final int depth) {
+            final List<Node> branches = new ArrayList<>(1);
+            branches.add(parseSequence(depth));
+            while (pos < pattern.length() && pattern.charAt(pos) == '|') {
+                pos++;
+                branches.add(parseSequence(depth));
+            }
+            return branches.size() == 1 ? branches.get(0) : new AltNode(branches);
+        }
+
+        private Node parseSequence(final int depth) {
+            final List<Node> nodes = new ArrayList<>();
+            while (pos < pattern.length()) {
+                final char ch = pattern.charAt(pos);
+                if (ch == '|' || ch == ')') {
+                    break;
+                }
+                if (ch == '$') {
+                    if (depth != 0 || pos != pattern.length() - 1) {
+                        throw unsupported("anchor");
+                    }
+                    pos++;
+                    break;
+                }
+                nodes.add(parseQuantifier(parseAtom(depth)));
+            }
+            return nodes.size() == 1 ? nodes.get(0) : new SeqNode(nodes);
+        }
+
+        private Node parseQuantifier(final Node atom) {
+            if (pos == pattern.length()) {
+                return atom;
+            }
+
+            final int min;
+            final int max;
+            switch (pattern.charAt(pos)) {
+                case '*':
+                    pos++;
+                    min = 0;
+                    max = -1;
+                    break;
+                case '+':
+                    pos++;
+                    min = 1;
+                    max = -1;
+                    break;
+                case '?':
+                    pos++;
+                    min = 0;
+                    max = 1;
+                    break;
+                case '{':
+                    final int close = pattern.indexOf('}', pos);
+                    if (close == -1) {
+                        throw unsupported("unterminated quantifier");
+                    }
+                    final String bounds = pattern.substring(pos + 1, close);
+                    final int comma = bounds.indexOf(',');
+                    try {
+                        if (comma == -1) {
+                            min = Integer.parseInt(bounds);
+                            max = min;
+                        } else {
+                            min = Integer.parseInt(bounds.substring(0, comma));
+                            max = comma == bounds.length() - 1 ? -1 : Integer.parseInt(bounds.substring(comma + 1));
+                        }
+                    } catch (NumberFormatException e) {
+                        throw unsupported("quantifier", e);
+                    }
+                    if (min < 0 || max != -1 && max < min) {
+                        throw unsupported("quantifier");
+                    }
+                    pos = close + 1;
+                    break;
+                default:
+                    return atom;
+            }
+
+            if (pos < pattern.length()) {
+                final char mod = pattern.charAt(pos);
+                if (mod == '?') {
+                    // Reluctant quantifiers do not affect whole-input matching
+                    pos++;
+                } else if (mod == '+') {
+                    throw unsupported("possessive quantifier");
+                }
+            }
+            return new RepeatNode(atom, min, max);
+        }
+
+        private Node parseAtom(final int depth) {
+            final char ch = pattern.charAt(pos);
+            switch (ch) {
+                case '(':
+                    pos++;
+                    if (pattern.startsWith("?", pos)) {
+                        if (!pattern.startsWith("?:", pos)) {
+                            throw unsupported("special group");
+                        }
+                        pos += 2;
+                    }
+                    final Node group = parseAlternatives(depth + 1);
+                    if (pos == pattern.length() || pattern.charAt(pos) != ')') {
+                        throw unsupported("unterminated group");
+                    }
+                    pos++;
+                    return group;
+                case '[':
+                    return new CharNode(parseClass());
+                case '.':
+                    pos++;
+                    return new CharNode(DOT);
+                case '\\':
+                    return new CharNode(parseEscape());
+                case '^':
+                case '*':
+                case '+':
+                case '?':
+                case '{':
+                    throw unsupported("unexpected character");
+                default:
+                    final int cp = pattern.codePointAt(pos);
+                    pos += Character.charCount(cp);
+                    return new CharNode(CodePointSet.of(cp));
+            }
+        }
+
+        private CodePointSet parseEscape() {
+            final int start = pos;
+            pos++;
+            if (pos == pattern.length()) {
+                throw unsupported("dangling escape");
+            }
+            final char ch = pattern.charAt(pos++);
+            switch (ch) {
+                case 'd':
+                    return DIGIT;
+                case 'D':
+                    return DIGIT.complement();
+                case 'w':
+                    return WORD;
+                case 'W':
+                    return WORD.complement();
+                case 's':
+                    return SPACE;
+                case 'S':
+                    return SPACE.complement();
+                case 'p':
+                case 'P':
+                    if (pos < pattern.length() && pattern.charAt(pos) == '{') {
+                        final int close = pattern.indexOf('}', pos);
+                        if (close == -1) {
+                            throw unsupported("unterminated property");
+                        }
+                        pos = close + 1;
+                    } else {
+                        pos++;
+                    }
+                    return evaluate(pattern.substring(start, pos));
+                case 'h':
+                case 'H':
+                case 'v':
+                case 'V':
+                    return evaluate(pattern.substring(start, pos));
+                default:
+                    pos = start;
+                    return CodePointSet.of(parseSingleEscape());
+            }
+        }
+
+        /**
+         * Parse an escape sequence denoting a single code point.
+         *
+         * @return Code point
+         */
+        private int parseSingleEscape() {
+            pos++;
+            if (pos == pattern.length()) {
+                throw unsupported("dangling escape");
+            }
+            final char ch = pattern.charAt(pos++);
+            switch (ch) {
+                case 't':
+                    return '\t';
+                case 'n':
+                    return '\n';
+                case 'r':
+                    return '\r';
+                case 'f':
+                    return '\f';
+                case 'a':
+                    return '\u0007';
+                case 'e':
+                    return '\u001B';
+                case '0':
+                    return parseOctal();
+                case 'x':
+                    if (pos < pattern.length() && pattern.charAt(pos) == '{') {
+                        final int close = pattern.indexOf('}', pos);
+                        if (close == -1) {
+                            throw unsupported("unterminated escape");
+                        }
+                        final int cp = parseHex(pos + 1, close);
+                        pos = close + 1;
+                        return cp;
+                    }
+                    final int hex = parseHex(pos, pos + 2);
+                    pos += 2;
+                    return hex;
+                case 'u':
+                    final int unit = parseHex(pos, pos + 4);
+                    pos += 4;
+                    if (Character.isHighSurrogate((char) unit) && pattern.startsWith("\\u", pos)) {
+                        // A surrogate pair is interpreted as a single code point
+                        final int low = parseHex(pos + 2, pos + 6);
+                        if (Character.isLowSurrogate((char) low)) {
+                            pos += 6;
+                            return Character.toCodePoint((char) unit, (char) low);
+                        }
+                    }
+                    return unit;
+                case 'c':
+                    if (pos == pattern.length()) {
+                        throw unsupported("dangling escape");
+                    }
+                    return pattern.charAt(pos++) ^ 64;
+                default:
+                    if (ch >= 'a' && ch <= 'z' || ch >= 'A' && ch <= 'Z' || ch >= '0' && ch <= '9') {
+                        // Back-references, boundaries, quotations and others
+                        throw unsupported("escape \\" + ch);
+                    }
+                    if (Character.isHighSurrogate(ch)) {
+                        pos--;
+                        final int cp = pattern.codePointAt(pos);
+                        pos += Character.charCount(cp);
+                        return cp;
+                    }
+                    return ch;
+            }
+        }
+
+        private int parseOctal() {
+            int value = 0;
+            int digits = 0;
+            final int maxDigits = pos < pattern.length() && pattern.charAt(pos) <= '3' ? 3 : 2;
+            while (digits < maxDigits && pos < pattern.length()) {
+                final char ch = pattern.charAt(pos);
+                if (ch < '0' || ch > '7') {
+                    break;
+                }
+                value = value * 8 + ch - '0';
+                digits++;
+                pos++;
+            }
+            if (digits == 0) {
+                throw unsupported("octal escape");
+            }
+            return value;
+        }
+
+        private int parseHex(final int from, final int to) {
+            if (to > pattern.length() || from >= to) {
+                throw unsupported("hexadecimal escape");
+            }
+            final int value;
+            try {
+                value = Integer.parseInt(pattern.substring(from, to), 16);
+            } catch (NumberFormatException e) {
+                throw unsupported("hexadecimal escape", e);
+            }
+            if (value > Character.MAX_CODE_POINT) {
+                throw unsupported("hexadecimal escape");
+            }
+            return value;
+        }
+
+        private CodePointSet parseClass() {
+            final int start = pos;
+            final int end = findClassEnd();
+            final CodePointSet simple = parseSimpleClass(start + 1, end);
+            pos = end + 1;
+            return simple != null ? simple : evaluate(pattern.substring(start, end + 1));
+        }
+
+        private int findClassEnd() {
+            int idx = pos + 1;
+            if (idx < pattern.length() && pattern.charAt(idx) == '^') {
+                idx++;
+            }
+            if (idx < pattern.length() && pattern.charAt(idx) == ']') {
+                throw unsupported("leading ']' in character class");
+            }
+
+            int depth = 0;
+            while (idx < pattern.length()) {
+                final char ch = pattern.charAt(idx);
+                switch (ch) {
+                    case '\\':
+                        if (idx + 1 < pattern.length() && pattern.charAt(idx + 1) == 'Q') {
+                            throw unsupported("quotation");
+                        }
+                        idx += 2;
+                        break;
+                    case '[':
+                        depth++;
+                        idx++;
+                        break;
+                    case ']':
+                        if (depth == 0) {
+                            return idx;
+                        }
+                        depth--;
+                        idx++;
+                        break;
+                    default:
+                        idx++;
+                }
+            }
+            throw unsupported("unterminated character class");
+        }
+
+        /**
+         * Interpret a character class consisting only of single code points, ranges and simple predefined classes,
+         * optionally negated.
+         *
+         * @param from Index of the first character after the opening bracket
+         * @param to Index of the closing bracket
+         * @return Code point set, or null if the class needs to be evaluated
+         */
+        private CodePointSet parseSimpleClass(final int from, final int to) {
+            final int savedPos = pos;
+            pos = from;
+            final boolean negate = pattern.charAt(pos) == '^';
+            if (negate) {
+                pos++;
+            }
+
+            final CodePointSet.Builder builder = new CodePointSet.Builder();
+            try {
+                while (pos < to) {
+                    final char ch = pattern.charAt(pos);
+                    if (ch == '[' || ch == '&' || ch == '-' && pos != from + (negate ? 1 : 0) && pos != to - 1) {
+                        // Nested classes, intersections and ambiguous dashes
+                        return null;
+                    }
+                    if (ch == '\\') {
+                        final char next = pattern.charAt(pos + 1);
+                        switch (next) {
+                            case 'd':
+                                builder.add(DIGIT);
+                                pos += 2;
+                                continue;
+                            case 'w':
+                                builder.add(WORD);
+                                pos += 2;
+                                continue;
+                            case 's':
+                                builder.add(SPACE);
+                                pos += 2;
+                                continue;
+                            case 'D':
+                            case 'W':
+                            case 'S':
+                            case 'p':
+                            case 'P':
+                            case 'h':
+                            case 'H':
+                            case 'v':
+                            case 'V':
+                                return null;
+                            default:
+                                break;
+                        }
+                    }
+
+                    final int low = parseClassCodePoint();
+                    if (pos + 1 < to && pattern.charAt(pos) == '-') {
+                        pos++;
+                        if (pattern.charAt(pos) == '[' || pattern.charAt(pos) == '\\'
+                                && Character.isLetter(pattern.charAt(pos + 1))
+                                && "tnrfaexuc".indexOf(pattern.charAt(pos + 1)) == -1) {
+                            return null;
+                        }
+                        final int high = parseClassCodePoint();
+                        if (high < low) {
+                            throw unsupported("invalid range");
+                        }
+                        builder.add(low, high);
+                    } else {
+                        builder.add(low, low);
+                    }
+                }
+            } finally {
+                pos = savedPos;
+            }
+
+            final CodePointSet set = builder.build();
+            return negate ? set.complement() : set;
+        }
+
+        private int parseClassCodePoint() {
+            if (pattern.charAt(pos) == '\\') {
+                return parseSingleEscape();
+            }
+            final int cp = pattern.codePointAt(pos);
+            pos += Character.charCount(cp);
+            return cp;
+        }
+
+        private IllegalArgumentException unsupported(final String what) {
+            return unsupported(what, null);
+        }
+
+        private IllegalArgumentException unsupported(final String what, final Throwable cause) {
+            return new IllegalArgumentException("Unsupported construct (" + what + ") at offset " + pos + " of "
+                + pattern, cause);
+        }
+
+        private static @NonNull CodePointSet evaluate(final String regex) {
+            try {
+                return EVALUATED.getUnchecked(regex);
+            } catch (UncheckedExecutionException e) {
+                throw new IllegalArgumentException("Failed to evaluate " + regex, e);
+            }
+        }
+    }
+}
@@ -9,6 +9,7 @@ package org.opendaylight.yangtools.yang.data.impl.codec;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableList.Builder;
+import com.google.common.collect.Lists;
 import java.util.List;
 import java.util.regex.PatternSyntaxException;
 import org.opendaylight.yangtools.yang.model.api.type.PatternConstraint;
@@ -20,8 +21,11 @@ final class StringPatternCheckingCodec extends StringStringCodec {
     private static final Logger LOG = LoggerFactory.getLogger(StringPatternCheckingCodec.class);
 
     private final ImmutableList<CompiledPatternContext> patterns;
+    private final PatternAutomaton automaton;
+    // Result of PatternAutomaton.match() for a valid string
+    private final long expectedMask;
 
-    StringPatternCheckingCodec(final StringTypeDefinition typeDef) {
+    StringPatternCheckingCodec(final StringTypeDefinition typeDef, final PatternEngine engine) {
         super(typeDef);
 
         final List<PatternConstraint> constraints = typeDef.getPatternConstraints();
@@ -34,14 +38,48 @@ final class StringPatternCheckingCodec extends StringStringCodec {
             }
         }
         patterns = builder.build();
+
+        if (engine == PatternEngine.DFA && !patterns.isEmpty()) {
+            automaton = compileAutomaton(typeDef, patterns);
+        } else {
+            automaton = null;
+        }
+
+        long mask = 0;
+        for (int i = 0; i < patterns.size(); ++i) {
+            if (!patterns.get(i).isInverted()) {
+                mask |= 1L << i;
+            }
+        }
+        expectedMask = mask;
     }
 
     @Override
     void validate(final String str) {
         super.validate(str);
+        if (automaton != null) {
+            final long mask = automaton.match(str);
+            if (mask != expectedMask) {
+                // Report the first pattern which has failed
+                final long failed = mask ^ expectedMask;
+                throw patterns.get(Long.numberOfTrailingZeros(failed)).newMismatchException(str);
+            }
+            return;
+        }
+
         for (final CompiledPatternContext pattern : patterns) {
             pattern.validate(str);
         }
     }
 
-}
\ No newline at end of file
+    private static PatternAutomaton compileAutomaton(final StringTypeDefinition typeDef,
+            final List<CompiledPatternContext> patterns) {
+        try {
+            return PatternAutomaton.compile(Lists.transform(patterns, CompiledPatternContext::getJavaPatternString));
+        } catch (IllegalArgumentException e) {
+            LOG.debug("Unable to compile patterns of {} into an automaton, falling back to regular expressions",
+                typeDef, e);
+            return null;
+        }
+    }
+}
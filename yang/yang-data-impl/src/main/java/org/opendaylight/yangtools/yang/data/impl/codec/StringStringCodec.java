@@ -31,8 +31,22 @@ public class StringStringCodec extends TypeDefinitionAwareCodec<String, StringTy
     }
 
     public static StringStringCodec from(final StringTypeDefinition normalizedType) {
+        return from(normalizedType, PatternEngine.REGEX);
+    }
+
+    /**
+     * Create a codec for specified type, using specified engine to enforce its pattern restrictions.
+     *
+     * @param normalizedType Type definition
+     * @param patternEngine Pattern engine
+     * @return A codec
+     * @throws NullPointerException if any argument is null
+     */
+    public static StringStringCodec from(final StringTypeDefinition normalizedType,
+            final PatternEngine patternEngine) {
+        requireNonNull(patternEngine);
         return normalizedType.getPatternConstraints().isEmpty() ? new StringStringCodec(normalizedType)
-                : new StringPatternCheckingCodec(normalizedType);
+                : new StringPatternCheckingCodec(normalizedType, patternEngine);
     }
 
     @Override
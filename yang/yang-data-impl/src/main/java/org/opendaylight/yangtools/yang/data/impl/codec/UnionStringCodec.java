@@ -9,7 +9,11 @@ package org.opendaylight.yangtools.yang.data.impl.codec;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.yang.data.api.codec.UnionCodec;
 import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
 import org.opendaylight.yangtools.yang.model.api.type.UnionTypeDefinition;
@@ -20,19 +24,28 @@ final class UnionStringCodec extends TypeDefinitionAwareCodec<Object, UnionTypeD
         implements UnionCodec<String> {
     private static final Logger LOG = LoggerFactory.getLogger(UnionStringCodec.class);
 
-    UnionStringCodec(final UnionTypeDefinition typeDef) {
+    // Codecs of member types, null for types which have no codec
+    private final List<@Nullable TypeDefinitionAwareCodec<?, ?>> memberCodecs;
+
+    UnionStringCodec(final UnionTypeDefinition typeDef,
+            final Function<TypeDefinition<?>, @Nullable TypeDefinitionAwareCodec<?, ?>> memberCodecFactory) {
         super(requireNonNull(typeDef), Object.class);
+
+        final List<TypeDefinition<?>> types = typeDef.getTypes();
+        memberCodecs = new ArrayList<>(types.size());
+        for (TypeDefinition<?> type : types) {
+            memberCodecs.add(memberCodecFactory.apply(type));
+        }
     }
 
     static TypeDefinitionAwareCodec<?, UnionTypeDefinition> from(final UnionTypeDefinition normalizedType) {
-        return new UnionStringCodec(normalizedType);
+        return new UnionStringCodec(normalizedType, TypeDefinitionAwareCodec::fromType);
     }
 
     @Override
     @SuppressWarnings("checkstyle:illegalCatch")
     protected Object deserializeImpl(final String stringRepresentation) {
-        for (final TypeDefinition<?> type : getTypeDefinition().get().getTypes()) {
-            final TypeDefinitionAwareCodec<Object, ?> typeAwareCodec = from(type);
+        for (final TypeDefinitionAwareCodec<?, ?> typeAwareCodec : memberCodecs) {
             if (typeAwareCodec == null) {
                 /*
                  * This is a type for which we have no codec (eg identity ref) so we'll say it's
@@ -44,7 +57,8 @@ final class UnionStringCodec extends TypeDefinitionAwareCodec<Object, UnionTypeD
             try {
                 return typeAwareCodec.deserialize(stringRepresentation);
             } catch (final Exception e) {
-                LOG.debug("Value {} did not matched representation for {}",stringRepresentation,type,e);
+                LOG.debug("Value {} did not matched representation for {}", stringRepresentation,
+                    typeAwareCodec.getTypeDefinition().orElse(null), e);
                 // invalid - try the next union type.
             }
         }
@@ -0,0 +1,382 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.leafref;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.ImmutableMultiset;
+import com.google.common.collect.Multiset;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.AugmentationNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ValueNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.util.DataSchemaContextNode;
+import org.opendaylight.yangtools.yang.data.util.DataSchemaContextTree;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+
+/**
+ * An index of values present at leafref and leafref target paths of a data tree. It allows
+ * {@link LeafRefValidation#validate(DataTreeCandidate, LeafRefIndex)} to check a {@link DataTreeCandidate} by looking
+ * only at the values it adds and removes, instead of re-computing the values of all participating leaves from the
+ * entire data tree.
+ *
+ * <p>
+ * The index needs to track the data tree it describes: each committed {@link DataTreeCandidate} needs to be fed into
+ * {@link #update(DataTreeCandidate)}. This class is not thread-safe, users are expected to serialize validation and
+ * updates, typically by performing them from the thread committing to the data tree.
+ */
+@Beta
+public final class LeafRefIndex {
+    /**
+     * A node in the index trie. Nodes are addressed by {@link QName}s of data nodes, with choices, cases and
+     * augmentations being transparent, just as in {@link LeafRefPath}.
+     */
+    private static final class IndexNode {
+        final Map<QName, IndexNode> children = new HashMap<>();
+        @Nullable Multiset<Object> values;
+
+        IndexNode child(final QName qname) {
+            return children.computeIfAbsent(qname, key -> new IndexNode());
+        }
+    }
+
+    /**
+     * Value changes introduced by a particular {@link DataTreeCandidate}, together with a view of the index as it
+     * would look like after the candidate has been applied.
+     */
+    final class Delta {
+        private final Map<IndexNode, Multiset<Object>> added = new HashMap<>();
+        private final Map<IndexNode, Multiset<Object>> removed = new HashMap<>();
+
+        /**
+         * Check whether a path is covered by the index.
+         *
+         * @param path Absolute path
+         * @return True if the path is indexed.
+         */
+        boolean isIndexed(final LeafRefPath path) {
+            final IndexNode node = lookup(path);
+            return node != null && node.values != null;
+        }
+
+        /**
+         * Check whether a value will be present at specified path after the candidate is applied.
+         *
+         * @param path Indexed absolute path
+         * @param value Value to look for
+         * @return True if the value is present
+         */
+        boolean contains(final LeafRefPath path, final Object value) {
+            final IndexNode node = lookup(path);
+            return node != null && countAfter(node, value) > 0;
+        }
+
+        /**
+         * Return the set of values which are present at specified path before the candidate is applied, but will not
+         * be present after it is applied.
+         *
+         * @param path Indexed absolute path
+         * @return Set of values
+         */
+        Set<Object> removedValues(final LeafRefPath path) {
+            final IndexNode node = lookup(path);
+            if (node == null) {
+                return Set.of();
+            }
+            final Multiset<Object> nodeRemoved = removed.get(node);
+            if (nodeRemoved == null) {
+                return Set.of();
+            }
+
+            final Set<Object> ret = new HashSet<>();
+            for (Object value : nodeRemoved.elementSet()) {
+                if (countAfter(node, value) == 0) {
+                    ret.add(value);
+                }
+            }
+            return ret;
+        }
+
+        /**
+         * Return the set of values present at specified path after the candidate is applied. This method is meant for
+         * reporting purposes, as it takes time proportional to the number of values.
+         *
+         * @param path Indexed absolute path
+         * @return Set of values
+         */
+        Set<Object> values(final LeafRefPath path) {
+            final IndexNode node = lookup(path);
+            if (node == null) {
+                return Set.of();
+            }
+
+            final Set<Object> ret = new HashSet<>();
+            if (node.values != null) {
+                ret.addAll(node.values.elementSet());
+            }
+            final Multiset<Object> nodeAdded = added.get(node);
+            if (nodeAdded != null) {
+                ret.addAll(nodeAdded.elementSet());
+            }
+            ret.removeIf(value -> countAfter(node, value) == 0);
+            return ret;
+        }
+
+        private int countAfter(final IndexNode node, final Object value) {
+            final Multiset<Object> values = node.values;
+            final Multiset<Object> nodeAdded = added.get(node);
+            final Multiset<Object> nodeRemoved = removed.get(node);
+            return (values == null ? 0 : values.count(value)) + (nodeAdded == null ? 0 : nodeAdded.count(value))
+                - (nodeRemoved == null ? 0 : nodeRemoved.count(value));
+        }
+
+        void add(final IndexNode node, final Object value) {
+            added.computeIfAbsent(node, key -> HashMultiset.create()).add(value);
+        }
+
+        void remove(final IndexNode node, final Object value) {
+            removed.computeIfAbsent(node, key -> HashMultiset.create()).add(value);
+        }
+
+        void apply() {
+            for (Map.Entry<IndexNode, Multiset<Object>> entry : added.entrySet()) {
+                final Multiset<Object> values = requireNonNull(entry.getKey().values);
+                values.addAll(entry.getValue());
+            }
+            for (Map.Entry<IndexNode, Multiset<Object>> entry : removed.entrySet()) {
+                final Multiset<Object> values = requireNonNull(entry.getKey().values);
+                for (Multiset.Entry<Object> value : entry.getValue().entrySet()) {
+                    values.remove(value.getElement(), value.getCount());
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ValueSink {
+        void accept(IndexNode node, Object value);
+    }
+
+    private final @NonNull LeafRefContext rootContext;
+    private final IndexNode root = new IndexNode();
+
+    private LeafRefIndex(final LeafRefContext rootContext) {
+        this.rootContext = requireNonNull(rootContext);
+        addReferencingPaths(rootContext);
+        addReferencedPaths(rootContext);
+    }
+
+    /**
+     * Create an index for an empty data tree.
+     *
+     * @param rootContext Root {@link LeafRefContext}
+     * @return A new index
+     */
+    public static @NonNull LeafRefIndex create(final LeafRefContext rootContext) {
+        return new LeafRefIndex(rootContext);
+    }
+
+    /**
+     * Create an index for a data tree, populating it from the tree's current root node.
+     *
+     * @param rootContext Root {@link LeafRefContext}
+     * @param rootNode Root node of the data tree
+     * @return A new index
+     */
+    public static @NonNull LeafRefIndex create(final LeafRefContext rootContext, final NormalizedNode<?, ?> rootNode) {
+        final LeafRefIndex ret = new LeafRefIndex(rootContext);
+        ret.addNode(ret.root, rootNode, (node, value) -> node.values.add(value));
+        return ret;
+    }
+
+    /**
+     * Return the root {@link LeafRefContext} this index was built for.
+     *
+     * @return Root LeafRefContext
+     */
+    public @NonNull LeafRefContext getRootContext() {
+        return rootContext;
+    }
+
+    /**
+     * Update this index to reflect a {@link DataTreeCandidate} which has been committed to the data tree.
+     *
+     * @param candidate Committed candidate
+     */
+    public void update(final DataTreeCandidate candidate) {
+        computeDelta(candidate).apply();
+    }
+
+    /**
+     * Return the multiset of values currently present at specified path.
+     *
+     * @param path Absolute path
+     * @return Multiset of values, empty if the path is not indexed
+     */
+    @NonNull Multiset<Object> currentValues(final LeafRefPath path) {
+        final IndexNode node = lookup(path);
+        return node == null || node.values == null ? ImmutableMultiset.of() : node.values;
+    }
+
+    Delta computeDelta(final DataTreeCandidate candidate) {
+        final Delta delta = new Delta();
+        IndexNode node = root;
+        // Choices do not have a distinct PathArgument type, hence we need the schema to skip them
+        DataSchemaContextNode<?> schema = DataSchemaContextTree.from(rootContext.getSchemaContext()).getRoot();
+        for (PathArgument arg : candidate.getRootPath().getPathArguments()) {
+            schema = schema == null ? null : schema.getChild(arg);
+            if (isTransparent(arg) || schema != null && schema.getDataSchemaNode() instanceof ChoiceSchemaNode) {
+                continue;
+            }
+
+            final IndexNode child = node.children.get(arg.getNodeType());
+            if (child == null) {
+                // Not indexed, hence there are no indexed nodes in the entire subtree
+                return delta;
+            }
+            node = child;
+        }
+        addCandidate(node, candidate.getRootNode(), delta);
+        return delta;
+    }
+
+    private void addCandidate(final IndexNode node, final DataTreeCandidateNode candidate, final Delta delta) {
+        switch (candidate.getModificationType()) {
+            case UNMODIFIED:
+                return;
+            case SUBTREE_MODIFIED:
+                for (DataTreeCandidateNode child : candidate.getChildNodes()) {
+                    final IndexNode childNode = candidateChild(node, child);
+                    if (childNode != null) {
+                        addCandidate(childNode, child, delta);
+                    }
+                }
+                return;
+            default:
+                candidate.getDataBefore().ifPresent(data -> addNode(node, data, delta::remove));
+                candidate.getDataAfter().ifPresent(data -> addNode(node, data, delta::add));
+        }
+    }
+
+    private static @Nullable IndexNode candidateChild(final IndexNode parent, final DataTreeCandidateNode child) {
+        final PathArgument arg = child.getIdentifier();
+        if (isTransparent(arg)) {
+            return parent;
+        }
+
+        final Optional<NormalizedNode<?, ?>> data = child.getDataAfter().or(child::getDataBefore);
+        if (data.isPresent() && data.get() instanceof ChoiceNode) {
+            return parent;
+        }
+        return parent.children.get(arg.getNodeType());
+    }
+
+    // Augmentations, map entries and leaf-set entries do not consume a path element
+    private static boolean isTransparent(final PathArgument arg) {
+        return arg instanceof AugmentationIdentifier || arg instanceof NodeIdentifierWithPredicates
+            || arg instanceof NodeWithValue;
+    }
+
+    private static void addNode(final IndexNode node, final NormalizedNode<?, ?> data, final ValueSink sink) {
+        if (data instanceof ValueNode) {
+            if (node.values != null) {
+                sink.accept(node, data.getValue());
+            }
+        } else if (data instanceof LeafSetNode) {
+            if (node.values != null) {
+                for (NormalizedNode<?, ?> entry : ((LeafSetNode<?>) data).getValue()) {
+                    sink.accept(node, entry.getValue());
+                }
+            }
+        } else if (data instanceof MapNode) {
+            for (NormalizedNode<?, ?> entry : ((MapNode) data).getValue()) {
+                addChildren(node, (DataContainerNode<?>) entry, sink);
+            }
+        } else if (data instanceof UnkeyedListNode) {
+            for (NormalizedNode<?, ?> entry : ((UnkeyedListNode) data).getValue()) {
+                addChildren(node, (DataContainerNode<?>) entry, sink);
+            }
+        } else if (data instanceof DataContainerNode) {
+            addChildren(node, (DataContainerNode<?>) data, sink);
+        }
+    }
+
+    private static void addChildren(final IndexNode node, final DataContainerNode<?> data, final ValueSink sink) {
+        for (DataContainerChild<?, ?> child : data.getValue()) {
+            if (child instanceof ChoiceNode || child instanceof AugmentationNode) {
+                addChildren(node, (DataContainerNode<?>) child, sink);
+            } else {
+                final IndexNode childNode = node.children.get(child.getNodeType());
+                if (childNode != null) {
+                    addNode(childNode, child, sink);
+                }
+            }
+        }
+    }
+
+    private @Nullable IndexNode lookup(final LeafRefPath path) {
+        IndexNode node = root;
+        for (QNameWithPredicate element : path.getPathFromRoot()) {
+            node = node.children.get(element.getQName());
+            if (node == null) {
+                return null;
+            }
+        }
+        return node;
+    }
+
+    private void addPath(final LeafRefPath path) {
+        IndexNode node = root;
+        for (QNameWithPredicate element : path.getPathFromRoot()) {
+            node = node.child(element.getQName());
+        }
+        if (node.values == null) {
+            node.values = HashMultiset.create();
+        }
+    }
+
+    private void addReferencingPaths(final LeafRefContext context) {
+        if (context.isReferencing()) {
+            addPath(context.getLeafRefNodePath());
+            addPath(context.getAbsoluteLeafRefTargetPath());
+        }
+        for (LeafRefContext child : context.getReferencingChilds().values()) {
+            addReferencingPaths(child);
+        }
+    }
+
+    private void addReferencedPaths(final LeafRefContext context) {
+        if (context.isReferenced()) {
+            addPath(context.getLeafRefNodePath());
+        }
+        for (LeafRefContext child : context.getReferencedByChilds().values()) {
+            addReferencedPaths(child);
+        }
+    }
+}
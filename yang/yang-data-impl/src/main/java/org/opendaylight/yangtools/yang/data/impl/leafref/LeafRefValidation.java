@@ -54,16 +54,41 @@ public final class LeafRefValidation {
     private final Set<LeafRefContext> validatedLeafRefCtx = new HashSet<>();
     private final List<String> errorsMessages = new ArrayList<>();
     private final NormalizedNode<?, ?> root;
+    private final LeafRefIndex.Delta delta;
 
-    private LeafRefValidation(final NormalizedNode<?, ?> root) {
+    private LeafRefValidation(final NormalizedNode<?, ?> root, final LeafRefIndex.Delta delta) {
         this.root = root;
+        this.delta = delta;
     }
 
     public static void validate(final DataTreeCandidate tree, final LeafRefContext rootLeafRefCtx)
             throws LeafRefDataValidationFailedException {
         final Optional<NormalizedNode<?, ?>> root = tree.getRootNode().getDataAfter();
         if (root.isPresent()) {
-            new LeafRefValidation(root.get()).validateChildren(rootLeafRefCtx, tree.getRootNode().getChildNodes());
+            new LeafRefValidation(root.get(), null).validateChildren(rootLeafRefCtx,
+                tree.getRootNode().getChildNodes());
+        }
+    }
+
+    /**
+     * Validate a {@link DataTreeCandidate} using a {@link LeafRefIndex}. Rather than re-computing values of all
+     * leafrefs and their targets, this method looks only at the values added and removed by the candidate. Leafrefs
+     * whose path contains predicates are still resolved against the data tree.
+     *
+     * <p>
+     * The index is not modified. Once the candidate is committed, it needs to be passed to
+     * {@link LeafRefIndex#update(DataTreeCandidate)}.
+     *
+     * @param tree Candidate to validate
+     * @param index Index reflecting the data tree before {@code tree} is applied
+     * @throws LeafRefDataValidationFailedException if validation fails
+     */
+    public static void validate(final DataTreeCandidate tree, final LeafRefIndex index)
+            throws LeafRefDataValidationFailedException {
+        final Optional<NormalizedNode<?, ?>> root = tree.getRootNode().getDataAfter();
+        if (root.isPresent()) {
+            new LeafRefValidation(root.get(), index.computeDelta(tree)).validateChildren(index.getRootContext(),
+                tree.getRootNode().getChildNodes());
         }
     }
 
@@ -130,7 +155,7 @@ public final class LeafRefValidation {
         final QName childQName = childNode.getIdentifier().getNodeType();
         LeafRefContext childReferencingCtx = referencingCtx.getReferencingChildByName(childQName);
         if (childReferencingCtx == null) {
-            final NormalizedNode<?, ?> data = childNode.getDataAfter().get();
+            final NormalizedNode<?, ?> data = childNode.getDataAfter().or(childNode::getDataBefore).get();
             if (data instanceof MapEntryNode || data instanceof UnkeyedListEntryNode) {
                 childReferencingCtx = referencingCtx;
             }
@@ -148,7 +173,7 @@ public final class LeafRefValidation {
         final QName childQName = childNode.getIdentifier().getNodeType();
         LeafRefContext childReferencedByCtx = referencedByCtx.getReferencedChildByName(childQName);
         if (childReferencedByCtx == null) {
-            final NormalizedNode<?, ?> data = childNode.getDataAfter().get();
+            final NormalizedNode<?, ?> data = childNode.getDataAfter().or(childNode::getDataBefore).get();
             if (data instanceof MapEntryNode || data instanceof UnkeyedListEntryNode) {
                 childReferencedByCtx = referencedByCtx;
             }
@@ -300,6 +325,11 @@ public final class LeafRefValidation {
             return;
         }
 
+        if (delta != null) {
+            validateIndexedLeafRefTargetNodeData(leaf, referencedByCtx, leafRefs);
+            return;
+        }
+
         final Set<Object> leafRefTargetNodeValues = extractRootValues(referencedByCtx);
         leafRefs.forEach(leafRefContext -> {
             extractRootValues(leafRefContext).forEach(leafRefsValue -> {
@@ -321,15 +351,51 @@ public final class LeafRefValidation {
         });
     }
 
+    private void validateIndexedLeafRefTargetNodeData(final NormalizedNode<?, ?> leaf,
+            final LeafRefContext referencedByCtx, final Set<LeafRefContext> leafRefs) {
+        // Only values which are going away can invalidate existing leafrefs, new leafref values are checked separately
+        final LeafRefPath targetPath = referencedByCtx.getLeafRefNodePath();
+        final Set<Object> removedValues = delta.removedValues(targetPath);
+        if (removedValues.isEmpty()) {
+            return;
+        }
+
+        for (LeafRefContext leafRefContext : leafRefs) {
+            final LeafRefPath leafRefPath = leafRefContext.getLeafRefNodePath();
+            for (Object removedValue : removedValues) {
+                if (delta.contains(leafRefPath, removedValue)) {
+                    final Set<Object> leafRefTargetNodeValues = delta.values(targetPath);
+                    LOG.debug("Invalid leafref value [{}] allowed values {} by validation of leafref TARGET node: {} "
+                        + "path of invalid LEAFREF node: {} leafRef target path: {} {}", removedValue,
+                        leafRefTargetNodeValues, leaf.getNodeType(), leafRefContext.getCurrentNodePath(),
+                        leafRefContext.getAbsoluteLeafRefTargetPath(), FAILED);
+                    errorsMessages.add(String.format("Invalid leafref value [%s] allowed values %s by validation of "
+                        + "leafref TARGET node: %s path of invalid LEAFREF node: %s leafRef target path: %s %s",
+                        removedValue, leafRefTargetNodeValues, leaf.getNodeType(),
+                        leafRefContext.getCurrentNodePath(), leafRefContext.getAbsoluteLeafRefTargetPath(), FAILED));
+                }
+            }
+        }
+    }
+
     private Set<Object> extractRootValues(final LeafRefContext context) {
         return computeValues(root, createPath(context.getLeafRefNodePath()), null);
     }
 
     private void validateLeafRefNodeData(final NormalizedNode<?, ?> leaf, final LeafRefContext referencingCtx,
             final ModificationType modificationType, final YangInstanceIdentifier current) {
-        final Set<Object> values = computeValues(root, createPath(referencingCtx.getAbsoluteLeafRefTargetPath()),
-            current);
-        if (values.contains(leaf.getValue())) {
+        final LeafRefPath targetPath = referencingCtx.getAbsoluteLeafRefTargetPath();
+        final boolean valid;
+        final Set<Object> values;
+        if (delta != null && !hasPredicates(targetPath) && delta.isIndexed(targetPath)) {
+            valid = delta.contains(targetPath, leaf.getValue());
+            values = valid ? ImmutableSet.of() : delta.values(targetPath);
+        } else {
+            values = computeValues(root, createPath(targetPath), current);
+            valid = values.contains(leaf.getValue());
+        }
+
+        if (valid) {
             LOG.debug("Operation [{}] validate data of LEAFREF node: name[{}] = value[{}] {}", modificationType,
                 referencingCtx.getNodeName(), leaf.getValue(), SUCCESS);
             return;
@@ -458,6 +524,15 @@ public final class LeafRefValidation {
         return Optional.empty();
     }
 
+    private static boolean hasPredicates(final LeafRefPath path) {
+        for (QNameWithPredicate element : path.getPathFromRoot()) {
+            if (!element.getQNamePredicates().isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private static Deque<QNameWithPredicate> createPath(final LeafRefPath path) {
         final Deque<QNameWithPredicate> ret = new ArrayDeque<>();
         path.getPathTowardsRoot().forEach(ret::push);
@@ -15,11 +15,13 @@ import org.opendaylight.yangtools.rcf8528.data.util.ImmutableMountPointNode;
 import org.opendaylight.yangtools.rfc8528.data.api.MountPointContext;
 import org.opendaylight.yangtools.rfc8528.data.api.MountPointIdentifier;
 import org.opendaylight.yangtools.rfc8528.data.api.StreamWriterMountPointExtension;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.stream.ForwardingNormalizedNodeStreamWriter;
 import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
 import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriterExtension;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 
 // FIXME: document usage of this
 @Beta
@@ -39,6 +41,12 @@ public abstract class ImmutableMountPointNormalizedNodeStreamWriter extends Immu
             final MountPointContext mountCtx) {
         final NormalizedNodeResult mountResult = new NormalizedNodeResult();
         final NormalizedNodeStreamWriter mountDelegate = ImmutableNormalizedNodeStreamWriter.from(mountResult);
+        // Mount point users emit only the mounted top-level nodes, hence we need to wrap them in a root container
+        try {
+            mountDelegate.startContainerNode(new NodeIdentifier(SchemaContext.NAME), UNKNOWN_SIZE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to start mount point root", e);
+        }
 
         return new ForwardingNormalizedNodeStreamWriter() {
             @Override
@@ -48,6 +56,7 @@ public abstract class ImmutableMountPointNormalizedNodeStreamWriter extends Immu
 
             @Override
             public void close() throws IOException {
+                mountDelegate.endNode();
                 super.close();
 
                 final NormalizedNode<?, ?> data = mountResult.getResult();
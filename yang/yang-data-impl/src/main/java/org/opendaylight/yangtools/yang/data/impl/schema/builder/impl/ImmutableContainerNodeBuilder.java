@@ -12,6 +12,7 @@ import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.nodes.AbstractImmutableDataContainerNode;
 
@@ -38,12 +39,21 @@ public class ImmutableContainerNodeBuilder
         return new ImmutableContainerNodeBuilder(sizeHint);
     }
 
+    /**
+     * Create a builder initialized from an existing node. If the node is not an instance of this builder's
+     * implementation, for example a lazily-decoded node, its children are copied into the builder. This forces full
+     * materialization of the node.
+     *
+     * @param node Initial node
+     * @return A new builder
+     */
     public static @NonNull DataContainerNodeBuilder<NodeIdentifier, ContainerNode> create(
             final ContainerNode node) {
-        if (!(node instanceof ImmutableContainerNode)) {
-            throw new UnsupportedOperationException(String.format("Cannot initialize from class %s", node.getClass()));
+        if (node instanceof ImmutableContainerNode) {
+            return new ImmutableContainerNodeBuilder((ImmutableContainerNode) node);
         }
-        return new ImmutableContainerNodeBuilder((ImmutableContainerNode) node);
+        // Foreign implementation, for example a lazily-decoded node: copy its children
+        return create(node.size()).withNodeIdentifier(node.getIdentifier()).withValue(node.getValue());
     }
 
     @Override
@@ -57,5 +67,10 @@ public class ImmutableContainerNodeBuilder
         ImmutableContainerNode(final NodeIdentifier nodeIdentifier, final Map<PathArgument, Object> children) {
             super(children, nodeIdentifier);
         }
+
+        @Override
+        protected boolean foreignValueEquals(final NormalizedNode<?, ?> other) {
+            return other instanceof ContainerNode && foreignChildrenEquals((ContainerNode) other);
+        }
     }
 }
@@ -27,7 +27,7 @@ public class ImmutableLeafSetEntryNodeBuilder<T>
         return new ImmutableLeafSetEntryNode<>(getNodeIdentifier(), getValue());
     }
 
-    private static final class ImmutableLeafSetEntryNode<T>
+    static final class ImmutableLeafSetEntryNode<T>
             extends AbstractImmutableNormalizedSimpleValueNode<NodeWithValue, T> implements LeafSetEntryNode<T> {
 
         ImmutableLeafSetEntryNode(final NodeWithValue nodeIdentifier, final T value) {
@@ -78,7 +78,9 @@ public class ImmutableLeafSetNodeBuilder<T> implements ListNodeBuilder<T, LeafSe
 
     @Override
     public LeafSetNode<T> build() {
-        return new ImmutableLeafSetNode<>(nodeIdentifier, MapAdaptor.getDefaultInstance().optimize(value));
+        final Map<NodeWithValue, LeafSetEntryNode<T>> packed = PackedLeafSetEntries.pack(value);
+        return new ImmutableLeafSetNode<>(nodeIdentifier,
+            packed != null ? packed : MapAdaptor.getDefaultInstance().optimize(value));
     }
 
     @Override
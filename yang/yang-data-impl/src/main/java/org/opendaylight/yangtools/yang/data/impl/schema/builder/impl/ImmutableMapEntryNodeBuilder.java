@@ -19,6 +19,7 @@ import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgum
 import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
 import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
 import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.valid.DataValidationException;
@@ -55,13 +56,21 @@ public class ImmutableMapEntryNodeBuilder
         return new ImmutableMapEntryNodeBuilder(sizeHint);
     }
 
+    /**
+     * Create a builder initialized from an existing node. If the node is not an instance of this builder's
+     * implementation, for example a lazily-decoded node, its children are copied into the builder. This forces full
+     * materialization of the node.
+     *
+     * @param node Initial node
+     * @return A new builder
+     */
     public static @NonNull DataContainerNodeBuilder<NodeIdentifierWithPredicates, MapEntryNode> create(
             final MapEntryNode node) {
-        if (!(node instanceof ImmutableMapEntryNode)) {
-            throw new UnsupportedOperationException(String.format("Cannot initialize from class %s", node.getClass()));
+        if (node instanceof ImmutableMapEntryNode) {
+            return new ImmutableMapEntryNodeBuilder((ImmutableMapEntryNode)node);
         }
-
-        return new ImmutableMapEntryNodeBuilder((ImmutableMapEntryNode)node);
+        // Foreign implementation, for example a lazily-decoded node: copy its children
+        return create(node.size()).withNodeIdentifier(node.getIdentifier()).withValue(node.getValue());
     }
 
     private static void fillQnames(final Iterable<DataContainerChild<? extends PathArgument, ?>> iterable,
@@ -126,5 +135,10 @@ public class ImmutableMapEntryNodeBuilder
                 final Map<PathArgument, Object> children) {
             super(children, nodeIdentifier);
         }
+
+        @Override
+        protected boolean foreignValueEquals(final NormalizedNode<?, ?> other) {
+            return other instanceof MapEntryNode && foreignChildrenEquals((MapEntryNode) other);
+        }
     }
 }
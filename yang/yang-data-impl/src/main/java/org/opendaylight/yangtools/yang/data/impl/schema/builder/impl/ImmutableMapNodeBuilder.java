@@ -11,6 +11,7 @@ import com.google.common.collect.Maps;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.yangtools.util.MapAdaptor;
@@ -20,6 +21,8 @@ import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdent
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
 import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.NormalizedNodeContainerBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.nodes.AbstractImmutableNormalizedNode;
@@ -55,12 +58,20 @@ public class ImmutableMapNodeBuilder implements CollectionNodeBuilder<MapEntryNo
         return new ImmutableMapNodeBuilder(sizeHint);
     }
 
+    /**
+     * Create a builder initialized from an existing node. If the node is not an instance of this builder's
+     * implementation, for example a lazily-decoded node, its entries are copied into the builder. This forces full
+     * materialization of the node.
+     *
+     * @param node Initial node
+     * @return A new builder
+     */
     public static CollectionNodeBuilder<MapEntryNode, MapNode> create(final MapNode node) {
-        if (!(node instanceof ImmutableMapNode)) {
-            throw new UnsupportedOperationException(String.format("Cannot initialize from class %s", node.getClass()));
+        if (node instanceof ImmutableMapNode) {
+            return new ImmutableMapNodeBuilder((ImmutableMapNode) node);
         }
-
-        return new ImmutableMapNodeBuilder((ImmutableMapNode) node);
+        // Foreign implementation, for example a lazily-decoded node: copy its entries
+        return create(node.size()).withNodeIdentifier(node.getIdentifier()).withValue(node.getValue());
     }
 
     @Override
@@ -108,6 +119,20 @@ public class ImmutableMapNodeBuilder implements CollectionNodeBuilder<MapEntryNo
         return withoutChild(key);
     }
 
+    static boolean foreignEntriesEquals(final Map<NodeIdentifierWithPredicates, MapEntryNode> children,
+            final MapNode other) {
+        if (children.size() != other.size()) {
+            return false;
+        }
+        for (Entry<NodeIdentifierWithPredicates, MapEntryNode> entry : children.entrySet()) {
+            final Optional<MapEntryNode> otherEntry = other.getChild(entry.getKey());
+            if (otherEntry.isEmpty() || !entry.getValue().equals(otherEntry.get())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     protected static final class ImmutableMapNode
             extends AbstractImmutableNormalizedNode<NodeIdentifier, Collection<MapEntryNode>> implements MapNode {
 
@@ -143,5 +168,11 @@ public class ImmutableMapNodeBuilder implements CollectionNodeBuilder<MapEntryNo
         protected boolean valueEquals(final AbstractImmutableNormalizedNode<?, ?> other) {
             return children.equals(((ImmutableMapNode) other).children);
         }
+
+        @Override
+        protected boolean foreignValueEquals(final NormalizedNode<?, ?> other) {
+            return other instanceof MapNode && !(other instanceof OrderedMapNode)
+                && foreignEntriesEquals(children, (MapNode) other);
+        }
     }
 }
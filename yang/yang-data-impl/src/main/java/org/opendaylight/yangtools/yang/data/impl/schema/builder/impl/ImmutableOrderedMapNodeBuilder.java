@@ -19,6 +19,7 @@ import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdent
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
 import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.NormalizedNodeContainerBuilder;
@@ -59,12 +60,24 @@ public class ImmutableOrderedMapNodeBuilder implements CollectionNodeBuilder<Map
         return new ImmutableOrderedMapNodeBuilder(sizeHint);
     }
 
+    /**
+     * Create a builder initialized from an existing node. If the node is not an instance of this builder's
+     * implementation, for example a lazily-decoded node, its entries are copied into the builder. This forces full
+     * materialization of the node. Foreign nodes which are not {@link OrderedMapNode}s are rejected.
+     *
+     * @param node Initial node
+     * @return A new builder
+     * @throws UnsupportedOperationException if the node is neither an immutable nor an ordered map node
+     */
     public static @NonNull CollectionNodeBuilder<MapEntryNode, OrderedMapNode> create(final MapNode node) {
-        if (!(node instanceof ImmutableOrderedMapNode)) {
-            throw new UnsupportedOperationException(String.format("Cannot initialize from class %s", node.getClass()));
+        if (node instanceof ImmutableOrderedMapNode) {
+            return new ImmutableOrderedMapNodeBuilder((ImmutableOrderedMapNode) node);
         }
-
-        return new ImmutableOrderedMapNodeBuilder((ImmutableOrderedMapNode) node);
+        if (node instanceof OrderedMapNode) {
+            // Foreign implementation, for example a lazily-decoded node: copy its entries
+            return create(node.size()).withNodeIdentifier(node.getIdentifier()).withValue(node.getValue());
+        }
+        throw new UnsupportedOperationException(String.format("Cannot initialize from class %s", node.getClass()));
     }
 
     private void checkDirty() {
@@ -161,6 +174,12 @@ public class ImmutableOrderedMapNodeBuilder implements CollectionNodeBuilder<Map
             return children.equals(((ImmutableOrderedMapNode) other).children);
         }
 
+        @Override
+        protected boolean foreignValueEquals(final NormalizedNode<?, ?> other) {
+            return other instanceof OrderedMapNode
+                && ImmutableMapNodeBuilder.foreignEntriesEquals(children, (OrderedMapNode) other);
+        }
+
         @Override
         public int getSize() {
             return children.size();
@@ -0,0 +1,411 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.builder.impl;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.UnmodifiableIterator;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.concepts.Immutable;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.Uint16;
+import org.opendaylight.yangtools.yang.common.Uint32;
+import org.opendaylight.yangtools.yang.common.Uint64;
+import org.opendaylight.yangtools.yang.common.Uint8;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableLeafSetEntryNodeBuilder.ImmutableLeafSetEntryNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.nodes.LazyLeafOperations;
+
+/**
+ * A read-only map of {@link LeafSetEntryNode}s, which retains only the values of entries, packed in a sorted primitive
+ * array. Keys and entry nodes are synthesized on access. This is applicable to leaf-sets whose values are all of the
+ * same integral type, which is commonly the case of counters and similar operational data, where it reduces the cost
+ * of an entry from a boxed value, a {@link NodeWithValue}, a {@link LeafSetEntryNode} and a hash table node to just
+ * the value's bits.
+ *
+ * <p>
+ * Since entry nodes are not retained, this representation is used only when {@link LazyLeafOperations#isEnabled()}.
+ * Lookups are performed by binary search, hence run in logarithmic time.
+ *
+ * @param <T> Value type
+ */
+abstract class PackedLeafSetEntries<T> extends AbstractMap<NodeWithValue, LeafSetEntryNode<T>> implements Immutable {
+    /**
+     * Supported value types. The order of packed values follows signed comparison of their bits, which is not the
+     * natural order of unsigned types, but that is immaterial for an unordered leaf-set.
+     */
+    private enum Kind {
+        INT8(Byte.class) {
+            @Override
+            Object box(final long bits) {
+                return (byte) bits;
+            }
+        },
+        UINT8(Uint8.class) {
+            @Override
+            Object box(final long bits) {
+                return Uint8.fromByteBits((byte) bits);
+            }
+        },
+        INT16(Short.class) {
+            @Override
+            Object box(final long bits) {
+                return (short) bits;
+            }
+        },
+        UINT16(Uint16.class) {
+            @Override
+            Object box(final long bits) {
+                return Uint16.fromShortBits((short) bits);
+            }
+        },
+        INT32(Integer.class) {
+            @Override
+            Object box(final long bits) {
+                return (int) bits;
+            }
+        },
+        UINT32(Uint32.class) {
+            @Override
+            Object box(final long bits) {
+                return Uint32.fromIntBits((int) bits);
+            }
+        },
+        INT64(Long.class) {
+            @Override
+            Object box(final long bits) {
+                return bits;
+            }
+        },
+        UINT64(Uint64.class) {
+            @Override
+            Object box(final long bits) {
+                return Uint64.fromLongBits(bits);
+            }
+        };
+
+        private final Class<?> type;
+
+        Kind(final Class<?> type) {
+            this.type = type;
+        }
+
+        abstract Object box(long bits);
+
+        static @Nullable Kind forValue(final Object value) {
+            for (Kind kind : values()) {
+                if (kind.type == value.getClass()) {
+                    return kind;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Minimum number of entries for packing to be considered. Smaller maps are handled well enough by
+     * {@link org.opendaylight.yangtools.util.MapAdaptor}.
+     */
+    static final int MIN_PACKED_SIZE = 8;
+
+    private final @NonNull QName nodeType;
+    private final @NonNull Kind kind;
+
+    private Set<Entry<NodeWithValue, LeafSetEntryNode<T>>> entrySet;
+
+    PackedLeafSetEntries(final QName nodeType, final Kind kind) {
+        this.nodeType = requireNonNull(nodeType);
+        this.kind = requireNonNull(kind);
+    }
+
+    /**
+     * Attempt to pack a map of leaf-set entries.
+     *
+     * @param entries Entries to pack
+     * @return Packed equivalent of entries, or null if the entries cannot be packed
+     */
+    static <T> @Nullable Map<NodeWithValue, LeafSetEntryNode<T>> pack(
+            final Map<NodeWithValue, LeafSetEntryNode<T>> entries) {
+        final int size = entries.size();
+        if (size < MIN_PACKED_SIZE || !LazyLeafOperations.isEnabled()) {
+            return null;
+        }
+
+        QName nodeType = null;
+        Kind kind = null;
+        final long[] bits = new long[size];
+        int offset = 0;
+        for (LeafSetEntryNode<T> entry : entries.values()) {
+            // Only plain entries can be faithfully synthesized
+            if (!(entry instanceof ImmutableLeafSetEntryNode)) {
+                return null;
+            }
+            final Object value = entry.getValue();
+            if (kind == null) {
+                kind = Kind.forValue(value);
+                if (kind == null) {
+                    return null;
+                }
+                nodeType = entry.getNodeType();
+            } else if (kind.type != value.getClass() || !nodeType.equals(entry.getNodeType())) {
+                return null;
+            }
+            bits[offset++] = ((Number) value).longValue();
+        }
+
+        switch (kind) {
+            case INT8:
+            case UINT8:
+                return new ByteEntries<>(nodeType, kind, bits);
+            case INT16:
+            case UINT16:
+                return new ShortEntries<>(nodeType, kind, bits);
+            case INT32:
+            case UINT32:
+                return new IntEntries<>(nodeType, kind, bits);
+            case INT64:
+            case UINT64:
+                return new LongEntries<>(nodeType, kind, bits);
+            default:
+                throw new IllegalStateException("Unhandled kind " + kind);
+        }
+    }
+
+    @Override
+    public final LeafSetEntryNode<T> get(final Object key) {
+        final int index = indexOf(key);
+        return index < 0 ? null : entryAt(index);
+    }
+
+    @Override
+    public final boolean containsKey(final Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public final boolean isEmpty() {
+        return false;
+    }
+
+    @Override
+    public final Set<Entry<NodeWithValue, LeafSetEntryNode<T>>> entrySet() {
+        Set<Entry<NodeWithValue, LeafSetEntryNode<T>>> ret = entrySet;
+        if (ret == null) {
+            entrySet = ret = new EntrySet();
+        }
+        return ret;
+    }
+
+    /**
+     * Return the bits of value at specified index, sign-extended to a long.
+     *
+     * @param index Value index
+     * @return Value bits
+     */
+    abstract long bitsAt(int index);
+
+    /**
+     * Search for specified bits.
+     *
+     * @param bits Value bits, truncated to storage width and sign-extended to a long
+     * @return Index of the value, or a negative number if it is not present
+     */
+    abstract int search(long bits);
+
+    /**
+     * Truncate value bits to storage width and sign-extend them back to a long.
+     *
+     * @param bits Value bits
+     * @return Normalized bits
+     */
+    abstract long normalize(long bits);
+
+    private int indexOf(final Object key) {
+        if (!(key instanceof NodeWithValue)) {
+            return -1;
+        }
+        final NodeWithValue<?> nwv = (NodeWithValue<?>) key;
+        final Object value = nwv.getValue();
+        if (value == null || kind.type != value.getClass() || !nodeType.equals(nwv.getNodeType())) {
+            return -1;
+        }
+        return search(normalize(((Number) value).longValue()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private @NonNull LeafSetEntryNode<T> entryAt(final int index) {
+        final T value = (T) kind.box(bitsAt(index));
+        return new ImmutableLeafSetEntryNode<>(new NodeWithValue<>(nodeType, value), value);
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<NodeWithValue, LeafSetEntryNode<T>>> {
+        @Override
+        public Iterator<Entry<NodeWithValue, LeafSetEntryNode<T>>> iterator() {
+            return new UnmodifiableIterator<>() {
+                private int offset;
+
+                @Override
+                public boolean hasNext() {
+                    return offset < size();
+                }
+
+                @Override
+                public Entry<NodeWithValue, LeafSetEntryNode<T>> next() {
+                    if (offset >= size()) {
+                        throw new NoSuchElementException();
+                    }
+                    final LeafSetEntryNode<T> entry = entryAt(offset++);
+                    return new SimpleImmutableEntry<>(entry.getIdentifier(), entry);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return PackedLeafSetEntries.this.size();
+        }
+    }
+
+    private static final class ByteEntries<T> extends PackedLeafSetEntries<T> {
+        private final byte[] values;
+
+        ByteEntries(final QName nodeType, final Kind kind, final long[] bits) {
+            super(nodeType, kind);
+            values = new byte[bits.length];
+            for (int i = 0; i < bits.length; ++i) {
+                values[i] = (byte) bits[i];
+            }
+            Arrays.sort(values);
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        @Override
+        long bitsAt(final int index) {
+            return values[index];
+        }
+
+        @Override
+        int search(final long bits) {
+            return Arrays.binarySearch(values, (byte) bits);
+        }
+
+        @Override
+        long normalize(final long bits) {
+            return (byte) bits;
+        }
+    }
+
+    private static final class ShortEntries<T> extends PackedLeafSetEntries<T> {
+        private final short[] values;
+
+        ShortEntries(final QName nodeType, final Kind kind, final long[] bits) {
+            super(nodeType, kind);
+            values = new short[bits.length];
+            for (int i = 0; i < bits.length; ++i) {
+                values[i] = (short) bits[i];
+            }
+            Arrays.sort(values);
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        @Override
+        long bitsAt(final int index) {
+            return values[index];
+        }
+
+        @Override
+        int search(final long bits) {
+            return Arrays.binarySearch(values, (short) bits);
+        }
+
+        @Override
+        long normalize(final long bits) {
+            return (short) bits;
+        }
+    }
+
+    private static final class IntEntries<T> extends PackedLeafSetEntries<T> {
+        private final int[] values;
+
+        IntEntries(final QName nodeType, final Kind kind, final long[] bits) {
+            super(nodeType, kind);
+            values = new int[bits.length];
+            for (int i = 0; i < bits.length; ++i) {
+                values[i] = (int) bits[i];
+            }
+            Arrays.sort(values);
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        @Override
+        long bitsAt(final int index) {
+            return values[index];
+        }
+
+        @Override
+        int search(final long bits) {
+            return Arrays.binarySearch(values, (int) bits);
+        }
+
+        @Override
+        long normalize(final long bits) {
+            return (int) bits;
+        }
+    }
+
+    private static final class LongEntries<T> extends PackedLeafSetEntries<T> {
+        private final long[] values;
+
+        LongEntries(final QName nodeType, final Kind kind, final long[] bits) {
+            super(nodeType, kind);
+            values = bits;
+            Arrays.sort(values);
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        @Override
+        long bitsAt(final int index) {
+            return values[index];
+        }
+
+        @Override
+        int search(final long bits) {
+            return Arrays.binarySearch(values, bits);
+        }
+
+        @Override
+        long normalize(final long bits) {
+            return bits;
+        }
+    }
+}
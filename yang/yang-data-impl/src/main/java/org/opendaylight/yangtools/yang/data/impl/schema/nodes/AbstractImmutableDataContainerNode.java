@@ -14,6 +14,7 @@ import org.opendaylight.yangtools.util.ImmutableOffsetMap;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
 import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 
 public abstract class AbstractImmutableDataContainerNode<K extends PathArgument>
         extends AbstractImmutableNormalizedNode<K, Collection<DataContainerChild<? extends PathArgument, ?>>>
@@ -64,4 +65,26 @@ public abstract class AbstractImmutableDataContainerNode<K extends PathArgument>
         return other instanceof AbstractImmutableDataContainerNode<?> && children.equals(
                 ((AbstractImmutableDataContainerNode<?>) other).children);
     }
+
+    /**
+     * Compare children of this node with children of a foreign {@link DataContainerNode} implementation. Subclasses
+     * use this method to implement {@link #foreignValueEquals(NormalizedNode)} once they have verified the other node
+     * implements the same contract.
+     *
+     * @param other Other node
+     * @return True if both nodes have equal children
+     */
+    protected final boolean foreignChildrenEquals(final DataContainerNode<?> other) {
+        if (children.size() != other.size()) {
+            return false;
+        }
+        for (DataContainerChild<? extends PathArgument, ?> child : getValue()) {
+            final Optional<DataContainerChild<? extends PathArgument, ?>> otherChild =
+                other.getChild(child.getIdentifier());
+            if (otherChild.isEmpty() || !child.equals(otherChild.get())) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
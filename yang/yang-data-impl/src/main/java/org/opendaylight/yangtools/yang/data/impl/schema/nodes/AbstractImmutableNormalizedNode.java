@@ -34,14 +34,38 @@ public abstract class AbstractImmutableNormalizedNode<K extends PathArgument, V>
 
     protected abstract int valueHashCode();
 
+    /**
+     * Compare the value of this node with the value of a {@link NormalizedNode} implemented by a different class, for
+     * example a lazily-decoded node. Both nodes are guaranteed to have the same identifier. Subclasses which override
+     * this method have to make sure they compare only to nodes implementing the same contract. Foreign implementations
+     * need to reciprocate, i.e. treat this node as equal and report the same {@link #hashCode()}, which they typically
+     * do by delegating to an equivalent node of this class.
+     *
+     * <p>
+     * Default implementation returns false.
+     *
+     * @param other Other node
+     * @return True if the values are equal
+     */
+    protected boolean foreignValueEquals(final NormalizedNode<?, ?> other) {
+        return false;
+    }
+
     @Override
     public final boolean equals(final Object obj) {
         if (this == obj) {
             return true;
         }
-        if (obj == null || this.getClass() != obj.getClass()) {
+        if (obj == null) {
             return false;
         }
+        if (this.getClass() != obj.getClass()) {
+            if (!(obj instanceof NormalizedNode)) {
+                return false;
+            }
+            final NormalizedNode<?, ?> other = (NormalizedNode<?, ?>) obj;
+            return getIdentifier().equals(other.getIdentifier()) && foreignValueEquals(other);
+        }
 
         final AbstractImmutableNormalizedNode<?, ?> other = (AbstractImmutableNormalizedNode<?, ?>)obj;
         return getIdentifier().equals(other.getIdentifier()) && valueEquals(other);
@@ -12,9 +12,15 @@ import static java.util.Objects.requireNonNull;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.MoreObjects.ToStringHelper;
+import com.google.common.base.Throwables;
 import com.google.common.base.Verify;
+import com.google.common.util.concurrent.Uninterruptibles;
 import java.util.Collection;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
@@ -87,13 +93,21 @@ abstract class AbstractNodeContainerModificationStrategy<T extends WithStatus>
      */
     private static final Version FAKE_VERSION = Version.initial();
 
+    // Number of chunks parallel application is split into. Always at least two, so that it is exercised even on
+    // single-CPU systems.
+    private static final int PARALLELISM = Math.max(2, Runtime.getRuntime().availableProcessors());
+
     private final NormalizedNodeContainerSupport<?, ?> support;
     private final boolean verifyChildrenStructure;
+    private final int parallelApplyThreshold;
+    private final Executor parallelApplyExecutor;
 
     AbstractNodeContainerModificationStrategy(final NormalizedNodeContainerSupport<?, ?> support,
             final DataTreeConfiguration treeConfig) {
         this.support = requireNonNull(support);
         this.verifyChildrenStructure = treeConfig.getTreeType() == TreeType.CONFIGURATION;
+        this.parallelApplyThreshold = treeConfig.getParallelApplyThreshold();
+        this.parallelApplyExecutor = treeConfig.getParallelApplyExecutor();
     }
 
     @Override
@@ -211,22 +225,18 @@ abstract class AbstractNodeContainerModificationStrategy<T extends WithStatus>
      * @param modifications modification operations to apply
      * @return Sealed immutable copy of TreeNode structure with all Data Node references set.
      */
-    @SuppressWarnings({ "rawtypes", "unchecked" })
+    @SuppressWarnings("rawtypes")
     private TreeNode mutateChildren(final MutableTreeNode meta, final NormalizedNodeContainerBuilder data,
-            final Version nodeVersion, final Iterable<ModifiedNode> modifications) {
-
-        for (final ModifiedNode mod : modifications) {
-            final PathArgument id = mod.getIdentifier();
-            final Optional<? extends TreeNode> cm = meta.getChild(id);
-
-            final Optional<? extends TreeNode> result = resolveChildOperation(id).apply(mod, cm, nodeVersion);
-            if (result.isPresent()) {
-                final TreeNode tn = result.get();
-                meta.addChild(tn);
-                data.addChild(tn.getData());
-            } else {
-                meta.removeChild(id);
-                data.removeChild(id);
+            final Version nodeVersion, final Collection<ModifiedNode> modifications) {
+        if (parallelApplyThreshold != 0 && modifications.size() >= parallelApplyThreshold) {
+            parallelMutateChildren(meta, data, nodeVersion, modifications);
+        } else {
+            for (final ModifiedNode mod : modifications) {
+                final PathArgument id = mod.getIdentifier();
+                final Optional<? extends TreeNode> cm = meta.getChild(id);
+
+                final Optional<? extends TreeNode> result = resolveChildOperation(id).apply(mod, cm, nodeVersion);
+                updateChild(meta, data, id, result);
             }
         }
 
@@ -234,6 +244,93 @@ abstract class AbstractNodeContainerModificationStrategy<T extends WithStatus>
         return meta.seal();
     }
 
+    /**
+     * Apply child modifications in parallel. Each child modification touches a disjoint subtree, hence they can be
+     * applied independently of each other. We look up current children up front, as MutableTreeNode is not safe for
+     * concurrent access, and then apply the results in the original order, so that the outcome is the same as when
+     * applying modifications sequentially.
+     *
+     * <p>
+     * Modifications are split into chunks, which are claimed by tasks submitted to the executor as well as by the
+     * calling thread. We therefore never wait for a task which has not started, which could deadlock a bounded
+     * executor when nested nodes are also applied in parallel.
+     *
+     * <p>
+     * Any failure, including {@link Error}s, is captured from the worker and the first one is rethrown on the calling
+     * thread once all chunks have completed. Failures reported by other chunks are attached to it as suppressed.
+     */
+    @SuppressWarnings({ "rawtypes", "checkstyle:illegalCatch" })
+    private void parallelMutateChildren(final MutableTreeNode meta, final NormalizedNodeContainerBuilder data,
+            final Version nodeVersion, final Collection<ModifiedNode> modifications) {
+        final int size = modifications.size();
+        final ModifiedNode[] mods = modifications.toArray(new ModifiedNode[size]);
+        final ModificationApplyOperation[] ops = new ModificationApplyOperation[size];
+        final Optional<?>[] currents = new Optional<?>[size];
+        for (int i = 0; i < size; ++i) {
+            final PathArgument id = mods[i].getIdentifier();
+            ops[i] = resolveChildOperation(id);
+            currents[i] = meta.getChild(id);
+        }
+
+        @SuppressWarnings("unchecked")
+        final Optional<? extends TreeNode>[] results = new Optional[size];
+        final int chunkCount = Math.min(size, PARALLELISM);
+        final int chunkSize = (size + chunkCount - 1) / chunkCount;
+        final AtomicInteger nextChunk = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(chunkCount);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        final Runnable worker = () -> {
+            for (int chunk = nextChunk.getAndIncrement(); chunk < chunkCount; chunk = nextChunk.getAndIncrement()) {
+                try {
+                    final int limit = Math.min(size, (chunk + 1) * chunkSize);
+                    for (int i = chunk * chunkSize; i < limit; ++i) {
+                        @SuppressWarnings("unchecked")
+                        final Optional<? extends TreeNode> current = (Optional<? extends TreeNode>) currents[i];
+                        results[i] = ops[i].apply(mods[i], current, nodeVersion);
+                    }
+                } catch (Throwable e) {
+                    if (!failure.compareAndSet(null, e)) {
+                        // The JVM may throw preallocated instances, which cannot suppress themselves
+                        final Throwable first = failure.get();
+                        if (first != e) {
+                            first.addSuppressed(e);
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }
+        };
+        for (int i = 1; i < chunkCount; ++i) {
+            parallelApplyExecutor.execute(worker);
+        }
+        worker.run();
+        Uninterruptibles.awaitUninterruptibly(done);
+
+        final Throwable cause = failure.get();
+        if (cause != null) {
+            Throwables.throwIfUnchecked(cause);
+            throw new IllegalStateException("Failed to apply child modifications", cause);
+        }
+        for (int i = 0; i < size; ++i) {
+            updateChild(meta, data, mods[i].getIdentifier(), results[i]);
+        }
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static void updateChild(final MutableTreeNode meta, final NormalizedNodeContainerBuilder data,
+            final PathArgument id, final Optional<? extends TreeNode> result) {
+        if (result.isPresent()) {
+            final TreeNode tn = result.get();
+            meta.addChild(tn);
+            data.addChild(tn.getData());
+        } else {
+            meta.removeChild(id);
+            data.removeChild(id);
+        }
+    }
+
     @Override
     protected TreeNode applyMerge(final ModifiedNode modification, final TreeNode currentMeta, final Version version) {
         /*
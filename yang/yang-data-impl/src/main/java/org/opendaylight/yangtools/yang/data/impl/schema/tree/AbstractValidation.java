@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Optional;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.Version;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link ModificationApplyOperation} which delegates to another operation and enforces some additional constraint
+ * on the resulting data.
+ */
+abstract class AbstractValidation extends ModificationApplyOperation {
+    private static final Logger LOG = LoggerFactory.getLogger(AbstractValidation.class);
+
+    private final @NonNull ModificationApplyOperation delegate;
+
+    AbstractValidation(final ModificationApplyOperation delegate) {
+        this.delegate = requireNonNull(delegate);
+    }
+
+    @Override
+    public final Optional<ModificationApplyOperation> getChild(final PathArgument child) {
+        return delegate.getChild(child);
+    }
+
+    @Override
+    final ChildTrackingPolicy getChildPolicy() {
+        return delegate.getChildPolicy();
+    }
+
+    @Override
+    final void mergeIntoModifiedNode(final ModifiedNode node, final NormalizedNode<?, ?> value,
+            final Version version) {
+        delegate.mergeIntoModifiedNode(node, value, version);
+    }
+
+    @Override
+    final void quickVerifyStructure(final NormalizedNode<?, ?> modification) {
+        delegate.quickVerifyStructure(modification);
+    }
+
+    @Override
+    final void recursivelyVerifyStructure(final NormalizedNode<?, ?> value) {
+        delegate.recursivelyVerifyStructure(value);
+    }
+
+    @Override
+    final Optional<? extends TreeNode> apply(final ModifiedNode modification,
+            final Optional<? extends TreeNode> storeMeta, final Version version) {
+        Optional<? extends TreeNode> ret = modification.getValidatedNode(this, storeMeta);
+        if (ret == null) {
+            // Deal with the result moving on us
+            ret = delegate.apply(modification, storeMeta, version);
+            if (ret.isPresent()) {
+                enforceOnTreeNode(modification, storeMeta, ret.get());
+            }
+        }
+        return ret;
+    }
+
+    @Override
+    final void checkApplicable(final ModificationPath path, final NodeModification modification,
+            final Optional<? extends TreeNode> current, final Version version) throws DataValidationFailedException {
+        delegate.checkApplicable(path, modification, current, version);
+
+        if (!(modification instanceof ModifiedNode)) {
+            LOG.debug("Could not validate {}, does not implement expected class {}", modification, ModifiedNode.class);
+            return;
+        }
+        final ModifiedNode modified = (ModifiedNode) modification;
+
+        // We need to actually perform the operation to deal with merge in a sane manner. We know the modification
+        // is immutable, so the result of validation will probably not change. Note we should not be checking number
+        final Optional<? extends TreeNode> maybeApplied = delegate.apply(modified, current, version);
+
+        // We only enforce constraints on present data and rely on MandatoryLeafEnforcer to take care of the empty
+        // case
+        if (maybeApplied.isPresent()) {
+            enforceOnTreeNode(path, modified, current, maybeApplied.get());
+        }
+
+        // Everything passed. We now have a snapshot of the result node, it would be too bad if we just threw it out.
+        // We know what the result of an apply operation is going to be *if* the following are kept unchanged:
+        // - the 'current' node
+        // - the schemacontext (therefore, the fact this object is associated with the modification)
+        //
+        // So let's stash the result. We will pick it up during apply operation.
+        modified.setValidatedNode(this, current, maybeApplied);
+    }
+
+    @Override
+    final void fullVerifyStructure(final NormalizedNode<?, ?> modification) {
+        delegate.fullVerifyStructure(modification);
+        enforceOnData(modification);
+    }
+
+    /**
+     * Enforce this validation on the result of applying a modification. The default implementation defers to
+     * {@link #enforceOnData(NormalizedNode)}, subclasses can override it to take advantage of knowing the
+     * modification which lead to the result.
+     *
+     * @param modification Modification which has been applied
+     * @param current Tree node on which the modification was applied
+     * @param tree Resulting tree node
+     * @throws IllegalArgumentException if the resulting data does not meet this validation's constraints
+     */
+    void enforceOnTreeNode(final ModifiedNode modification, final Optional<? extends TreeNode> current,
+            final TreeNode tree) {
+        enforceOnData(tree.getData());
+    }
+
+    /**
+     * Enforce this validation on the result of applying a modification as part of checking its applicability. The
+     * default implementation defers to {@link #enforceOnData(ModificationPath, NormalizedNode)}, subclasses can
+     * override it to take advantage of knowing the modification which lead to the result.
+     *
+     * @param path Path to the modification
+     * @param modification Modification which has been applied
+     * @param current Tree node on which the modification was applied
+     * @param tree Resulting tree node
+     * @throws DataValidationFailedException if the resulting data does not meet this validation's constraints
+     */
+    void enforceOnTreeNode(final ModificationPath path, final ModifiedNode modification,
+            final Optional<? extends TreeNode> current, final TreeNode tree) throws DataValidationFailedException {
+        enforceOnData(path, tree.getData());
+    }
+
+    /**
+     * Enforce this validation on specified data.
+     *
+     * @param path Path to the data
+     * @param value Data to be validated
+     * @throws DataValidationFailedException if the data does not meet this validation's constraints
+     */
+    abstract void enforceOnData(ModificationPath path, NormalizedNode<?, ?> value)
+        throws DataValidationFailedException;
+
+    /**
+     * Enforce this validation on specified data.
+     *
+     * @param value Data to be validated
+     * @throws IllegalArgumentException if the data does not meet this validation's constraints
+     */
+    abstract void enforceOnData(NormalizedNode<?, ?> value);
+}
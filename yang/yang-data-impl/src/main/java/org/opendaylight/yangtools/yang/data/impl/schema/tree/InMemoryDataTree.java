@@ -12,14 +12,23 @@ import static java.util.Objects.requireNonNull;
 import com.google.common.base.MoreObjects;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.concepts.CheckedValue;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateTip;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeTip;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.OffHeapDemotionPolicy;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
 import org.opendaylight.yangtools.yang.data.util.DataSchemaContextNode;
 import org.opendaylight.yangtools.yang.data.util.DataSchemaContextTree;
@@ -36,6 +45,30 @@ import org.slf4j.LoggerFactory;
  * Read-only snapshot of the data tree.
  */
 final class InMemoryDataTree extends AbstractDataTreeTip implements DataTree {
+    /**
+     * A {@link DataTreeTip} fixed to a particular state, which serves as the base for chaining modifications in
+     * {@link InMemoryDataTree#commitBatch(List)}.
+     */
+    private static final class BatchBase extends AbstractDataTreeTip {
+        private final YangInstanceIdentifier rootPath;
+        private final TreeNode root;
+
+        BatchBase(final YangInstanceIdentifier rootPath, final TreeNode root) {
+            this.rootPath = requireNonNull(rootPath);
+            this.root = requireNonNull(root);
+        }
+
+        @Override
+        protected TreeNode getTipRoot() {
+            return root;
+        }
+
+        @Override
+        YangInstanceIdentifier getRootPath() {
+            return rootPath;
+        }
+    }
+
     private static final VarHandle STATE;
 
     static {
@@ -50,6 +83,8 @@ final class InMemoryDataTree extends AbstractDataTreeTip implements DataTree {
 
     private final DataTreeConfiguration treeConfig;
     private final boolean maskMandatory;
+    // Not thread-safe, accesses need to be synchronized on the policy
+    private final @Nullable OffHeapDemotionPolicy demotionPolicy;
 
     /**
      * Current data store state generation. All accesses need to go through {@link #STATE}
@@ -61,6 +96,7 @@ final class InMemoryDataTree extends AbstractDataTreeTip implements DataTree {
             final SchemaContext schemaContext) {
         this.treeConfig = requireNonNull(treeConfig, "treeConfig");
         maskMandatory = true;
+        demotionPolicy = createDemotionPolicy(treeConfig);
         state = DataTreeState.createInitial(rootNode);
         if (schemaContext != null) {
             setSchemaContext(schemaContext);
@@ -71,10 +107,17 @@ final class InMemoryDataTree extends AbstractDataTreeTip implements DataTree {
             final SchemaContext schemaContext, final DataSchemaNode rootSchemaNode, final boolean maskMandatory) {
         this.treeConfig = requireNonNull(treeConfig, "treeConfig");
         this.maskMandatory = maskMandatory;
+        demotionPolicy = createDemotionPolicy(treeConfig);
 
         state = DataTreeState.createInitial(rootNode).withSchemaContext(schemaContext, getOperation(rootSchemaNode));
     }
 
+    private static @Nullable OffHeapDemotionPolicy createDemotionPolicy(final DataTreeConfiguration treeConfig) {
+        return treeConfig.getOffHeapSubtreeCodec()
+            .map(codec -> new OffHeapDemotionPolicy(codec, treeConfig.getOffHeapDemotionThreshold()))
+            .orElse(null);
+    }
+
     private ModificationApplyOperation getOperation(final DataSchemaNode rootSchemaNode) {
         if (rootSchemaNode instanceof ContainerSchemaNode && maskMandatory) {
             return new ContainerModificationStrategy((ContainerSchemaNode) rootSchemaNode, treeConfig);
@@ -161,7 +204,7 @@ final class InMemoryDataTree extends AbstractDataTreeTip implements DataTree {
             LOG.debug("Updating datastore from {} to {}", currentRoot, newRoot);
 
             final TreeNode oldRoot = c.getBeforeRoot();
-            if (oldRoot != currentRoot) {
+            if (!isSameRoot(oldRoot, currentRoot)) {
                 final String oldStr = simpleToString(oldRoot);
                 final String currentStr = simpleToString(currentRoot);
                 throw new IllegalStateException("Store tree " + currentStr + " and candidate base " + oldStr
@@ -172,6 +215,90 @@ final class InMemoryDataTree extends AbstractDataTreeTip implements DataTree {
             LOG.trace("Updated state from {} to {}", currentState, newState);
             // TODO: can we lower this to compareAndSwapRelease?
         } while (!STATE.compareAndSet(this, currentState, newState));
+
+        demote(newState);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * This implementation validates and prepares each modification on top of the candidate produced by the last
+     * successful modification, and then publishes the resulting state with a single update. Should the state of this
+     * data tree change while the batch is being processed, the entire batch is processed again on top of the new state.
+     */
+    @Override
+    public List<CheckedValue<DataTreeCandidate, DataValidationFailedException>> commitBatch(
+            final List<? extends DataTreeModification> modifications) {
+        while (true) {
+            final DataTreeState currentState = currentState();
+            final TreeNode currentRoot = currentState.getRoot();
+            final List<CheckedValue<DataTreeCandidate, DataValidationFailedException>> ret =
+                    new ArrayList<>(modifications.size());
+
+            AbstractDataTreeTip tip = new BatchBase(getRootPath(), currentRoot);
+            for (DataTreeModification modification : modifications) {
+                final DataTreeCandidateTip candidate;
+                try {
+                    tip.validate(modification);
+                    candidate = tip.prepare(modification);
+                } catch (DataValidationFailedException e) {
+                    LOG.debug("Modification {} failed to validate", modification, e);
+                    ret.add(CheckedValue.ofException(e));
+                    continue;
+                }
+
+                ret.add(CheckedValue.ofValue(candidate));
+                tip = (AbstractDataTreeTip) candidate;
+            }
+
+            final TreeNode newRoot = tip.getTipRoot();
+            if (newRoot == currentRoot) {
+                LOG.debug("Batch of {} modifications did not produce a new state", modifications.size());
+                return ret;
+            }
+
+            final DataTreeState newState = currentState.withRoot(newRoot);
+            if (STATE.compareAndSet(this, currentState, newState)) {
+                LOG.trace("Updated state from {} to {} with {} modifications", currentState, newState,
+                    modifications.size());
+                demote(newState);
+                return ret;
+            }
+
+            LOG.debug("State changed while processing a batch of {} modifications, retrying",
+                modifications.size());
+        }
+    }
+
+    /*
+     * Check whether a candidate's base root corresponds to the current root. Off-heap demotion replaces the root with
+     * an equivalent one, which retains its versions, hence we cannot rely on root identity. Versions are unique to
+     * each modification, so a root is identified by its versions unless it is the result of demotion.
+     */
+    private static boolean isSameRoot(final TreeNode candidateBase, final TreeNode currentRoot) {
+        return candidateBase == currentRoot || (candidateBase.getVersion().equals(currentRoot.getVersion())
+            && candidateBase.getSubtreeVersion().equals(currentRoot.getSubtreeVersion()));
+    }
+
+    /*
+     * Run the demotion policy, if enabled, on a state we have just published. Demotion happens on the committing
+     * thread and is serialized by the policy. Should the state change in the meantime, the demoted root is not
+     * published and its subtrees are demoted during a subsequent commit instead.
+     */
+    private void demote(final DataTreeState published) {
+        final OffHeapDemotionPolicy policy = demotionPolicy;
+        if (policy == null) {
+            return;
+        }
+
+        final TreeNode root = published.getRoot();
+        synchronized (policy) {
+            final TreeNode demoted = policy.onCommit(root);
+            if (demoted != root && !STATE.compareAndSet(this, published, published.withRoot(demoted))) {
+                LOG.debug("State changed while demoting {}, not publishing demoted root", root);
+            }
+        }
     }
 
     private static String simpleToString(final Object obj) {
@@ -94,14 +94,12 @@ abstract class SchemaAwareApplyOperation<T extends WithStatus> extends Modificat
     private static ModificationApplyOperation fromListSchemaNode(final ListSchemaNode schemaNode,
             final DataTreeConfiguration treeConfig) {
         final List<QName> keyDefinition = schemaNode.getKeyDefinition();
-        final SchemaAwareApplyOperation<ListSchemaNode> op;
         if (keyDefinition == null || keyDefinition.isEmpty()) {
-            op = new UnkeyedListModificationStrategy(schemaNode, treeConfig);
-        } else {
-            op = MapModificationStrategy.of(schemaNode, treeConfig);
+            return MinMaxElementsValidation.from(new UnkeyedListModificationStrategy(schemaNode, treeConfig));
         }
 
-        return MinMaxElementsValidation.from(op);
+        return UniqueValidation.of(schemaNode, treeConfig,
+            MinMaxElementsValidation.from(MapModificationStrategy.of(schemaNode, treeConfig)));
     }
 
     protected static void checkNotConflicting(final ModificationPath path, final TreeNode original,
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.concepts.Immutable;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+
+/**
+ * A persistent secondary index of a single list's entries, mapping values extracted by each {@link UniqueValidator}
+ * to the entry which holds them.
+ *
+ * <p>
+ * An index is a stack of layers, each holding only the difference from its parent layer. Lookups walk the layers from
+ * the top, the first layer which knows about a particular value determines the result. When a new layer is built, it
+ * is merged with its parent layers as long as they are not larger than it is, in a manner similar to a binary counter.
+ * This keeps the number of layers logarithmic to the size of the index and guarantees each mapping is copied at most
+ * a logarithmic number of times, while derivation of an index for a small change does not need to copy the entire
+ * index.
+ */
+final class UniqueIndex implements Immutable {
+    /**
+     * Mutable builder of an index layer.
+     */
+    static final class Builder {
+        private final @Nullable UniqueIndex parent;
+        private final List<Map<List<Object>, Object>> layer;
+
+        Builder(final @Nullable UniqueIndex parent, final int validatorCount) {
+            this.parent = parent;
+            layer = new ArrayList<>(validatorCount);
+            for (int i = 0; i < validatorCount; ++i) {
+                layer.add(new HashMap<>());
+            }
+        }
+
+        /**
+         * Remove a mapping of values of a particular validator.
+         *
+         * @param validator Validator offset
+         * @param values Values to remove
+         */
+        void remove(final int validator, final List<Object> values) {
+            final Map<List<Object>, Object> map = layer.get(validator);
+            if (parent != null) {
+                map.put(values, REMOVED);
+            } else {
+                map.remove(values);
+            }
+        }
+
+        /**
+         * Add a mapping of values of a particular validator to the entry holding them, unless it conflicts with an
+         * existing mapping.
+         *
+         * @param validator Validator offset
+         * @param values Values to add
+         * @param entry Identifier of the entry holding the values
+         * @return Identifier of a conflicting entry, or null if the mapping was added
+         */
+        @Nullable NodeIdentifierWithPredicates put(final int validator, final List<Object> values,
+                final NodeIdentifierWithPredicates entry) {
+            final Map<List<Object>, Object> map = layer.get(validator);
+            final Object local = map.get(values);
+            final NodeIdentifierWithPredicates existing;
+            if (local != null) {
+                existing = local == REMOVED ? null : (NodeIdentifierWithPredicates) local;
+            } else {
+                existing = parent == null ? null : parent.lookup(validator, values);
+            }
+
+            if (existing != null && !existing.equals(entry)) {
+                return existing;
+            }
+            map.put(values, entry);
+            return null;
+        }
+
+        @NonNull UniqueIndex build() {
+            List<Map<List<Object>, Object>> merged = layer;
+            int mergedSize = sizeOf(merged);
+            UniqueIndex base = parent;
+
+            while (base != null && base.size <= mergedSize) {
+                final List<Map<List<Object>, Object>> tmp = new ArrayList<>(merged.size());
+                for (int i = 0; i < merged.size(); ++i) {
+                    final Map<List<Object>, Object> map = new HashMap<>(base.layer.get(i));
+                    map.putAll(merged.get(i));
+                    tmp.add(map);
+                }
+
+                merged = tmp;
+                base = base.parent;
+                if (base == null) {
+                    // We have merged all layers, hence removal markers have nothing to shadow
+                    for (Map<List<Object>, Object> map : merged) {
+                        map.values().removeIf(value -> value == REMOVED);
+                    }
+                }
+                mergedSize = sizeOf(merged);
+            }
+
+            return new UniqueIndex(base, merged, mergedSize);
+        }
+
+        private static int sizeOf(final List<Map<List<Object>, Object>> layer) {
+            int ret = 0;
+            for (Map<List<Object>, Object> map : layer) {
+                ret += map.size();
+            }
+            return ret;
+        }
+    }
+
+    private static final Object REMOVED = new Object();
+
+    private final @Nullable UniqueIndex parent;
+    private final @NonNull List<Map<List<Object>, Object>> layer;
+    private final int size;
+
+    private UniqueIndex(final @Nullable UniqueIndex parent, final List<Map<List<Object>, Object>> layer,
+            final int size) {
+        this.parent = parent;
+        this.layer = requireNonNull(layer);
+        this.size = size;
+    }
+
+    /**
+     * Return the number of layers in this index. Exposed for testing purposes.
+     *
+     * @return Number of layers
+     */
+    int depth() {
+        int ret = 1;
+        for (UniqueIndex current = parent; current != null; current = current.parent) {
+            ret++;
+        }
+        return ret;
+    }
+
+    /**
+     * Find the entry holding specified values of a particular validator.
+     *
+     * @param validator Validator offset
+     * @param values Values to look up
+     * @return Identifier of the entry holding the values, or null if no entry holds them
+     */
+    @Nullable NodeIdentifierWithPredicates lookup(final int validator, final List<Object> values) {
+        UniqueIndex current = this;
+        do {
+            final Object found = current.layer.get(validator).get(values);
+            if (found != null) {
+                return found == REMOVED ? null : (NodeIdentifierWithPredicates) found;
+            }
+            current = current.parent;
+        } while (current != null);
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("depth", depth()).add("size", size).toString();
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static com.google.common.base.Verify.verify;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.UniqueConstraintException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.UniqueConstraint;
+import org.opendaylight.yangtools.yang.model.api.stmt.SchemaNodeIdentifier.Descendant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Validation of {@code unique} constraints of a keyed list, as specified by
+ * <a href="https://tools.ietf.org/html/rfc7950#section-7.8.3">RFC7950 section 7.8.3</a>.
+ *
+ * <p>
+ * For each {@link MapNode} it has validated, this class retains a {@link UniqueIndex}, which is then used as the base
+ * for validating subsequent modifications of that node. Only the list entries touched by a {@link ModifiedNode}
+ * are examined, so the cost of validation is proportional to the size of the modification rather than the size of
+ * the list. The index is discarded once the {@link MapNode} it describes is no longer referenced.
+ *
+ * <p>
+ * Note that leaves with default values are not considered, as they are not present in data.
+ */
+final class UniqueValidation extends AbstractValidation {
+    @FunctionalInterface
+    private interface ExceptionSupplier<T extends Exception> {
+        T get(String message, ImmutableMap<Descendant, Object> values);
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(UniqueValidation.class);
+
+    private final @NonNull ImmutableList<UniqueValidator> validators;
+
+    // Keyed by identity of the MapNode the index describes, with weak references, so as to not retain old data
+    private final Cache<NormalizedNode<?, ?>, UniqueIndex> indices = CacheBuilder.newBuilder().weakKeys().build();
+
+    private UniqueValidation(final ModificationApplyOperation delegate,
+            final ImmutableList<UniqueValidator> validators) {
+        super(delegate);
+        this.validators = requireNonNull(validators);
+    }
+
+    static ModificationApplyOperation of(final ListSchemaNode schema, final DataTreeConfiguration treeConfig,
+            final ModificationApplyOperation delegate) {
+        if (!treeConfig.isUniqueIndexEnabled()) {
+            return delegate;
+        }
+
+        final Collection<? extends UniqueConstraint> uniques = schema.getUniqueConstraints();
+        if (uniques.isEmpty()) {
+            return delegate;
+        }
+
+        final Stopwatch sw = Stopwatch.createStarted();
+        final ImmutableList.Builder<UniqueValidator> builder = ImmutableList.builderWithExpectedSize(uniques.size());
+        for (UniqueConstraint unique : uniques) {
+            builder.add(UniqueValidator.of(schema, unique));
+        }
+        final ImmutableList<UniqueValidator> validators = builder.build();
+        LOG.debug("Constructed {} validators for {} in {}", validators.size(), schema.getQName(), sw);
+        return new UniqueValidation(delegate, validators);
+    }
+
+    @Override
+    void enforceOnData(final NormalizedNode<?, ?> value) {
+        indexData(value, (message, values) -> new IllegalArgumentException(message));
+    }
+
+    @Override
+    void enforceOnData(final ModificationPath path, final NormalizedNode<?, ?> value)
+            throws UniqueConstraintException {
+        indexData(value, (message, values) -> new UniqueConstraintException(path.toInstanceIdentifier(), values,
+            message));
+    }
+
+    @Override
+    void enforceOnTreeNode(final ModifiedNode modification, final Optional<? extends TreeNode> current,
+            final TreeNode tree) {
+        enforceOnTreeNode(modification, current, tree,
+            (message, values) -> new IllegalArgumentException(message));
+    }
+
+    @Override
+    void enforceOnTreeNode(final ModificationPath path, final ModifiedNode modification,
+            final Optional<? extends TreeNode> current, final TreeNode tree) throws UniqueConstraintException {
+        enforceOnTreeNode(modification, current, tree,
+            (message, values) -> new UniqueConstraintException(path.toInstanceIdentifier(), values, message));
+    }
+
+    private <T extends Exception> void enforceOnTreeNode(final ModifiedNode modification,
+            final Optional<? extends TreeNode> current, final TreeNode tree, final ExceptionSupplier<T> exceptions)
+                throws T {
+        final NormalizedNode<?, ?> after = tree.getData();
+        if (indices.getIfPresent(after) != null) {
+            // Already validated
+            return;
+        }
+
+        // A WRITE replaces the entire list, we do not really have anything to compare against
+        if (!current.isPresent() || modification.getOperation() == LogicalOperation.WRITE) {
+            indexData(after, exceptions);
+            return;
+        }
+
+        final NormalizedNode<?, ?> before = current.get().getData();
+        final UniqueIndex base = indices.getIfPresent(before);
+        if (base == null) {
+            LOG.debug("No index available for {}, performing full validation", before.getIdentifier());
+            indexData(after, exceptions);
+            return;
+        }
+
+        final Stopwatch sw = Stopwatch.createStarted();
+        verify(before instanceof MapNode, "Unexpected data %s", before);
+        verify(after instanceof MapNode, "Unexpected data %s", after);
+        final MapNode beforeMap = (MapNode) before;
+        final MapNode afterMap = (MapNode) after;
+
+        // Collect entries which have changed their values
+        final Collection<ModifiedNode> children = modification.getChildren();
+        final List<NodeIdentifierWithPredicates> changedIds = new ArrayList<>(children.size());
+        final List<List<@Nullable List<Object>>> changedValues = new ArrayList<>(children.size());
+        final UniqueIndex.Builder builder = new UniqueIndex.Builder(base, validators.size());
+        for (ModifiedNode child : children) {
+            final PathArgument childId = child.getIdentifier();
+            verify(childId instanceof NodeIdentifierWithPredicates, "Unexpected child %s", childId);
+            final NodeIdentifierWithPredicates id = (NodeIdentifierWithPredicates) childId;
+            final List<@Nullable List<Object>> oldValues = extractValues(beforeMap.getChild(id));
+            final List<@Nullable List<Object>> newValues = extractValues(afterMap.getChild(id));
+            if (!oldValues.equals(newValues)) {
+                // Remove all previous mappings first, so that entries can swap values
+                for (int i = 0; i < oldValues.size(); ++i) {
+                    final List<Object> oldValue = oldValues.get(i);
+                    if (oldValue != null && !oldValue.equals(newValues.get(i))) {
+                        builder.remove(i, oldValue);
+                    }
+                }
+                changedIds.add(id);
+                changedValues.add(newValues);
+            }
+        }
+
+        // Now add mappings of new values
+        for (int c = 0; c < changedIds.size(); ++c) {
+            final NodeIdentifierWithPredicates id = changedIds.get(c);
+            final List<@Nullable List<Object>> newValues = changedValues.get(c);
+            for (int i = 0; i < newValues.size(); ++i) {
+                final List<Object> newValue = newValues.get(i);
+                if (newValue != null) {
+                    checkConflict(builder.put(i, newValue, id), id, i, newValue, exceptions);
+                }
+            }
+        }
+
+        final UniqueIndex index = builder.build();
+        indices.put(after, index);
+        LOG.trace("Enforced uniqueness on {} changed entries of {} in {}, index {}", changedIds.size(),
+            after.getIdentifier(), sw, index);
+    }
+
+    private <T extends Exception> void indexData(final NormalizedNode<?, ?> data,
+            final ExceptionSupplier<T> exceptions) throws T {
+        if (indices.getIfPresent(data) != null) {
+            // Already validated
+            return;
+        }
+
+        final Stopwatch sw = Stopwatch.createStarted();
+        verify(data instanceof MapNode, "Unexpected data %s", data);
+        final UniqueIndex.Builder builder = new UniqueIndex.Builder(null, validators.size());
+        for (MapEntryNode entry : ((MapNode) data).getValue()) {
+            final NodeIdentifierWithPredicates id = entry.getIdentifier();
+            for (int i = 0; i < validators.size(); ++i) {
+                final List<Object> values = validators.get(i).extractValues(entry);
+                if (values != null) {
+                    checkConflict(builder.put(i, values, id), id, i, values, exceptions);
+                }
+            }
+        }
+
+        final UniqueIndex index = builder.build();
+        indices.put(data, index);
+        LOG.trace("Enforced uniqueness on {} in {}, index {}", data.getIdentifier(), sw, index);
+    }
+
+    private <T extends Exception> void checkConflict(final @Nullable NodeIdentifierWithPredicates conflict,
+            final NodeIdentifierWithPredicates id, final int offset, final List<Object> values,
+            final ExceptionSupplier<T> exceptions) throws T {
+        if (conflict != null) {
+            final UniqueValidator validator = validators.get(offset);
+            final ImmutableMap<Descendant, Object> index = validator.indexValues(values);
+            throw exceptions.get(id + " violates unique constraint on " + index.keySet() + " with " + conflict
+                + ", values " + index.values(), index);
+        }
+    }
+
+    private List<@Nullable List<Object>> extractValues(final Optional<MapEntryNode> entry) {
+        final List<@Nullable List<Object>> ret = new ArrayList<>(validators.size());
+        if (entry.isPresent()) {
+            final MapEntryNode node = entry.get();
+            for (UniqueValidator validator : validators) {
+                ret.add(validator.extractValues(node));
+            }
+        } else {
+            for (int i = 0; i < validators.size(); ++i) {
+                ret.add(null);
+            }
+        }
+        return ret;
+    }
+}
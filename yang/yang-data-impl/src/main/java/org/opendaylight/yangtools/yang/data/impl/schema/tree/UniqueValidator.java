@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.concepts.Immutable;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.AugmentationNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.model.api.CaseSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.UniqueConstraint;
+import org.opendaylight.yangtools.yang.model.api.stmt.SchemaNodeIdentifier.Descendant;
+
+/**
+ * A single {@code unique} statement, compiled into a set of {@link NormalizedNode} paths, which are used to extract
+ * leaf values from list entries.
+ */
+final class UniqueValidator implements Immutable {
+    private final @NonNull ImmutableList<Descendant> descendants;
+    private final @NonNull ImmutableList<ImmutableList<NodeIdentifier>> paths;
+
+    private UniqueValidator(final ImmutableList<Descendant> descendants,
+            final ImmutableList<ImmutableList<NodeIdentifier>> paths) {
+        this.descendants = requireNonNull(descendants);
+        this.paths = requireNonNull(paths);
+    }
+
+    static @NonNull UniqueValidator of(final ListSchemaNode schema, final UniqueConstraint constraint) {
+        final ImmutableList<Descendant> descendants = ImmutableList.copyOf(constraint.getTag());
+        final ImmutableList.Builder<ImmutableList<NodeIdentifier>> paths =
+                ImmutableList.builderWithExpectedSize(descendants.size());
+        for (Descendant descendant : descendants) {
+            paths.add(toDataPath(schema, descendant));
+        }
+        return new UniqueValidator(descendants, paths.build());
+    }
+
+    /**
+     * Extract the values of leaves covered by this constraint from a list entry.
+     *
+     * @param entry List entry
+     * @return Values of leaves, or null if any of the leaves is not present, in which case this constraint does not
+     *         apply to the entry.
+     */
+    @Nullable List<Object> extractValues(final DataContainerNode<?> entry) {
+        final List<Object> values = new ArrayList<>(paths.size());
+        for (ImmutableList<NodeIdentifier> path : paths) {
+            final Object value = findValue(entry, path);
+            if (value == null) {
+                return null;
+            }
+            values.add(value instanceof byte[] ? ByteBuffer.wrap((byte[]) value) : value);
+        }
+        return values;
+    }
+
+    /**
+     * Index values returned from {@link #extractValues(DataContainerNode)} by their corresponding descendant path,
+     * for the purposes of error reporting.
+     *
+     * @param values Extracted values
+     * @return Values indexed by their descendant
+     */
+    @NonNull ImmutableMap<Descendant, Object> indexValues(final List<Object> values) {
+        final ImmutableMap.Builder<Descendant, Object> builder = ImmutableMap.builderWithExpectedSize(values.size());
+        for (int i = 0; i < values.size(); ++i) {
+            final Object value = values.get(i);
+            builder.put(descendants.get(i), value instanceof ByteBuffer ? ((ByteBuffer) value).array() : value);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("paths", descendants).toString();
+    }
+
+    private static @Nullable Object findValue(final DataContainerNode<?> entry, final List<NodeIdentifier> path) {
+        NormalizedNode<?, ?> current = entry;
+        for (NodeIdentifier id : path) {
+            if (!(current instanceof DataContainerNode)) {
+                return null;
+            }
+            current = findChild((DataContainerNode<?>) current, id);
+            if (current == null) {
+                return null;
+            }
+        }
+        return current instanceof LeafNode ? current.getValue() : null;
+    }
+
+    private static @Nullable NormalizedNode<?, ?> findChild(final DataContainerNode<?> parent,
+            final NodeIdentifier id) {
+        final Optional<DataContainerChild<?, ?>> found = parent.getChild(id);
+        if (found.isPresent()) {
+            return found.get();
+        }
+
+        // Augmented children are hidden behind an AugmentationNode, look for it
+        for (DataContainerChild<?, ?> child : parent.getValue()) {
+            if (child instanceof AugmentationNode) {
+                final AugmentationNode aug = (AugmentationNode) child;
+                if (aug.getIdentifier().getPossibleChildNames().contains(id.getNodeType())) {
+                    return aug.getChild(id).orElse(null);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static @NonNull ImmutableList<NodeIdentifier> toDataPath(final ListSchemaNode schema,
+            final Descendant descendant) {
+        final ImmutableList.Builder<NodeIdentifier> builder = ImmutableList.builder();
+        DataSchemaNode current = null;
+        for (QName qname : descendant.getNodeIdentifiers()) {
+            if (current == null) {
+                current = findDataChild(schema, qname, descendant);
+            } else if (current instanceof ChoiceSchemaNode) {
+                final ChoiceSchemaNode choice = (ChoiceSchemaNode) current;
+                current = choice.findCase(qname).orElseThrow(() -> new IllegalArgumentException(
+                    "Failed to find case " + qname + " in " + choice + " while resolving " + descendant));
+            } else if (current instanceof DataNodeContainer) {
+                current = findDataChild((DataNodeContainer) current, qname, descendant);
+            } else {
+                throw new IllegalArgumentException("Cannot descend from " + current + " while resolving "
+                    + descendant);
+            }
+
+            // Cases are not present in data, everything else is
+            if (!(current instanceof CaseSchemaNode)) {
+                checkArgument(current instanceof ContainerSchemaNode || current instanceof ChoiceSchemaNode
+                    || current instanceof LeafSchemaNode, "Unsupported %s while resolving %s", current, descendant);
+                builder.add(NodeIdentifier.create(qname));
+            }
+        }
+
+        checkArgument(current instanceof LeafSchemaNode, "Descendant %s does not refer to a leaf in %s", descendant,
+            schema);
+        return builder.build();
+    }
+
+    private static @NonNull DataSchemaNode findDataChild(final DataNodeContainer parent, final QName qname,
+            final Descendant descendant) {
+        return parent.findDataChildByName(qname).orElseThrow(() -> new IllegalArgumentException(
+            "Failed to find child " + qname + " in " + parent + " while resolving " + descendant));
+    }
+}
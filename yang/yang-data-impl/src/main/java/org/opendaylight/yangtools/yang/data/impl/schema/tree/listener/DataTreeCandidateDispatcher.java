@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree.listener;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects.ToStringHelper;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.concepts.AbstractListenerRegistration;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.util.concurrent.QueuedNotificationManager;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Dispatcher of {@link DataTreeCandidate}s to {@link DataTreeCandidateListener}s registered on subtrees of a data tree.
+ * Listeners are kept in a tree mirroring their registration paths, so that each published candidate is traversed once,
+ * visiting only those modified nodes which have listeners registered at or below them.
+ *
+ * <p>
+ * A registration path may contain a {@link YangInstanceIdentifier.NodeIdentifier} in place of a list entry or
+ * a leaf-list entry identifier. Such a path element acts as a wildcard, matching any entry of that list.
+ *
+ * <p>
+ * Candidates are delivered asynchronously through a {@link QueuedNotificationManager}, which batches candidates
+ * queued for a particular listener into a single invocation. Candidates for a particular listener are delivered in the
+ * order in which they were published.
+ */
+@Beta
+public final class DataTreeCandidateDispatcher {
+    final class Reg<L extends DataTreeCandidateListener> extends AbstractListenerRegistration<L> {
+        private final @NonNull YangInstanceIdentifier path;
+        private final @NonNull ListenerNode node;
+
+        Reg(final L listener, final YangInstanceIdentifier path, final ListenerNode node) {
+            super(listener);
+            this.path = requireNonNull(path);
+            this.node = requireNonNull(node);
+        }
+
+        @Override
+        protected void removeRegistration() {
+            final Lock wl = lock.writeLock();
+            wl.lock();
+            try {
+                node.removeRegistration(this);
+            } finally {
+                wl.unlock();
+            }
+        }
+
+        @Override
+        protected ToStringHelper addToStringAttributes(final ToStringHelper toStringHelper) {
+            return super.addToStringAttributes(toStringHelper).add("path", path);
+        }
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(DataTreeCandidateDispatcher.class);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ListenerNode root = new ListenerNode(null, null);
+    private final QueuedNotificationManager<Reg<?>, DataTreeCandidate> notificationManager;
+
+    private DataTreeCandidateDispatcher(final Executor executor, final int maxQueueCapacity, final String name) {
+        notificationManager = QueuedNotificationManager.create(executor, DataTreeCandidateDispatcher::invokeListener,
+            maxQueueCapacity, name);
+    }
+
+    /**
+     * Create a new dispatcher.
+     *
+     * @param executor the {@link Executor} used to invoke listeners
+     * @param maxQueueCapacity the capacity of each listener's queue
+     * @param name the name of this dispatcher, used for logging
+     * @return A new dispatcher
+     */
+    public static @NonNull DataTreeCandidateDispatcher create(final Executor executor, final int maxQueueCapacity,
+            final String name) {
+        return new DataTreeCandidateDispatcher(requireNonNull(executor), maxQueueCapacity, requireNonNull(name));
+    }
+
+    /**
+     * Register a listener for changes of the subtree rooted at specified path.
+     *
+     * @param path Path of the subtree, may contain wildcards
+     * @param listener Listener to register
+     * @return A registration, which needs to be closed to stop the listener from receiving candidates
+     * @throws NullPointerException if any argument is null
+     */
+    public <L extends DataTreeCandidateListener> @NonNull ListenerRegistration<L> registerListener(
+            final YangInstanceIdentifier path, final L listener) {
+        requireNonNull(listener);
+        final Lock wl = lock.writeLock();
+        wl.lock();
+        try {
+            ListenerNode node = root;
+            for (PathArgument arg : path.getPathArguments()) {
+                node = node.ensureChild(arg);
+            }
+
+            final Reg<L> reg = new Reg<>(listener, path, node);
+            node.addRegistration(reg);
+            return reg;
+        } finally {
+            wl.unlock();
+        }
+    }
+
+    /**
+     * Publish a candidate to registered listeners. This method splits the candidate into candidates rooted at the
+     * registration paths of the affected listeners and queues them for delivery.
+     *
+     * @param candidate Candidate to publish
+     * @throws NullPointerException if {@code candidate} is null
+     */
+    public void publish(final DataTreeCandidate candidate) {
+        final Map<Reg<?>, List<DataTreeCandidate>> toNotify = collect(candidate);
+        for (Entry<Reg<?>, List<DataTreeCandidate>> entry : toNotify.entrySet()) {
+            notificationManager.submitNotifications(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Return the {@link QueuedNotificationManager} used for delivering candidates, for monitoring purposes.
+     *
+     * @return The notification manager
+     */
+    public @NonNull QueuedNotificationManager<?, DataTreeCandidate> getNotificationManager() {
+        return notificationManager;
+    }
+
+    private Map<Reg<?>, List<DataTreeCandidate>> collect(final DataTreeCandidate candidate) {
+        final DataTreeCandidateNode rootNode = candidate.getRootNode();
+        if (rootNode.getModificationType() == ModificationType.UNMODIFIED) {
+            return Map.of();
+        }
+
+        final Map<Reg<?>, List<DataTreeCandidate>> toNotify = new LinkedHashMap<>();
+        final Lock rl = lock.readLock();
+        rl.lock();
+        try {
+            // Listeners registered above the candidate's root receive the entire candidate
+            List<ListenerNode> nodes = List.of(root);
+            for (PathArgument arg : candidate.getRootPath().getPathArguments()) {
+                final List<ListenerNode> next = new ArrayList<>(2);
+                for (ListenerNode node : nodes) {
+                    addRegistrations(toNotify, node, candidate);
+                    addIfPresent(next, node.getExactChild(arg));
+                    addIfPresent(next, node.getWildcardChild(arg));
+                }
+                if (next.isEmpty()) {
+                    return toNotify;
+                }
+                nodes = next;
+            }
+
+            for (ListenerNode node : nodes) {
+                collect(toNotify, node, candidate.getRootPath(), rootNode);
+            }
+        } finally {
+            rl.unlock();
+        }
+
+        LOG.trace("Candidate {} dispatched to {} listeners", candidate, toNotify.size());
+        return toNotify;
+    }
+
+    private static void collect(final Map<Reg<?>, List<DataTreeCandidate>> toNotify, final ListenerNode node,
+            final YangInstanceIdentifier path, final DataTreeCandidateNode candidate) {
+        if (candidate.getModificationType() == ModificationType.UNMODIFIED) {
+            return;
+        }
+        if (!node.registrations().isEmpty()) {
+            addRegistrations(toNotify, node, DataTreeCandidates.newDataTreeCandidate(path, candidate));
+        }
+        if (!node.hasChildren()) {
+            return;
+        }
+
+        final Optional<NormalizedNode<?, ?>> data = candidate.getDataAfter().or(candidate::getDataBefore);
+        if (data.isPresent() && (data.get() instanceof MapNode || data.get() instanceof LeafSetNode)) {
+            // Entries may be matched by wildcards, we need to go through all modified children
+            for (DataTreeCandidateNode child : candidate.getChildNodes()) {
+                final PathArgument arg = child.getIdentifier();
+                final ListenerNode exact = node.getExactChild(arg);
+                if (exact != null) {
+                    collect(toNotify, exact, path.node(arg), child);
+                }
+                final ListenerNode wildcard = node.getWildcardChild(arg);
+                if (wildcard != null) {
+                    collect(toNotify, wildcard, path.node(arg), child);
+                }
+            }
+        } else {
+            for (Entry<PathArgument, ListenerNode> entry : node.children().entrySet()) {
+                final PathArgument arg = entry.getKey();
+                final Optional<DataTreeCandidateNode> child = candidate.getModifiedChild(arg);
+                if (child.isPresent()) {
+                    collect(toNotify, entry.getValue(), path.node(arg), child.get());
+                }
+            }
+        }
+    }
+
+    private static void addRegistrations(final Map<Reg<?>, List<DataTreeCandidate>> toNotify,
+            final ListenerNode node, final DataTreeCandidate candidate) {
+        for (Reg<?> reg : node.registrations()) {
+            toNotify.computeIfAbsent(reg, key -> new ArrayList<>(1)).add(candidate);
+        }
+    }
+
+    private static void addIfPresent(final List<ListenerNode> list, final ListenerNode node) {
+        if (node != null) {
+            list.add(node);
+        }
+    }
+
+    private static void invokeListener(final Reg<?> reg, final List<DataTreeCandidate> candidates) {
+        if (reg.notClosed()) {
+            reg.getInstance().onDataTreeChanged(candidates);
+        }
+    }
+}
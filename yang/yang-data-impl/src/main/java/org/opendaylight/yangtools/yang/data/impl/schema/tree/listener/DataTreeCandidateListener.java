@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree.listener;
+
+import com.google.common.annotations.Beta;
+import java.util.EventListener;
+import java.util.List;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+
+/**
+ * A listener registered with a {@link DataTreeCandidateDispatcher}.
+ */
+@Beta
+@FunctionalInterface
+public interface DataTreeCandidateListener extends EventListener {
+    /**
+     * Invoked when the subtree this listener is registered for has changed. Each candidate is rooted at the registered
+     * path, or at a more specific path if the change originated deeper in the tree. Wildcarded registrations receive
+     * one candidate for each matching list entry, rooted at that entry's path.
+     *
+     * @param candidates Non-empty list of candidates, in the order in which they were published
+     */
+    void onDataTreeChanged(@NonNull List<DataTreeCandidate> candidates);
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree.listener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+
+/**
+ * A node in the registration tree maintained by {@link DataTreeCandidateDispatcher}. Children are keyed by the
+ * {@link PathArgument} used in registration paths, hence a wildcard child of a list is keyed by a
+ * {@link NodeIdentifier}. Access is guarded by the dispatcher's lock.
+ */
+final class ListenerNode {
+    private final Map<PathArgument, ListenerNode> children = new HashMap<>();
+    private final List<DataTreeCandidateDispatcher.Reg<?>> registrations = new ArrayList<>(1);
+    private final @Nullable ListenerNode parent;
+    private final @Nullable PathArgument identifier;
+
+    ListenerNode(final @Nullable ListenerNode parent, final @Nullable PathArgument identifier) {
+        this.parent = parent;
+        this.identifier = identifier;
+    }
+
+    @Nullable ListenerNode getExactChild(final PathArgument arg) {
+        return children.get(arg);
+    }
+
+    /**
+     * Return the wildcard child matching specified path argument, if the argument identifies a list entry or
+     * a leaf-list entry.
+     *
+     * @param arg Path argument
+     * @return Wildcard child, or null
+     */
+    @Nullable ListenerNode getWildcardChild(final PathArgument arg) {
+        return arg instanceof NodeIdentifierWithPredicates || arg instanceof NodeWithValue
+            ? children.get(new NodeIdentifier(arg.getNodeType())) : null;
+    }
+
+    boolean hasChildren() {
+        return !children.isEmpty();
+    }
+
+    Map<PathArgument, ListenerNode> children() {
+        return children;
+    }
+
+    List<DataTreeCandidateDispatcher.Reg<?>> registrations() {
+        return registrations;
+    }
+
+    ListenerNode ensureChild(final PathArgument arg) {
+        return children.computeIfAbsent(arg, key -> new ListenerNode(this, key));
+    }
+
+    void addRegistration(final DataTreeCandidateDispatcher.Reg<?> reg) {
+        registrations.add(reg);
+    }
+
+    void removeRegistration(final DataTreeCandidateDispatcher.Reg<?> reg) {
+        registrations.remove(reg);
+
+        // Prune any nodes which are no longer needed
+        ListenerNode node = this;
+        while (node.parent != null && node.registrations.isEmpty() && node.children.isEmpty()) {
+            node.parent.children.remove(node.identifier);
+            node = node.parent;
+        }
+    }
+}
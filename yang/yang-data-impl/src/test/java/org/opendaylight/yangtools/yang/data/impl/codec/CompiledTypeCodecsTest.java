@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import java.net.URI;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.StringTypeDefinition;
+import org.opendaylight.yangtools.yang.model.util.type.BaseTypes;
+import org.opendaylight.yangtools.yang.model.util.type.DerivedTypes;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class CompiledTypeCodecsTest {
+    private static final QName TEST_CONTAINER = QName.create(URI.create("string-pattern-checking-codec-test"),
+        "test-container");
+    private static final QName TEST_LEAF = QName.create(TEST_CONTAINER, "string-leaf-with-valid-pattern");
+
+    private static EffectiveModelContext context;
+    private static StringTypeDefinition type;
+
+    @BeforeClass
+    public static void beforeClass() {
+        context = YangParserTestUtils.parseYangResource("/string-pattern-checking-codec-test.yang");
+        final ContainerSchemaNode container = (ContainerSchemaNode) context.findDataChildByName(TEST_CONTAINER)
+            .get();
+        type = (StringTypeDefinition) ((LeafSchemaNode) container.findDataChildByName(TEST_LEAF).get()).getType();
+    }
+
+    @Test
+    public void testSharedInstances() {
+        final CompiledTypeCodecs codecs = CompiledTypeCodecs.forContext(context);
+        assertSame(codecs, CompiledTypeCodecs.forContext(context, PatternEngine.REGEX));
+        assertEquals(PatternEngine.REGEX, codecs.getPatternEngine());
+
+        final StringStringCodec codec = codecs.stringCodec(type);
+        assertSame(codec, codecs.stringCodec(type));
+        assertSame(codec, codecs.codecFor(type));
+
+        final CompiledTypeCodecs dfaCodecs = CompiledTypeCodecs.forContext(context, PatternEngine.DFA);
+        assertNotSame(codecs, dfaCodecs);
+        assertNotSame(codec, dfaCodecs.stringCodec(type));
+    }
+
+    @Test
+    public void testPrecompute() {
+        final CompiledTypeCodecs codecs = CompiledTypeCodecs.precompute(context, PatternEngine.DFA,
+            MoreExecutors.directExecutor()).join();
+        assertSame(CompiledTypeCodecs.forContext(context, PatternEngine.DFA), codecs);
+
+        final StringStringCodec codec = codecs.stringCodec(type);
+        assertEquals("ABCD", codec.deserialize("ABCD"));
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+            () -> codec.deserialize("abcd"));
+        assertEquals("Value 'abcd' does not match regular expression '[A-Z]+'", ex.getMessage());
+    }
+
+    @Test
+    public void testIdentityKeys() {
+        final SchemaPath path = SchemaPath.create(true, TEST_LEAF);
+        final TypeDefinition<?> first = DerivedTypes.derivedTypeBuilder(BaseTypes.stringType(), path).build();
+        final TypeDefinition<?> second = DerivedTypes.derivedTypeBuilder(BaseTypes.stringType(), path).build();
+        assertNotSame(first, second);
+        assertEquals(first, second);
+
+        // Equal, but distinct types do not share codecs
+        final CompiledTypeCodecs codecs = CompiledTypeCodecs.forContext(context);
+        final TypeDefinitionAwareCodec<?, ?> firstCodec = codecs.codecFor(first);
+        assertSame(firstCodec, codecs.codecFor(first));
+        assertNotSame(firstCodec, codecs.codecFor(second));
+    }
+}
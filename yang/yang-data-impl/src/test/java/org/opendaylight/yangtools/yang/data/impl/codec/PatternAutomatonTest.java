@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.model.util.RegexUtils;
+
+public class PatternAutomatonTest {
+    // Patterns from ietf-inet-types@2013-07-15
+    private static final String IPV4 = "(([0-9]|[1-9][0-9]|1[0-9][0-9]|2[0-4][0-9]|25[0-5])\\.){3}"
+            + "([0-9]|[1-9][0-9]|1[0-9][0-9]|2[0-4][0-9]|25[0-5])(%[\\p{N}\\p{L}]+)?";
+    private static final String IPV6 = "((:|[0-9a-fA-F]{0,4}):)([0-9a-fA-F]{0,4}:){0,5}((([0-9a-fA-F]{0,4}:)?"
+            + "(:|[0-9a-fA-F]{0,4}))|(((25[0-5]|2[0-4][0-9]|[01]?[0-9]?[0-9])\\.){3}"
+            + "(25[0-5]|2[0-4][0-9]|[01]?[0-9]?[0-9])))(%[\\p{N}\\p{L}]+)?";
+    private static final String IPV6_2 = "(([^:]+:){6}(([^:]+:[^:]+)|(.*\\..*)))|((([^:]+:)*[^:]+)?::"
+            + "(([^:]+:)*[^:]+)?)(%.+)?";
+    private static final String DOMAIN_NAME = "((([a-zA-Z0-9_]([a-zA-Z0-9\\-_]){0,61})?[a-zA-Z0-9]\\.)*"
+            + "([a-zA-Z0-9_]([a-zA-Z0-9\\-_]){0,61})?[a-zA-Z0-9]\\.?)|\\.";
+
+    private static final String[] INPUTS = {
+        "", ".", "a", "1.2.3.4", "255.255.255.255", "256.1.1.1", "01.2.3.4", "1.2.3", "1.2.3.4%eth0", "1.2.3.4%",
+        "::", "::1", "fe80::1%eth0", "2001:db8::ff00:42:8329", "2001:0db8:0000:0000:0000:ff00:0042:8329",
+        "1:2:3:4:5:6:7:8:9", "::ffff:192.0.2.128", "::ffff:192.0.2.256", "g::1", ":::", "example.com",
+        "example.com.", "-example.com", "a_b.example", "\u00e9xample.com", "1.2.3.4%\u0661\u00e9", // non-ASCII
+        "1.2.3.4%\ud801\udc00", "a..b" // supplementary code point
+    };
+
+    @Test
+    public void testInetTypes() {
+        assertEquivalent(IPV4);
+        assertEquivalent(IPV6);
+        assertEquivalent(IPV6_2);
+        assertEquivalent(DOMAIN_NAME);
+        assertEquivalent(IPV6, IPV6_2);
+    }
+
+    @Test
+    public void testConstructs() {
+        assertEquivalent("[a-z&&[^aeiou]]+", "a{2,}b*", "(ab|a)(c|bcd)(d*)", "\\d\\D\\w\\W\\s\\S", "x?y??z{0}",
+            "[\\^$.|?*+()\\[\\]{}\\-]", "[-a]|[a-]|[^-]", "\\u0041\\x42\\x{43}\\072\\t", "\\p{IsLatin}\\P{Lu}",
+            "a^b$", ".*", "[\\p{L}&&\\p{InBasicLatin}]", "\\ud801\\udc00.");
+    }
+
+    @Test
+    public void testRandomInputs() {
+        final List<String> patterns = List.of(IPV4, IPV6, IPV6_2, DOMAIN_NAME);
+        final PatternAutomaton automaton = compile(patterns);
+        final List<Pattern> compiled = toJava(patterns).stream().map(Pattern::compile).collect(Collectors.toList());
+
+        final Random random = new Random(0);
+        final String alphabet = "0123456789abcdefABCDEFgxyz:.%-_\u00e9\u0661"; // non-ASCII letter and digit
+        for (int i = 0; i < 10000; ++i) {
+            final StringBuilder sb = new StringBuilder();
+            final int length = random.nextInt(24);
+            for (int j = 0; j < length; ++j) {
+                sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            final String str = sb.toString();
+            assertEquals(str, expectedMask(compiled, str), automaton.match(str));
+        }
+    }
+
+    @Test
+    public void testUnsupported() {
+        assertUnsupported("(a)\\1");
+        assertUnsupported("(?=a)a");
+        assertUnsupported("a*+");
+        assertUnsupported("\\Qa\\E");
+        assertUnsupported("a\\b");
+        assertUnsupported("(?i)a");
+        assertUnsupported("a{1,100000}");
+    }
+
+    private static void assertEquivalent(final String... xsdPatterns) {
+        final List<String> patterns = List.of(xsdPatterns);
+        final PatternAutomaton automaton = compile(patterns);
+        final List<Pattern> compiled = toJava(patterns).stream().map(Pattern::compile).collect(Collectors.toList());
+        for (String input : INPUTS) {
+            assertEquals(input, expectedMask(compiled, input), automaton.match(input));
+        }
+    }
+
+    private static void assertUnsupported(final String javaPattern) {
+        assertThrows(IllegalArgumentException.class, () -> PatternAutomaton.compile(List.of(javaPattern)));
+    }
+
+    private static PatternAutomaton compile(final List<String> xsdPatterns) {
+        return PatternAutomaton.compile(toJava(xsdPatterns));
+    }
+
+    private static List<String> toJava(final List<String> xsdPatterns) {
+        return xsdPatterns.stream().map(RegexUtils::getJavaRegexFromXSD).collect(Collectors.toList());
+    }
+
+    private static long expectedMask(final List<Pattern> patterns, final String str) {
+        long mask = 0;
+        for (int i = 0; i < patterns.size(); ++i) {
+            if (patterns.get(i).matcher(str).matches()) {
+                mask |= 1L << i;
+            }
+        }
+        return mask;
+    }
+}
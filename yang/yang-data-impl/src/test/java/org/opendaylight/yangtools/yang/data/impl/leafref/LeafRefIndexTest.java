@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.leafref;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class LeafRefIndexTest {
+    private static final QName INTERFACES = QName.create("urn:opendaylight:leafref-index", "interfaces");
+    private static final QName INTERFACE = QName.create(INTERFACES, "interface");
+    private static final QName NAME = QName.create(INTERFACES, "name");
+    private static final QName BINDINGS = QName.create(INTERFACES, "bindings");
+    private static final QName BINDING = QName.create(INTERFACES, "binding");
+    private static final QName ID = QName.create(INTERFACES, "id");
+    private static final QName UNINDEXED = QName.create(INTERFACES, "unindexed");
+
+    private static final YangInstanceIdentifier INTERFACE_ID = YangInstanceIdentifier.create(
+        new NodeIdentifier(INTERFACES), new NodeIdentifier(INTERFACE));
+    private static final YangInstanceIdentifier BINDING_ID = YangInstanceIdentifier.create(
+        new NodeIdentifier(BINDINGS), new NodeIdentifier(BINDING));
+
+    private LeafRefContext leafRefContext;
+    private LeafRefIndex index;
+    private DataTree dataTree;
+
+    @Before
+    public void setup() {
+        final EffectiveModelContext schemaContext = YangParserTestUtils.parseYangResourceDirectory("/leafref-index");
+        leafRefContext = LeafRefContext.create(schemaContext);
+        index = LeafRefIndex.create(leafRefContext);
+        dataTree = new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_CONFIGURATION, schemaContext);
+    }
+
+    @Test
+    public void testIncrementalValidation() throws Exception {
+        DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(YangInstanceIdentifier.of(INTERFACES), Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(INTERFACES))
+            .withChild(ImmutableNodes.mapNodeBuilder(INTERFACE)
+                .withChild(ImmutableNodes.mapEntry(INTERFACE, NAME, "eth0"))
+                .withChild(ImmutableNodes.mapEntry(INTERFACE, NAME, "eth1"))
+                .build())
+            .build());
+        mod.write(YangInstanceIdentifier.of(BINDINGS), Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(BINDINGS))
+            .withChild(ImmutableNodes.mapNodeBuilder(BINDING).withChild(binding("a", "eth0")).build())
+            .build());
+        commit(mod);
+
+        assertEquals(2, index.currentValues(leafRefContext.getReferencedChildByName(INTERFACES)
+            .getReferencedChildByName(INTERFACE).getReferencedChildByName(NAME).getLeafRefNodePath()).size());
+
+        // Adding a binding to an existing interface is fine
+        mod = dataTree.takeSnapshot().newModification();
+        mod.write(BINDING_ID.node(NodeIdentifierWithPredicates.of(BINDING, ID, "b")), binding("b", "eth1"));
+        commit(mod);
+
+        // Removing an unreferenced interface is fine, too
+        mod = dataTree.takeSnapshot().newModification();
+        mod.delete(INTERFACE_ID.node(NodeIdentifierWithPredicates.of(INTERFACE, NAME, "eth1")));
+        mod.delete(BINDING_ID.node(NodeIdentifierWithPredicates.of(BINDING, ID, "b")));
+        commit(mod);
+
+        // A binding to an unknown interface is rejected
+        final DataTreeModification badBinding = dataTree.takeSnapshot().newModification();
+        badBinding.write(BINDING_ID.node(NodeIdentifierWithPredicates.of(BINDING, ID, "c")), binding("c", "eth2"));
+        assertThrows(LeafRefDataValidationFailedException.class, () -> commit(badBinding));
+
+        // Removing a referenced interface is rejected
+        final DataTreeModification badDelete = dataTree.takeSnapshot().newModification();
+        badDelete.delete(INTERFACE_ID.node(NodeIdentifierWithPredicates.of(INTERFACE, NAME, "eth0")));
+        assertThrows(LeafRefDataValidationFailedException.class, () -> commit(badDelete));
+    }
+
+    @Test
+    public void testUnindexedCandidateRoot() {
+        // A candidate rooted at a node which is not indexed, containing nodes named as indexed nodes
+        index.update(DataTreeCandidates.fromNormalizedNode(YangInstanceIdentifier.of(UNINDEXED),
+            Builders.containerBuilder()
+                .withNodeIdentifier(new NodeIdentifier(UNINDEXED))
+                .withChild(Builders.containerBuilder()
+                    .withNodeIdentifier(new NodeIdentifier(INTERFACES))
+                    .withChild(ImmutableNodes.mapNodeBuilder(INTERFACE)
+                        .withChild(ImmutableNodes.mapEntry(INTERFACE, NAME, "eth0"))
+                        .build())
+                    .build())
+                .build()));
+
+        assertEquals(0, index.currentValues(leafRefContext.getReferencedChildByName(INTERFACES)
+            .getReferencedChildByName(INTERFACE).getReferencedChildByName(NAME).getLeafRefNodePath()).size());
+    }
+
+    private void commit(final DataTreeModification mod)
+            throws DataValidationFailedException, LeafRefDataValidationFailedException {
+        mod.ready();
+        final DataTreeCandidate candidate = dataTree.prepare(mod);
+        LeafRefValidation.validate(candidate, index);
+        dataTree.commit(candidate);
+        index.update(candidate);
+    }
+
+    private static MapEntryNode binding(final String id, final String iface) {
+        return Builders.mapEntryBuilder()
+            .withNodeIdentifier(NodeIdentifierWithPredicates.of(BINDING, ID, id))
+            .withChild(ImmutableNodes.leafNode(ID, id))
+            .withChild(ImmutableNodes.leafNode(INTERFACE, iface))
+            .build();
+    }
+}
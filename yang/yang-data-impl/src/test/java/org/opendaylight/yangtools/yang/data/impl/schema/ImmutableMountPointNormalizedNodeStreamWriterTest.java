@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ImmutableSet;
+import java.io.IOException;
+import java.util.Optional;
+import org.junit.Test;
+import org.opendaylight.yangtools.rcf8528.data.util.EmptyMountPointContext;
+import org.opendaylight.yangtools.rcf8528.data.util.ImmutableMountPointNode;
+import org.opendaylight.yangtools.rcf8528.data.util.MountPointNormalizedNodeWriter;
+import org.opendaylight.yangtools.rfc8528.data.api.MountPointContext;
+import org.opendaylight.yangtools.rfc8528.data.api.MountPointIdentifier;
+import org.opendaylight.yangtools.rfc8528.data.api.MountPointNode;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+public class ImmutableMountPointNormalizedNodeStreamWriterTest {
+    private static final QName PARENT = QName.create("urn:parent", "parent");
+    private static final QName MOUNT = QName.create(PARENT, "mnt");
+    private static final QName FIRST = QName.create("urn:mounted", "first");
+    private static final QName SECOND = QName.create(FIRST, "second");
+    private static final QName VALUE = QName.create(FIRST, "value");
+
+    private final MountPointContext mountCtx = new EmptyMountPointContext(mock(EffectiveModelContext.class));
+
+    @Test
+    public void testMultipleTopLevelNodes() throws IOException {
+        // Mounted data root, as it would be stored in a datastore
+        final ContainerNode mounted = Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(SchemaContext.NAME))
+            .withChild(ImmutableNodes.containerNode(FIRST))
+            .withChild(Builders.containerBuilder()
+                .withNodeIdentifier(new NodeIdentifier(SECOND))
+                .withChild(ImmutableNodes.leafNode(VALUE, "two"))
+                .build())
+            .build();
+        final ContainerNode parent = Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(PARENT))
+            .withChild(ImmutableMountPointNode.of(MountPointIdentifier.of(MOUNT), mountCtx, mounted))
+            .build();
+
+        // MountPointNormalizedNodeWriter emits only the mounted top-level nodes, the mounted root has to be recreated
+        final ContainerNode result = (ContainerNode) write(parent);
+        assertEquals(new NodeIdentifier(PARENT), result.getIdentifier());
+
+        final MountPointNode mount = mountPoint(result);
+        assertSame(mountCtx, mount.getMountPointContext());
+        assertEquals(ImmutableSet.copyOf(mounted.getValue()), ImmutableSet.copyOf(mount.getValue()));
+    }
+
+    @Test
+    public void testEmptyMountPoint() throws IOException {
+        final ContainerNode parent = Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(PARENT))
+            .withChild(ImmutableMountPointNode.of(MountPointIdentifier.of(MOUNT), mountCtx,
+                ImmutableNodes.containerNode(SchemaContext.NAME)))
+            .build();
+
+        assertEquals(0, mountPoint((ContainerNode) write(parent)).getValue().size());
+    }
+
+    private static NormalizedNode<?, ?> write(final NormalizedNode<?, ?> node) throws IOException {
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        try (MountPointNormalizedNodeWriter writer = MountPointNormalizedNodeWriter.forStreamWriter(
+                new ImmutableMountPointNormalizedNodeStreamWriter(result) { })) {
+            writer.write(node);
+        }
+        return result.getResult();
+    }
+
+    private static MountPointNode mountPoint(final ContainerNode parent) {
+        final Optional<DataContainerChild<?, ?>> child = parent.getChild(MountPointIdentifier.of(MOUNT));
+        assertThat(child.get(), instanceOf(MountPointNode.class));
+        return (MountPointNode) child.get();
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.builder.impl;
+
+import static java.util.Objects.requireNonNull;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+
+import java.util.Collection;
+import java.util.Optional;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class ForeignNormalizedNodeTest {
+    private static final QName CONTAINER = QName.create("urn:test", "container");
+    private static final QName LIST = QName.create(CONTAINER, "list");
+    private static final QName KEY = QName.create(CONTAINER, "key");
+    private static final QName LEAF = QName.create(CONTAINER, "leaf");
+
+    private static final MapEntryNode FIRST = ImmutableMapEntryNodeBuilder.create()
+        .withNodeIdentifier(NodeIdentifierWithPredicates.of(LIST, KEY, "first"))
+        .withChild(ImmutableNodes.leafNode(KEY, "first"))
+        .withChild(ImmutableNodes.leafNode(LEAF, 1))
+        .build();
+    private static final MapEntryNode SECOND = ImmutableNodes.mapEntry(LIST, KEY, "second");
+    private static final MapNode MAP = ImmutableMapNodeBuilder.create()
+        .withNodeIdentifier(new NodeIdentifier(LIST))
+        .withChild(FIRST)
+        .withChild(SECOND)
+        .build();
+    private static final OrderedMapNode ORDERED_MAP = ImmutableOrderedMapNodeBuilder.create()
+        .withNodeIdentifier(new NodeIdentifier(LIST))
+        .withChild(SECOND)
+        .withChild(FIRST)
+        .build();
+    private static final ContainerNode CONTAINER_NODE = ImmutableContainerNodeBuilder.create()
+        .withNodeIdentifier(new NodeIdentifier(CONTAINER))
+        .withChild(ImmutableNodes.leafNode(LEAF, "value"))
+        .withChild(MAP)
+        .build();
+
+    @Test
+    public void testContainerCopy() {
+        final ContainerNode copy = ImmutableContainerNodeBuilder.create(new ForeignContainerNode(CONTAINER_NODE))
+            .build();
+        assertNotSame(CONTAINER_NODE, copy);
+        assertEquals(CONTAINER_NODE, copy);
+        assertEquals(CONTAINER_NODE.hashCode(), copy.hashCode());
+
+        assertEquals(ImmutableContainerNodeBuilder.create().withNodeIdentifier(new NodeIdentifier(CONTAINER))
+            .withChild(ImmutableNodes.leafNode(LEAF, "value")).build(),
+            ImmutableContainerNodeBuilder.create(new ForeignContainerNode(CONTAINER_NODE))
+                .withoutChild(new NodeIdentifier(LIST)).build());
+    }
+
+    @Test
+    public void testMapEntryCopy() {
+        final MapEntryNode copy = ImmutableMapEntryNodeBuilder.create(new ForeignMapEntryNode(FIRST)).build();
+        assertEquals(FIRST, copy);
+        assertEquals(FIRST.hashCode(), copy.hashCode());
+    }
+
+    @Test
+    public void testMapCopy() {
+        final MapNode copy = ImmutableMapNodeBuilder.create(new ForeignMapNode(MAP)).build();
+        assertEquals(MAP, copy);
+        assertEquals(MAP.hashCode(), copy.hashCode());
+    }
+
+    @Test
+    public void testOrderedMapCopy() {
+        final OrderedMapNode copy = ImmutableOrderedMapNodeBuilder.create(new ForeignOrderedMapNode(ORDERED_MAP))
+            .build();
+        assertEquals(ORDERED_MAP, copy);
+        assertEquals(ORDERED_MAP.hashCode(), copy.hashCode());
+        assertEquals(SECOND, copy.getChild(0));
+        assertEquals(FIRST, copy.getChild(1));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testOrderedMapCopyRejectsUnordered() {
+        ImmutableOrderedMapNodeBuilder.create(new ForeignMapNode(MAP));
+    }
+
+    @Test
+    public void testSymmetricEquality() {
+        assertSymmetricEquals(CONTAINER_NODE, new ForeignContainerNode(CONTAINER_NODE));
+        assertSymmetricEquals(FIRST, new ForeignMapEntryNode(FIRST));
+        assertSymmetricEquals(MAP, new ForeignMapNode(MAP));
+        assertSymmetricEquals(ORDERED_MAP, new ForeignOrderedMapNode(ORDERED_MAP));
+
+        // Foreign children are compared by their contract, too
+        assertSymmetricEquals(CONTAINER_NODE, ImmutableContainerNodeBuilder.create()
+            .withNodeIdentifier(new NodeIdentifier(CONTAINER))
+            .withChild(ImmutableNodes.leafNode(LEAF, "value"))
+            .withChild(new ForeignMapNode(MAP))
+            .build());
+    }
+
+    @Test
+    public void testSymmetricInequality() {
+        // Different identifier and value
+        assertSymmetricNotEquals(FIRST, new ForeignMapEntryNode(SECOND));
+        assertSymmetricNotEquals(CONTAINER_NODE, new ForeignContainerNode(ImmutableContainerNodeBuilder.create()
+            .withNodeIdentifier(new NodeIdentifier(CONTAINER))
+            .withChild(ImmutableNodes.leafNode(LEAF, "other"))
+            .withChild(MAP)
+            .build()));
+
+        // Different identifier
+        assertSymmetricNotEquals(CONTAINER_NODE, new ForeignContainerNode(ImmutableContainerNodeBuilder.create(
+            CONTAINER_NODE).withNodeIdentifier(new NodeIdentifier(LEAF)).build()));
+
+        // Same identifier and entries, but a different contract
+        assertSymmetricNotEquals(MAP, new ForeignOrderedMapNode(ORDERED_MAP));
+        assertSymmetricNotEquals(ORDERED_MAP, new ForeignMapNode(MAP));
+    }
+
+    private static void assertSymmetricEquals(final NormalizedNode<?, ?> immutable,
+            final NormalizedNode<?, ?> foreign) {
+        assertEquals(immutable, foreign);
+        assertEquals(foreign, immutable);
+        assertEquals(immutable.hashCode(), foreign.hashCode());
+    }
+
+    private static void assertSymmetricNotEquals(final NormalizedNode<?, ?> immutable,
+            final NormalizedNode<?, ?> foreign) {
+        assertNotEquals(immutable, foreign);
+        assertNotEquals(foreign, immutable);
+    }
+
+    /**
+     * A foreign implementation which reciprocates equality by delegating to an equivalent immutable node, just as
+     * lazily-decoded nodes do.
+     */
+    private abstract static class ForeignNode<I extends PathArgument, V, N extends NormalizedNode<I, V>>
+            implements NormalizedNode<I, V> {
+        final N delegate;
+
+        ForeignNode(final N delegate) {
+            this.delegate = requireNonNull(delegate);
+        }
+
+        @Override
+        public final QName getNodeType() {
+            return delegate.getNodeType();
+        }
+
+        @Override
+        public final I getIdentifier() {
+            return delegate.getIdentifier();
+        }
+
+        @Override
+        public final V getValue() {
+            return delegate.getValue();
+        }
+
+        @Override
+        public final int hashCode() {
+            return delegate.hashCode();
+        }
+
+        @Override
+        public final boolean equals(final Object obj) {
+            if (obj instanceof ForeignNode) {
+                return delegate.equals(((ForeignNode<?, ?, ?>) obj).delegate);
+            }
+            return obj instanceof NormalizedNode && delegate.equals(obj);
+        }
+    }
+
+    private abstract static class ForeignDataContainerNode<I extends PathArgument, N extends DataContainerNode<I>>
+            extends ForeignNode<I, Collection<DataContainerChild<? extends PathArgument, ?>>, N>
+            implements DataContainerNode<I> {
+        ForeignDataContainerNode(final N delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public final Optional<DataContainerChild<? extends PathArgument, ?>> getChild(final PathArgument child) {
+            return delegate.getChild(child);
+        }
+
+        @Override
+        public final int size() {
+            return delegate.size();
+        }
+    }
+
+    private static final class ForeignContainerNode extends ForeignDataContainerNode<NodeIdentifier, ContainerNode>
+            implements ContainerNode {
+        ForeignContainerNode(final ContainerNode delegate) {
+            super(delegate);
+        }
+    }
+
+    private static final class ForeignMapEntryNode
+            extends ForeignDataContainerNode<NodeIdentifierWithPredicates, MapEntryNode> implements MapEntryNode {
+        ForeignMapEntryNode(final MapEntryNode delegate) {
+            super(delegate);
+        }
+    }
+
+    private static class ForeignMapNode extends ForeignNode<NodeIdentifier, Collection<MapEntryNode>, MapNode>
+            implements MapNode {
+        ForeignMapNode(final MapNode delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public final Optional<MapEntryNode> getChild(final NodeIdentifierWithPredicates child) {
+            return delegate.getChild(child);
+        }
+
+        @Override
+        public final int size() {
+            return delegate.size();
+        }
+    }
+
+    private static final class ForeignOrderedMapNode extends ForeignMapNode implements OrderedMapNode {
+        ForeignOrderedMapNode(final OrderedMapNode delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public MapEntryNode getChild(final int position) {
+            return ((OrderedMapNode) delegate).getChild(position);
+        }
+
+        @Override
+        public int getSize() {
+            return size();
+        }
+    }
+}
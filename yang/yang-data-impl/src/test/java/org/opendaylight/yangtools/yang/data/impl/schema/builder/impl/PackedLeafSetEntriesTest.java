@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.builder.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongFunction;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.Uint16;
+import org.opendaylight.yangtools.yang.common.Uint32;
+import org.opendaylight.yangtools.yang.common.Uint64;
+import org.opendaylight.yangtools.yang.common.Uint8;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.ListNodeBuilder;
+
+public class PackedLeafSetEntriesTest {
+    private static final QName LEAF_LIST = QName.create("urn:test", "leaf-list");
+    private static final QName OTHER = QName.create("urn:test", "other");
+
+    @Test
+    public void testPackedTypes() {
+        assertPacked(value -> (byte) value, 200);
+        assertPacked(value -> Uint8.valueOf(value & 0xFF), 200);
+        assertPacked(value -> (short) (value * 331), 200);
+        assertPacked(value -> Uint16.valueOf(value * 331 & 0xFFFF), 200);
+        assertPacked(value -> (int) (value * 1234567), 200);
+        assertPacked(value -> Uint32.valueOf(value * 1234567 & 0xFFFFFFFFL), 200);
+        assertPacked(value -> value * 0x0123456789ABCDEFL, 200);
+        assertPacked(value -> Uint64.fromLongBits(value * 0x0123456789ABCDEFL), 200);
+    }
+
+    @Test
+    public void testNotPacked() {
+        // Too small
+        assertNull(PackedLeafSetEntries.pack(entries(value -> Uint32.valueOf(value), 4)));
+        // Unsupported type
+        assertNull(PackedLeafSetEntries.pack(entries(value -> "str" + value, 50)));
+
+        // Mixed types
+        final Map<NodeWithValue, LeafSetEntryNode<Object>> mixed = entries(value -> (int) value, 50);
+        final LeafSetEntryNode<Object> entry = entry(LEAF_LIST, 100L);
+        mixed.put(entry.getIdentifier(), entry);
+        assertNull(PackedLeafSetEntries.pack(mixed));
+
+        // Mixed node types
+        final Map<NodeWithValue, LeafSetEntryNode<Object>> mixedNames = entries(value -> (int) value, 50);
+        final LeafSetEntryNode<Object> otherEntry = entry(OTHER, 100);
+        mixedNames.put(otherEntry.getIdentifier(), otherEntry);
+        assertNull(PackedLeafSetEntries.pack(mixedNames));
+    }
+
+    @Test
+    public void testBuilder() {
+        final ListNodeBuilder<Object, LeafSetEntryNode<Object>> builder = ImmutableLeafSetNodeBuilder.create()
+                .withNodeIdentifier(new NodeIdentifier(LEAF_LIST));
+        final ListNodeBuilder<Object, LeafSetEntryNode<Object>> reverse = ImmutableLeafSetNodeBuilder.create()
+                .withNodeIdentifier(new NodeIdentifier(LEAF_LIST));
+        for (int i = 0; i < 100; ++i) {
+            builder.withChildValue(Uint64.valueOf(i));
+            reverse.withChildValue(Uint64.valueOf(99 - i));
+        }
+        final LeafSetNode<Object> node = builder.build();
+        assertEquals(100, node.size());
+        assertEquals(100, node.getValue().size());
+        assertEquals(node, reverse.build());
+
+        final Optional<LeafSetEntryNode<Object>> child = node.getChild(new NodeWithValue<>(LEAF_LIST, Uint64.TEN));
+        assertTrue(child.isPresent());
+        assertEquals(Uint64.TEN, child.get().getValue());
+        assertFalse(node.getChild(new NodeWithValue<>(LEAF_LIST, Uint64.valueOf(100))).isPresent());
+        assertFalse(node.getChild(new NodeWithValue<>(LEAF_LIST, 10L)).isPresent());
+
+        // Modification goes through a regular map
+        final LeafSetNode<Object> modified = ImmutableLeafSetNodeBuilder.create(node)
+                .withoutChild(new NodeWithValue<>(LEAF_LIST, Uint64.TEN)).build();
+        assertEquals(99, modified.size());
+        assertFalse(modified.getChild(new NodeWithValue<>(LEAF_LIST, Uint64.TEN)).isPresent());
+    }
+
+    private static void assertPacked(final LongFunction<Object> valueFactory, final int size) {
+        final Map<NodeWithValue, LeafSetEntryNode<Object>> expected = entries(valueFactory, size);
+        final Map<NodeWithValue, LeafSetEntryNode<Object>> packed = PackedLeafSetEntries.pack(expected);
+        assertNotNull(packed);
+        assertEquals(expected.size(), packed.size());
+        assertEquals(expected, packed);
+        assertEquals(packed, expected);
+        assertEquals(expected.hashCode(), packed.hashCode());
+        assertEquals(new HashSet<>(expected.values()), new HashSet<>(packed.values()));
+
+        for (NodeWithValue key : expected.keySet()) {
+            assertEquals(expected.get(key), packed.get(key));
+        }
+        assertNull(packed.get(new NodeWithValue<>(OTHER, expected.keySet().iterator().next().getValue())));
+        assertNull(packed.get(new NodeWithValue<>(LEAF_LIST, "foo")));
+    }
+
+    private static Map<NodeWithValue, LeafSetEntryNode<Object>> entries(final LongFunction<Object> valueFactory,
+            final int size) {
+        final Map<NodeWithValue, LeafSetEntryNode<Object>> map = new HashMap<>();
+        for (long i = 0; i < size; ++i) {
+            final LeafSetEntryNode<Object> entry = entry(LEAF_LIST, valueFactory.apply(i));
+            map.put(entry.getIdentifier(), entry);
+        }
+        return map;
+    }
+
+    private static LeafSetEntryNode<Object> entry(final QName qname, final Object value) {
+        return ImmutableLeafSetEntryNodeBuilder.create().withNodeIdentifier(new NodeWithValue<>(qname, value))
+                .withValue(value).build();
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.concepts.CheckedValue;
+import org.opendaylight.yangtools.yang.common.Uint16;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ConflictingModificationAppliedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class CommitBatchTest extends AbstractTestModelTest {
+    private static final YangInstanceIdentifier OUTER_LIST_1_PATH = outerListPath(1);
+    private static final YangInstanceIdentifier OUTER_LIST_2_PATH = outerListPath(2);
+    private static final YangInstanceIdentifier OUTER_LIST_3_PATH = outerListPath(3);
+
+    private DataTree dataTree;
+
+    @Before
+    public void before() throws DataValidationFailedException {
+        dataTree = new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_OPERATIONAL, SCHEMA_CONTEXT);
+
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        mod.write(TestModel.OUTER_LIST_PATH, ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME)
+            .withChild(outerListEntry(1))
+            .build());
+        mod.ready();
+        dataTree.validate(mod);
+        dataTree.commit(dataTree.prepare(mod));
+    }
+
+    @Test
+    public void testCommitBatch() {
+        // Both modifications are based on the same snapshot, they need to be chained
+        final DataTreeModification first = dataTree.takeSnapshot().newModification();
+        first.write(OUTER_LIST_2_PATH, outerListEntry(2));
+        first.ready();
+
+        final DataTreeModification second = dataTree.takeSnapshot().newModification();
+        second.write(OUTER_LIST_3_PATH, outerListEntry(3));
+        second.ready();
+
+        final List<CheckedValue<DataTreeCandidate, DataValidationFailedException>> outcomes =
+                dataTree.commitBatch(List.of(first, second));
+        assertEquals(2, outcomes.size());
+
+        final DataTreeCandidate firstCandidate = outcomes.get(0).get();
+        final DataTreeCandidate secondCandidate = outcomes.get(1).get();
+        assertSame(firstCandidate.getRootNode().getDataAfter().get(),
+            secondCandidate.getRootNode().getDataBefore().get());
+
+        assertTrue(read(OUTER_LIST_1_PATH).isPresent());
+        assertTrue(read(OUTER_LIST_2_PATH).isPresent());
+        assertTrue(read(OUTER_LIST_3_PATH).isPresent());
+    }
+
+    @Test
+    public void testCommitBatchFailure() {
+        final DataTreeModification first = dataTree.takeSnapshot().newModification();
+        first.delete(OUTER_LIST_1_PATH);
+        first.ready();
+
+        // Conflicts with the first modification
+        final DataTreeModification second = dataTree.takeSnapshot().newModification();
+        second.merge(OUTER_LIST_1_PATH.node(TestModel.INNER_LIST_QNAME),
+            ImmutableNodes.mapNodeBuilder(TestModel.INNER_LIST_QNAME).build());
+        second.ready();
+
+        final DataTreeModification third = dataTree.takeSnapshot().newModification();
+        third.write(OUTER_LIST_2_PATH, outerListEntry(2));
+        third.ready();
+
+        final List<CheckedValue<DataTreeCandidate, DataValidationFailedException>> outcomes =
+                dataTree.commitBatch(List.of(first, second, third));
+        assertEquals(3, outcomes.size());
+        assertTrue(outcomes.get(0).isPresent());
+        assertFalse(outcomes.get(1).isPresent());
+        assertEquals(ConflictingModificationAppliedException.class, outcomes.get(1).getException().getClass());
+        assertTrue(outcomes.get(2).isPresent());
+
+        assertFalse(read(OUTER_LIST_1_PATH).isPresent());
+        assertTrue(read(OUTER_LIST_2_PATH).isPresent());
+    }
+
+    @Test
+    public void testCommitBatchNoop() {
+        final NormalizedNode<?, ?> before = read(YangInstanceIdentifier.empty()).get();
+
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.ready();
+
+        final List<CheckedValue<DataTreeCandidate, DataValidationFailedException>> outcomes =
+                dataTree.commitBatch(List.of(mod));
+        assertEquals(ModificationType.UNMODIFIED, outcomes.get(0).get().getRootNode().getModificationType());
+        assertSame(before, read(YangInstanceIdentifier.empty()).get());
+    }
+
+    @Test
+    public void testCommitBatchUnsealed() {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        assertThrows(IllegalArgumentException.class, () -> dataTree.commitBatch(List.of(mod)));
+    }
+
+    private Optional<NormalizedNode<?, ?>> read(final YangInstanceIdentifier path) {
+        return dataTree.takeSnapshot().readNode(path);
+    }
+
+    private static YangInstanceIdentifier outerListPath(final int id) {
+        return YangInstanceIdentifier.builder(TestModel.OUTER_LIST_PATH)
+            .nodeWithKey(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, Uint16.valueOf(id))
+            .build();
+    }
+
+    private static MapEntryNode outerListEntry(final int id) {
+        return ImmutableNodes.mapEntryBuilder(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, Uint16.valueOf(id))
+            .withChild(ImmutableNodes.mapNodeBuilder(TestModel.INNER_LIST_QNAME).build())
+            .build();
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static java.util.Objects.requireNonNull;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.Uint16;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+
+public class ParallelApplyTest {
+    private static final int ENTRY_COUNT = 1000;
+    private static final String WORKER_THREAD_NAME = "parallel-apply-worker";
+
+    private static EffectiveModelContext SCHEMA_CONTEXT;
+
+    @BeforeClass
+    public static void beforeClass() {
+        SCHEMA_CONTEXT = TestModel.createTestContext();
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        SCHEMA_CONTEXT = null;
+    }
+
+    @Test
+    public void testInvalidThreshold() {
+        assertThrows(IllegalArgumentException.class,
+            () -> DataTreeConfiguration.builder(TreeType.OPERATIONAL).setParallelApplyThreshold(-1));
+    }
+
+    @Test
+    public void testSameResult() throws DataValidationFailedException {
+        final DataTree sequential = createDataTree(0);
+        final DataTree parallel = createDataTree(2);
+
+        populate(sequential);
+        populate(parallel);
+        assertEquals(readRoot(sequential), readRoot(parallel));
+
+        modify(sequential);
+        modify(parallel);
+        assertEquals(readRoot(sequential), readRoot(parallel));
+    }
+
+    @Test
+    public void testParallelApplyUsesExecutor() throws DataValidationFailedException {
+        final AtomicInteger submitted = new AtomicInteger();
+        final DataTree parallel = createDataTree(2, command -> {
+            submitted.incrementAndGet();
+            ForkJoinPool.commonPool().execute(command);
+        });
+
+        populate(parallel);
+        final int afterPopulate = submitted.get();
+        assertTrue(afterPopulate > 0);
+
+        modify(parallel);
+        assertTrue(submitted.get() > afterPopulate);
+    }
+
+    @Test
+    public void testStalledExecutor() throws DataValidationFailedException {
+        final DataTree sequential = createDataTree(0);
+        // An executor which never runs anything: all the work has to be done by the committing thread
+        final DataTree parallel = createDataTree(2, command -> { });
+
+        populate(sequential);
+        populate(parallel);
+        modify(sequential);
+        modify(parallel);
+        assertEquals(readRoot(sequential), readRoot(parallel));
+    }
+
+    @Test
+    public void testWorkerErrorPropagated() throws DataValidationFailedException {
+        // Run the worker synchronously on a dedicated thread, so it processes all chunks before the committing thread
+        final DataTree parallel = new InMemoryDataTreeFactory().create(
+            DataTreeConfiguration.builder(TreeType.CONFIGURATION).setParallelApplyThreshold(2)
+                .setParallelApplyExecutor(command -> {
+                    final Thread thread = new Thread(command, WORKER_THREAD_NAME);
+                    thread.start();
+                    Uninterruptibles.joinUninterruptibly(thread);
+                }).build(), SCHEMA_CONTEXT);
+        final DataTreeModification init = parallel.takeSnapshot().newModification();
+        init.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        init.write(TestModel.OUTER_LIST_PATH, ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME).build());
+        commit(parallel, init);
+
+        final DataTreeModification mod = parallel.takeSnapshot().newModification();
+        mod.merge(entryPath(0), keyEntry(0));
+        mod.merge(entryPath(1), new WorkerFailingMapEntryNode(keyEntry(1)));
+        mod.ready();
+        parallel.validate(mod);
+
+        // The original Error has to be reported, not a secondary failure caused by a missing result
+        assertThrows(StackOverflowError.class, () -> parallel.prepare(mod));
+    }
+
+    private static DataTree createDataTree(final int threshold) {
+        return createDataTree(threshold, ForkJoinPool.commonPool());
+    }
+
+    private static DataTree createDataTree(final int threshold, final Executor executor) {
+        return new InMemoryDataTreeFactory().create(DataTreeConfiguration.builder(TreeType.OPERATIONAL)
+            .setParallelApplyThreshold(threshold).setParallelApplyExecutor(executor).build(), SCHEMA_CONTEXT);
+    }
+
+    private static void populate(final DataTree dataTree) throws DataValidationFailedException {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        mod.write(TestModel.OUTER_LIST_PATH, ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME).build());
+        for (int i = 0; i < ENTRY_COUNT; ++i) {
+            mod.write(entryPath(i), entry(i, "foo"));
+        }
+        commit(dataTree, mod);
+    }
+
+    private static void modify(final DataTree dataTree) throws DataValidationFailedException {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        for (int i = 0; i < ENTRY_COUNT; ++i) {
+            switch (i % 3) {
+                case 0:
+                    mod.delete(entryPath(i));
+                    break;
+                case 1:
+                    mod.merge(entryPath(i), entry(i, "bar"));
+                    break;
+                default:
+                    mod.write(entryPath(i + ENTRY_COUNT), entry(i + ENTRY_COUNT, "baz"));
+                    break;
+            }
+        }
+        commit(dataTree, mod);
+    }
+
+    private static NormalizedNode<?, ?> readRoot(final DataTree dataTree) {
+        final Optional<NormalizedNode<?, ?>> root = dataTree.takeSnapshot().readNode(TestModel.TEST_PATH);
+        assertTrue(root.isPresent());
+        return root.get();
+    }
+
+    private static void commit(final DataTree dataTree, final DataTreeModification mod)
+            throws DataValidationFailedException {
+        mod.ready();
+        dataTree.validate(mod);
+        dataTree.commit(dataTree.prepare(mod));
+    }
+
+    private static YangInstanceIdentifier entryPath(final int id) {
+        return TestModel.OUTER_LIST_PATH.node(NodeIdentifierWithPredicates.of(TestModel.OUTER_LIST_QNAME,
+            TestModel.ID_QNAME, Uint16.valueOf(id)));
+    }
+
+    private static MapEntryNode entry(final int id, final String name) {
+        return ImmutableNodes.mapEntryBuilder(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, Uint16.valueOf(id))
+            .withChild(ImmutableNodes.mapNodeBuilder(TestModel.INNER_LIST_QNAME)
+                .withChild(ImmutableNodes.mapEntry(TestModel.INNER_LIST_QNAME, TestModel.NAME_QNAME, name))
+                .build())
+            .build();
+    }
+
+    private static MapEntryNode keyEntry(final int id) {
+        return ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, Uint16.valueOf(id));
+    }
+
+    /**
+     * A {@link MapEntryNode} which fails with an {@link Error} when its children are accessed from the parallel apply
+     * worker thread.
+     */
+    private static final class WorkerFailingMapEntryNode implements MapEntryNode {
+        private final MapEntryNode delegate;
+
+        WorkerFailingMapEntryNode(final MapEntryNode delegate) {
+            this.delegate = requireNonNull(delegate);
+        }
+
+        @Override
+        public QName getNodeType() {
+            return delegate.getNodeType();
+        }
+
+        @Override
+        public NodeIdentifierWithPredicates getIdentifier() {
+            return delegate.getIdentifier();
+        }
+
+        @Override
+        public Collection<DataContainerChild<? extends PathArgument, ?>> getValue() {
+            if (WORKER_THREAD_NAME.equals(Thread.currentThread().getName())) {
+                throw new StackOverflowError();
+            }
+            return delegate.getValue();
+        }
+
+        @Override
+        public Optional<DataContainerChild<? extends PathArgument, ?>> getChild(final PathArgument child) {
+            return delegate.getChild(child);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.Uint16;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.UniqueConstraintException;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+
+public class UniqueValidationTest {
+    private static final QName ROOT = QName.create("unique-test", "root");
+    private static final QName ITEM = QName.create(ROOT, "item");
+    private static final QName ID = QName.create(ROOT, "id");
+    private static final QName NAME = QName.create(ROOT, "name");
+    private static final QName ADDRESS = QName.create(ROOT, "address");
+    private static final QName HOST = QName.create(ROOT, "host");
+    private static final QName PORT = QName.create(ROOT, "port");
+
+    private static final YangInstanceIdentifier ROOT_PATH = YangInstanceIdentifier.of(ROOT);
+    private static final YangInstanceIdentifier ITEM_PATH = ROOT_PATH.node(ITEM);
+
+    private static EffectiveModelContext SCHEMA_CONTEXT;
+
+    private DataTree dataTree;
+
+    @BeforeClass
+    public static void beforeClass() {
+        SCHEMA_CONTEXT = TestModel.createTestContext("/unique-test.yang");
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        SCHEMA_CONTEXT = null;
+    }
+
+    @Before
+    public void init() throws DataValidationFailedException {
+        dataTree = new InMemoryDataTreeFactory().create(DataTreeConfiguration.builder(TreeType.OPERATIONAL)
+            .setUniqueIndexes(true).build(), SCHEMA_CONTEXT);
+
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(ROOT_PATH, Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(ROOT))
+            .withChild(ImmutableNodes.mapNodeBuilder(ITEM)
+                .withChild(item("a", "foo", "localhost", 80))
+                .withChild(item("b", "bar", "localhost", 8080))
+                .build())
+            .build());
+        commit(mod);
+    }
+
+    @Test
+    public void testWriteDuplicateList() {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(ITEM_PATH, ImmutableNodes.mapNodeBuilder(ITEM)
+            .withChild(item("a", "foo", "localhost", 80))
+            .withChild(item("b", "foo", "localhost", 8080))
+            .build());
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, mod::ready);
+        assertThat(ex.getMessage(), containsString("violates unique constraint"));
+    }
+
+    @Test
+    public void testAddDuplicateEntry() {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        writeItem(mod, item("c", "foo", "remote", 80));
+        mod.ready();
+
+        final UniqueConstraintException ex = assertThrows(UniqueConstraintException.class,
+            () -> dataTree.validate(mod));
+        assertEquals(ITEM_PATH, ex.getPath());
+        assertEquals("foo", ex.getValues().values().iterator().next());
+    }
+
+    @Test
+    public void testAddDuplicateTuple() {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        writeItem(mod, item("c", "baz", "localhost", 8080));
+        mod.ready();
+
+        final UniqueConstraintException ex = assertThrows(UniqueConstraintException.class,
+            () -> dataTree.validate(mod));
+        assertEquals(2, ex.getValues().size());
+    }
+
+    @Test
+    public void testAddDuplicateInSameModification() {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        writeItem(mod, item("c", "baz", "remote", 80));
+        writeItem(mod, item("d", "baz", "remote", 443));
+        mod.ready();
+
+        assertThrows(UniqueConstraintException.class, () -> dataTree.validate(mod));
+    }
+
+    @Test
+    public void testModifyLeafToDuplicate() {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(ITEM_PATH.node(itemId("b")).node(NAME), ImmutableNodes.leafNode(NAME, "foo"));
+        mod.ready();
+
+        assertThrows(UniqueConstraintException.class, () -> dataTree.validate(mod));
+    }
+
+    @Test
+    public void testSwapValues() throws DataValidationFailedException {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        writeItem(mod, item("a", "bar", "localhost", 8080));
+        writeItem(mod, item("b", "foo", "localhost", 80));
+        commit(mod);
+    }
+
+    @Test
+    public void testReuseDeletedValues() throws DataValidationFailedException {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.delete(ITEM_PATH.node(itemId("a")));
+        writeItem(mod, item("c", "foo", "localhost", 80));
+        commit(mod);
+    }
+
+    @Test
+    public void testIncompleteTuple() throws DataValidationFailedException {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        writeItem(mod, ImmutableNodes.mapEntryBuilder(ITEM, ID, "c")
+            .withChild(ImmutableNodes.leafNode(NAME, "baz"))
+            .withChild(Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(ADDRESS))
+                .withChild(ImmutableNodes.leafNode(HOST, "localhost"))
+                .build())
+            .build());
+        commit(mod);
+    }
+
+    @Test
+    public void testManyCommits() throws DataValidationFailedException {
+        for (int i = 0; i < 100; ++i) {
+            final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+            writeItem(mod, item("item" + i, "name" + i, "host" + i, 80));
+            commit(mod);
+        }
+
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        writeItem(mod, item("c", "name42", "remote", 80));
+        mod.ready();
+        assertThrows(UniqueConstraintException.class, () -> dataTree.validate(mod));
+    }
+
+    @Test
+    public void testDisabled() throws DataValidationFailedException {
+        dataTree = new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_OPERATIONAL, SCHEMA_CONTEXT);
+
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(ROOT_PATH, Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(ROOT))
+            .withChild(ImmutableNodes.mapNodeBuilder(ITEM)
+                .withChild(item("a", "foo", "localhost", 80))
+                .withChild(item("b", "foo", "localhost", 80))
+                .build())
+            .build());
+        commit(mod);
+    }
+
+    private void commit(final DataTreeModification mod) throws DataValidationFailedException {
+        mod.ready();
+        dataTree.validate(mod);
+        dataTree.commit(dataTree.prepare(mod));
+    }
+
+    private static void writeItem(final DataTreeModification mod, final MapEntryNode item) {
+        mod.write(ITEM_PATH.node(item.getIdentifier()), item);
+    }
+
+    private static NodeIdentifierWithPredicates itemId(final String id) {
+        return NodeIdentifierWithPredicates.of(ITEM, ID, id);
+    }
+
+    private static MapEntryNode item(final String id, final String name, final String host, final int port) {
+        return ImmutableNodes.mapEntryBuilder(ITEM, ID, id)
+            .withChild(ImmutableNodes.leafNode(NAME, name))
+            .withChild(Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(ADDRESS))
+                .withChild(ImmutableNodes.leafNode(HOST, host))
+                .withChild(ImmutableNodes.leafNode(PORT, Uint16.valueOf(port)))
+                .build())
+            .build();
+    }
+}
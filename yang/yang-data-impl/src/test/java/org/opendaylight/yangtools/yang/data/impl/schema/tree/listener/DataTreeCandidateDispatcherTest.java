@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree.listener;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class DataTreeCandidateDispatcherTest {
+    private static final class Listener implements DataTreeCandidateListener {
+        final List<DataTreeCandidate> received = new ArrayList<>();
+
+        @Override
+        public void onDataTreeChanged(final List<DataTreeCandidate> candidates) {
+            received.addAll(candidates);
+        }
+    }
+
+    private static final QName TOP = QName.create("urn:test", "top");
+    private static final QName ITEM = QName.create(TOP, "item");
+    private static final QName NAME = QName.create(TOP, "name");
+    private static final QName VALUE = QName.create(TOP, "value");
+    private static final QName OTHER = QName.create(TOP, "other");
+
+    private static final YangInstanceIdentifier TOP_ID = YangInstanceIdentifier.of(TOP);
+    private static final YangInstanceIdentifier ITEMS_ID = TOP_ID.node(ITEM);
+    private static final YangInstanceIdentifier ITEM_A_ID = ITEMS_ID.node(NodeIdentifierWithPredicates.of(ITEM, NAME,
+        "a"));
+
+    private DataTreeCandidateDispatcher dispatcher;
+
+    @Before
+    public void before() {
+        dispatcher = DataTreeCandidateDispatcher.create(MoreExecutors.directExecutor(), 100, "test");
+    }
+
+    @Test
+    public void testDispatch() {
+        final Listener all = register(YangInstanceIdentifier.empty());
+        final Listener top = register(TOP_ID);
+        final Listener wildcard = register(ITEMS_ID.node(ITEM));
+        final Listener value = register(ITEM_A_ID.node(VALUE));
+        final Listener other = register(YangInstanceIdentifier.of(OTHER));
+
+        final ContainerNode data = Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(TOP))
+            .withChild(ImmutableNodes.mapNodeBuilder(ITEM).withChild(item("a", 1)).withChild(item("b", 2)).build())
+            .build();
+        dispatcher.publish(DataTreeCandidates.fromNormalizedNode(TOP_ID, data));
+
+        assertEquals(1, all.received.size());
+        assertEquals(TOP_ID, all.received.get(0).getRootPath());
+        assertEquals(1, top.received.size());
+        assertSame(data, top.received.get(0).getRootNode().getDataAfter().get());
+
+        assertEquals(Set.of(ITEM_A_ID, ITEMS_ID.node(NodeIdentifierWithPredicates.of(ITEM, NAME, "b"))),
+            wildcard.received.stream().map(DataTreeCandidate::getRootPath).collect(Collectors.toSet()));
+
+        assertEquals(1, value.received.size());
+        assertEquals(ITEM_A_ID.node(VALUE), value.received.get(0).getRootPath());
+        assertEquals(1, value.received.get(0).getRootNode().getDataAfter().get().getValue());
+
+        assertTrue(other.received.isEmpty());
+    }
+
+    @Test
+    public void testDeepCandidate() {
+        final Listener top = register(TOP_ID);
+        final Listener wildcard = register(ITEMS_ID.node(ITEM));
+        final Listener value = register(ITEM_A_ID.node(VALUE));
+
+        final DataTreeCandidate candidate = DataTreeCandidates.fromNormalizedNode(ITEM_A_ID, item("a", 3));
+        dispatcher.publish(candidate);
+
+        assertEquals(List.of(candidate), top.received);
+        assertEquals(1, wildcard.received.size());
+        assertEquals(ITEM_A_ID, wildcard.received.get(0).getRootPath());
+        assertEquals(1, value.received.size());
+        assertEquals(3, value.received.get(0).getRootNode().getDataAfter().get().getValue());
+    }
+
+    @Test
+    public void testClosedRegistration() {
+        final Listener listener = new Listener();
+        final ListenerRegistration<Listener> reg = dispatcher.registerListener(TOP_ID, listener);
+        final Listener sibling = register(TOP_ID);
+        reg.close();
+
+        dispatcher.publish(DataTreeCandidates.fromNormalizedNode(ITEM_A_ID, item("a", 1)));
+        assertTrue(listener.received.isEmpty());
+        assertEquals(1, sibling.received.size());
+    }
+
+    private Listener register(final YangInstanceIdentifier path) {
+        final Listener listener = new Listener();
+        dispatcher.registerListener(path, listener);
+        return listener;
+    }
+
+    private static MapEntryNode item(final String name, final int value) {
+        return Builders.mapEntryBuilder()
+            .withNodeIdentifier(NodeIdentifierWithPredicates.of(ITEM, NAME, name))
+            .withChild(ImmutableNodes.leafNode(NAME, name))
+            .withChild(ImmutableNodes.leafNode(VALUE, value))
+            .build();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.xpath.impl;
+
+import static java.util.Objects.requireNonNull;
+
+import javax.xml.xpath.XPathExpressionException;
+import org.opendaylight.yangtools.yang.xpath.api.YangBinaryOperator;
+
+/**
+ * A numeric expression, as specified in
+ * <a href="https://www.w3.org/TR/1999/REC-xpath-19991116/#numbers">XPath 1.0, section 3.5</a>. Evaluation is
+ * performed in IEEE 754 double precision.
+ */
+final class ArithmeticExpr extends Expr.OfNumber {
+    /**
+     * Unary minus.
+     */
+    static final class Negate extends Expr.OfNumber {
+        private final Expr expr;
+
+        Negate(final Expr expr) {
+            this.expr = requireNonNull(expr);
+        }
+
+        @Override
+        double evaluateNumber(final EvaluationContext ctx, final XPathNode node, final int position, final int size)
+                throws XPathExpressionException {
+            return -expr.evaluateNumber(ctx, node, position, size);
+        }
+
+        @Override
+        public String toString() {
+            return "-" + expr;
+        }
+    }
+
+    private final YangBinaryOperator operator;
+    private final Expr left;
+    private final Expr right;
+
+    ArithmeticExpr(final YangBinaryOperator operator, final Expr left, final Expr right) {
+        this.operator = requireNonNull(operator);
+        this.left = requireNonNull(left);
+        this.right = requireNonNull(right);
+    }
+
+    @Override
+    double evaluateNumber(final EvaluationContext ctx, final XPathNode node, final int position, final int size)
+            throws XPathExpressionException {
+        final double leftValue = left.evaluateNumber(ctx, node, position, size);
+        final double rightValue = right.evaluateNumber(ctx, node, position, size);
+        switch (operator) {
+            case PLUS:
+                return leftValue + rightValue;
+            case MINUS:
+                return leftValue - rightValue;
+            case MUL:
+                return leftValue * rightValue;
+            case DIV:
+                return leftValue / rightValue;
+            case MOD:
+                return leftValue % rightValue;
+            default:
+                throw new IllegalStateException("Unhandled operator " + operator);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "(" + left + " " + operator + " " + right + ")";
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.xpath.impl;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+import javax.xml.xpath.XPathExpressionException;
+import org.opendaylight.yangtools.yang.xpath.api.YangBinaryOperator;
+
+/**
+ * An equality or relational expression, as specified in
+ * <a href="https://www.w3.org/TR/1999/REC-xpath-19991116/#booleans">XPath 1.0, section 3.4</a>. The way operands are
+ * compared is selected at compile time whenever their static types allow it.
+ */
+final class ComparisonExpr extends Expr.OfBoolean {
+    private enum Mode {
+        BOOLEAN,
+        NUMBER,
+        STRING,
+        DYNAMIC
+    }
+
+    private final YangBinaryOperator operator;
+    private final Expr left;
+    private final Expr right;
+    private final Mode mode;
+
+    ComparisonExpr(final YangBinaryOperator operator, final Expr left, final Expr right) {
+        this.operator = requireNonNull(operator);
+        this.left = requireNonNull(left);
+        this.right = requireNonNull(right);
+        mode = selectMode(operator, left.type(), right.type());
+    }
+
+    @Override
+    boolean evaluateBoolean(final EvaluationContext ctx, final XPathNode node, final int position, final int size)
+            throws XPathExpressionException {
+        switch (mode) {
+            case BOOLEAN:
+                return compareBooleans(operator, left.evaluateBoolean(ctx, node, position, size),
+                    right.evaluateBoolean(ctx, node, position, size));
+            case NUMBER:
+                return compareNumbers(operator, left.evaluateNumber(ctx, node, position, size),
+                    right.evaluateNumber(ctx, node, position, size));
+            case STRING:
+                return compareStrings(operator, left.evaluateString(ctx, node, position, size),
+                    right.evaluateString(ctx, node, position, size));
+            default:
+                return compare(operator, left.evaluate(ctx, node, position, size),
+                    right.evaluate(ctx, node, position, size));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "(" + left + " " + operator + " " + right + ")";
+    }
+
+    private static Mode selectMode(final YangBinaryOperator operator, final Type left, final Type right) {
+        if (left == Type.NODESET || right == Type.NODESET || left == Type.ANY || right == Type.ANY) {
+            return Mode.DYNAMIC;
+        }
+        if (!isEquality(operator)) {
+            return Mode.NUMBER;
+        }
+        if (left == Type.BOOLEAN || right == Type.BOOLEAN) {
+            return Mode.BOOLEAN;
+        }
+        if (left == Type.NUMBER || right == Type.NUMBER) {
+            return Mode.NUMBER;
+        }
+        return Mode.STRING;
+    }
+
+    private static boolean compare(final YangBinaryOperator operator, final Object left, final Object right) {
+        if (Values.isNodeSet(left)) {
+            final List<XPathNode> leftNodes = Values.asNodeSet(left);
+            if (Values.isNodeSet(right)) {
+                return compareNodeSets(operator, leftNodes, Values.asNodeSet(right));
+            }
+            return compareNodeSet(operator, leftNodes, right, false);
+        }
+        if (Values.isNodeSet(right)) {
+            return compareNodeSet(operator, Values.asNodeSet(right), left, true);
+        }
+
+        if (!isEquality(operator)) {
+            return compareNumbers(operator, Values.toNumber(left), Values.toNumber(right));
+        }
+        if (left instanceof Boolean || right instanceof Boolean) {
+            return compareBooleans(operator, Values.toBoolean(left), Values.toBoolean(right));
+        }
+        if (left instanceof Double || right instanceof Double) {
+            return compareNumbers(operator, Values.toNumber(left), Values.toNumber(right));
+        }
+        return compareStrings(operator, Values.toString(left), Values.toString(right));
+    }
+
+    private static boolean compareNodeSets(final YangBinaryOperator operator, final List<XPathNode> left,
+            final List<XPathNode> right) {
+        for (XPathNode leftNode : left) {
+            final String leftValue = leftNode.stringValue();
+            for (XPathNode rightNode : right) {
+                final String rightValue = rightNode.stringValue();
+                if (isEquality(operator) ? compareStrings(operator, leftValue, rightValue)
+                        : compareNumbers(operator, Values.toNumber(leftValue), Values.toNumber(rightValue))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean compareNodeSet(final YangBinaryOperator operator, final List<XPathNode> nodes,
+            final Object other, final boolean nodesOnRight) {
+        if (other instanceof Boolean) {
+            final boolean nodesValue = !nodes.isEmpty();
+            final boolean otherValue = (Boolean) other;
+            return nodesOnRight ? compareBooleans(operator, otherValue, nodesValue)
+                : compareBooleans(operator, nodesValue, otherValue);
+        }
+
+        if (other instanceof Double || !isEquality(operator)) {
+            final double otherValue = Values.toNumber(other);
+            for (XPathNode node : nodes) {
+                final double nodeValue = Values.toNumber(node.stringValue());
+                if (nodesOnRight ? compareNumbers(operator, otherValue, nodeValue)
+                        : compareNumbers(operator, nodeValue, otherValue)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        final String otherValue = Values.toString(other);
+        for (XPathNode node : nodes) {
+            if (compareStrings(operator, node.stringValue(), otherValue)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isEquality(final YangBinaryOperator operator) {
+        return operator == YangBinaryOperator.EQUALS || operator == YangBinaryOperator.NOT_EQUALS;
+    }
+
+    private static boolean compareBooleans(final YangBinaryOperator operator, final boolean left,
+            final boolean right) {
+        switch (operator) {
+            case EQUALS:
+                return left == right;
+            case NOT_EQUALS:
+                return left != right;
+            default:
+                return compareNumbers(operator, left ? 1 : 0, right ? 1 : 0);
+        }
+    }
+
+    private static boolean compareNumbers(final YangBinaryOperator operator, final double left, final double right) {
+        switch (operator) {
+            case EQUALS:
+                return left == right;
+            case NOT_EQUALS:
+                return left != right;
+            case GT:
+                return left > right;
+            case GTE:
+                return left >= right;
+            case LT:
+                return left < right;
+            case LTE:
+                return left <= right;
+            default:
+                throw new IllegalStateException("Unhandled operator " + operator);
+        }
+    }
+
+    private static boolean compareStrings(final YangBinaryOperator operator, final String left,
+            final String right) {
+        switch (operator) {
+            case EQUALS:
+                return left.equals(right);
+            case NOT_EQUALS:
+                return !left.equals(right);
+            default:
+                return compareNumbers(operator, Values.toNumber(left), Values.toNumber(right));
+        }
+    }
+}
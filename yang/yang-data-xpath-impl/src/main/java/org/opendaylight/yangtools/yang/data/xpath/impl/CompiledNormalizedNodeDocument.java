@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.xpath.impl;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import org.opendaylight.yangtools.concepts.Immutable;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.xpath.NormalizedNodeDocument;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContextProvider;
+
+/**
+ * A {@link NormalizedNodeDocument} created by {@link NormalizedNodeXPathCompiler#createDocument(NormalizedNode)}.
+ */
+final class CompiledNormalizedNodeDocument implements NormalizedNodeDocument, EffectiveModelContextProvider,
+        Immutable {
+    private final EffectiveModelContext modelContext;
+    private final NormalizedNode<?, ?> root;
+
+    CompiledNormalizedNodeDocument(final EffectiveModelContext modelContext, final NormalizedNode<?, ?> root) {
+        this.modelContext = requireNonNull(modelContext);
+        this.root = requireNonNull(root);
+    }
+
+    @Override
+    public NormalizedNode<?, ?> getRootNode() {
+        return root;
+    }
+
+    @Override
+    public EffectiveModelContext getEffectiveModelContext() {
+        return modelContext;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("root", root.getIdentifier()).toString();
+    }
+}
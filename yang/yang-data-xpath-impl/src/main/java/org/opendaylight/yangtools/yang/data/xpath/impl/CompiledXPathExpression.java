@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.xpath.impl;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import javax.xml.xpath.XPathExpressionException;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.concepts.Immutable;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.xpath.NormalizedNodeDocument;
+import org.opendaylight.yangtools.yang.xpath.api.YangXPathExpression;
+
+/**
+ * An XPath expression compiled by {@link NormalizedNodeXPathCompiler}. Each evaluation takes a
+ * {@link NormalizedNodeDocument} and the path of the context node, which is also the node returned by
+ * {@code current()}.
+ *
+ * <p>
+ * The document's root node acts as the XPath document node. Mixin nodes are transparent, hence map entries and
+ * leaf-list entries appear as children of the node containing the map or leaf-list, and the contents of choices and
+ * augmentations appear as children of their enclosing node.
+ */
+@Beta
+public final class CompiledXPathExpression implements Immutable {
+    private final @NonNull NormalizedNodeXPathCompiler compiler;
+    private final @NonNull YangXPathExpression source;
+    private final @NonNull Expr expr;
+
+    CompiledXPathExpression(final NormalizedNodeXPathCompiler compiler, final YangXPathExpression source,
+            final Expr expr) {
+        this.compiler = requireNonNull(compiler);
+        this.source = requireNonNull(source);
+        this.expr = requireNonNull(expr);
+    }
+
+    /**
+     * Return the expression from which this expression was compiled.
+     *
+     * @return Source expression
+     */
+    public @NonNull YangXPathExpression getSource() {
+        return source;
+    }
+
+    /**
+     * Evaluate this expression and convert the result to a boolean.
+     *
+     * @param document Document to evaluate against
+     * @param contextPath Path of the context node, relative to the document's root node
+     * @return Evaluation result
+     * @throws NullPointerException if any argument is null
+     * @throws IllegalArgumentException if the context node does not exist
+     * @throws XPathExpressionException if evaluation fails
+     */
+    public boolean evaluateBoolean(final NormalizedNodeDocument document, final YangInstanceIdentifier contextPath)
+            throws XPathExpressionException {
+        final EvaluationContext ctx = createContext(document, contextPath);
+        return expr.evaluateBoolean(ctx, ctx.current(), 1, 1);
+    }
+
+    /**
+     * Evaluate this expression and convert the result to a number.
+     *
+     * @param document Document to evaluate against
+     * @param contextPath Path of the context node, relative to the document's root node
+     * @return Evaluation result
+     * @throws NullPointerException if any argument is null
+     * @throws IllegalArgumentException if the context node does not exist
+     * @throws XPathExpressionException if evaluation fails
+     */
+    public double evaluateNumber(final NormalizedNodeDocument document, final YangInstanceIdentifier contextPath)
+            throws XPathExpressionException {
+        final EvaluationContext ctx = createContext(document, contextPath);
+        return expr.evaluateNumber(ctx, ctx.current(), 1, 1);
+    }
+
+    /**
+     * Evaluate this expression and convert the result to a string.
+     *
+     * @param document Document to evaluate against
+     * @param contextPath Path of the context node, relative to the document's root node
+     * @return Evaluation result
+     * @throws NullPointerException if any argument is null
+     * @throws IllegalArgumentException if the context node does not exist
+     * @throws XPathExpressionException if evaluation fails
+     */
+    public @NonNull String evaluateString(final NormalizedNodeDocument document,
+            final YangInstanceIdentifier contextPath) throws XPathExpressionException {
+        final EvaluationContext ctx = createContext(document, contextPath);
+        return expr.evaluateString(ctx, ctx.current(), 1, 1);
+    }
+
+    /**
+     * Evaluate this expression, which has to result in a node-set.
+     *
+     * @param document Document to evaluate against
+     * @param contextPath Path of the context node, relative to the document's root node
+     * @return Selected nodes, in document order
+     * @throws NullPointerException if any argument is null
+     * @throws IllegalArgumentException if the context node does not exist
+     * @throws XPathExpressionException if evaluation fails or the expression does not evaluate to a node-set
+     */
+    public @NonNull List<NormalizedNode<?, ?>> evaluateNodeSet(final NormalizedNodeDocument document,
+            final YangInstanceIdentifier contextPath) throws XPathExpressionException {
+        final EvaluationContext ctx = createContext(document, contextPath);
+        final List<XPathNode> nodes = expr.evaluateNodeSet(ctx, ctx.current(), 1, 1);
+        final ImmutableList.Builder<NormalizedNode<?, ?>> builder = ImmutableList.builderWithExpectedSize(
+            nodes.size());
+        for (XPathNode node : nodes) {
+            builder.add(node.data());
+        }
+        return builder.build();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("source", source).add("compiled", expr).toString();
+    }
+
+    private EvaluationContext createContext(final NormalizedNodeDocument document,
+            final YangInstanceIdentifier contextPath) {
+        return EvaluationContext.create(compiler, document.getRootNode(), requireNonNull(contextPath));
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.xpath.impl;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A constant boolean, number or string. All conversions are performed at compile time.
+ */
+final class ConstantExpr extends Expr {
+    private final Object value;
+    private final Type type;
+    private final boolean booleanValue;
+    private final double numberValue;
+    private final String stringValue;
+
+    private ConstantExpr(final Object value, final Type type) {
+        this.value = requireNonNull(value);
+        this.type = requireNonNull(type);
+        booleanValue = Values.toBoolean(value);
+        numberValue = Values.toNumber(value);
+        stringValue = Values.toString(value);
+    }
+
+    static ConstantExpr of(final boolean value) {
+        return new ConstantExpr(value, Type.BOOLEAN);
+    }
+
+    static ConstantExpr of(final double value) {
+        return new ConstantExpr(value, Type.NUMBER);
+    }
+
+    static ConstantExpr of(final String value) {
+        return new ConstantExpr(value, Type.STRING);
+    }
+
+    boolean booleanValue() {
+        return booleanValue;
+    }
+
+    double numberValue() {
+        return numberValue;
+    }
+
+    String stringValue() {
+        return stringValue;
+    }
+
+    @Override
+    Type type() {
+        return type;
+    }
+
+    @Override
+    Object evaluate(final EvaluationContext ctx, final XPathNode node, final int position, final int size) {
+        return value;
+    }
+
+    @Override
+    boolean evaluateBoolean(final EvaluationContext ctx, final XPathNode node, final int position, final int size) {
+        return booleanValue;
+    }
+
+    @Override
+    double evaluateNumber(final EvaluationContext ctx, final XPathNode node, final int position, final int size) {
+        return numberValue;
+    }
+
+    @Override
+    String evaluateString(final EvaluationContext ctx, final XPathNode node, final int position, final int size) {
+        return stringValue;
+    }
+
+    @Override
+    public String toString() {
+        return type == Type.STRING ? "'" + stringValue + "'" : stringValue;
+    }
+}
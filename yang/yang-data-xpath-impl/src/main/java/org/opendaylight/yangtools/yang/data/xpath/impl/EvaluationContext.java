@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.xpath.impl;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Optional;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.MixinNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
+
+/**
+ * State of a single evaluation: the document root, the node returned by {@code current()} and the compiler which
+ * produced the expression, which provides access to the model.
+ */
+final class EvaluationContext {
+    private final NormalizedNodeXPathCompiler compiler;
+    private final XPathNode root;
+    private final XPathNode current;
+
+    private EvaluationContext(final NormalizedNodeXPathCompiler compiler, final XPathNode root,
+            final XPathNode current) {
+        this.compiler = requireNonNull(compiler);
+        this.root = requireNonNull(root);
+        this.current = requireNonNull(current);
+    }
+
+    static EvaluationContext create(final NormalizedNodeXPathCompiler compiler, final NormalizedNode<?, ?> root,
+            final YangInstanceIdentifier currentPath) {
+        final XPathNode rootNode = new XPathNode(root, null);
+        final XPathNode current = locate(rootNode, currentPath)
+            .orElseThrow(() -> new IllegalArgumentException("Context node " + currentPath + " does not exist"));
+        return new EvaluationContext(compiler, rootNode, current);
+    }
+
+    NormalizedNodeXPathCompiler compiler() {
+        return compiler;
+    }
+
+    XPathNode root() {
+        return root;
+    }
+
+    XPathNode current() {
+        return current;
+    }
+
+    EvaluationContext withCurrent(final XPathNode newCurrent) {
+        return newCurrent == current ? this : new EvaluationContext(compiler, root, newCurrent);
+    }
+
+    /**
+     * Locate the node identified by a {@link YangInstanceIdentifier}, starting at specified node.
+     *
+     * @param start Starting node
+     * @param path Path to the node
+     * @return Located node, or empty if the node does not exist
+     */
+    static Optional<XPathNode> locate(final XPathNode start, final YangInstanceIdentifier path) {
+        XPathNode node = start;
+        NormalizedNode<?, ?> data = start.data();
+        for (PathArgument arg : path.getPathArguments()) {
+            final Optional<NormalizedNode<?, ?>> child = NormalizedNodes.getDirectChild(data, arg);
+            if (child.isEmpty()) {
+                return Optional.empty();
+            }
+            data = child.get();
+            if (!(data instanceof MixinNode)) {
+                node = new XPathNode(data, node);
+            }
+        }
+        return Optional.of(node);
+    }
+}
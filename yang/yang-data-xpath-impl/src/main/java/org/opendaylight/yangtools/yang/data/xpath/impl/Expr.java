@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.xpath.impl;
+
+import java.util.List;
+import javax.xml.xpath.XPathExpressionException;
+
+/**
+ * A compiled expression. Each expression has a static {@link Type}, which allows its users to pick the appropriate
+ * evaluation method and thus avoid boxing of primitive results. Evaluation is performed with respect to a context,
+ * which is made up of the {@link EvaluationContext}, the context node, context position and context size.
+ */
+abstract class Expr {
+    /**
+     * Static result type of an expression.
+     */
+    enum Type {
+        BOOLEAN,
+        NUMBER,
+        STRING,
+        NODESET,
+        /**
+         * Result type is not known at compile time.
+         */
+        ANY;
+    }
+
+    /**
+     * Base class for expressions evaluating to a boolean.
+     */
+    abstract static class OfBoolean extends Expr {
+        @Override
+        final Type type() {
+            return Type.BOOLEAN;
+        }
+
+        @Override
+        final Object evaluate(final EvaluationContext ctx, final XPathNode node, final int position, final int size)
+                throws XPathExpressionException {
+            return evaluateBoolean(ctx, node, position, size);
+        }
+
+        @Override
+        abstract boolean evaluateBoolean(EvaluationContext ctx, XPathNode node, int position, int size)
+            throws XPathExpressionException;
+
+        @Override
+        final double evaluateNumber(final EvaluationContext ctx, final XPathNode node, final int position,
+                final int size) throws XPathExpressionException {
+            return evaluateBoolean(ctx, node, position, size) ? 1 : 0;
+        }
+    }
+
+    /**
+     * Base class for expressions evaluating to a number.
+     */
+    abstract static class OfNumber extends Expr {
+        @Override
+        final Type type() {
+            return Type.NUMBER;
+        }
+
+        @Override
+        final Object evaluate(final EvaluationContext ctx, final XPathNode node, final int position, final int size)
+                throws XPathExpressionException {
+            return evaluateNumber(ctx, node, position, size);
+        }
+
+        @Override
+        final boolean evaluateBoolean(final EvaluationContext ctx, final XPathNode node, final int position,
+                final int size) throws XPathExpressionException {
+            return Values.toBoolean(evaluateNumber(ctx, node, position, size));
+        }
+
+        @Override
+        abstract double evaluateNumber(EvaluationContext ctx, XPathNode node, int position, int size)
+            throws XPathExpressionException;
+
+        @Override
+        final String evaluateString(final EvaluationContext ctx, final XPathNode node, final int position,
+                final int size) throws XPathExpressionException {
+            return Values.toString(evaluateNumber(ctx, node, position, size));
+        }
+    }
+
+    /**
+     * Base class for expressions evaluating to a string.
+     */
+    abstract static class OfString extends Expr {
+        @Override
+        final Type type() {
+            return Type.STRING;
+        }
+
+        @Override
+        final Object evaluate(final EvaluationContext ctx, final XPathNode node, final int position, final int size)
+                throws XPathExpressionException {
+            return evaluateString(ctx, node, position, size);
+        }
+
+        @Override
+        final boolean evaluateBoolean(final EvaluationContext ctx, final XPathNode node, final int position,
+                final int size) throws XPathExpressionException {
+            return !evaluateString(ctx, node, position, size).isEmpty();
+        }
+
+        @Override
+        final double evaluateNumber(final EvaluationContext ctx, final XPathNode node, final int position,
+                final int size) throws XPathExpressionException {
+            return Values.toNumber(evaluateString(ctx, node, position, size));
+        }
+
+        @Override
+        abstract String evaluateString(EvaluationContext ctx, XPathNode node, int position, int size)
+            throws XPathExpressionException;
+    }
+
+    /**
+     * Base class for expressions evaluating to a node-set.
+     */
+    abstract static class OfNodeSet extends Expr {
+        @Override
+        final Type type() {
+            return Type.NODESET;
+        }
+
+        @Override
+        final Object evaluate(final EvaluationContext ctx, final XPathNode node, final int position, final int size)
+                throws XPathExpressionException {
+            return evaluateNodeSet(ctx, node, position, size);
+        }
+
+        @Override
+        final boolean evaluateBoolean(final EvaluationContext ctx, final XPathNode node, final int position,
+                final int size) throws XPathExpressionException {
+            return !evaluateNodeSet(ctx, node, position, size).isEmpty();
+        }
+
+        @Override
+        abstract List<XPathNode> evaluateNodeSet(EvaluationContext ctx, XPathNode node, int position, int size)
+            throws XPathExpressionException;
+    }
+
+    /**
+     * Return the static type of this expression.
+     *
+     * @return Static type
+     */
+    abstract Type type();
+
+    /**
+     * Evaluate this expression, returning a boxed result.
+     *
+     * @param ctx Evaluation context
+     * @param node Context node
+     * @param position Context position
+     * @param size Context size
+     * @return Result, as specified by {@link Values}
+     * @throws XPathExpressionException if evaluation fails
+     */
+    abstract Object evaluate(EvaluationContext ctx, XPathNode node, int position, int size)
+        throws XPathExpressionException;
+
+    boolean evaluateBoolean(final EvaluationContext ctx, final XPathNode node, final int position, final int size)
+            throws XPathExpressionException {
+        return Values.toBoolean(evaluate(ctx, node, position, size));
+    }
+
+    double evaluateNumber(final EvaluationContext ctx, final XPathNode node, final int position, final int size)
+            throws XPathExpressionException {
+        return Values.toNumber(evaluate(ctx, node, position, size));
+    }
+
+    String evaluateString(final EvaluationContext ctx, final XPathNode node, final int position, final int size)
+            throws XPathExpressionException {
+        return Values.toString(evaluate(ctx, node, position, size));
+    }
+
+    List<XPathNode> evaluateNodeSet(final EvaluationContext ctx, final XPathNode node, final int position,
+            final int size) throws XPathExpressionException {
+        final Object result = evaluate(ctx, node, position, size);
+        if (!Values.isNodeSet(result)) {
+            throw new XPathExpressionException("Expression " + this + " evaluated to non-node-set " + result);
+        }
+        return Values.asNodeSet(result);
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.xpath.impl;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import javax.xml.xpath.XPathExpressionException;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.common.AbstractQName;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.common.UnqualifiedQName;
+import org.opendaylight.yangtools.yang.xpath.api.YangBinaryExpr;
+import org.opendaylight.yangtools.yang.xpath.api.YangBinaryOperator;
+import org.opendaylight.yangtools.yang.xpath.api.YangBooleanConstantExpr;
+import org.opendaylight.yangtools.yang.xpath.api.YangExpr;
+import org.opendaylight.yangtools.yang.xpath.api.YangFilterExpr;
+import org.opendaylight.yangtools.yang.xpath.api.YangFunction;
+import org.opendaylight.yangtools.yang.xpath.api.YangFunctionCallExpr;
+import org.opendaylight.yangtools.yang.xpath.api.YangLiteralExpr;
+import org.opendaylight.yangtools.yang.xpath.api.YangLocationPath;
+import org.opendaylight.yangtools.yang.xpath.api.YangLocationPath.AxisStep;
+import org.opendaylight.yangtools.yang.xpath.api.YangLocationPath.NamespaceStep;
+import org.opendaylight.yangtools.yang.xpath.api.YangLocationPath.NodeTypeStep;
+import org.opendaylight.yangtools.yang.xpath.api.YangLocationPath.ProcessingInstructionStep;
+import org.opendaylight.yangtools.yang.xpath.api.YangLocationPath.ResolvedQNameStep;
+import org.opendaylight.yangtools.yang.xpath.api.YangLocationPath.UnresolvedQNameStep;
+import org.opendaylight.yangtools.yang.xpath.api.YangNaryExpr;
+import org.opendaylight.yangtools.yang.xpath.api.YangNegateExpr;
+import org.opendaylight.yangtools.yang.xpath.api.YangNumberExpr;
+import org.opendaylight.yangtools.yang.xpath.api.YangPathExpr;
+import org.opendaylight.yangtools.yang.xpath.api.YangXPathAxis;
+import org.opendaylight.yangtools.yang.xpath.api.YangXPathExpression;
+import org.opendaylight.yangtools.yang.xpath.api.YangXPathNodeType;
+
+/**
+ * Compiler translating a {@link YangExpr} tree into an {@link Expr} tree. Instances are not thread-safe and are
+ * expected to be used for compiling a single expression.
+ */
+final class ExprCompiler {
+    private static final ImmutableMap<QName, YangFunction> FUNCTIONS = Arrays.stream(YangFunction.values())
+        .collect(ImmutableMap.toImmutableMap(YangFunction::getIdentifier, func -> func));
+
+    private final NormalizedNodeXPathCompiler compiler;
+    private final @Nullable YangXPathExpression source;
+    private final @Nullable QNameModule defaultNamespace;
+
+    ExprCompiler(final NormalizedNodeXPathCompiler compiler, final @Nullable YangXPathExpression source,
+            final @Nullable QNameModule defaultNamespace) {
+        this.compiler = requireNonNull(compiler);
+        this.source = source;
+        this.defaultNamespace = defaultNamespace;
+    }
+
+    NormalizedNodeXPathCompiler compiler() {
+        return compiler;
+    }
+
+    @Nullable YangXPathExpression source() {
+        return source;
+    }
+
+    @Nullable QNameModule defaultNamespace() {
+        return defaultNamespace;
+    }
+
+    Expr compile(final YangExpr expr) throws XPathExpressionException {
+        if (expr instanceof YangLocationPath) {
+            final YangLocationPath path = (YangLocationPath) expr;
+            return PathExpr.locationPath(path.isAbsolute(), compileSteps(path));
+        }
+        if (expr instanceof YangPathExpr) {
+            final YangPathExpr pathExpr = (YangPathExpr) expr;
+            final Optional<YangLocationPath.Relative> path = pathExpr.getLocationPath();
+            final YangExpr filterExpr = pathExpr.getFilterExpr();
+            if (path.isEmpty()) {
+                return compile(filterExpr);
+            }
+
+            final Expr filter;
+            final Expr[] predicates;
+            if (filterExpr instanceof YangFilterExpr) {
+                filter = compile(((YangFilterExpr) filterExpr).getExpr());
+                predicates = compileAll(((YangFilterExpr) filterExpr).getPredicates());
+            } else {
+                filter = compile(filterExpr);
+                predicates = new Expr[0];
+            }
+            return PathExpr.filterPath(filter, predicates, compileSteps(path.get()));
+        }
+        if (expr instanceof YangFilterExpr) {
+            final YangFilterExpr filterExpr = (YangFilterExpr) expr;
+            final Expr filter = compile(filterExpr.getExpr());
+            final Set<YangExpr> predicates = filterExpr.getPredicates();
+            return predicates.isEmpty() ? filter
+                : PathExpr.filterPath(filter, compileAll(predicates), new Step[0]);
+        }
+        if (expr instanceof YangBinaryExpr) {
+            final YangBinaryExpr binExpr = (YangBinaryExpr) expr;
+            final YangBinaryOperator operator = binExpr.getOperator();
+            final Expr left = compile(binExpr.getLeftExpr());
+            final Expr right = compile(binExpr.getRightExpr());
+            switch (operator) {
+                case EQUALS:
+                case NOT_EQUALS:
+                case GT:
+                case GTE:
+                case LT:
+                case LTE:
+                    return new ComparisonExpr(operator, left, right);
+                default:
+                    return new ArithmeticExpr(operator, left, right);
+            }
+        }
+        if (expr instanceof YangNaryExpr) {
+            final YangNaryExpr naryExpr = (YangNaryExpr) expr;
+            final Expr[] exprs = compileAll(naryExpr.getExpressions());
+            switch (naryExpr.getOperator()) {
+                case AND:
+                    return new LogicalExpr(true, exprs);
+                case OR:
+                    return new LogicalExpr(false, exprs);
+                case UNION:
+                    return new UnionExpr(exprs);
+                default:
+                    throw new XPathExpressionException("Unhandled operator " + naryExpr.getOperator());
+            }
+        }
+        if (expr instanceof YangNegateExpr) {
+            return new ArithmeticExpr.Negate(compile(((YangNegateExpr) expr).getSubExpr()));
+        }
+        if (expr instanceof YangLiteralExpr) {
+            return ConstantExpr.of(((YangLiteralExpr) expr).getLiteral());
+        }
+        if (expr instanceof YangNumberExpr) {
+            return ConstantExpr.of(((YangNumberExpr) expr).getNumber().doubleValue());
+        }
+        if (expr instanceof YangBooleanConstantExpr) {
+            return ConstantExpr.of(((YangBooleanConstantExpr) expr).getValue());
+        }
+        if (expr instanceof YangFunctionCallExpr) {
+            final YangFunctionCallExpr call = (YangFunctionCallExpr) expr;
+            final YangFunction function = FUNCTIONS.get(call.getName());
+            if (function == null) {
+                throw new XPathExpressionException("Unknown function " + call.getName());
+            }
+            return Functions.compile(this, function, call.getArguments());
+        }
+        throw new XPathExpressionException("Unsupported expression " + expr);
+    }
+
+    private Expr[] compileAll(final Collection<YangExpr> exprs) throws XPathExpressionException {
+        final Expr[] ret = new Expr[exprs.size()];
+        int offset = 0;
+        for (YangExpr expr : exprs) {
+            ret[offset++] = compile(expr);
+        }
+        return ret;
+    }
+
+    private Step[] compileSteps(final YangLocationPath path) throws XPathExpressionException {
+        final List<YangLocationPath.Step> steps = path.getSteps();
+        final Step[] ret = new Step[steps.size()];
+        for (int i = 0; i < ret.length; ++i) {
+            ret[i] = compileStep(steps.get(i));
+        }
+        return ret;
+    }
+
+    private Step compileStep(final YangLocationPath.Step step) throws XPathExpressionException {
+        final YangXPathAxis axis = step.getAxis();
+        final Expr[] predicates = compileAll(step.getPredicates());
+
+        final QName qname = stepQName(step);
+        if (qname != null && axis == YangXPathAxis.CHILD) {
+            return new Step.NamedChild(qname, predicates);
+        }
+
+        final Step.NodeTest test = qname != null ? Step.NodeTest.of(qname) : nodeTest(step);
+        switch (axis) {
+            case CHILD:
+                return new Step.Child(test, predicates);
+            case SELF:
+                return new Step.Self(test, predicates);
+            case PARENT:
+                return new Step.Parent(test, predicates);
+            case ANCESTOR:
+                return new Step.Ancestor(test, false, predicates);
+            case ANCESTOR_OR_SELF:
+                return new Step.Ancestor(test, true, predicates);
+            case DESCENDANT:
+                return new Step.Descendant(test, false, predicates);
+            case DESCENDANT_OR_SELF:
+                return new Step.Descendant(test, true, predicates);
+            default:
+                throw new XPathExpressionException("Axis " + axis + " is not supported on NormalizedNode data");
+        }
+    }
+
+    private @Nullable QName stepQName(final YangLocationPath.Step step) throws XPathExpressionException {
+        final QName qname;
+        if (step instanceof ResolvedQNameStep) {
+            qname = ((ResolvedQNameStep) step).getQName();
+        } else if (step instanceof UnresolvedQNameStep) {
+            final AbstractQName unresolved = ((UnresolvedQNameStep) step).getQName();
+            if (!(unresolved instanceof UnqualifiedQName) || defaultNamespace == null) {
+                throw new XPathExpressionException("Cannot resolve step " + unresolved);
+            }
+            qname = QName.create(defaultNamespace, unresolved.getLocalName());
+        } else {
+            return null;
+        }
+
+        if (compiler.getEffectiveModelContext().findModule(qname.getModule()).isEmpty()) {
+            throw new XPathExpressionException("Step " + qname + " refers to an unknown module");
+        }
+        return qname;
+    }
+
+    private static Step.NodeTest nodeTest(final YangLocationPath.Step step) throws XPathExpressionException {
+        if (step instanceof AxisStep) {
+            return Step.NodeTest.ANY;
+        }
+        if (step instanceof NamespaceStep) {
+            return Step.NodeTest.of(((NamespaceStep) step).getNamespace());
+        }
+        if (step instanceof NodeTypeStep && !(step instanceof ProcessingInstructionStep)
+                && ((NodeTypeStep) step).getNodeType() == YangXPathNodeType.NODE) {
+            return Step.NodeTest.ANY;
+        }
+        throw new XPathExpressionException("Node test in " + step + " is not supported on NormalizedNode data");
+    }
+}
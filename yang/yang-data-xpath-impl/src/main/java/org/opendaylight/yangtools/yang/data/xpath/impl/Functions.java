@@ -0,0 +1,534 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.xpath.impl;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.CharMatcher;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import javax.xml.xpath.XPathExpressionException;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.common.AbstractQName;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.common.UnqualifiedQName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.IdentitySchemaNode;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.TypedDataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.type.EnumTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.EnumTypeDefinition.EnumPair;
+import org.opendaylight.yangtools.yang.model.api.type.LeafrefTypeDefinition;
+import org.opendaylight.yangtools.yang.model.util.RegexUtils;
+import org.opendaylight.yangtools.yang.xpath.api.YangExpr;
+import org.opendaylight.yangtools.yang.xpath.api.YangFunction;
+import org.opendaylight.yangtools.yang.xpath.api.YangLiteralExpr;
+import org.opendaylight.yangtools.yang.xpath.api.YangQNameExpr;
+import org.opendaylight.yangtools.yang.xpath.api.YangXPathExpression;
+
+/**
+ * Implementations of XPath 1.0 core library functions and of YANG-specific functions defined in
+ * <a href="https://tools.ietf.org/html/rfc7950#section-10">RFC7950, section 10</a>.
+ */
+final class Functions {
+    @FunctionalInterface
+    private interface BooleanFunction {
+        boolean apply(EvaluationContext ctx, XPathNode node, int position, int size) throws XPathExpressionException;
+    }
+
+    @FunctionalInterface
+    private interface NumberFunction {
+        double apply(EvaluationContext ctx, XPathNode node, int position, int size) throws XPathExpressionException;
+    }
+
+    @FunctionalInterface
+    private interface StringFunction {
+        String apply(EvaluationContext ctx, XPathNode node, int position, int size) throws XPathExpressionException;
+    }
+
+    @FunctionalInterface
+    private interface NodeSetFunction {
+        List<XPathNode> apply(EvaluationContext ctx, XPathNode node, int position, int size)
+            throws XPathExpressionException;
+    }
+
+    private static final class BooleanCall extends Expr.OfBoolean {
+        private final YangFunction function;
+        private final BooleanFunction impl;
+
+        BooleanCall(final YangFunction function, final BooleanFunction impl) {
+            this.function = requireNonNull(function);
+            this.impl = requireNonNull(impl);
+        }
+
+        @Override
+        boolean evaluateBoolean(final EvaluationContext ctx, final XPathNode node, final int position,
+                final int size) throws XPathExpressionException {
+            return impl.apply(ctx, node, position, size);
+        }
+
+        @Override
+        public String toString() {
+            return function.getIdentifier().getLocalName() + "()";
+        }
+    }
+
+    private static final class NumberCall extends Expr.OfNumber {
+        private final YangFunction function;
+        private final NumberFunction impl;
+
+        NumberCall(final YangFunction function, final NumberFunction impl) {
+            this.function = requireNonNull(function);
+            this.impl = requireNonNull(impl);
+        }
+
+        @Override
+        double evaluateNumber(final EvaluationContext ctx, final XPathNode node, final int position, final int size)
+                throws XPathExpressionException {
+            return impl.apply(ctx, node, position, size);
+        }
+
+        @Override
+        public String toString() {
+            return function.getIdentifier().getLocalName() + "()";
+        }
+    }
+
+    private static final class StringCall extends Expr.OfString {
+        private final YangFunction function;
+        private final StringFunction impl;
+
+        StringCall(final YangFunction function, final StringFunction impl) {
+            this.function = requireNonNull(function);
+            this.impl = requireNonNull(impl);
+        }
+
+        @Override
+        String evaluateString(final EvaluationContext ctx, final XPathNode node, final int position, final int size)
+                throws XPathExpressionException {
+            return impl.apply(ctx, node, position, size);
+        }
+
+        @Override
+        public String toString() {
+            return function.getIdentifier().getLocalName() + "()";
+        }
+    }
+
+    private static final class NodeSetCall extends Expr.OfNodeSet {
+        private final YangFunction function;
+        private final NodeSetFunction impl;
+
+        NodeSetCall(final YangFunction function, final NodeSetFunction impl) {
+            this.function = requireNonNull(function);
+            this.impl = requireNonNull(impl);
+        }
+
+        @Override
+        List<XPathNode> evaluateNodeSet(final EvaluationContext ctx, final XPathNode node, final int position,
+                final int size) throws XPathExpressionException {
+            return impl.apply(ctx, node, position, size);
+        }
+
+        @Override
+        public String toString() {
+            return function.getIdentifier().getLocalName() + "()";
+        }
+    }
+
+    private static final CharMatcher XML_WHITESPACE = CharMatcher.anyOf(" \t\r\n");
+
+    private Functions() {
+        // Hidden on purpose
+    }
+
+    static Expr compile(final ExprCompiler compiler, final YangFunction function, final List<YangExpr> yangArgs)
+            throws XPathExpressionException {
+        if (function == YangFunction.DERIVED_FROM || function == YangFunction.DERIVED_FROM_OR_SELF) {
+            // The identity argument is resolved at compile time and does not need to be compiled
+            return derivedFrom(compiler, function, yangArgs, function == YangFunction.DERIVED_FROM_OR_SELF);
+        }
+
+        final List<Expr> args = new ArrayList<>(yangArgs.size());
+        for (YangExpr arg : yangArgs) {
+            args.add(compiler.compile(arg));
+        }
+
+        switch (function) {
+            case BOOLEAN:
+                checkArgs(function, args, 1, 1);
+                return booleanCall(function,
+                    (ctx, node, pos, size) -> args.get(0).evaluateBoolean(ctx, node, pos, size));
+            case CEILING:
+                checkArgs(function, args, 1, 1);
+                return numberCall(function,
+                    (ctx, node, pos, size) -> Math.ceil(args.get(0).evaluateNumber(ctx, node, pos, size)));
+            case CONCAT:
+                checkArgs(function, args, 2, Integer.MAX_VALUE);
+                return stringCall(function, (ctx, node, pos, size) -> {
+                    final StringBuilder sb = new StringBuilder();
+                    for (Expr arg : args) {
+                        sb.append(arg.evaluateString(ctx, node, pos, size));
+                    }
+                    return sb.toString();
+                });
+            case CONTAINS:
+                checkArgs(function, args, 2, 2);
+                return booleanCall(function, (ctx, node, pos, size) -> args.get(0).evaluateString(ctx, node, pos, size)
+                    .contains(args.get(1).evaluateString(ctx, node, pos, size)));
+            case COUNT:
+                checkArgs(function, args, 1, 1);
+                return numberCall(function,
+                    (ctx, node, pos, size) -> args.get(0).evaluateNodeSet(ctx, node, pos, size).size());
+            case CURRENT:
+                checkArgs(function, args, 0, 0);
+                return nodeSetCall(function, (ctx, node, pos, size) -> List.of(ctx.current()));
+            case FALSE:
+                checkArgs(function, args, 0, 0);
+                return ConstantExpr.of(false);
+            case FLOOR:
+                checkArgs(function, args, 1, 1);
+                return numberCall(function,
+                    (ctx, node, pos, size) -> Math.floor(args.get(0).evaluateNumber(ctx, node, pos, size)));
+            case LAST:
+                checkArgs(function, args, 0, 0);
+                return numberCall(function, (ctx, node, pos, size) -> size);
+            case LOCAL_NAME:
+                checkArgs(function, args, 0, 1);
+                return stringCall(function, (ctx, node, pos, size) -> {
+                    final XPathNode first = firstNode(args, ctx, node, pos, size);
+                    return first == null || first.isRoot() ? "" : first.qname().getLocalName();
+                });
+            case NAME:
+                // Prefixes are not available in NormalizedNode data, hence we report just the local name
+                checkArgs(function, args, 0, 1);
+                return stringCall(function, (ctx, node, pos, size) -> {
+                    final XPathNode first = firstNode(args, ctx, node, pos, size);
+                    return first == null || first.isRoot() ? "" : first.qname().getLocalName();
+                });
+            case NAMESPACE_URI:
+                checkArgs(function, args, 0, 1);
+                return stringCall(function, (ctx, node, pos, size) -> {
+                    final XPathNode first = firstNode(args, ctx, node, pos, size);
+                    return first == null || first.isRoot() ? "" : first.qname().getNamespace().toString();
+                });
+            case NORMALIZE_SPACE:
+                checkArgs(function, args, 0, 1);
+                return stringCall(function, (ctx, node, pos, size) -> XML_WHITESPACE.trimAndCollapseFrom(
+                    stringArg(args, ctx, node, pos, size), ' '));
+            case NOT:
+                checkArgs(function, args, 1, 1);
+                return booleanCall(function,
+                    (ctx, node, pos, size) -> !args.get(0).evaluateBoolean(ctx, node, pos, size));
+            case NUMBER:
+                checkArgs(function, args, 0, 1);
+                return numberCall(function, (ctx, node, pos, size) -> args.isEmpty()
+                    ? Values.toNumber(node.stringValue()) : args.get(0).evaluateNumber(ctx, node, pos, size));
+            case POSITION:
+                checkArgs(function, args, 0, 0);
+                return numberCall(function, (ctx, node, pos, size) -> pos);
+            case ROUND:
+                checkArgs(function, args, 1, 1);
+                return numberCall(function,
+                    (ctx, node, pos, size) -> round(args.get(0).evaluateNumber(ctx, node, pos, size)));
+            case STARTS_WITH:
+                checkArgs(function, args, 2, 2);
+                return booleanCall(function, (ctx, node, pos, size) -> args.get(0).evaluateString(ctx, node, pos, size)
+                    .startsWith(args.get(1).evaluateString(ctx, node, pos, size)));
+            case STRING:
+                checkArgs(function, args, 0, 1);
+                return stringCall(function, (ctx, node, pos, size) -> stringArg(args, ctx, node, pos, size));
+            case STRING_LENGTH:
+                checkArgs(function, args, 0, 1);
+                return numberCall(function, (ctx, node, pos, size) -> {
+                    final String str = stringArg(args, ctx, node, pos, size);
+                    return str.codePointCount(0, str.length());
+                });
+            case SUBSTRING:
+                checkArgs(function, args, 2, 3);
+                return stringCall(function, (ctx, node, pos, size) -> substring(
+                    args.get(0).evaluateString(ctx, node, pos, size), args.get(1).evaluateNumber(ctx, node, pos, size),
+                    args.size() == 3 ? args.get(2).evaluateNumber(ctx, node, pos, size) : Double.POSITIVE_INFINITY));
+            case SUBSTRING_AFTER:
+                checkArgs(function, args, 2, 2);
+                return stringCall(function, (ctx, node, pos, size) -> {
+                    final String str = args.get(0).evaluateString(ctx, node, pos, size);
+                    final String sub = args.get(1).evaluateString(ctx, node, pos, size);
+                    final int idx = str.indexOf(sub);
+                    return idx == -1 ? "" : str.substring(idx + sub.length());
+                });
+            case SUBSTRING_BEFORE:
+                checkArgs(function, args, 2, 2);
+                return stringCall(function, (ctx, node, pos, size) -> {
+                    final String str = args.get(0).evaluateString(ctx, node, pos, size);
+                    final int idx = str.indexOf(args.get(1).evaluateString(ctx, node, pos, size));
+                    return idx == -1 ? "" : str.substring(0, idx);
+                });
+            case SUM:
+                checkArgs(function, args, 1, 1);
+                return numberCall(function, (ctx, node, pos, size) -> {
+                    double sum = 0;
+                    for (XPathNode item : args.get(0).evaluateNodeSet(ctx, node, pos, size)) {
+                        sum += Values.toNumber(item.stringValue());
+                    }
+                    return sum;
+                });
+            case TRANSLATE:
+                checkArgs(function, args, 3, 3);
+                return stringCall(function, (ctx, node, pos, size) -> translate(
+                    args.get(0).evaluateString(ctx, node, pos, size), args.get(1).evaluateString(ctx, node, pos, size),
+                    args.get(2).evaluateString(ctx, node, pos, size)));
+            case TRUE:
+                checkArgs(function, args, 0, 0);
+                return ConstantExpr.of(true);
+            case BIT_IS_SET:
+                checkArgs(function, args, 2, 2);
+                return booleanCall(function, (ctx, node, pos, size) -> {
+                    final XPathNode first = firstNode(args, ctx, node, pos, size);
+                    if (first == null) {
+                        return false;
+                    }
+                    final Object value = first.data().getValue();
+                    return value instanceof Set && ((Set<?>) value).contains(
+                        args.get(1).evaluateString(ctx, node, pos, size));
+                });
+            case DEREF:
+                checkArgs(function, args, 1, 1);
+                return nodeSetCall(function, (ctx, node, pos, size) -> {
+                    final XPathNode first = firstNode(args, ctx, node, pos, size);
+                    return first == null ? List.of() : deref(ctx, first);
+                });
+            case ENUM_VALUE:
+                checkArgs(function, args, 1, 1);
+                return numberCall(function, (ctx, node, pos, size) -> {
+                    final XPathNode first = firstNode(args, ctx, node, pos, size);
+                    return first == null ? Double.NaN : enumValue(ctx, first);
+                });
+            case RE_MATCH:
+                return reMatch(function, args, yangArgs);
+            default:
+                throw new XPathExpressionException("Function " + function.getIdentifier() + " is not supported");
+        }
+    }
+
+    private static void checkArgs(final YangFunction function, final List<Expr> args, final int min, final int max)
+            throws XPathExpressionException {
+        final int count = args.size();
+        if (count < min || count > max) {
+            throw new XPathExpressionException("Function " + function.getIdentifier().getLocalName()
+                + "() does not accept " + count + " arguments");
+        }
+    }
+
+    private static Expr booleanCall(final YangFunction function, final BooleanFunction impl) {
+        return new BooleanCall(function, impl);
+    }
+
+    private static Expr numberCall(final YangFunction function, final NumberFunction impl) {
+        return new NumberCall(function, impl);
+    }
+
+    private static Expr stringCall(final YangFunction function, final StringFunction impl) {
+        return new StringCall(function, impl);
+    }
+
+    private static Expr nodeSetCall(final YangFunction function, final NodeSetFunction impl) {
+        return new NodeSetCall(function, impl);
+    }
+
+    /**
+     * Return the first node of the node-set argument, or the context node if there are no arguments.
+     */
+    private static @Nullable XPathNode firstNode(final List<Expr> args, final EvaluationContext ctx,
+            final XPathNode node, final int position, final int size) throws XPathExpressionException {
+        if (args.isEmpty()) {
+            return node;
+        }
+        final List<XPathNode> nodes = args.get(0).evaluateNodeSet(ctx, node, position, size);
+        return nodes.isEmpty() ? null : nodes.get(0);
+    }
+
+    private static String stringArg(final List<Expr> args, final EvaluationContext ctx, final XPathNode node,
+            final int position, final int size) throws XPathExpressionException {
+        return args.isEmpty() ? node.stringValue() : args.get(0).evaluateString(ctx, node, position, size);
+    }
+
+    private static double round(final double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return value;
+        }
+        // Negative values in [-0.5, 0) round to negative zero
+        if (value < 0 && value >= -0.5) {
+            return -0.0;
+        }
+        return Math.floor(value + 0.5);
+    }
+
+    private static String substring(final String str, final double start, final double length) {
+        // Character positions p are included when round(start) <= p < round(start) + round(length)
+        final double first = round(start);
+        final double from = Math.max(first, 1);
+        final double to = Math.min(first + round(length), str.length() + 1);
+        if (!(from < to)) {
+            return "";
+        }
+        return str.substring((int) from - 1, (int) to - 1);
+    }
+
+    private static String translate(final String str, final String from, final String to) {
+        final StringBuilder sb = new StringBuilder(str.length());
+        for (int i = 0; i < str.length(); i++) {
+            final char ch = str.charAt(i);
+            final int idx = from.indexOf(ch);
+            if (idx == -1) {
+                sb.append(ch);
+            } else if (idx < to.length()) {
+                sb.append(to.charAt(idx));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static Optional<TypeDefinition<?>> typeOf(final EvaluationContext ctx, final XPathNode node) {
+        final Optional<DataSchemaNode> schema = node.schema(ctx.compiler().getEffectiveModelContext());
+        return schema.isPresent() && schema.get() instanceof TypedDataSchemaNode
+            ? Optional.of(((TypedDataSchemaNode) schema.get()).getType()) : Optional.empty();
+    }
+
+    private static List<XPathNode> deref(final EvaluationContext ctx, final XPathNode node)
+            throws XPathExpressionException {
+        final Object value = node.data().getValue();
+        if (value instanceof YangInstanceIdentifier) {
+            return EvaluationContext.locate(ctx.root(), (YangInstanceIdentifier) value)
+                .map(List::of).orElse(List.of());
+        }
+
+        final Optional<TypeDefinition<?>> type = typeOf(ctx, node);
+        if (type.isEmpty() || !(type.get() instanceof LeafrefTypeDefinition)) {
+            return List.of();
+        }
+
+        final Expr path = ctx.compiler().leafrefPath(((LeafrefTypeDefinition) type.get()).getPathStatement(),
+            node.qname().getModule());
+        final List<XPathNode> targets = path.evaluateNodeSet(ctx.withCurrent(node), node, 1, 1);
+        for (XPathNode target : targets) {
+            if (value.equals(target.data().getValue())) {
+                return List.of(target);
+            }
+        }
+        return List.of();
+    }
+
+    private static double enumValue(final EvaluationContext ctx, final XPathNode node) {
+        final Object value = node.data().getValue();
+        final Optional<TypeDefinition<?>> type = typeOf(ctx, node);
+        if (value instanceof String && type.isPresent() && type.get() instanceof EnumTypeDefinition) {
+            for (EnumPair pair : ((EnumTypeDefinition) type.get()).getValues()) {
+                if (value.equals(pair.getName())) {
+                    return pair.getValue();
+                }
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static Expr derivedFrom(final ExprCompiler compiler, final YangFunction function,
+            final List<YangExpr> yangArgs, final boolean orSelf) throws XPathExpressionException {
+        if (yangArgs.size() != 2) {
+            throw new XPathExpressionException("Function " + function.getIdentifier().getLocalName()
+                + "() does not accept " + yangArgs.size() + " arguments");
+        }
+        final Expr nodes = compiler.compile(yangArgs.get(0));
+        final QName identity = resolveIdentity(compiler, function, yangArgs.get(1));
+        final NormalizedNodeXPathCompiler nodeCompiler = compiler.compiler();
+        final IdentitySchemaNode target = nodeCompiler.findIdentity(identity).orElseThrow(
+            () -> new XPathExpressionException("Identity " + identity + " not found"));
+
+        return booleanCall(function, (ctx, node, pos, size) -> {
+            for (XPathNode item : nodes.evaluateNodeSet(ctx, node, pos, size)) {
+                final Object value = item.data().getValue();
+                if (value instanceof QName) {
+                    final Optional<IdentitySchemaNode> found = nodeCompiler.findIdentity((QName) value);
+                    if (found.isPresent() && (orSelf && target.equals(found.get())
+                            || isDerivedFrom(found.get(), target))) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        });
+    }
+
+    private static QName resolveIdentity(final ExprCompiler compiler, final YangFunction function,
+            final YangExpr arg) throws XPathExpressionException {
+        final YangXPathExpression source = compiler.source();
+        final YangQNameExpr qnameExpr;
+        if (arg instanceof YangQNameExpr) {
+            qnameExpr = (YangQNameExpr) arg;
+        } else if (arg instanceof YangLiteralExpr && source != null) {
+            qnameExpr = source.interpretAsQName((YangLiteralExpr) arg);
+        } else {
+            throw new XPathExpressionException("Function " + function.getIdentifier().getLocalName()
+                + "() requires a literal identity, not " + arg);
+        }
+
+        if (qnameExpr instanceof YangQNameExpr.Resolved) {
+            return ((YangQNameExpr.Resolved) qnameExpr).getQName();
+        }
+        final AbstractQName qname = ((YangQNameExpr.Unresolved) qnameExpr).getQName();
+        final QNameModule defaultNamespace = compiler.defaultNamespace();
+        if (qname instanceof UnqualifiedQName && defaultNamespace != null) {
+            return QName.create(defaultNamespace, qname.getLocalName());
+        }
+        throw new XPathExpressionException("Cannot resolve identity " + qname);
+    }
+
+    private static boolean isDerivedFrom(final IdentitySchemaNode identity, final IdentitySchemaNode target) {
+        for (IdentitySchemaNode base : identity.getBaseIdentities()) {
+            if (target.equals(base) || isDerivedFrom(base, target)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Expr reMatch(final YangFunction function, final List<Expr> args, final List<YangExpr> yangArgs)
+            throws XPathExpressionException {
+        checkArgs(function, args, 2, 2);
+        final Expr subject = args.get(0);
+        final YangExpr patternArg = yangArgs.get(1);
+        if (patternArg instanceof YangLiteralExpr) {
+            final Pattern pattern = compilePattern(((YangLiteralExpr) patternArg).getLiteral());
+            return booleanCall(function,
+                (ctx, node, pos, size) -> pattern.matcher(subject.evaluateString(ctx, node, pos, size)).matches());
+        }
+
+        final Expr patternExpr = args.get(1);
+        return booleanCall(function, (ctx, node, pos, size) -> compilePattern(
+            patternExpr.evaluateString(ctx, node, pos, size))
+                .matcher(subject.evaluateString(ctx, node, pos, size)).matches());
+    }
+
+    // XPathExpressionException does not have a (String, Throwable) constructor, hence we initialize its cause
+    @SuppressWarnings("checkstyle:avoidHidingCauseException")
+    private static Pattern compilePattern(final String xsdRegex) throws XPathExpressionException {
+        try {
+            return Pattern.compile(RegexUtils.getJavaRegexFromXSD(xsdRegex));
+        } catch (PatternSyntaxException e) {
+            final XPathExpressionException ex = new XPathExpressionException("Invalid pattern " + xsdRegex);
+            ex.initCause(e);
+            throw ex;
+        }
+    }
+}
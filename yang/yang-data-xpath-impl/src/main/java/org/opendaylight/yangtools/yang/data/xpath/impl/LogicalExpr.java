@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.xpath.impl;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import javax.xml.xpath.XPathExpressionException;
+
+/**
+ * An {@code and} or an {@code or} expression. Operands are evaluated left to right and evaluation stops as soon as the
+ * result is known.
+ */
+final class LogicalExpr extends Expr.OfBoolean {
+    private final Expr[] exprs;
+    private final boolean isAnd;
+
+    LogicalExpr(final boolean isAnd, final Expr[] exprs) {
+        this.isAnd = isAnd;
+        this.exprs = exprs.clone();
+    }
+
+    @Override
+    boolean evaluateBoolean(final EvaluationContext ctx, final XPathNode node, final int position, final int size)
+            throws XPathExpressionException {
+        for (Expr expr : exprs) {
+            if (expr.evaluateBoolean(ctx, node, position, size) != isAnd) {
+                return !isAnd;
+            }
+        }
+        return isAnd;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.stream(exprs).map(Expr::toString)
+            .collect(Collectors.joining(isAnd ? " and " : " or ", "(", ")"));
+    }
+}
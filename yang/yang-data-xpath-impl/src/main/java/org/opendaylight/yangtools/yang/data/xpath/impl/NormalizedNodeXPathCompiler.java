@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.xpath.impl;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.xml.xpath.XPathExpressionException;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.xpath.NormalizedNodeDocument;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContextProvider;
+import org.opendaylight.yangtools.yang.model.api.IdentitySchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.PathExpression;
+import org.opendaylight.yangtools.yang.model.api.PathExpression.DerefSteps;
+import org.opendaylight.yangtools.yang.model.api.PathExpression.LocationPathSteps;
+import org.opendaylight.yangtools.yang.model.api.PathExpression.Steps;
+import org.opendaylight.yangtools.yang.xpath.api.YangExpr;
+import org.opendaylight.yangtools.yang.xpath.api.YangFunction;
+import org.opendaylight.yangtools.yang.xpath.api.YangFunctionCallExpr;
+import org.opendaylight.yangtools.yang.xpath.api.YangPathExpr;
+import org.opendaylight.yangtools.yang.xpath.api.YangXPathExpression;
+
+/**
+ * Compiler of {@link YangXPathExpression}s into {@link CompiledXPathExpression}s, which are evaluated directly against
+ * {@link NormalizedNodeDocument}s holding data conforming to an {@link EffectiveModelContext}.
+ *
+ * <p>
+ * Compilation binds all node tests, resolves functions and selects comparison strategies up front, so that evaluation
+ * does not need to interpret the expression tree nor consult the model for plain navigation. The model is only
+ * consulted for YANG functions which inherently need it, such as {@code deref()} and {@code enum-value()}.
+ *
+ * <p>
+ * Instances are thread-safe and are expected to be shared by all users of a particular model. Leafref path expressions
+ * and identities are cached on first use.
+ */
+@Beta
+public final class NormalizedNodeXPathCompiler implements EffectiveModelContextProvider {
+    private final ConcurrentMap<Entry<PathExpression, QNameModule>, Expr> leafrefPaths = new ConcurrentHashMap<>();
+    private final ConcurrentMap<QName, Optional<IdentitySchemaNode>> identities = new ConcurrentHashMap<>();
+    private final @NonNull EffectiveModelContext modelContext;
+
+    public NormalizedNodeXPathCompiler(final EffectiveModelContext modelContext) {
+        this.modelContext = requireNonNull(modelContext);
+    }
+
+    @Override
+    public EffectiveModelContext getEffectiveModelContext() {
+        return modelContext;
+    }
+
+    /**
+     * Compile an expression. Unqualified node identifiers present in the expression are rejected.
+     *
+     * @param expression Expression to compile
+     * @return A compiled expression
+     * @throws NullPointerException if {@code expression} is null
+     * @throws XPathExpressionException if the expression uses constructs not supported on NormalizedNode data or
+     *                                  refers to unknown modules
+     */
+    public @NonNull CompiledXPathExpression compile(final YangXPathExpression expression)
+            throws XPathExpressionException {
+        return compile(expression, null);
+    }
+
+    /**
+     * Compile an expression, binding any unqualified node identifiers to specified namespace.
+     *
+     * @param expression Expression to compile
+     * @param defaultNamespace Namespace to which unqualified node identifiers are bound, may be null
+     * @return A compiled expression
+     * @throws NullPointerException if {@code expression} is null
+     * @throws XPathExpressionException if the expression uses constructs not supported on NormalizedNode data or
+     *                                  refers to unknown modules
+     */
+    public @NonNull CompiledXPathExpression compile(final YangXPathExpression expression,
+            final @Nullable QNameModule defaultNamespace) throws XPathExpressionException {
+        final Expr expr = new ExprCompiler(this, expression, defaultNamespace).compile(expression.getRootExpr());
+        return new CompiledXPathExpression(this, expression, expr);
+    }
+
+    /**
+     * Create a {@link NormalizedNodeDocument} rooted at specified node. Expressions compiled by this compiler can be
+     * evaluated against any {@link NormalizedNodeDocument}, this method is provided for convenience.
+     *
+     * @param documentRoot Root node of the document
+     * @return A new document
+     * @throws NullPointerException if {@code documentRoot} is null
+     */
+    public @NonNull NormalizedNodeDocument createDocument(final NormalizedNode<?, ?> documentRoot) {
+        return new CompiledNormalizedNodeDocument(modelContext, documentRoot);
+    }
+
+    Expr leafrefPath(final PathExpression path, final QNameModule module) throws XPathExpressionException {
+        final Entry<PathExpression, QNameModule> key = Map.entry(path, module);
+        final Expr existing = leafrefPaths.get(key);
+        if (existing != null) {
+            return existing;
+        }
+
+        final Steps steps = path.getSteps();
+        final YangExpr yangExpr;
+        if (steps instanceof LocationPathSteps) {
+            yangExpr = ((LocationPathSteps) steps).getLocationPath();
+        } else if (steps instanceof DerefSteps) {
+            final DerefSteps derefSteps = (DerefSteps) steps;
+            yangExpr = YangPathExpr.of(YangFunctionCallExpr.of(YangFunction.DEREF.getIdentifier(),
+                List.of(derefSteps.getDerefArgument())), derefSteps.getRelativePath());
+        } else {
+            throw new XPathExpressionException("Unhandled path steps " + steps);
+        }
+
+        final Expr compiled = new ExprCompiler(this, null, module).compile(yangExpr);
+        final Expr raced = leafrefPaths.putIfAbsent(key, compiled);
+        return raced != null ? raced : compiled;
+    }
+
+    Optional<IdentitySchemaNode> findIdentity(final QName qname) {
+        return identities.computeIfAbsent(qname, this::lookupIdentity);
+    }
+
+    private Optional<IdentitySchemaNode> lookupIdentity(final QName qname) {
+        final Optional<Module> module = modelContext.findModule(qname.getModule());
+        if (module.isPresent()) {
+            for (IdentitySchemaNode identity : module.get().getIdentities()) {
+                if (qname.equals(identity.getQName())) {
+                    return Optional.of(identity);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.xpath.impl;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import java.util.Arrays;
+import java.util.List;
+import javax.xml.xpath.XPathExpressionException;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A path expression. It is either a plain location path, or a filter expression with optional predicates, followed by
+ * a relative location path.
+ */
+final class PathExpr extends Expr.OfNodeSet {
+    private final @Nullable Expr filter;
+    private final Expr[] filterPredicates;
+    private final boolean absolute;
+    private final Step[] steps;
+
+    private PathExpr(final @Nullable Expr filter, final Expr[] filterPredicates, final boolean absolute,
+            final Step[] steps) {
+        this.filter = filter;
+        this.filterPredicates = requireNonNull(filterPredicates);
+        this.absolute = absolute;
+        this.steps = requireNonNull(steps);
+    }
+
+    static PathExpr locationPath(final boolean absolute, final Step[] steps) {
+        return new PathExpr(null, new Expr[0], absolute, steps);
+    }
+
+    static PathExpr filterPath(final Expr filter, final Expr[] filterPredicates, final Step[] steps) {
+        return new PathExpr(requireNonNull(filter), filterPredicates, false, steps);
+    }
+
+    @Override
+    List<XPathNode> evaluateNodeSet(final EvaluationContext ctx, final XPathNode node, final int position,
+            final int size) throws XPathExpressionException {
+        final List<XPathNode> start;
+        if (filter != null) {
+            start = Step.filter(ctx, filter.evaluateNodeSet(ctx, node, position, size), filterPredicates);
+        } else {
+            start = List.of(absolute ? ctx.root() : node);
+        }
+        return Step.evaluate(ctx, start, steps);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).omitNullValues()
+            .add("filter", filter)
+            .add("predicates", filterPredicates.length == 0 ? null : Arrays.asList(filterPredicates))
+            .add("absolute", absolute)
+            .add("steps", Arrays.asList(steps))
+            .toString();
+    }
+}
@@ -0,0 +1,431 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.xpath.impl;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.MoreObjects.ToStringHelper;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import javax.xml.xpath.XPathExpressionException;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+
+/**
+ * A compiled location step, combining an axis, a node test and predicates.
+ */
+abstract class Step {
+    /**
+     * A node test. Implementations are stateless and can be freely shared.
+     */
+    abstract static class NodeTest {
+        static final NodeTest ANY = new NodeTest() {
+            @Override
+            boolean matches(final XPathNode node) {
+                return true;
+            }
+
+            @Override
+            public String toString() {
+                return "node()";
+            }
+        };
+
+        abstract boolean matches(XPathNode node);
+
+        static NodeTest of(final QName qname) {
+            return new NodeTest() {
+                @Override
+                boolean matches(final XPathNode node) {
+                    return !node.isRoot() && qname.equals(node.qname());
+                }
+
+                @Override
+                public String toString() {
+                    return qname.toString();
+                }
+            };
+        }
+
+        static NodeTest of(final QNameModule namespace) {
+            return new NodeTest() {
+                @Override
+                boolean matches(final XPathNode node) {
+                    return !node.isRoot() && namespace.equals(node.qname().getModule());
+                }
+
+                @Override
+                public String toString() {
+                    return namespace + ":*";
+                }
+            };
+        }
+    }
+
+    /**
+     * {@code child::name}, which is the most common step and can be looked up directly.
+     */
+    static final class NamedChild extends Step {
+        private final NodeIdentifier nodeId;
+
+        NamedChild(final QName qname, final Expr[] predicates) {
+            super(predicates);
+            nodeId = NodeIdentifier.create(qname);
+        }
+
+        @Override
+        void select(final XPathNode node, final List<XPathNode> out) {
+            node.addChildren(nodeId, out);
+        }
+
+        @Override
+        ToStringHelper addToStringAttributes(final ToStringHelper helper) {
+            return super.addToStringAttributes(helper.add("child", nodeId.getNodeType()));
+        }
+    }
+
+    /**
+     * {@code child::*} or {@code child::prefix:*}.
+     */
+    static final class Child extends Step {
+        private final NodeTest test;
+
+        Child(final NodeTest test, final Expr[] predicates) {
+            super(predicates);
+            this.test = requireNonNull(test);
+        }
+
+        @Override
+        void select(final XPathNode node, final List<XPathNode> out) {
+            if (test == NodeTest.ANY) {
+                node.addChildren(out);
+                return;
+            }
+
+            final List<XPathNode> tmp = new ArrayList<>();
+            node.addChildren(tmp);
+            for (XPathNode child : tmp) {
+                if (test.matches(child)) {
+                    out.add(child);
+                }
+            }
+        }
+
+        @Override
+        ToStringHelper addToStringAttributes(final ToStringHelper helper) {
+            return super.addToStringAttributes(helper.add("child", test));
+        }
+    }
+
+    /**
+     * {@code self::test}.
+     */
+    static final class Self extends Step {
+        private final NodeTest test;
+
+        Self(final NodeTest test, final Expr[] predicates) {
+            super(predicates);
+            this.test = requireNonNull(test);
+        }
+
+        @Override
+        void select(final XPathNode node, final List<XPathNode> out) {
+            if (test.matches(node)) {
+                out.add(node);
+            }
+        }
+
+        @Override
+        boolean producesDuplicates() {
+            return false;
+        }
+
+        @Override
+        ToStringHelper addToStringAttributes(final ToStringHelper helper) {
+            return super.addToStringAttributes(helper.add("self", test));
+        }
+    }
+
+    /**
+     * {@code parent::test}.
+     */
+    static final class Parent extends Step {
+        private final NodeTest test;
+
+        Parent(final NodeTest test, final Expr[] predicates) {
+            super(predicates);
+            this.test = requireNonNull(test);
+        }
+
+        @Override
+        void select(final XPathNode node, final List<XPathNode> out) {
+            final XPathNode parent = node.parent();
+            if (parent != null && test.matches(parent)) {
+                out.add(parent);
+            }
+        }
+
+        @Override
+        boolean producesDuplicates() {
+            return true;
+        }
+
+        @Override
+        ToStringHelper addToStringAttributes(final ToStringHelper helper) {
+            return super.addToStringAttributes(helper.add("parent", test));
+        }
+    }
+
+    /**
+     * {@code ancestor::test} and {@code ancestor-or-self::test}.
+     */
+    static final class Ancestor extends Step {
+        private final NodeTest test;
+        private final boolean orSelf;
+
+        Ancestor(final NodeTest test, final boolean orSelf, final Expr[] predicates) {
+            super(predicates);
+            this.test = requireNonNull(test);
+            this.orSelf = orSelf;
+        }
+
+        @Override
+        void select(final XPathNode node, final List<XPathNode> out) {
+            for (XPathNode current = orSelf ? node : node.parent(); current != null; current = current.parent()) {
+                if (test.matches(current)) {
+                    out.add(current);
+                }
+            }
+        }
+
+        @Override
+        boolean isReverse() {
+            return true;
+        }
+
+        @Override
+        boolean producesDuplicates() {
+            return true;
+        }
+
+        @Override
+        ToStringHelper addToStringAttributes(final ToStringHelper helper) {
+            return super.addToStringAttributes(helper.add(orSelf ? "ancestor-or-self" : "ancestor", test));
+        }
+    }
+
+    /**
+     * {@code descendant::test} and {@code descendant-or-self::test}.
+     */
+    static final class Descendant extends Step {
+        private final NodeTest test;
+        private final boolean orSelf;
+
+        Descendant(final NodeTest test, final boolean orSelf, final Expr[] predicates) {
+            super(predicates);
+            this.test = requireNonNull(test);
+            this.orSelf = orSelf;
+        }
+
+        @Override
+        void select(final XPathNode node, final List<XPathNode> out) {
+            if (orSelf && test.matches(node)) {
+                out.add(node);
+            }
+            if (test == NodeTest.ANY) {
+                node.addDescendants(out);
+                return;
+            }
+
+            final List<XPathNode> tmp = new ArrayList<>();
+            node.addDescendants(tmp);
+            for (XPathNode descendant : tmp) {
+                if (test.matches(descendant)) {
+                    out.add(descendant);
+                }
+            }
+        }
+
+        @Override
+        boolean producesDuplicates() {
+            return true;
+        }
+
+        @Override
+        ToStringHelper addToStringAttributes(final ToStringHelper helper) {
+            return super.addToStringAttributes(helper.add(orSelf ? "descendant-or-self" : "descendant", test));
+        }
+    }
+
+    private static final Expr[] NO_PREDICATES = new Expr[0];
+
+    private final Expr[] predicates;
+
+    Step(final Expr[] predicates) {
+        this.predicates = predicates.length == 0 ? NO_PREDICATES : predicates.clone();
+    }
+
+    /**
+     * Select nodes along this step's axis which match its node test, in axis order.
+     *
+     * @param node Context node
+     * @param out Output list
+     */
+    abstract void select(XPathNode node, List<XPathNode> out);
+
+    /**
+     * Return true if this step's axis is a reverse axis.
+     *
+     * @return True if this step's axis is a reverse axis
+     */
+    boolean isReverse() {
+        return false;
+    }
+
+    /**
+     * Return true if applying this step to distinct context nodes can produce the same node more than once.
+     *
+     * @return True if results need to be de-duplicated.
+     */
+    boolean producesDuplicates() {
+        return false;
+    }
+
+    @Override
+    public final String toString() {
+        return addToStringAttributes(MoreObjects.toStringHelper(Step.class).omitNullValues()).toString();
+    }
+
+    ToStringHelper addToStringAttributes(final ToStringHelper helper) {
+        return helper.add("predicates", predicates.length == 0 ? null : Arrays.asList(predicates));
+    }
+
+    /**
+     * Evaluate a sequence of steps, starting at specified node set.
+     *
+     * @param ctx Evaluation context
+     * @param start Starting node set
+     * @param steps Steps to evaluate
+     * @return Resulting node set
+     * @throws XPathExpressionException if evaluation fails
+     */
+    static List<XPathNode> evaluate(final EvaluationContext ctx, final List<XPathNode> start, final Step[] steps)
+            throws XPathExpressionException {
+        List<XPathNode> current = start;
+        for (Step step : steps) {
+            if (current.isEmpty()) {
+                break;
+            }
+
+            List<XPathNode> next = new ArrayList<>();
+            for (XPathNode node : current) {
+                step.apply(ctx, node, next);
+            }
+            if (current.size() > 1 && step.producesDuplicates()) {
+                next = new ArrayList<>(new LinkedHashSet<>(next));
+            }
+            current = next;
+        }
+        return current;
+    }
+
+    private void apply(final EvaluationContext ctx, final XPathNode node, final List<XPathNode> out)
+            throws XPathExpressionException {
+        if (predicates.length == 0) {
+            if (isReverse()) {
+                final List<XPathNode> tmp = new ArrayList<>();
+                select(node, tmp);
+                Collections.reverse(tmp);
+                out.addAll(tmp);
+            } else {
+                select(node, out);
+            }
+            return;
+        }
+
+        final List<XPathNode> tmp = new ArrayList<>();
+        select(node, tmp);
+
+        // Predicates are evaluated in axis order, but results are reported in document order
+        final List<XPathNode> filtered = filter(ctx, tmp, predicates);
+        if (isReverse()) {
+            Collections.reverse(filtered);
+        }
+        out.addAll(filtered);
+    }
+
+    /**
+     * Filter a node set through a sequence of predicates.
+     *
+     * @param ctx Evaluation context
+     * @param nodes Node set, in the order which determines context position
+     * @param predicates Predicates to apply
+     * @return Filtered node set, which may be the same instance as {@code nodes}
+     * @throws XPathExpressionException if evaluation fails
+     */
+    static List<XPathNode> filter(final EvaluationContext ctx, final List<XPathNode> nodes, final Expr[] predicates)
+            throws XPathExpressionException {
+        List<XPathNode> current = nodes;
+        for (Expr predicate : predicates) {
+            final int size = current.size();
+            if (size == 0) {
+                break;
+            }
+
+            if (predicate instanceof ConstantExpr) {
+                current = filterConstant((ConstantExpr) predicate, current);
+                continue;
+            }
+
+            final List<XPathNode> next = new ArrayList<>(size);
+            switch (predicate.type()) {
+                case NUMBER:
+                    for (int i = 0; i < size; ++i) {
+                        final XPathNode node = current.get(i);
+                        if (predicate.evaluateNumber(ctx, node, i + 1, size) == i + 1) {
+                            next.add(node);
+                        }
+                    }
+                    break;
+                case ANY:
+                    for (int i = 0; i < size; ++i) {
+                        final XPathNode node = current.get(i);
+                        final Object result = predicate.evaluate(ctx, node, i + 1, size);
+                        if (result instanceof Double ? (Double) result == i + 1 : Values.toBoolean(result)) {
+                            next.add(node);
+                        }
+                    }
+                    break;
+                default:
+                    for (int i = 0; i < size; ++i) {
+                        final XPathNode node = current.get(i);
+                        if (predicate.evaluateBoolean(ctx, node, i + 1, size)) {
+                            next.add(node);
+                        }
+                    }
+            }
+            current = next;
+        }
+        return current;
+    }
+
+    private static List<XPathNode> filterConstant(final ConstantExpr predicate, final List<XPathNode> nodes) {
+        if (predicate.type() != Expr.Type.NUMBER) {
+            return predicate.booleanValue() ? nodes : List.of();
+        }
+
+        final double position = predicate.numberValue();
+        final int index = (int) position;
+        return index == position && index >= 1 && index <= nodes.size() ? List.of(nodes.get(index - 1)) : List.of();
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.xpath.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.xml.xpath.XPathExpressionException;
+
+/**
+ * A union of node sets. The result retains the order in which nodes were first encountered.
+ */
+final class UnionExpr extends Expr.OfNodeSet {
+    private final Expr[] exprs;
+
+    UnionExpr(final Expr[] exprs) {
+        this.exprs = exprs.clone();
+    }
+
+    @Override
+    List<XPathNode> evaluateNodeSet(final EvaluationContext ctx, final XPathNode node, final int position,
+            final int size) throws XPathExpressionException {
+        final Set<XPathNode> result = new LinkedHashSet<>();
+        for (Expr expr : exprs) {
+            result.addAll(expr.evaluateNodeSet(ctx, node, position, size));
+        }
+        return new ArrayList<>(result);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.stream(exprs).map(Expr::toString).collect(Collectors.joining(" | ", "(", ")"));
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.xpath.impl;
+
+import static com.google.common.base.Verify.verify;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Conversions between XPath 1.0 value types, as specified in
+ * <a href="https://www.w3.org/TR/1999/REC-xpath-19991116/#section-Function-Calls">XPath 1.0, section 3.2</a>. Values
+ * are represented as {@link Boolean}, {@link Double}, {@link String} and node-sets as {@link List} of
+ * {@link XPathNode}s.
+ */
+final class Values {
+    // Beyond this magnitude every double is an integer and there is no point in formatting it as a long
+    private static final double LONG_FORMAT_LIMIT = 1E18;
+
+    private Values() {
+        // Hidden on purpose
+    }
+
+    static boolean toBoolean(final Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        if (value instanceof Double) {
+            return toBoolean(((Double) value).doubleValue());
+        }
+        if (value instanceof String) {
+            return !((String) value).isEmpty();
+        }
+        return !asNodeSet(value).isEmpty();
+    }
+
+    static boolean toBoolean(final double value) {
+        return value != 0 && !Double.isNaN(value);
+    }
+
+    static double toNumber(final Object value) {
+        if (value instanceof Double) {
+            return (Double) value;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value ? 1 : 0;
+        }
+        if (value instanceof String) {
+            return toNumber((String) value);
+        }
+        return toNumber(toString(value));
+    }
+
+    static double toNumber(final String value) {
+        final String str = value.strip();
+        final int length = str.length();
+        int offset = str.startsWith("-") ? 1 : 0;
+        if (offset == length) {
+            return Double.NaN;
+        }
+
+        // Only 'Number' production is allowed, which is more restrictive than what Double.parseDouble() accepts
+        boolean haveDigit = false;
+        boolean haveDot = false;
+        for (; offset < length; ++offset) {
+            final char ch = str.charAt(offset);
+            if (ch >= '0' && ch <= '9') {
+                haveDigit = true;
+            } else if (ch == '.' && !haveDot) {
+                haveDot = true;
+            } else {
+                return Double.NaN;
+            }
+        }
+        return haveDigit ? Double.parseDouble(str) : Double.NaN;
+    }
+
+    static String toString(final Object value) {
+        if (value instanceof String) {
+            return (String) value;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value ? "true" : "false";
+        }
+        if (value instanceof Double) {
+            return toString(((Double) value).doubleValue());
+        }
+        final List<XPathNode> nodes = asNodeSet(value);
+        return nodes.isEmpty() ? "" : nodes.get(0).stringValue();
+    }
+
+    static String toString(final double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "Infinity" : "-Infinity";
+        }
+        if (Math.abs(value) < LONG_FORMAT_LIMIT && value == Math.rint(value)) {
+            // Also turns -0 into "0"
+            return Long.toString((long) value);
+        }
+        return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+    }
+
+    @SuppressWarnings("unchecked")
+    static List<XPathNode> asNodeSet(final Object value) {
+        verify(value instanceof List, "Unexpected value %s", value);
+        return (List<XPathNode>) value;
+    }
+
+    static boolean isNodeSet(final Object value) {
+        return value instanceof List;
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.xpath.impl;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.Joiner;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MixinNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+
+/**
+ * A node in the XPath view of a {@link NormalizedNode} tree. This view follows the YANG data tree, i.e. it does not
+ * contain {@link MixinNode}s: entries of lists and leaf-lists are direct children of their enclosing node and contents
+ * of choices and augmentations are inlined into their parent.
+ *
+ * <p>
+ * Instances are created on-demand as the tree is traversed and track their parent, so that upwards axes can be
+ * navigated. Two instances are considered equal if they refer to the same NormalizedNode at the same location.
+ */
+final class XPathNode {
+    private static final Joiner SPACE_JOINER = Joiner.on(' ');
+
+    private final NormalizedNode<?, ?> data;
+    private final @Nullable XPathNode parent;
+    private final int hashCode;
+
+    // Lazily-resolved schema, only needed by some YANG functions
+    private @Nullable DataSchemaNode schema;
+
+    XPathNode(final NormalizedNode<?, ?> data, final @Nullable XPathNode parent) {
+        this.data = requireNonNull(data);
+        this.parent = parent;
+        hashCode = 31 * (parent == null ? 0 : parent.hashCode) + System.identityHashCode(data);
+    }
+
+    NormalizedNode<?, ?> data() {
+        return data;
+    }
+
+    @Nullable XPathNode parent() {
+        return parent;
+    }
+
+    QName qname() {
+        return data.getNodeType();
+    }
+
+    boolean isRoot() {
+        return parent == null;
+    }
+
+    /**
+     * Add all children of this node, in the order they appear in the underlying data, to specified list.
+     *
+     * @param out Output list
+     */
+    void addChildren(final List<XPathNode> out) {
+        collectChildren(this, data, out);
+    }
+
+    /**
+     * Add all children of this node which have specified name.
+     *
+     * @param nodeId Child name
+     * @param out Output list
+     */
+    void addChildren(final NodeIdentifier nodeId, final List<XPathNode> out) {
+        if (data instanceof DataContainerNode) {
+            addNamedChildren(this, (DataContainerNode<?>) data, nodeId, out);
+        }
+    }
+
+    /**
+     * Add all descendants of this node, in document order, to specified list.
+     *
+     * @param out Output list
+     */
+    void addDescendants(final List<XPathNode> out) {
+        collectDescendants(this, data, out);
+    }
+
+    /**
+     * Return the XPath string-value of this node. For leaves and leaf-list entries this is the string representation
+     * of their value, for all other nodes this is an empty string.
+     *
+     * @return String value
+     */
+    String stringValue() {
+        if (data instanceof LeafNode || data instanceof LeafSetEntryNode) {
+            final Object value = data.getValue();
+            if (value instanceof String) {
+                return (String) value;
+            }
+            if (value instanceof byte[]) {
+                // binary
+                return Base64.getEncoder().encodeToString((byte[]) value);
+            }
+            if (value instanceof Set) {
+                // bits
+                return SPACE_JOINER.join((Set<?>) value);
+            }
+            if (value != null) {
+                return value.toString();
+            }
+        }
+        return "";
+    }
+
+    /**
+     * Return the {@link DataSchemaNode} corresponding to this node.
+     *
+     * @param modelContext Model context
+     * @return Schema node, or empty if this is the root node or it cannot be resolved
+     */
+    Optional<DataSchemaNode> schema(final EffectiveModelContext modelContext) {
+        if (schema == null && parent != null) {
+            final DataNodeContainer parentSchema;
+            if (parent.isRoot()) {
+                parentSchema = modelContext;
+            } else {
+                final DataSchemaNode found = parent.schema(modelContext).orElse(null);
+                parentSchema = found instanceof DataNodeContainer ? (DataNodeContainer) found : null;
+            }
+            if (parentSchema != null) {
+                schema = parentSchema.findDataTreeChild(data.getNodeType()).orElse(null);
+            }
+        }
+        return Optional.ofNullable(schema);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof XPathNode)) {
+            return false;
+        }
+        final XPathNode other = (XPathNode) obj;
+        return data == other.data && hashCode == other.hashCode && Objects.equals(parent, other.parent);
+    }
+
+    @Override
+    public String toString() {
+        return data.getIdentifier().toString();
+    }
+
+    private static void collectChildren(final XPathNode parent, final NormalizedNode<?, ?> node,
+            final List<XPathNode> out) {
+        if (node instanceof NormalizedNodeContainer) {
+            for (NormalizedNode<?, ?> child : ((NormalizedNodeContainer<?, ?, ?>) node).getValue()) {
+                if (child instanceof MixinNode) {
+                    collectChildren(parent, child, out);
+                } else {
+                    out.add(new XPathNode(child, parent));
+                }
+            }
+        }
+    }
+
+    private static void collectDescendants(final XPathNode parent, final NormalizedNode<?, ?> node,
+            final List<XPathNode> out) {
+        if (node instanceof NormalizedNodeContainer) {
+            for (NormalizedNode<?, ?> child : ((NormalizedNodeContainer<?, ?, ?>) node).getValue()) {
+                if (child instanceof MixinNode) {
+                    collectDescendants(parent, child, out);
+                } else {
+                    final XPathNode xpathChild = new XPathNode(child, parent);
+                    out.add(xpathChild);
+                    collectDescendants(xpathChild, child, out);
+                }
+            }
+        }
+    }
+
+    private static void addNamedChildren(final XPathNode parent, final DataContainerNode<?> container,
+            final NodeIdentifier nodeId, final List<XPathNode> out) {
+        final Optional<? extends NormalizedNode<?, ?>> optChild = container.getChild(nodeId);
+        if (optChild.isPresent()) {
+            final NormalizedNode<?, ?> child = optChild.get();
+            if (!(child instanceof MixinNode)) {
+                out.add(new XPathNode(child, parent));
+                return;
+            }
+            if (child instanceof NormalizedNodeContainer && !(child instanceof DataContainerNode)) {
+                // A list or a leaf-list: its entries are the nodes we are looking for
+                for (NormalizedNode<?, ?> entry : ((NormalizedNodeContainer<?, ?, ?>) child).getValue()) {
+                    out.add(new XPathNode(entry, parent));
+                }
+                return;
+            }
+        }
+
+        // Not a direct child, it may be hiding in a choice or an augmentation
+        for (NormalizedNode<?, ?> child : container.getValue()) {
+            if (child instanceof MixinNode && child instanceof DataContainerNode) {
+                addNamedChildren(parent, (DataContainerNode<?>) child, nodeId, out);
+            }
+        }
+    }
+}
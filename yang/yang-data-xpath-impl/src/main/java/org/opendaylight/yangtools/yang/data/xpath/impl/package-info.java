@@ -0,0 +1,14 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+/**
+ * Native evaluator of {@link org.opendaylight.yangtools.yang.xpath.api.YangXPathExpression}s over
+ * {@link org.opendaylight.yangtools.yang.data.api.xpath.NormalizedNodeDocument}s. Expressions are compiled into a tree
+ * of typed evaluation nodes, which operate directly on the data without an intermediate navigator layer. Entry point
+ * is {@link org.opendaylight.yangtools.yang.data.xpath.impl.NormalizedNodeXPathCompiler}.
+ */
+package org.opendaylight.yangtools.yang.data.xpath.impl;
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.xpath.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableBiMap;
+import java.net.URI;
+import java.util.List;
+import javax.xml.xpath.XPathExpressionException;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.BiMapYangNamespaceContext;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.xpath.NormalizedNodeDocument;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+import org.opendaylight.yangtools.yang.xpath.api.YangXPathParser;
+import org.opendaylight.yangtools.yang.xpath.impl.AntlrXPathParserFactory;
+
+public class NormalizedNodeXPathCompilerTest {
+    private static final QNameModule MODULE = QNameModule.create(URI.create("urn:opendaylight:xpath-test"));
+    private static final QName BASE = QName.create(MODULE, "base");
+    private static final QName DERIVED = QName.create(MODULE, "derived");
+    private static final QName ROOT = QName.create(MODULE, "root");
+    private static final QName ITEM = QName.create(MODULE, "item");
+    private static final QName NAME = QName.create(MODULE, "name");
+    private static final QName VALUE = QName.create(MODULE, "value");
+    private static final QName KIND = QName.create(MODULE, "kind");
+    private static final QName COLOR = QName.create(MODULE, "color");
+    private static final QName TAGS = QName.create(MODULE, "tags");
+    private static final QName REF = QName.create(MODULE, "ref");
+    private static final QName CH = QName.create(MODULE, "ch");
+    private static final QName IN_CHOICE = QName.create(MODULE, "in-choice");
+
+    private static final YangInstanceIdentifier ITEM_A_NAME = YangInstanceIdentifier.create(new NodeIdentifier(ROOT),
+        new NodeIdentifier(ITEM), NodeIdentifierWithPredicates.of(ITEM, NAME, "a"), new NodeIdentifier(NAME));
+
+    private static EffectiveModelContext modelContext;
+    private static NormalizedNodeXPathCompiler compiler;
+    private static YangXPathParser.UnqualifiedBound parser;
+    private static NormalizedNodeDocument document;
+
+    @BeforeClass
+    public static void beforeClass() {
+        modelContext = YangParserTestUtils.parseYangResource("/xpath-test.yang");
+        compiler = new NormalizedNodeXPathCompiler(modelContext);
+        parser = new AntlrXPathParserFactory().newParser(
+            new BiMapYangNamespaceContext(ImmutableBiMap.of("xt", MODULE)), MODULE);
+        document = compiler.createDocument(Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(SchemaContext.NAME))
+            .withChild(Builders.containerBuilder()
+                .withNodeIdentifier(new NodeIdentifier(ROOT))
+                .withChild(Builders.orderedMapBuilder()
+                    .withNodeIdentifier(new NodeIdentifier(ITEM))
+                    .withChild(item("a", 1, DERIVED, "green"))
+                    .withChild(item("b", 2, BASE, "red"))
+                    .build())
+                .withChild(Builders.<String>orderedLeafSetBuilder()
+                    .withNodeIdentifier(new NodeIdentifier(TAGS))
+                    .withChildValue("x")
+                    .withChildValue("y")
+                    .build())
+                .withChild(ImmutableNodes.leafNode(REF, "b"))
+                .withChild(Builders.choiceBuilder()
+                    .withNodeIdentifier(new NodeIdentifier(CH))
+                    .withChild(ImmutableNodes.leafNode(IN_CHOICE, "z"))
+                    .build())
+                .build())
+            .build());
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        modelContext = null;
+        compiler = null;
+        parser = null;
+        document = null;
+    }
+
+    @Test
+    public void testNavigation() throws XPathExpressionException {
+        assertEquals(2, evaluateNumber("count(/root/item)"), 0);
+        assertEquals("b", evaluateString("/root/item[value > 1]/name"));
+        assertEquals("b", evaluateString("/root/item[2]/name"));
+        assertEquals("y", evaluateString("/root/tags[last()]"));
+        assertEquals(3, evaluateNumber("sum(//value)"), 0);
+        assertTrue(evaluateBoolean("/root/in-choice = 'z'"));
+        assertTrue(evaluateBoolean("/root/tags = 'x' and /root/tags = 'y'"));
+        assertFalse(evaluateBoolean("/root/tags = 'w'"));
+
+        final List<NormalizedNode<?, ?>> names = compile("/root/item/name | /root/ref").evaluateNodeSet(document,
+            YangInstanceIdentifier.empty());
+        assertEquals(3, names.size());
+    }
+
+    @Test
+    public void testContextNode() throws XPathExpressionException {
+        assertEquals(1, compile("../value").evaluateNumber(document, ITEM_A_NAME), 0);
+        assertEquals("a", compile("current()").evaluateString(document, ITEM_A_NAME));
+        assertTrue(compile("/root/item[name = current()]/value = 1").evaluateBoolean(document, ITEM_A_NAME));
+        assertEquals("item", compile("local-name(..)").evaluateString(document, ITEM_A_NAME));
+    }
+
+    @Test
+    public void testCoreFunctions() throws XPathExpressionException {
+        assertEquals("234", evaluateString("substring('12345', 1.5, 2.6)"));
+        assertEquals("12", evaluateString("substring('12345', 0, 3)"));
+        assertEquals("BAr", evaluateString("translate('bar', 'abc', 'AB')"));
+        assertEquals("a b", evaluateString("normalize-space('  a   b ')"));
+        assertEquals("ab1", evaluateString("concat(/root/item[1]/name, /root/item[2]/name, 1)"));
+        assertEquals(-2, evaluateNumber("round(-2.5)"), 0);
+        assertEquals(3, evaluateNumber("7 mod 4"), 0);
+        assertEquals("0.5", evaluateString("string(1 div 2)"));
+    }
+
+    @Test
+    public void testYangFunctions() throws XPathExpressionException {
+        assertEquals(2, evaluateNumber("deref(/root/ref)/../value"), 0);
+        assertTrue(evaluateBoolean("derived-from(/root/item[name = 'a']/kind, 'xt:base')"));
+        assertFalse(evaluateBoolean("derived-from(/root/item[name = 'b']/kind, 'xt:base')"));
+        assertTrue(evaluateBoolean("derived-from-or-self(/root/item[name = 'b']/kind, 'xt:base')"));
+        assertEquals(7, evaluateNumber("enum-value(/root/item[name = 'a']/color)"), 0);
+        assertTrue(evaluateBoolean("re-match(/root/item[1]/name, '[a-z]')"));
+        assertFalse(evaluateBoolean("re-match(/root/ref, '[0-9]+')"));
+    }
+
+    @Test
+    public void testForeignDocument() throws XPathExpressionException {
+        final NormalizedNode<?, ?> root = document.getRootNode();
+        final NormalizedNodeDocument foreign = () -> root;
+        assertEquals(2, compile("count(/root/item)").evaluateNumber(foreign, YangInstanceIdentifier.empty()), 0);
+        assertEquals("a", compile("current()").evaluateString(foreign, ITEM_A_NAME));
+    }
+
+    @Test
+    public void testUnsupported() {
+        assertThrows(XPathExpressionException.class, () -> compile("/root/item/following-sibling::item"));
+        assertThrows(XPathExpressionException.class, () -> compile("/root/tags/text()"));
+        assertThrows(XPathExpressionException.class, () -> compile("$foo"));
+    }
+
+    private static MapEntryNode item(final String name, final int value, final QName kind, final String color) {
+        return ImmutableNodes.mapEntryBuilder(ITEM, NAME, name)
+            .withChild(ImmutableNodes.leafNode(VALUE, value))
+            .withChild(ImmutableNodes.leafNode(KIND, kind))
+            .withChild(ImmutableNodes.leafNode(COLOR, color))
+            .build();
+    }
+
+    private static CompiledXPathExpression compile(final String xpath) throws XPathExpressionException {
+        return compiler.compile(parser.parseExpression(xpath));
+    }
+
+    private static boolean evaluateBoolean(final String xpath) throws XPathExpressionException {
+        return compile(xpath).evaluateBoolean(document, YangInstanceIdentifier.empty());
+    }
+
+    private static double evaluateNumber(final String xpath) throws XPathExpressionException {
+        return compile(xpath).evaluateNumber(document, YangInstanceIdentifier.empty());
+    }
+
+    private static String evaluateString(final String xpath) throws XPathExpressionException {
+        return compile(xpath).evaluateString(document, YangInstanceIdentifier.empty());
+    }
+}
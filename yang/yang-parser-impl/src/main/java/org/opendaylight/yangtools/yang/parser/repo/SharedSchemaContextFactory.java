@@ -133,7 +133,10 @@ final class SharedSchemaContextFactory implements EffectiveModelContextFactory {
     }
 
     private ListenableFuture<ASTSchemaSource> requestSource(final @NonNull SourceIdentifier identifier) {
-        return repository.getSchemaSource(identifier, ASTSchemaSource.class);
+        // With the default direct executor this is equivalent to invoking getSchemaSource() inline. With any other
+        // executor each source is acquired -- and hence transformed from text to AST -- in its own task.
+        return Futures.submitAsync(() -> repository.getSchemaSource(identifier, ASTSchemaSource.class),
+            repository.sourceExecutor());
     }
 
     /**
@@ -13,6 +13,8 @@ import com.google.common.annotations.Beta;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.concurrent.Executor;
 import org.eclipse.jdt.annotation.NonNull;
 import org.kohsuke.MetaInfServices;
 import org.opendaylight.yangtools.concepts.Identifiable;
@@ -22,14 +24,23 @@ import org.opendaylight.yangtools.yang.model.repo.api.EffectiveModelContextFacto
 import org.opendaylight.yangtools.yang.model.repo.api.SchemaContextFactoryConfiguration;
 import org.opendaylight.yangtools.yang.model.repo.api.SchemaRepository;
 import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
 import org.opendaylight.yangtools.yang.model.repo.util.AbstractSchemaRepository;
 import org.opendaylight.yangtools.yang.parser.impl.YangParserFactoryImpl;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.ASTSchemaSource;
 
 /**
  * A {@link SchemaRepository} which allows sharing of {@link SchemaContext} as long as their specification is the same.
  *
  * <p>
  * Note: for current implementation, "same" means the same filter and the same set of {@link SourceIdentifier}s.
+ *
+ * <p>
+ * By default all required sources are acquired on the thread requesting the {@link SchemaContext}, one after another.
+ * A repository can be instantiated with a dedicated source {@link Executor}, in which case each source is requested
+ * in a separate task submitted to that executor. Since {@link YangTextSchemaSource} to {@link ASTSchemaSource}
+ * transformation happens as part of the request, this allows lexing and parsing of individual sources to proceed
+ * concurrently. The resulting {@link ASTSchemaSource}s are then assembled into the effective model as usual.
  */
 @Beta
 @MetaInfServices(value = SchemaRepository.class)
@@ -45,6 +56,7 @@ public final class SharedSchemaRepository extends AbstractSchemaRepository imple
 
     private final @NonNull String id;
     private final @NonNull YangParserFactory factory;
+    private final @NonNull Executor sourceExecutor;
 
     public SharedSchemaRepository() {
         this("unnamed");
@@ -55,8 +67,21 @@ public final class SharedSchemaRepository extends AbstractSchemaRepository imple
     }
 
     public SharedSchemaRepository(final String id, final YangParserFactory factory) {
+        this(id, factory, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Create a new repository, which acquires individual sources using specified executor.
+     *
+     * @param id Repository identifier
+     * @param factory Parser factory used to assemble effective models
+     * @param sourceExecutor Executor used to acquire (and potentially parse) individual sources
+     * @throws NullPointerException if any argument is null
+     */
+    public SharedSchemaRepository(final String id, final YangParserFactory factory, final Executor sourceExecutor) {
         this.id = requireNonNull(id);
         this.factory = requireNonNull(factory);
+        this.sourceExecutor = requireNonNull(sourceExecutor);
     }
 
     @Override
@@ -74,6 +99,10 @@ public final class SharedSchemaRepository extends AbstractSchemaRepository imple
         return factory;
     }
 
+    @NonNull Executor sourceExecutor() {
+        return sourceExecutor;
+    }
+
     @Override
     public String toString() {
         return "SchemaRepository: " + id;
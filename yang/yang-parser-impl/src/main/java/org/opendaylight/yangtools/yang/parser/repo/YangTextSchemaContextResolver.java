@@ -16,16 +16,28 @@ import com.google.common.annotations.Beta;
 import com.google.common.base.MoreObjects.ToStringHelper;
 import com.google.common.base.Verify;
 import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 import com.google.common.util.concurrent.FluentFuture;
 import com.google.common.util.concurrent.ListenableFuture;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -33,6 +45,8 @@ import java.util.concurrent.atomic.AtomicReference;
 import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.yangtools.yang.common.Revision;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.ModuleImport;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.parser.api.YangParserFactory;
 import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
@@ -55,15 +69,34 @@ import org.opendaylight.yangtools.yang.model.repo.spi.SchemaSourceRegistry;
 import org.opendaylight.yangtools.yang.model.repo.util.InMemorySchemaSourceCache;
 import org.opendaylight.yangtools.yang.parser.rfc7950.repo.ASTSchemaSource;
 import org.opendaylight.yangtools.yang.parser.rfc7950.repo.TextToASTTransformer;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.YangModelDependencyInfo;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.YangModelDependencyInfo.ModuleDependencyInfo;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.YangModelDependencyInfo.SubmoduleDependencyInfo;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.EffectiveSchemaContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * A resolver of {@link EffectiveModelContext} from a dynamic set of {@link YangTextSchemaSource}s.
+ *
+ * <p>
+ * Registered sources are split into independent components, i.e. sets of sources which do not refer to each other
+ * through {@code import}, {@code include} or {@code belongs-to} statements. Each component is assembled separately
+ * and the results are combined into a single context. Components assembled by the previous invocation of
+ * {@link #getEffectiveModelContext(StatementParserMode)} are retained, hence registering or unregistering a source
+ * results in only its component being re-assembled. Modules which contain only type definitions, such as
+ * {@code ietf-yang-types}, do not link the sources which import them, but are assembled with each of their components.
+ */
 public final class YangTextSchemaContextResolver implements AutoCloseable, SchemaSourceProvider<YangTextSchemaSource> {
     private static final Logger LOG = LoggerFactory.getLogger(YangTextSchemaContextResolver.class);
     private static final long SOURCE_LIFETIME_SECONDS = 60;
 
     private final Collection<SourceIdentifier> requiredSources = new ConcurrentLinkedDeque<>();
     private final Multimap<SourceIdentifier, YangTextSchemaSource> texts = ArrayListMultimap.create();
+    private final Map<SourceIdentifier, YangModelDependencyInfo> dependencies = new ConcurrentHashMap<>();
+    // Guarded by this
+    private final Map<StatementParserMode, Map<List<SourceIdentifier>, EffectiveModelContext>> componentContexts =
+            new EnumMap<>(StatementParserMode.class);
     private final AtomicReference<Optional<EffectiveModelContext>> currentSchemaContext =
             new AtomicReference<>(Optional.empty());
     private final InMemorySchemaSourceCache<ASTSchemaSource> cache;
@@ -139,6 +172,8 @@ public final class YangTextSchemaContextResolver implements AutoCloseable, Schem
 
         synchronized (this) {
             texts.put(parsedId, text);
+            dependencies.put(parsedId, ast.getDependencyInformation());
+            invalidateComponents(parsedId);
             LOG.debug("Populated {} with text", parsedId);
 
             final SchemaSourceRegistration<YangTextSchemaSource> reg = registry.registerSchemaSource(this,
@@ -157,6 +192,10 @@ public final class YangTextSchemaContextResolver implements AutoCloseable, Schem
                         version = new Object();
                         reg.close();
                         texts.remove(parsedId, text);
+                        if (!texts.containsKey(parsedId)) {
+                            dependencies.remove(parsedId);
+                        }
+                        invalidateComponents(parsedId);
                     }
                 }
             };
@@ -242,22 +281,7 @@ public final class YangTextSchemaContextResolver implements AutoCloseable, Schem
                 sources = ImmutableSet.copyOf(requiredSources);
             } while (ver != version);
 
-            while (true) {
-                final ListenableFuture<EffectiveModelContext> f = factory.createEffectiveModelContext(sources);
-                try {
-                    sc = Optional.of(f.get());
-                    break;
-                } catch (final InterruptedException e) {
-                    throw new IllegalStateException("Interrupted while assembling schema context", e);
-                } catch (final ExecutionException e) {
-                    LOG.info("Failed to fully assemble schema context for {}", sources, e);
-                    final Throwable cause = e.getCause();
-                    Verify.verify(cause instanceof SchemaResolutionException);
-                    sources = ((SchemaResolutionException) cause).getResolvedSources();
-                }
-            }
-
-            LOG.debug("Resolved schema context for {}", sources);
+            sc = Optional.of(assembleContext(factory, statementParserMode, sources, ver));
 
             synchronized (this) {
                 if (contextVersion == cv) {
@@ -350,6 +374,210 @@ public final class YangTextSchemaContextResolver implements AutoCloseable, Schem
         }
     }
 
+    private EffectiveModelContext assembleContext(final EffectiveModelContextFactory factory,
+            final StatementParserMode statementParserMode, final Collection<SourceIdentifier> sources,
+            final Object ver) {
+        final Map<List<SourceIdentifier>, EffectiveModelContext> previous;
+        synchronized (this) {
+            previous = ImmutableMap.copyOf(componentContexts.getOrDefault(statementParserMode, ImmutableMap.of()));
+        }
+
+        final Map<List<SourceIdentifier>, EffectiveModelContext> current = new HashMap<>();
+        final Collection<List<SourceIdentifier>> components = independentComponents(sources,
+            sharedModules(factory, sources, previous, current));
+        if (components.size() < 2) {
+            return createContext(factory, sources);
+        }
+
+        final List<EffectiveSchemaContext> contexts = new ArrayList<>(components.size());
+        for (List<SourceIdentifier> component : components) {
+            final EffectiveModelContext context = componentContext(factory, component, previous, current);
+            if (!(context instanceof EffectiveSchemaContext)) {
+                LOG.debug("Cannot combine schema context {}, assembling {} at once", context, sources);
+                return createContext(factory, sources);
+            }
+            contexts.add((EffectiveSchemaContext) context);
+        }
+
+        synchronized (this) {
+            // Do not retain components if sources have changed in the meantime, as they may be stale
+            if (version == ver) {
+                componentContexts.put(statementParserMode, current);
+            }
+        }
+        return EffectiveSchemaContext.combine(contexts);
+    }
+
+    private static EffectiveModelContext componentContext(final EffectiveModelContextFactory factory,
+            final List<SourceIdentifier> component, final Map<List<SourceIdentifier>, EffectiveModelContext> previous,
+            final Map<List<SourceIdentifier>, EffectiveModelContext> current) {
+        EffectiveModelContext context = current.get(component);
+        if (context == null) {
+            context = previous.get(component);
+            if (context != null) {
+                LOG.debug("Reusing schema context for {}", component);
+            } else {
+                context = createContext(factory, component);
+            }
+            current.put(component, context);
+        }
+        return context;
+    }
+
+    /**
+     * Find names of modules which can be shared by components. Nearly all modules import a few common modules, such as
+     * {@code ietf-yang-types}, which would otherwise link them into a single component. A module is shared when it does
+     * not import or include anything and it contains only type definitions, features and extensions. Such a module is
+     * assembled on its own, to find out its contents, and is then assembled again with each component which imports
+     * it. Since modules of the same name are linked, a name is shared only if all modules with that name are shared.
+     *
+     * <p>
+     * Modules with identities are not shared, as derived identities are tracked by identity of the schema node, which
+     * would differ between components.
+     */
+    private Set<String> sharedModules(final EffectiveModelContextFactory factory,
+            final Collection<SourceIdentifier> sources,
+            final Map<List<SourceIdentifier>, EffectiveModelContext> previous,
+            final Map<List<SourceIdentifier>, EffectiveModelContext> current) {
+        final Set<String> shared = new HashSet<>();
+        final Set<String> notShared = new HashSet<>();
+        for (SourceIdentifier source : sources) {
+            final YangModelDependencyInfo info = dependencies.get(source);
+            if (info instanceof ModuleDependencyInfo && info.getDependencies().isEmpty()
+                    && isShared(componentContext(factory, List.of(source), previous, current))) {
+                shared.add(source.getName());
+            } else {
+                notShared.add(source.getName());
+            }
+        }
+        shared.removeAll(notShared);
+        return shared;
+    }
+
+    private static boolean isShared(final EffectiveModelContext context) {
+        final Collection<? extends Module> modules = context.getModules();
+        if (modules.size() != 1) {
+            return false;
+        }
+        final Module module = modules.iterator().next();
+        return module.getChildNodes().isEmpty() && module.getRpcs().isEmpty() && module.getNotifications().isEmpty()
+            && module.getIdentities().isEmpty() && module.getAugmentations().isEmpty()
+            && module.getDeviations().isEmpty();
+    }
+
+    private static EffectiveModelContext createContext(final EffectiveModelContextFactory factory,
+            final Collection<SourceIdentifier> requiredSources) {
+        Collection<SourceIdentifier> sources = requiredSources;
+        while (true) {
+            final ListenableFuture<EffectiveModelContext> f = factory.createEffectiveModelContext(sources);
+            try {
+                final EffectiveModelContext sc = f.get();
+                LOG.debug("Resolved schema context for {}", sources);
+                return sc;
+            } catch (final InterruptedException e) {
+                throw new IllegalStateException("Interrupted while assembling schema context", e);
+            } catch (final ExecutionException e) {
+                LOG.info("Failed to fully assemble schema context for {}", sources, e);
+                final Throwable cause = e.getCause();
+                Verify.verify(cause instanceof SchemaResolutionException);
+                sources = ((SchemaResolutionException) cause).getResolvedSources();
+            }
+        }
+    }
+
+    /**
+     * Split sources into components which do not refer to each other. Since imports and includes need not specify a
+     * revision, references are resolved to all sources with a matching module name. References to shared modules do
+     * not link sources, instead shared modules are added to each component which refers to them, as well as forming
+     * their own components. Each component retains the order of {@code sources}, so that its identity remains stable
+     * when unrelated sources are added or removed.
+     *
+     * @param sources Sources to split
+     * @param shared Names of shared modules
+     * @return Independent components
+     */
+    private Collection<List<SourceIdentifier>> independentComponents(final Collection<SourceIdentifier> sources,
+            final Set<String> shared) {
+        final Multimap<String, SourceIdentifier> byName = ArrayListMultimap.create();
+        for (SourceIdentifier source : sources) {
+            byName.put(source.getName(), source);
+        }
+
+        // Union-find over sources, linked by their dependencies
+        final Map<SourceIdentifier, SourceIdentifier> links = new HashMap<>();
+        final Multimap<SourceIdentifier, String> sharedDependencies = HashMultimap.create();
+        for (SourceIdentifier source : sources) {
+            final YangModelDependencyInfo info = dependencies.get(source);
+            if (info == null) {
+                continue;
+            }
+            for (ModuleImport dependency : info.getDependencies()) {
+                final String name = dependency.getModuleName();
+                if (shared.contains(name)) {
+                    sharedDependencies.put(source, name);
+                    continue;
+                }
+                for (SourceIdentifier target : byName.get(name)) {
+                    union(links, source, target);
+                }
+            }
+            if (info instanceof SubmoduleDependencyInfo) {
+                for (SourceIdentifier target : byName.get(((SubmoduleDependencyInfo) info).getParentModule())) {
+                    union(links, source, target);
+                }
+            }
+        }
+
+        final Multimap<SourceIdentifier, SourceIdentifier> members = LinkedHashMultimap.create();
+        final Multimap<SourceIdentifier, String> componentShared = HashMultimap.create();
+        for (SourceIdentifier source : sources) {
+            final SourceIdentifier root = find(links, source);
+            members.put(root, source);
+            componentShared.putAll(root, sharedDependencies.get(source));
+        }
+
+        final List<List<SourceIdentifier>> components = new ArrayList<>();
+        for (Entry<SourceIdentifier, Collection<SourceIdentifier>> entry : members.asMap().entrySet()) {
+            final Collection<String> sharedNames = componentShared.get(entry.getKey());
+            final Collection<SourceIdentifier> component = entry.getValue();
+            components.add(sources.stream()
+                .filter(source -> component.contains(source) || sharedNames.contains(source.getName()))
+                .collect(ImmutableList.toImmutableList()));
+        }
+        return components;
+    }
+
+    private static void union(final Map<SourceIdentifier, SourceIdentifier> links, final SourceIdentifier first,
+            final SourceIdentifier second) {
+        final SourceIdentifier firstRoot = find(links, first);
+        final SourceIdentifier secondRoot = find(links, second);
+        if (!firstRoot.equals(secondRoot)) {
+            links.put(firstRoot, secondRoot);
+        }
+    }
+
+    private static SourceIdentifier find(final Map<SourceIdentifier, SourceIdentifier> links,
+            final SourceIdentifier source) {
+        SourceIdentifier current = source;
+        SourceIdentifier next = links.get(current);
+        while (next != null) {
+            current = next;
+            next = links.get(current);
+        }
+        if (!current.equals(source)) {
+            // Path compression
+            links.put(source, current);
+        }
+        return current;
+    }
+
+    // Components including a source need to be re-assembled when its text changes
+    private synchronized void invalidateComponents(final SourceIdentifier source) {
+        for (Map<List<SourceIdentifier>, EffectiveModelContext> contexts : componentContexts.values()) {
+            contexts.keySet().removeIf(component -> component.contains(source));
+        }
+    }
+
     @Override
     public void close() {
         transReg.close();
@@ -7,11 +7,14 @@
  */
 package org.opendaylight.yangtools.yang.parser.repo;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.opendaylight.yangtools.util.concurrent.FluentFutures.immediateFluentFuture;
 
 import com.google.common.util.concurrent.ListenableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -24,6 +27,7 @@ import org.opendaylight.yangtools.yang.model.repo.api.SchemaContextFactoryConfig
 import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
 import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
 import org.opendaylight.yangtools.yang.model.repo.spi.PotentialSchemaSource;
+import org.opendaylight.yangtools.yang.parser.impl.YangParserFactoryImpl;
 import org.opendaylight.yangtools.yang.parser.rfc7950.repo.ASTSchemaSource;
 import org.opendaylight.yangtools.yang.parser.rfc7950.repo.TextToASTTransformer;
 
@@ -88,4 +92,26 @@ public class SharedSchemaContextFactoryTest {
                 sharedSchemaContextFactory.createEffectiveModelContext(sIdWithoutRevision, provider.getId());
         assertNotNull(schemaContext.get());
     }
+
+    @Test
+    public void testCreateSchemaContextWithSourceExecutor() throws InterruptedException, ExecutionException {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final SharedSchemaRepository parallel = new SharedSchemaRepository("parallel",
+                new YangParserFactoryImpl(), executor);
+            parallel.registerSchemaSourceListener(TextToASTTransformer.create(parallel, parallel));
+            parallel.registerSchemaSource(sourceIdentifier -> immediateFluentFuture(
+                YangTextSchemaSource.forResource("/ietf/ietf-inet-types@2010-09-24.yang")),
+                PotentialSchemaSource.create(s1, YangTextSchemaSource.class, 1));
+            parallel.registerSchemaSource(sourceIdentifier -> immediateFluentFuture(
+                YangTextSchemaSource.forResource("/ietf/iana-timezones@2012-07-09.yang")),
+                PotentialSchemaSource.create(s2, YangTextSchemaSource.class, 1));
+
+            final EffectiveModelContext context = new SharedSchemaContextFactory(parallel, config)
+                .createEffectiveModelContext(s1, s2).get();
+            assertEquals(2, context.getModules().size());
+        } finally {
+            executor.shutdown();
+        }
+    }
 }
@@ -10,17 +10,26 @@ package org.opendaylight.yangtools.yang.parser.repo;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import com.google.common.util.concurrent.ListenableFuture;
 import java.io.IOException;
+import java.net.URI;
 import java.net.URL;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
 import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.stmt.ModuleEffectiveStatement;
 import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
 import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
 import org.opendaylight.yangtools.yang.model.repo.api.SchemaSourceException;
@@ -28,6 +37,7 @@ import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
 import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
 
 public class YangTextSchemaContextResolverTest {
+    private static final QName COUNTER = QName.create("types-namespace", "2016-09-26", "counter");
 
     @Test
     public void testYangTextSchemaContextResolver() throws SchemaSourceException, IOException, YangSyntaxErrorException,
@@ -98,4 +108,79 @@ public class YangTextSchemaContextResolverTest {
         schemaContext = schemaContextOptional.get();
         assertEquals(0, schemaContext.getModules().size());
     }
+
+    @Test
+    public void testIncrementalRebuild() throws SchemaSourceException, IOException, YangSyntaxErrorException {
+        final YangTextSchemaContextResolver resolver = YangTextSchemaContextResolver.create("test-bundle");
+        resolver.registerSource(getClass().getResource("/yang-text-schema-context-resolver-test/foo.yang"));
+        resolver.registerSource(getClass().getResource("/yang-text-schema-context-resolver-test/bar.yang"));
+
+        final EffectiveModelContext first = resolver.getEffectiveModelContext().orElseThrow();
+        assertEquals(2, first.getModules().size());
+
+        // baz is independent of both foo and bar, hence their modules are reused
+        final YangTextSchemaSourceRegistration baz = resolver.registerSource(
+            getClass().getResource("/yang-text-schema-context-resolver-test/baz.yang"));
+        final EffectiveModelContext second = resolver.getEffectiveModelContext().orElseThrow();
+        assertEquals(3, second.getModules().size());
+        assertSame(module(first, "foo"), module(second, "foo"));
+        assertSame(module(first, "bar"), module(second, "bar"));
+
+        // qux augments foo, hence foo needs to be rebuilt, but bar and baz are reused
+        final YangTextSchemaSourceRegistration qux = resolver.registerSource(
+            getClass().getResource("/yang-text-schema-context-resolver-test/qux.yang"));
+        final EffectiveModelContext third = resolver.getEffectiveModelContext().orElseThrow();
+        assertEquals(4, third.getModules().size());
+        assertNotSame(module(second, "foo"), module(third, "foo"));
+        assertSame(module(second, "bar"), module(third, "bar"));
+        assertSame(module(second, "baz"), module(third, "baz"));
+
+        // removing qux rebuilds foo without the augmentation
+        qux.close();
+        final EffectiveModelContext fourth = resolver.getEffectiveModelContext().orElseThrow();
+        assertEquals(3, fourth.getModules().size());
+        assertNotSame(module(third, "foo"), module(fourth, "foo"));
+        assertSame(module(third, "bar"), module(fourth, "bar"));
+
+        baz.close();
+        assertEquals(2, resolver.getEffectiveModelContext().orElseThrow().getModules().size());
+    }
+
+    @Test
+    public void testSharedModules() throws SchemaSourceException, IOException, YangSyntaxErrorException {
+        final YangTextSchemaContextResolver resolver = YangTextSchemaContextResolver.create("test-bundle");
+        resolver.registerSource(getClass().getResource("/yang-text-schema-context-resolver-test/types.yang"));
+        resolver.registerSource(getClass().getResource("/yang-text-schema-context-resolver-test/alpha.yang"));
+
+        final EffectiveModelContext first = resolver.getEffectiveModelContext().orElseThrow();
+        assertEquals(2, first.getModules().size());
+
+        // beta imports types as well, but types contains only type definitions, hence alpha is reused
+        final YangTextSchemaSourceRegistration beta = resolver.registerSource(
+            getClass().getResource("/yang-text-schema-context-resolver-test/beta.yang"));
+        final EffectiveModelContext second = resolver.getEffectiveModelContext().orElseThrow();
+        assertEquals(3, second.getModules().size());
+        assertSame(module(first, "alpha"), module(second, "alpha"));
+        assertEquals(COUNTER, counterType(second, "alpha"));
+        assertEquals(COUNTER, counterType(second, "beta"));
+
+        // removing beta does not affect alpha either
+        beta.close();
+        final EffectiveModelContext third = resolver.getEffectiveModelContext().orElseThrow();
+        assertEquals(2, third.getModules().size());
+        assertSame(module(second, "alpha"), module(third, "alpha"));
+    }
+
+    private static QName counterType(final EffectiveModelContext context, final String name) {
+        final QNameModule module = module(context, name).localQNameModule();
+        final ContainerSchemaNode container = (ContainerSchemaNode) context.findDataTreeChild(
+            QName.create(module, name + "-container")).orElseThrow();
+        return ((LeafSchemaNode) container.findDataTreeChild(QName.create(module, name + "-counter")).orElseThrow())
+            .getType().getQName();
+    }
+
+    private static ModuleEffectiveStatement module(final EffectiveModelContext context, final String name) {
+        return context.getModuleStatements().get(QNameModule.create(URI.create(name + "-namespace"),
+            Revision.of("2016-09-26")));
+    }
 }
@@ -10,6 +10,7 @@ package org.opendaylight.yangtools.yang.parser.stmt.reactor;
 import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.base.Throwables;
 import com.google.common.base.Verify;
 import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.ImmutableMap;
@@ -18,26 +19,37 @@ import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.SetMultimap;
 import com.google.common.collect.Table;
 import com.google.common.collect.TreeBasedTable;
+import com.google.common.util.concurrent.ListenableFutureTask;
+import com.google.common.util.concurrent.Uninterruptibles;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.util.RecursiveObjectLeaker;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.QNameModule;
 import org.opendaylight.yangtools.yang.common.Revision;
 import org.opendaylight.yangtools.yang.common.YangVersion;
+import org.opendaylight.yangtools.yang.model.api.YangStmtMapping;
 import org.opendaylight.yangtools.yang.model.api.meta.DeclaredStatement;
 import org.opendaylight.yangtools.yang.model.api.meta.EffectiveStatement;
 import org.opendaylight.yangtools.yang.model.api.meta.IdentifierNamespace;
+import org.opendaylight.yangtools.yang.model.api.meta.StatementDefinition;
 import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
 import org.opendaylight.yangtools.yang.model.repo.api.StatementParserMode;
 import org.opendaylight.yangtools.yang.parser.spi.meta.DerivedNamespaceBehaviour;
@@ -76,6 +88,23 @@ class BuildGlobalContext extends NamespaceStorageSupport implements Registry {
         ModelProcessingPhase.EFFECTIVE_MODEL
     };
 
+    /*
+     * Phases which can be executed concurrently. At this point all linkage between sources is known and the sources
+     * can be split into independent sets.
+     */
+    private static final EnumSet<ModelProcessingPhase> CONCURRENT_PHASES = EnumSet.of(
+        ModelProcessingPhase.STATEMENT_DEFINITION,
+        ModelProcessingPhase.FULL_DECLARATION,
+        ModelProcessingPhase.EFFECTIVE_MODEL);
+
+    /*
+     * Statements which can appear in a module shared by sources processed concurrently, see isShared().
+     */
+    private static final ImmutableSet<StatementDefinition> SHARED_MODULE_STATEMENTS = ImmutableSet.of(
+        YangStmtMapping.YANG_VERSION, YangStmtMapping.NAMESPACE, YangStmtMapping.PREFIX, YangStmtMapping.ORGANIZATION,
+        YangStmtMapping.CONTACT, YangStmtMapping.DESCRIPTION, YangStmtMapping.REFERENCE, YangStmtMapping.REVISION,
+        YangStmtMapping.TYPEDEF, YangStmtMapping.IDENTITY, YangStmtMapping.FEATURE, YangStmtMapping.EXTENSION);
+
     private final Table<YangVersion, QName, StatementDefinitionContext<?, ?, ?>> definitions = HashBasedTable.create();
     private final Map<QName, StatementDefinitionContext<?, ?, ?>> modelDefinedStmtDefs = new HashMap<>();
     private final Map<Class<?>, NamespaceBehaviourWithListeners<?, ?, ?>> supportedNamespaces = new HashMap<>();
@@ -86,6 +115,8 @@ class BuildGlobalContext extends NamespaceStorageSupport implements Registry {
     private final boolean enabledSemanticVersions;
 
     private Set<SourceSpecificContext> libSources = new HashSet<>();
+    private Map<Class<?>, NamespaceBehaviourWithListeners<?, ?, ?>> lockedNamespaces;
+    private @Nullable Executor executor;
     private ModelProcessingPhase currentPhase = ModelProcessingPhase.INIT;
     private ModelProcessingPhase finishedPhase = ModelProcessingPhase.INIT;
 
@@ -119,6 +150,8 @@ class BuildGlobalContext extends NamespaceStorageSupport implements Registry {
     }
 
     void addSource(final @NonNull StatementStreamSource source) {
+        checkState(currentPhase == ModelProcessingPhase.INIT,
+                "Add source is allowed in ModelProcessingPhase.INIT only");
         sources.add(new SourceSpecificContext(this, source));
     }
 
@@ -130,12 +163,22 @@ class BuildGlobalContext extends NamespaceStorageSupport implements Registry {
         libSources.add(new SourceSpecificContext(this, libSource));
     }
 
+    void setExecutor(final Executor executor) {
+        checkState(currentPhase == ModelProcessingPhase.INIT, "Executor can be set in ModelProcessingPhase.INIT only");
+        this.executor = requireNonNull(executor);
+        lockedNamespaces = new HashMap<>();
+    }
+
     void setSupportedFeatures(final Set<QName> supportedFeatures) {
+        checkState(currentPhase == ModelProcessingPhase.INIT,
+                "Supported features can be set in ModelProcessingPhase.INIT only");
         addToNamespace(SupportedFeaturesNamespace.class, SupportedFeatures.SUPPORTED_FEATURES,
                     ImmutableSet.copyOf(supportedFeatures));
     }
 
     void setModulesDeviatedByModules(final SetMultimap<QNameModule, QNameModule> modulesDeviatedByModules) {
+        checkState(currentPhase == ModelProcessingPhase.INIT,
+                "Modules with supported deviations can be set in ModelProcessingPhase.INIT only");
         addToNamespace(ModulesDeviatedByModules.class, SupportedModules.SUPPORTED_MODULES,
                     ImmutableSetMultimap.copyOf(modulesDeviatedByModules));
     }
@@ -156,8 +199,31 @@ class BuildGlobalContext extends NamespaceStorageSupport implements Registry {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public <K, V, N extends IdentifierNamespace<K, V>> NamespaceBehaviourWithListeners<K, V, N> getNamespaceBehaviour(
             final Class<N> type) {
+        if (executor == null) {
+            return getSupportedNamespace(type);
+        }
+
+        synchronized (this) {
+            NamespaceBehaviourWithListeners<?, ?, ?> locked = lockedNamespaces.get(type);
+            if (locked == null) {
+                locked = new LockingNamespaceContext<>(getSupportedNamespace(type), this);
+                lockedNamespaces.put(type, locked);
+            }
+            return (NamespaceBehaviourWithListeners<K, V, N>) locked;
+        }
+    }
+
+    @Override
+    protected <K, V> Map<K, V> createLocalNamespace() {
+        // Global namespaces may be populated and iterated by multiple sources at the same time
+        return executor == null ? super.createLocalNamespace() : new ConcurrentHashMap<>(1);
+    }
+
+    private <K, V, N extends IdentifierNamespace<K, V>> NamespaceBehaviourWithListeners<K, V, N> getSupportedNamespace(
+            final Class<N> type) {
         NamespaceBehaviourWithListeners<?, ?, ?> potential = supportedNamespaces.get(type);
         if (potential == null) {
             final NamespaceBehaviour<K, V, N> potentialRaw = supports.get(currentPhase).getNamespaceBehaviour(type);
@@ -184,14 +250,16 @@ class BuildGlobalContext extends NamespaceStorageSupport implements Registry {
         if (potentialRaw instanceof DerivedNamespaceBehaviour) {
             final VirtualNamespaceContext derivedContext = new VirtualNamespaceContext(
                     (DerivedNamespaceBehaviour) potentialRaw);
-            getNamespaceBehaviour(((DerivedNamespaceBehaviour) potentialRaw).getDerivedFrom()).addDerivedNamespace(
+            getSupportedNamespace(((DerivedNamespaceBehaviour) potentialRaw).getDerivedFrom()).addDerivedNamespace(
                     derivedContext);
             return derivedContext;
         }
         return new SimpleNamespaceContext<>(potentialRaw);
     }
 
-    StatementDefinitionContext<?, ?, ?> getStatementDefinition(final YangVersion version, final QName name) {
+    // Definitions are shared across all sources, hence these methods are synchronized
+    synchronized StatementDefinitionContext<?, ?, ?> getStatementDefinition(final YangVersion version,
+            final QName name) {
         StatementDefinitionContext<?, ?, ?> potential = definitions.get(version, name);
         if (potential == null) {
             final StatementSupport<?, ?, ?> potentialRaw = supports.get(currentPhase).getStatementDefinition(version,
@@ -204,30 +272,43 @@ class BuildGlobalContext extends NamespaceStorageSupport implements Registry {
         return potential;
     }
 
-    StatementDefinitionContext<?, ?, ?> getModelDefinedStatementDefinition(final QName name) {
+    synchronized StatementDefinitionContext<?, ?, ?> getModelDefinedStatementDefinition(final QName name) {
         return modelDefinedStmtDefs.get(name);
     }
 
-    void putModelDefinedStatementDefinition(final QName name, final StatementDefinitionContext<?, ?, ?> def) {
+    synchronized void putModelDefinedStatementDefinition(final QName name,
+            final StatementDefinitionContext<?, ?, ?> def) {
         modelDefinedStmtDefs.put(name, def);
     }
 
-    private void executePhases() throws ReactorException {
+    void executePhases(final ModelProcessingPhase lastPhase) throws ReactorException {
         for (final ModelProcessingPhase phase : PHASE_EXECUTION_ORDER) {
+            if (phase.isCompletedBy(finishedPhase)) {
+                // Already executed by a previous invocation
+                continue;
+            }
+            if (!phase.isCompletedBy(lastPhase)) {
+                break;
+            }
+
             startPhase(phase);
-            loadPhaseStatements();
-            completePhaseActions();
+            if (executor != null && CONCURRENT_PHASES.contains(phase)) {
+                completePhaseConcurrently(executor);
+            } else {
+                loadPhaseStatements();
+                completePhaseActions();
+            }
             endPhase(phase);
         }
     }
 
     ReactorDeclaredModel build() throws ReactorException {
-        executePhases();
+        executePhases(ModelProcessingPhase.EFFECTIVE_MODEL);
         return transform();
     }
 
     EffectiveSchemaContext buildEffective() throws ReactorException {
-        executePhases();
+        executePhases(ModelProcessingPhase.EFFECTIVE_MODEL);
         return transformEffective();
     }
 
@@ -302,7 +383,7 @@ class BuildGlobalContext extends NamespaceStorageSupport implements Registry {
     }
 
     @SuppressWarnings("checkstyle:illegalCatch")
-    private void loadPhaseStatementsFor(final Set<SourceSpecificContext> srcs) throws ReactorException {
+    private void loadPhaseStatementsFor(final Collection<SourceSpecificContext> srcs) throws ReactorException {
         for (final SourceSpecificContext source : srcs) {
             try {
                 source.loadStatements();
@@ -353,7 +434,6 @@ class BuildGlobalContext extends NamespaceStorageSupport implements Registry {
         return buildFailure;
     }
 
-    @SuppressWarnings("checkstyle:illegalCatch")
     private void completePhaseActions() throws ReactorException {
         checkState(currentPhase != null);
         final List<SourceSpecificContext> sourcesToProgress = new ArrayList<>(sources);
@@ -364,6 +444,208 @@ class BuildGlobalContext extends NamespaceStorageSupport implements Registry {
             sourcesToProgress.addAll(libSources);
         }
 
+        completeSources(sourcesToProgress);
+
+        if (!libSources.isEmpty()) {
+            final Set<SourceSpecificContext> requiredLibs = getRequiredSourcesFromLib();
+            sources.addAll(requiredLibs);
+            libSources = ImmutableSet.of();
+            /*
+             * We want to report errors of relevant sources only, so any others can
+             * be removed.
+             */
+            sourcesToProgress.retainAll(sources);
+        }
+
+        failUnfinishedSources(sourcesToProgress);
+    }
+
+    /**
+     * Complete current phase by splitting sources into sets which do not reference each other and processing each set
+     * as a separate task on specified executor. Each task loads phase statements for its sources and then runs them
+     * until they cannot make any more progress.
+     *
+     * <p>
+     * Sources which do not require any other source, such as {@code ietf-yang-types}, cannot depend on progress of
+     * other sources and are completed first. Once they have been fully declared and are found to contain only
+     * definitions, they are shared by the sets which import them, as otherwise nearly all sources would end up in
+     * a single set.
+     */
+    @SuppressWarnings("checkstyle:avoidHidingCauseException")
+    private void completePhaseConcurrently(final Executor taskExecutor) throws ReactorException {
+        checkState(libSources.isEmpty(), "Library sources should have been resolved by phase %s", currentPhase);
+
+        final List<SourceSpecificContext> leaves = new ArrayList<>();
+        for (final SourceSpecificContext source : sources) {
+            final RootStatementContext<?, ?, ?> root = source.getRoot();
+            if (root != null && root.getRequiredSources().isEmpty()) {
+                leaves.add(source);
+            }
+        }
+        loadPhaseStatementsFor(leaves);
+        final List<SourceSpecificContext> unfinishedLeaves = new ArrayList<>(leaves);
+        completeSources(unfinishedLeaves);
+
+        final Set<SourceSpecificContext> finished = new HashSet<>(leaves);
+        finished.removeAll(unfinishedLeaves);
+        // A module name is shared only if all sources with that name are shared, as requiring sources are related to
+        // all of them
+        final Set<String> shared = new HashSet<>();
+        final Set<String> notShared = new HashSet<>();
+        for (final SourceSpecificContext source : sources) {
+            final RootStatementContext<?, ?, ?> root = source.getRoot();
+            if (root != null) {
+                final String name = root.getRootIdentifier().getName();
+                if (finished.contains(source) && isShared(root)) {
+                    shared.add(name);
+                } else {
+                    notShared.add(name);
+                }
+            }
+        }
+        shared.removeAll(notShared);
+
+        final List<ListenableFutureTask<List<SourceSpecificContext>>> tasks = new ArrayList<>();
+        for (final List<SourceSpecificContext> component : independentSources(finished, shared)) {
+            // Unfinished leaves have already loaded their statements
+            final List<SourceSpecificContext> toLoad = new ArrayList<>(component);
+            toLoad.removeAll(unfinishedLeaves);
+
+            final ListenableFutureTask<List<SourceSpecificContext>> task = ListenableFutureTask.create(() -> {
+                try {
+                    loadPhaseStatementsFor(toLoad);
+                    final List<SourceSpecificContext> sourcesToProgress = new ArrayList<>(component);
+                    completeSources(sourcesToProgress);
+                    return sourcesToProgress;
+                } finally {
+                    RecursiveObjectLeaker.cleanup();
+                }
+            });
+            taskExecutor.execute(task);
+            tasks.add(task);
+        }
+
+        // Wait for all tasks to finish, so we do not leave anything running. Report the first failure encountered.
+        final List<SourceSpecificContext> unfinished = new ArrayList<>();
+        ReactorException failure = null;
+        for (final ListenableFutureTask<List<SourceSpecificContext>> task : tasks) {
+            try {
+                unfinished.addAll(Uninterruptibles.getUninterruptibly(task));
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (!(cause instanceof ReactorException)) {
+                    Throwables.throwIfUnchecked(cause);
+                    throw new IllegalStateException("Unexpected failure in phase " + currentPhase, cause);
+                }
+                if (failure == null) {
+                    failure = (ReactorException) cause;
+                } else {
+                    failure.addSuppressed(cause);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+
+        failUnfinishedSources(unfinished);
+    }
+
+    /**
+     * Check whether a module can be shared by sources processed concurrently. This is the case when it has been fully
+     * declared and contains only definitions other modules can refer to, but not modify. In particular it has no
+     * schema tree, hence it cannot be a target of {@code augment} or {@code deviation}.
+     */
+    private static boolean isShared(final RootStatementContext<?, ?, ?> root) {
+        if (root.getPublicDefinition() != YangStmtMapping.MODULE
+                || !ModelProcessingPhase.FULL_DECLARATION.isCompletedBy(root.getCompletedPhase())
+                || !root.mutableEffectiveSubstatements().isEmpty()) {
+            return false;
+        }
+        for (final StatementContextBase<?, ?, ?> stmt : root.mutableDeclaredSubstatements()) {
+            if (!SHARED_MODULE_STATEMENTS.contains(stmt.getPublicDefinition())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Split sources into sets which do not reference each other. Sources are considered to be related when they
+     * share a module name, or when one of them requires a source with the name of the other. Sources which have
+     * already finished current phase are not included, but they still relate the sources which require them, unless
+     * they are shared.
+     */
+    private List<List<SourceSpecificContext>> independentSources(final Set<SourceSpecificContext> finished,
+            final Set<String> shared) {
+        final Map<String, List<SourceSpecificContext>> byName = new HashMap<>();
+        final List<SourceSpecificContext> unnamed = new ArrayList<>();
+        for (final SourceSpecificContext source : sources) {
+            if (finished.contains(source)) {
+                continue;
+            }
+            final RootStatementContext<?, ?, ?> root = source.getRoot();
+            if (root == null) {
+                // Malformed source, it will fail on its own
+                unnamed.add(source);
+                continue;
+            }
+
+            final Set<String> names = new HashSet<>();
+            names.add(root.getRootIdentifier().getName());
+            for (final SourceIdentifier required : root.getRequiredSources()) {
+                names.add(required.getName());
+            }
+            names.removeAll(shared);
+
+            List<SourceSpecificContext> component = new ArrayList<>();
+            component.add(source);
+            for (final String name : names) {
+                final List<SourceSpecificContext> existing = byName.get(name);
+                if (existing != null && existing != component) {
+                    // Merge the smaller set into the larger one and remap any names pointing to the former
+                    final List<SourceSpecificContext> from;
+                    if (existing.size() < component.size()) {
+                        from = existing;
+                        component.addAll(existing);
+                    } else {
+                        from = component;
+                        existing.addAll(component);
+                        component = existing;
+                    }
+                    for (final Entry<String, List<SourceSpecificContext>> entry : byName.entrySet()) {
+                        if (entry.getValue() == from) {
+                            entry.setValue(component);
+                        }
+                    }
+                }
+            }
+            for (final String name : names) {
+                byName.put(name, component);
+            }
+        }
+
+        final Map<List<SourceSpecificContext>, Boolean> seen = new IdentityHashMap<>();
+        final List<List<SourceSpecificContext>> ret = new ArrayList<>();
+        for (final List<SourceSpecificContext> component : byName.values()) {
+            if (seen.put(component, Boolean.TRUE) == null) {
+                ret.add(component);
+            }
+        }
+        for (final SourceSpecificContext source : unnamed) {
+            ret.add(List.of(source));
+        }
+        LOG.debug("Phase {} split {} sources into {} independent sets, sharing {}", currentPhase, sources.size(),
+            ret.size(), shared);
+        return ret;
+    }
+
+    /**
+     * Run specified sources until they cannot make any more progress in current phase. Sources which have finished
+     * the phase are removed from the list.
+     */
+    @SuppressWarnings("checkstyle:illegalCatch")
+    private void completeSources(final List<SourceSpecificContext> sourcesToProgress) throws ReactorException {
         boolean progressing = true;
         while (progressing) {
             // We reset progressing to false.
@@ -393,18 +675,10 @@ class BuildGlobalContext extends NamespaceStorageSupport implements Registry {
                 }
             }
         }
+    }
 
-        if (!libSources.isEmpty()) {
-            final Set<SourceSpecificContext> requiredLibs = getRequiredSourcesFromLib();
-            sources.addAll(requiredLibs);
-            libSources = ImmutableSet.of();
-            /*
-             * We want to report errors of relevant sources only, so any others can
-             * be removed.
-             */
-            sourcesToProgress.retainAll(sources);
-        }
-
+    private void failUnfinishedSources(final List<SourceSpecificContext> sourcesToProgress)
+            throws SomeModifiersUnresolvedException {
         if (!sourcesToProgress.isEmpty()) {
             final SomeModifiersUnresolvedException buildFailure = addSourceExceptions(sourcesToProgress);
             if (buildFailure != null) {
@@ -485,7 +759,7 @@ class BuildGlobalContext extends NamespaceStorageSupport implements Registry {
         return supportedVersions;
     }
 
-    void addMutableStmtToSeal(final MutableStatement mutableStatement) {
+    synchronized void addMutableStmtToSeal(final MutableStatement mutableStatement) {
         mutableStatementsToSeal.add(mutableStatement);
     }
 
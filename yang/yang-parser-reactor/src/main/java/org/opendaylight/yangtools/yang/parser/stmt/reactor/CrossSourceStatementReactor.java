@@ -10,6 +10,7 @@ package org.opendaylight.yangtools.yang.parser.stmt.reactor;
 import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.annotations.Beta;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.SetMultimap;
 import java.util.Arrays;
@@ -17,6 +18,7 @@ import java.util.Collection;
 import java.util.EnumMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.QNameModule;
@@ -106,6 +108,7 @@ public final class CrossSourceStatementReactor {
          * @param source which should be added into main sources
          * @return This build action, for fluent use.
          * @throws NullPointerException if @{code source} is null
+         * @throws IllegalStateException if processing has already started
          */
         public @NonNull BuildAction addSource(final StatementStreamSource source) {
             context.addSource(source);
@@ -118,6 +121,7 @@ public final class CrossSourceStatementReactor {
          * @param sources which should be added into main sources
          * @return This build action, for fluent use.
          * @throws NullPointerException if @{code sources} is null or contains a null element
+         * @throws IllegalStateException if processing has already started
          */
         public @NonNull BuildAction addSources(final StatementStreamSource... sources) {
             addSources(Arrays.asList(sources));
@@ -130,6 +134,7 @@ public final class CrossSourceStatementReactor {
          * @param sources which should be added into main sources
          * @return This build action, for fluent use.
          * @throws NullPointerException if @{code sources} is null or contains a null element
+         * @throws IllegalStateException if processing has already started
          */
         public @NonNull BuildAction addSources(final @NonNull Collection<? extends StatementStreamSource> sources) {
             for (final StatementStreamSource source : sources) {
@@ -148,6 +153,7 @@ public final class CrossSourceStatementReactor {
          * @param libSource source which should be added into library sources
          * @return This build action, for fluent use.
          * @throws NullPointerException if @{code libSource} is null
+         * @throws IllegalStateException if processing has already started
          */
         public @NonNull BuildAction addLibSource(final StatementStreamSource libSource) {
             context.addLibSource(libSource);
@@ -164,6 +170,7 @@ public final class CrossSourceStatementReactor {
          * @param libSources sources which should be added into library sources
          * @return This build action, for fluent use.
          * @throws NullPointerException if @{code libSources} is null or contains a null element
+         * @throws IllegalStateException if processing has already started
          */
         public @NonNull BuildAction addLibSources(final StatementStreamSource... libSources) {
             addLibSources(Arrays.asList(libSources));
@@ -180,6 +187,7 @@ public final class CrossSourceStatementReactor {
          * @param libSources sources which should be added into library sources
          * @return This build action, for fluent use.
          * @throws NullPointerException if @{code libSources} is null or contains a null element
+         * @throws IllegalStateException if processing has already started
          */
         public @NonNull BuildAction addLibSources(final Collection<StatementStreamSource> libSources) {
             for (final StatementStreamSource libSource : libSources) {
@@ -196,6 +204,7 @@ public final class CrossSourceStatementReactor {
          *            Set of supported features in the final SchemaContext.
          *            If the set is empty, no features encountered will be supported.
          * @return This build action, for fluent use.
+         * @throws IllegalStateException if supported features have already been set or processing has already started
          */
         public @NonNull BuildAction setSupportedFeatures(final @NonNull Set<QName> supportedFeatures) {
             checkState(!supportedFeaturesSet, "Supported features should be set only once.");
@@ -212,6 +221,8 @@ public final class CrossSourceStatementReactor {
          *            Map of YANG modules (Map key) which can be deviated by specified modules (Map value) in the final
          *            SchemaContext. If the map is empty, no deviations encountered will be supported.
          * @return This build action, for fluent use.
+         * @throws IllegalStateException if modules with supported deviations have already been set or processing has
+         *                               already started
          */
         public @NonNull BuildAction setModulesWithSupportedDeviations(
                 final @NonNull SetMultimap<QNameModule, QNameModule> modulesDeviatedByModules) {
@@ -221,6 +232,43 @@ public final class CrossSourceStatementReactor {
             return this;
         }
 
+        /**
+         * Enable concurrent processing of sources using specified executor. Sources are processed one after another
+         * until their linkage is known, i.e. up to and including {@link ModelProcessingPhase#SOURCE_LINKAGE}. Each
+         * subsequent phase splits sources into sets which do not reference each other and processes these sets
+         * concurrently, each set being a single task executed by the executor.
+         *
+         * <p>
+         * Access to namespaces is serialized when this mode is enabled, hence the speedup achievable depends on
+         * the number of independent source sets as well as the amount of work spent outside of namespaces.
+         *
+         * @param executor Executor to use for processing of sources
+         * @return This build action, for fluent use.
+         * @throws NullPointerException if {@code executor} is null
+         * @throws IllegalStateException if the build has already started
+         */
+        @Beta
+        public @NonNull BuildAction setExecutor(final @NonNull Executor executor) {
+            context.setExecutor(executor);
+            return this;
+        }
+
+        /**
+         * Execute processing phases up to and including the specified phase, without building the resulting model.
+         * Processing can be resumed by invoking this method with a later phase, or by {@link #build()} or
+         * {@link #buildEffective()}. This is useful for inspecting the cost of individual phases.
+         *
+         * @param phase Last phase to execute
+         * @return This build action, for fluent use.
+         * @throws NullPointerException if {@code phase} is null
+         * @throws ReactorException if processing fails
+         */
+        @Beta
+        public @NonNull BuildAction executeUpTo(final @NonNull ModelProcessingPhase phase) throws ReactorException {
+            context.executePhases(requireNonNull(phase));
+            return this;
+        }
+
         /**
          * Build the effective model context.
          */
@@ -12,8 +12,15 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Verify;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.function.Function;
 import org.opendaylight.yangtools.yang.common.QNameModule;
@@ -52,6 +59,41 @@ public final class EffectiveSchemaContext extends SimpleSchemaContext implements
         return new EffectiveSchemaContext(modules, rootDeclaredStatements, rootEffectiveStatements);
     }
 
+    /**
+     * Combine a number of contexts into a single context. This is useful when the contexts have been built from
+     * independent sets of sources, i.e. sources which do not refer to each other through {@code import},
+     * {@code include} or {@code belongs-to} statements, as such contexts can be built separately and do not need to be
+     * rebuilt when an unrelated set of sources changes. No validation of independence is performed.
+     *
+     * <p>
+     * A module may appear in more than one context, for example when it contains only type definitions and is built
+     * with each set of sources which imports it. Such modules are assumed to be equivalent and are taken from the first
+     * context which contains them.
+     *
+     * @param contexts Contexts to combine
+     * @return Combined context
+     * @throws NullPointerException if {@code contexts} is null or contains a null element
+     */
+    @Beta
+    public static EffectiveSchemaContext combine(final Collection<EffectiveSchemaContext> contexts) {
+        final List<DeclaredStatement<?>> rootDeclared = new ArrayList<>();
+        final Map<QNameModule, EffectiveStatement<?, ?>> rootEffective = new LinkedHashMap<>();
+        for (EffectiveSchemaContext context : contexts) {
+            final Set<DeclaredStatement<?>> duplicates = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Entry<QNameModule, ModuleEffectiveStatement> entry : context.rootEffectiveStatements.entrySet()) {
+                if (rootEffective.putIfAbsent(entry.getKey(), entry.getValue()) != null) {
+                    duplicates.add(entry.getValue().getDeclared());
+                }
+            }
+            for (DeclaredStatement<?> declared : context.rootDeclaredStatements) {
+                if (!duplicates.contains(declared)) {
+                    rootDeclared.add(declared);
+                }
+            }
+        }
+        return create(rootDeclared, new ArrayList<>(rootEffective.values()));
+    }
+
     @VisibleForTesting
     public List<DeclaredStatement<?>> getRootDeclaredStatements() {
         return rootDeclaredStatements;
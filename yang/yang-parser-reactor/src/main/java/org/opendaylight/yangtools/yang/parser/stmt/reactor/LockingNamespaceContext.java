@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.stmt.reactor;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Map;
+import org.opendaylight.yangtools.yang.model.api.meta.IdentifierNamespace;
+
+/**
+ * A {@link NamespaceBehaviourWithListeners} which serializes all access to a backing context via a shared lock. This
+ * is used when sources are processed concurrently: listeners are shared across all sources and notifications walk
+ * storage of other sources, hence all namespace access needs to be mutually exclusive.
+ */
+final class LockingNamespaceContext<K, V, N extends IdentifierNamespace<K, V>>
+        extends NamespaceBehaviourWithListeners<K, V, N> {
+    private final NamespaceBehaviourWithListeners<K, V, N> context;
+    private final Object lock;
+
+    LockingNamespaceContext(final NamespaceBehaviourWithListeners<K, V, N> context, final Object lock) {
+        super(context);
+        this.context = context;
+        this.lock = requireNonNull(lock);
+    }
+
+    @Override
+    void addListener(final KeyedValueAddedListener<K> listener) {
+        synchronized (lock) {
+            context.addListener(listener);
+        }
+    }
+
+    @Override
+    void addListener(final PredicateValueAddedListener<K, V> listener) {
+        synchronized (lock) {
+            context.addListener(listener);
+        }
+    }
+
+    @Override
+    public void addTo(final NamespaceStorageNode storage, final K key, final V value) {
+        synchronized (lock) {
+            context.addTo(storage, key, value);
+        }
+    }
+
+    @Override
+    public V getFrom(final NamespaceStorageNode storage, final K key) {
+        synchronized (lock) {
+            return context.getFrom(storage, key);
+        }
+    }
+
+    @Override
+    public Map<K, V> getAllFrom(final NamespaceStorageNode storage) {
+        synchronized (lock) {
+            return context.getAllFrom(storage);
+        }
+    }
+}
@@ -107,12 +107,23 @@ abstract class NamespaceStorageSupport implements NamespaceStorageNode {
         return localNamespace;
     }
 
+    /**
+     * Create a new map to hold a local namespace.
+     *
+     * @param <K> key type
+     * @param <V> value type
+     * @return A new empty map
+     */
+    protected <K, V> Map<K, V> createLocalNamespace() {
+        return new HashMap<>(1);
+    }
+
     private <K, V, N extends IdentifierNamespace<K, V>> Map<K, V> ensureLocalNamespace(final Class<N> type) {
         @SuppressWarnings("unchecked")
         Map<K, V> ret = (Map<K,V>) namespaces.get(type);
         if (ret == null) {
             checkLocalNamespaceAllowed(type);
-            ret = new HashMap<>(1);
+            ret = createLocalNamespace();
 
             switch (namespaces.size()) {
                 case 0:
@@ -748,6 +748,10 @@ public abstract class StatementContextBase<A, D extends DeclaredStatement<A>, E
      * Adds {@link OnPhaseFinished} listener for a {@link ModelProcessingPhase} end. If the base has already completed
      * the listener is notified immediately.
      *
+     * <p>
+     * When sources are processed concurrently, listeners may be added by multiple sources which share the source of
+     * this statement, hence registration is guarded. Listeners are run only while those sources are not processed.
+     *
      * @param phase requested completion phase
      * @param listener listener to invoke
      * @throws NullPointerException if any of the arguments is null
@@ -764,11 +768,13 @@ public abstract class StatementContextBase<A, D extends DeclaredStatement<A>, E
             }
             finishedPhase = finishedPhase.getPreviousPhase();
         }
-        if (phaseListeners.isEmpty()) {
-            phaseListeners = newMultimap();
-        }
 
-        phaseListeners.put(phase, listener);
+        synchronized (this) {
+            if (phaseListeners.isEmpty()) {
+                phaseListeners = newMultimap();
+            }
+            phaseListeners.put(phase, listener);
+        }
     }
 
     /**
@@ -785,10 +791,12 @@ public abstract class StatementContextBase<A, D extends DeclaredStatement<A>, E
             finishedPhase = finishedPhase.getPreviousPhase();
         }
 
-        if (phaseMutation.isEmpty()) {
-            phaseMutation = newMultimap();
+        synchronized (this) {
+            if (phaseMutation.isEmpty()) {
+                phaseMutation = newMultimap();
+            }
+            phaseMutation.put(phase, mutation);
         }
-        phaseMutation.put(phase, mutation);
     }
 
     @Override
@@ -806,11 +814,13 @@ public abstract class StatementContextBase<A, D extends DeclaredStatement<A>, E
         final CopyPolicy policy = support.applyCopyPolicy(this, parent, type, targetModule);
         switch (policy) {
             case CONTEXT_INDEPENDENT:
-                if (hasEmptySubstatements()) {
-                    // This statement is context-independent and has no substatements -- hence it can be freely shared.
+                if (hasContextIndependentSubstatements(parent, type, targetModule)) {
+                    // This statement is context-independent and so are all of its substatements -- hence it can be
+                    // freely shared.
                     return Optional.of(this);
                 }
-                // FIXME: YANGTOOLS-694: filter out all context-independent substatements, eliminate fall-through
+                // FIXME: YANGTOOLS-694: share context-independent substatements even when this statement needs to be
+                //                       copied
                 // fall through
             case DECLARED_COPY:
                 // FIXME: YANGTOOLS-694: this is still to eager, we really want to copy as a lazily-instantiated
@@ -829,6 +839,40 @@ public abstract class StatementContextBase<A, D extends DeclaredStatement<A>, E
         }
     }
 
+    /**
+     * Check whether all substatements of this statement are context-independent, recursively. Such statements can be
+     * shared between all instantiations of a grouping, without an inferred copy being created. Declared substatements
+     * which are not supported by features would be filtered out by a copy, hence their presence forces a copy.
+     *
+     * <p>
+     * Note that copy policy of substatements is evaluated against this statement's target parent, not against a copy
+     * of this statement, as such a copy does not exist.
+     */
+    private boolean hasContextIndependentSubstatements(final Mutable<?, ?, ?> parent, final CopyType type,
+            final QNameModule targetModule) {
+        if (hasEmptySubstatements()) {
+            return true;
+        }
+        for (StatementContextBase<?, ?, ?> stmt : mutableDeclaredSubstatements()) {
+            if (!stmt.isSupportedByFeatures() || !stmt.isContextIndependent(parent, type, targetModule)) {
+                return false;
+            }
+        }
+        for (Mutable<?, ?, ?> stmt : mutableEffectiveSubstatements()) {
+            if (!(stmt instanceof StatementContextBase)
+                    || !((StatementContextBase<?, ?, ?>) stmt).isContextIndependent(parent, type, targetModule)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isContextIndependent(final Mutable<?, ?, ?> parent, final CopyType type,
+            final QNameModule targetModule) {
+        return definition.support().applyCopyPolicy(this, parent, type, targetModule) == CopyPolicy.CONTEXT_INDEPENDENT
+            && hasContextIndependentSubstatements(parent, type, targetModule);
+    }
+
     @Override
     public final Mutable<?, ?, ?> childCopyOf(final StmtContext<?, ?, ?> stmt, final CopyType type,
             final QNameModule targetModule) {
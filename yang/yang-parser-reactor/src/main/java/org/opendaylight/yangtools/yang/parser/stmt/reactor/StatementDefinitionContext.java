@@ -109,7 +109,9 @@ public class StatementDefinitionContext<A, D extends DeclaredStatement<A>, E ext
         return toStringHelper.add("statement", getStatementName());
     }
 
-    final @NonNull StatementDefinitionContext<?, ?, ?> getSubDefinitionSpecificForArgument(final String argument) {
+    // Synchronized because definitions may be shared by concurrently-processed sources
+    final synchronized @NonNull StatementDefinitionContext<?, ?, ?> getSubDefinitionSpecificForArgument(
+            final String argument) {
         if (!hasArgumentSpecificSubDefinitions()) {
             return this;
         }
@@ -133,7 +135,7 @@ public class StatementDefinitionContext<A, D extends DeclaredStatement<A>, E ext
         return support.hasArgumentSpecificSupports();
     }
 
-    final StatementDefinitionContext<?, ?, ?> getAsUnknownStatementDefinition(
+    final synchronized StatementDefinitionContext<?, ?, ?> getAsUnknownStatementDefinition(
             final StatementDefinitionContext<?, ?, ?> yangStmtDef) {
         if (unknownStmtDefsOfYangStmts != null) {
             final StatementDefinitionContext<?, ?, ?> existing = unknownStmtDefsOfYangStmts.get(yangStmtDef);
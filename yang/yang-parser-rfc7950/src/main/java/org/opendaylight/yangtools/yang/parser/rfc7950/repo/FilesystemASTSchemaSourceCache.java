@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.rfc7950.repo;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.hash.Hashing;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaSourceException;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.model.repo.util.FilesystemSchemaSourceCache;
+import org.opendaylight.yangtools.yang.parser.antlr.YangStatementParser.StatementContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A persistent cache of {@link ASTSchemaSource}s, complementing {@link FilesystemSchemaSourceCache}. Whereas that
+ * class retains the text of sources, this class retains the result of parsing them, so that subsequent runs can skip
+ * lexing and parsing of unchanged sources.
+ *
+ * <p>
+ * Entries are keyed by the SHA-256 digest of source text, hence any change to the text results in a cache miss and
+ * the stale entry is simply never consulted again. Entries which cannot be read, for example because they were written
+ * by an incompatible version, are discarded and re-created.
+ */
+@Beta
+public final class FilesystemASTSchemaSourceCache {
+    private static final Logger LOG = LoggerFactory.getLogger(FilesystemASTSchemaSourceCache.class);
+    private static final String SUFFIX = ".ast";
+    // "YAST"
+    private static final int MAGIC = 0x59415354;
+    private static final int VERSION = 1;
+    // MAGIC and VERSION
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+    private final File storageDirectory;
+
+    public FilesystemASTSchemaSourceCache(final File storageDirectory) {
+        this.storageDirectory = requireNonNull(storageDirectory);
+        checkArgument(storageDirectory.mkdirs() || storageDirectory.isDirectory(),
+                "Unable to create cache directory at %s", storageDirectory);
+        checkArgument(storageDirectory.canWrite());
+        checkArgument(storageDirectory.canRead());
+    }
+
+    /**
+     * Transform a {@link YangTextSchemaSource} into an {@link ASTSchemaSource}, using a cached parse tree if one is
+     * available and storing the parse tree otherwise.
+     *
+     * @param text YANG text source
+     * @return An ASTSchemaSource
+     * @throws IOException if the source cannot be read
+     * @throws YangSyntaxErrorException if the source is not syntactically valid
+     * @throws SchemaSourceException if the source fails to parse
+     */
+    public ASTSchemaSource transformText(final YangTextSchemaSource text) throws SchemaSourceException,
+            IOException, YangSyntaxErrorException {
+        final Path file = storageDirectory.toPath().resolve(text.hash(Hashing.sha256()).toString() + SUFFIX);
+
+        if (Files.isReadable(file)) {
+            final StatementContext restored = restore(file);
+            if (restored != null) {
+                LOG.trace("Source {} restored from {}", text.getIdentifier(), file);
+                return ASTSchemaSource.create(text.getIdentifier(), text.getSymbolicName().orElse(null), restored);
+            }
+        }
+
+        final ASTSchemaSource ast = TextToASTTransformer.transformText(text);
+        store(file, (StatementContext) ast.getAST());
+        LOG.trace("Source {} stored in {}", text.getIdentifier(), file);
+        return ast;
+    }
+
+    private static StatementContext restore(final Path file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            final long size = Files.size(file);
+            final int magic = in.readInt();
+            final int version = in.readInt();
+            if (magic == MAGIC && version == VERSION) {
+                return StatementContextSerializer.readFrom(in, size - HEADER_SIZE);
+            }
+            LOG.debug("Ignoring cached file {} with magic {} version {}", file, magic, version);
+        } catch (IOException e) {
+            LOG.warn("Unable to restore cached file {}, ignoring it", file, e);
+        }
+
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOG.debug("Failed to delete cached file {}", file, e);
+        }
+        return null;
+    }
+
+    private void store(final Path file, final StatementContext ast) {
+        // Write to a temporary file first, so concurrent readers never observe a partially-written entry
+        final Path tmp;
+        try {
+            tmp = Files.createTempFile(storageDirectory.toPath(), null, SUFFIX + ".tmp");
+        } catch (IOException e) {
+            LOG.warn("Unable to create temporary file in {}", storageDirectory, e);
+            return;
+        }
+
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                StatementContextSerializer.writeTo(out, ast);
+            }
+            moveInPlace(tmp, file);
+        } catch (IOException e) {
+            LOG.warn("Unable to store cached file {}", file, e);
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException ex) {
+                LOG.debug("Failed to delete temporary file {}", tmp, ex);
+            }
+        }
+    }
+
+    private static void moveInPlace(final Path source, final Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            LOG.trace("Atomic move to {} not supported, falling back to replace", target, e);
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.rfc7950.repo;
+
+import com.google.common.collect.ImmutableList;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.antlr.v4.runtime.CommonToken;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.TerminalNode;
+import org.antlr.v4.runtime.tree.TerminalNodeImpl;
+import org.opendaylight.yangtools.yang.parser.antlr.YangStatementParser;
+import org.opendaylight.yangtools.yang.parser.antlr.YangStatementParser.ArgumentContext;
+import org.opendaylight.yangtools.yang.parser.antlr.YangStatementParser.KeywordContext;
+import org.opendaylight.yangtools.yang.parser.antlr.YangStatementParser.QuotedStringContext;
+import org.opendaylight.yangtools.yang.parser.antlr.YangStatementParser.StatementContext;
+import org.opendaylight.yangtools.yang.parser.antlr.YangStatementParser.StringPartContext;
+import org.opendaylight.yangtools.yang.parser.antlr.YangStatementParser.UnquotedStringContext;
+
+/**
+ * Binary serialization of a {@link StatementContext} tree, as produced by {@link YangStatementStreamSource}. The
+ * format retains all terminals along with their position in the source text, so that a restored tree is
+ * indistinguishable from a freshly-parsed one as far as {@link ArgumentContextUtils} and
+ * {@link StatementContextVisitor} are concerned.
+ */
+final class StatementContextSerializer {
+    private static final byte TAG_RULE = 1;
+    private static final byte TAG_TERMINAL = 2;
+
+    // Sanity limits applied when reading, so that a corrupted entry cannot trigger huge allocations or stack overflow
+    private static final int MAX_CHILD_COUNT = 1 << 20;
+    private static final int MAX_TOKEN_LENGTH = 1 << 24;
+    private static final int MAX_DEPTH = 1024;
+
+    private StatementContextSerializer() {
+        // Hidden on purpose
+    }
+
+    static void writeTo(final DataOutput out, final StatementContext root) throws IOException {
+        writeRule(out, root);
+    }
+
+    /**
+     * Read a tree previously written by {@link #writeTo(DataOutput, StatementContext)}. Since the input may have been
+     * corrupted, all counts and lengths are validated against the amount of data remaining in the entry before they
+     * are acted upon.
+     *
+     * @param in Input to read from
+     * @param entrySize Number of bytes available in the input
+     * @return Restored tree
+     * @throws IOException if the input cannot be read or is not valid
+     */
+    static StatementContext readFrom(final DataInput in, final long entrySize) throws IOException {
+        return new Reader(in, entrySize).readRoot();
+    }
+
+    private static void writeRule(final DataOutput out, final ParserRuleContext ctx) throws IOException {
+        out.writeByte(TAG_RULE);
+        out.writeByte(ctx.getRuleIndex());
+
+        final int count = ctx.getChildCount();
+        out.writeInt(count);
+        for (int i = 0; i < count; ++i) {
+            final ParseTree child = ctx.getChild(i);
+            if (child instanceof ParserRuleContext) {
+                writeRule(out, (ParserRuleContext) child);
+            } else if (child instanceof TerminalNode) {
+                writeTerminal(out, ((TerminalNode) child).getSymbol());
+            } else {
+                throw new IOException("Unhandled child " + child);
+            }
+        }
+    }
+
+    private static void writeTerminal(final DataOutput out, final Token token) throws IOException {
+        out.writeByte(TAG_TERMINAL);
+        out.writeInt(token.getType());
+        out.writeInt(token.getLine());
+        out.writeInt(token.getCharPositionInLine());
+
+        // Not writeUTF(), as it is limited to 64KiB, which may not be enough for descriptions
+        final byte[] bytes = token.getText().getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static ParserRuleContext newContext(final int ruleIndex, final ParserRuleContext parent)
+            throws IOException {
+        switch (ruleIndex) {
+            case YangStatementParser.RULE_statement:
+                return new StatementContext(parent, -1);
+            case YangStatementParser.RULE_keyword:
+                return new KeywordContext(parent, -1);
+            case YangStatementParser.RULE_argument:
+                return new ArgumentContext(parent, -1);
+            case YangStatementParser.RULE_quotedString:
+                return new QuotedStringContext(parent, -1);
+            case YangStatementParser.RULE_unquotedString:
+                return new UnquotedStringContext(parent, -1);
+            case YangStatementParser.RULE_stringPart:
+                return new StringPartContext(parent, -1);
+            default:
+                throw new IOException("Unexpected rule " + ruleIndex);
+        }
+    }
+
+    /**
+     * State of a single {@link #readFrom(DataInput, long)} invocation, tracking the number of bytes remaining in the
+     * entry.
+     */
+    private static final class Reader {
+        private final DataInput in;
+
+        private long remaining;
+        private int depth;
+
+        Reader(final DataInput in, final long entrySize) {
+            this.in = in;
+            this.remaining = entrySize;
+        }
+
+        StatementContext readRoot() throws IOException {
+            final byte tag = readByte();
+            if (tag != TAG_RULE) {
+                throw new IOException("Unexpected root tag " + tag);
+            }
+            final ParserRuleContext root = readRule(null);
+            if (!(root instanceof StatementContext)) {
+                throw new IOException("Unexpected root " + root);
+            }
+            return (StatementContext) root;
+        }
+
+        private ParserRuleContext readRule(final ParserRuleContext parent) throws IOException {
+            if (++depth > MAX_DEPTH) {
+                throw new IOException("Tree is deeper than " + MAX_DEPTH);
+            }
+
+            final ParserRuleContext ctx = newContext(readByte(), parent);
+            final int count = readInt();
+            // Each child takes up at least its tag
+            if (count < 0 || count > MAX_CHILD_COUNT || count > remaining) {
+                throw new IOException("Invalid child count " + count + " with " + remaining + " bytes remaining");
+            }
+
+            final List<ParseTree> children = new ArrayList<>(count);
+            for (int i = 0; i < count; ++i) {
+                final byte tag = readByte();
+                switch (tag) {
+                    case TAG_RULE:
+                        children.add(readRule(ctx));
+                        break;
+                    case TAG_TERMINAL:
+                        final TerminalNodeImpl terminal = new TerminalNodeImpl(readToken());
+                        terminal.setParent(ctx);
+                        children.add(terminal);
+                        break;
+                    default:
+                        throw new IOException("Unexpected tag " + tag);
+                }
+            }
+
+            // Same as YangStatementStreamSource.MAKE_IMMUTABLE_LISTENER does
+            ctx.children = ImmutableList.copyOf(children);
+            if (!children.isEmpty()) {
+                ctx.start = startToken(children.get(0));
+                ctx.stop = stopToken(children.get(children.size() - 1));
+            }
+            --depth;
+            return ctx;
+        }
+
+        private Token readToken() throws IOException {
+            final int type = readInt();
+            final int line = readInt();
+            final int position = readInt();
+            final int length = readInt();
+            if (length < 0 || length > MAX_TOKEN_LENGTH || length > remaining) {
+                throw new IOException("Invalid token length " + length + " with " + remaining + " bytes remaining");
+            }
+            final byte[] bytes = new byte[length];
+            consume(length);
+            in.readFully(bytes);
+
+            final CommonToken token = new CommonToken(type, new String(bytes, StandardCharsets.UTF_8));
+            token.setLine(line);
+            token.setCharPositionInLine(position);
+            return token;
+        }
+
+        private byte readByte() throws IOException {
+            consume(Byte.BYTES);
+            return in.readByte();
+        }
+
+        private int readInt() throws IOException {
+            consume(Integer.BYTES);
+            return in.readInt();
+        }
+
+        private void consume(final int bytes) throws IOException {
+            if (remaining < bytes) {
+                throw new IOException("Entry truncated, " + bytes + " bytes needed, " + remaining + " remaining");
+            }
+            remaining -= bytes;
+        }
+    }
+
+    private static Token startToken(final ParseTree node) {
+        return node instanceof TerminalNode ? ((TerminalNode) node).getSymbol() : ((ParserRuleContext) node).start;
+    }
+
+    private static Token stopToken(final ParseTree node) {
+        return node instanceof TerminalNode ? ((TerminalNode) node).getSymbol() : ((ParserRuleContext) node).stop;
+    }
+}
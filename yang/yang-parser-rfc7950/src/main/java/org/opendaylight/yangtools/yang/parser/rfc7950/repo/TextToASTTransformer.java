@@ -7,6 +7,8 @@
  */
 package org.opendaylight.yangtools.yang.parser.rfc7950.repo;
 
+import static java.util.Objects.requireNonNull;
+
 import com.google.common.annotations.Beta;
 import com.google.common.util.concurrent.Futures;
 import java.io.IOException;
@@ -32,10 +34,29 @@ public final class TextToASTTransformer extends SchemaSourceTransformer<YangText
             input -> Futures.immediateFuture(transformText(input)));
     }
 
+    private TextToASTTransformer(final SchemaRepository provider, final SchemaSourceRegistry consumer,
+            final FilesystemASTSchemaSourceCache cache) {
+        super(provider, YangTextSchemaSource.class, consumer, ASTSchemaSource.class,
+            input -> Futures.immediateFuture(cache.transformText(input)));
+    }
+
     public static TextToASTTransformer create(final SchemaRepository provider, final SchemaSourceRegistry consumer) {
         return new TextToASTTransformer(provider, consumer);
     }
 
+    /**
+     * Create a new transformer, which consults a {@link FilesystemASTSchemaSourceCache} before parsing any source.
+     *
+     * @param provider Provider of {@link YangTextSchemaSource}s
+     * @param consumer Registry of resulting {@link ASTSchemaSource}s
+     * @param cache Persistent cache of parse results
+     * @return A new transformer
+     */
+    public static TextToASTTransformer create(final SchemaRepository provider, final SchemaSourceRegistry consumer,
+            final FilesystemASTSchemaSourceCache cache) {
+        return new TextToASTTransformer(provider, consumer, requireNonNull(cache));
+    }
+
     public static ASTSchemaSource transformText(final YangTextSchemaSource text) throws SchemaSourceException,
             IOException, YangSyntaxErrorException {
         final YangStatementStreamSource src = YangStatementStreamSource.create(text);
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.rfc7950.repo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaSourceException;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.parser.antlr.YangStatementParser;
+import org.opendaylight.yangtools.yang.parser.rfc7950.reactor.RFC7950Reactors;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+
+public class FilesystemASTSchemaSourceCacheTest {
+    private static final String INET_TYPES = "/ietf/ietf-inet-types@2010-09-24.yang";
+    private static final String YANG_TYPES = "/ietf/ietf-yang-types@2010-09-24.yang";
+
+    private Path directory;
+    private FilesystemASTSchemaSourceCache cache;
+
+    @Before
+    public void before() throws IOException {
+        directory = Files.createTempDirectory("ast-cache");
+        cache = new FilesystemASTSchemaSourceCache(directory.toFile());
+    }
+
+    @After
+    public void after() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void testRestoreSameTree() throws SchemaSourceException, IOException, YangSyntaxErrorException {
+        final YangTextSchemaSource text = YangTextSchemaSource.forResource(getClass(), INET_TYPES);
+        final ASTSchemaSource parsed = cache.transformText(text);
+        assertEquals(1, cachedFiles().size());
+
+        final ASTSchemaSource restored = cache.transformText(text);
+        assertNotSame(parsed.getAST(), restored.getAST());
+        assertEquals(parsed.getIdentifier(), restored.getIdentifier());
+        assertEquals(parsed.getDependencyInformation(), restored.getDependencyInformation());
+        assertSameTree(parsed.getAST(), restored.getAST());
+        assertEquals(1, cachedFiles().size());
+    }
+
+    @Test
+    public void testRestoredModel() throws SchemaSourceException, IOException, YangSyntaxErrorException,
+            ReactorException {
+        final YangTextSchemaSource inet = YangTextSchemaSource.forResource(getClass(), INET_TYPES);
+        final YangTextSchemaSource yang = YangTextSchemaSource.forResource(getClass(), YANG_TYPES);
+        cache.transformText(inet);
+        cache.transformText(yang);
+        assertEquals(2, cachedFiles().size());
+
+        final EffectiveModelContext context = RFC7950Reactors.defaultReactor().newBuild()
+            .addSource(YangStatementStreamSource.create(cache.transformText(inet)))
+            .addSource(YangStatementStreamSource.create(cache.transformText(yang)))
+            .buildEffective();
+        assertEquals(2, context.getModules().size());
+    }
+
+    @Test
+    public void testCorruptedEntry() throws SchemaSourceException, IOException, YangSyntaxErrorException {
+        final YangTextSchemaSource text = YangTextSchemaSource.forResource(getClass(), INET_TYPES);
+        final ASTSchemaSource parsed = cache.transformText(text);
+
+        final Path file = cachedFiles().get(0);
+        Files.write(file, new byte[] { 1, 2, 3 });
+
+        final ASTSchemaSource reparsed = cache.transformText(text);
+        assertSameTree(parsed.getAST(), reparsed.getAST());
+        assertEquals(List.of(file), cachedFiles());
+        assertSameTree(parsed.getAST(), cache.transformText(text).getAST());
+    }
+
+    @Test
+    public void testOversizedEntryCounts() throws SchemaSourceException, IOException, YangSyntaxErrorException {
+        final YangTextSchemaSource text = YangTextSchemaSource.forResource(getClass(), INET_TYPES);
+        final ASTSchemaSource parsed = cache.transformText(text);
+        final Path file = cachedFiles().get(0);
+
+        // A statement claiming more children than the entry can hold
+        Files.write(file, corruptedEntry(out -> out.writeInt(Integer.MAX_VALUE)));
+        assertSameTree(parsed.getAST(), cache.transformText(text).getAST());
+
+        // A keyword claiming more bytes than the entry can hold
+        Files.write(file, corruptedEntry(out -> {
+            out.writeInt(1);
+            out.writeByte(1);
+            out.writeByte(YangStatementParser.RULE_keyword);
+            out.writeInt(1);
+            out.writeByte(2);
+            out.writeInt(YangStatementParser.IDENTIFIER);
+            out.writeInt(1);
+            out.writeInt(0);
+            out.writeInt(Integer.MAX_VALUE - 1);
+        }));
+        assertSameTree(parsed.getAST(), cache.transformText(text).getAST());
+
+        // Entries are re-created
+        assertEquals(List.of(file), cachedFiles());
+        final byte[] bytes = Files.readAllBytes(file);
+        assertSameTree(parsed.getAST(), StatementContextSerializer.readFrom(
+            new DataInputStream(new ByteArrayInputStream(bytes, 8, bytes.length - 8)), bytes.length - 8));
+    }
+
+    @Test
+    public void testReadBeyondEntrySize() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bos)) {
+            out.writeByte(1);
+            out.writeByte(YangStatementParser.RULE_statement);
+            out.writeInt(0);
+        }
+
+        final byte[] bytes = bos.toByteArray();
+        assertThrows(IOException.class, () -> StatementContextSerializer.readFrom(
+            new DataInputStream(new ByteArrayInputStream(bytes)), bytes.length - 1));
+    }
+
+    @FunctionalInterface
+    private interface EntryBody {
+        void writeTo(DataOutputStream out) throws IOException;
+    }
+
+    private static byte[] corruptedEntry(final EntryBody body) throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bos)) {
+            // "YAST", version 1
+            out.writeInt(0x59415354);
+            out.writeInt(1);
+            out.writeByte(1);
+            out.writeByte(YangStatementParser.RULE_statement);
+            body.writeTo(out);
+        }
+        return bos.toByteArray();
+    }
+
+    private List<Path> cachedFiles() throws IOException {
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.collect(Collectors.toList());
+        }
+    }
+
+    private static void assertSameTree(final ParserRuleContext expected, final ParserRuleContext actual) {
+        assertEquals(expected.getClass(), actual.getClass());
+        assertEquals(expected.getText(), actual.getText());
+        assertEquals(expected.getStart().getLine(), actual.getStart().getLine());
+        assertEquals(expected.getStart().getCharPositionInLine(), actual.getStart().getCharPositionInLine());
+        assertEquals(expected.getStop().getLine(), actual.getStop().getLine());
+        assertEquals(expected.getChildCount(), actual.getChildCount());
+        for (int i = 0; i < expected.getChildCount(); ++i) {
+            if (expected.getChild(i) instanceof ParserRuleContext) {
+                assertSameTree((ParserRuleContext) expected.getChild(i), (ParserRuleContext) actual.getChild(i));
+            } else {
+                assertEquals(expected.getChild(i).getText(), actual.getChild(i).getText());
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.stmt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.opendaylight.yangtools.yang.stmt.StmtTestUtils.sourceForResource;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.parser.rfc7950.reactor.RFC7950Reactors;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+import org.opendaylight.yangtools.yang.parser.spi.meta.SomeModifiersUnresolvedException;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.CrossSourceStatementReactor.BuildAction;
+
+public class ConcurrentReactorTest {
+    private static final String[] RESOURCES = {
+        "/augment-test/augment-in-augment/bar.yang",
+        "/augment-test/augment-in-augment/baz.yang",
+        "/augment-test/augment-in-augment/foo.yang",
+        "/grouping-test/cascade-uses.yang",
+        "/grouping-test/grouping-definitions.yang",
+        "/grouping-test/uses-grouping.yang",
+        "/ietf/ietf-inet-types@2010-09-24.yang",
+        "/ietf/ietf-yang-types@2010-09-24.yang",
+        "/ietf/iana-timezones@2012-07-09.yang",
+    };
+    private static final String[] SHARED_RESOURCES = {
+        "/concurrent-reactor/acl.yang",
+        "/concurrent-reactor/interfaces.yang",
+        "/concurrent-reactor/routing.yang",
+        "/concurrent-reactor/system.yang",
+        "/ietf/ietf-inet-types@2010-09-24.yang",
+        "/ietf/ietf-yang-types@2010-09-24.yang",
+    };
+
+    private static ExecutorService EXECUTOR;
+
+    @BeforeClass
+    public static void beforeClass() {
+        EXECUTOR = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        EXECUTOR.shutdown();
+        EXECUTOR = null;
+    }
+
+    @Test
+    public void testSameResult() throws ReactorException {
+        final EffectiveModelContext sequential = addSources(RFC7950Reactors.defaultReactor().newBuild(), RESOURCES)
+            .buildEffective();
+        final EffectiveModelContext concurrent = addSources(RFC7950Reactors.defaultReactor().newBuild()
+            .setExecutor(EXECUTOR), RESOURCES).buildEffective();
+
+        assertEquals(RESOURCES.length, sequential.getModules().size());
+        assertSameModules(sequential, concurrent);
+    }
+
+    @Test
+    public void testSharedModules() throws ReactorException {
+        final AtomicInteger tasks = new AtomicInteger();
+        final EffectiveModelContext sequential = addSources(RFC7950Reactors.defaultReactor().newBuild(),
+            SHARED_RESOURCES).buildEffective();
+        final EffectiveModelContext concurrent = addSources(RFC7950Reactors.defaultReactor().newBuild()
+            .setExecutor(command -> {
+                tasks.incrementAndGet();
+                EXECUTOR.execute(command);
+            }), SHARED_RESOURCES).buildEffective();
+
+        assertEquals(SHARED_RESOURCES.length, sequential.getModules().size());
+        assertSameModules(sequential, concurrent);
+
+        // All modules import ietf-yang-types or ietf-inet-types. These are shared once they have been fully declared,
+        // hence statement definition is completed in a single task, while full declaration and effective model are
+        // completed in three tasks each: one for interfaces and acl, one for routing and one for system.
+        assertEquals(7, tasks.get());
+    }
+
+    @Test
+    public void testInvalidAugmentTarget() {
+        final BuildAction build = RFC7950Reactors.defaultReactor().newBuild().setExecutor(EXECUTOR)
+            .addSource(sourceForResource("/negative-scenario/testfile0.yang"))
+            .addSource(sourceForResource("/negative-scenario/testfile3.yang"));
+        assertThrows(SomeModifiersUnresolvedException.class, build::buildEffective);
+    }
+
+    @Test
+    public void testExecutorAfterBuild() throws ReactorException {
+        final BuildAction build = RFC7950Reactors.defaultReactor().newBuild()
+            .addSource(sourceForResource("/grouping-test/cascade-uses.yang"));
+        build.buildEffective();
+        assertThrows(IllegalStateException.class, () -> build.setExecutor(EXECUTOR));
+    }
+
+    private static BuildAction addSources(final BuildAction build, final String... resources) {
+        for (String resource : resources) {
+            build.addSource(sourceForResource(resource));
+        }
+        return build;
+    }
+
+    private static void assertSameModules(final EffectiveModelContext expected, final EffectiveModelContext actual) {
+        assertEquals(expected.getModules().size(), actual.getModules().size());
+        for (Module module : expected.getModules()) {
+            final Optional<? extends Module> other = actual.findModule(module.getQNameModule());
+            assertTrue(other.isPresent());
+            assertEquals(childNames(module), childNames(other.get()));
+            assertEquals(module.getGroupings().size(), other.get().getGroupings().size());
+            assertEquals(module.getTypeDefinitions().size(), other.get().getTypeDefinitions().size());
+            assertEquals(module.getAugmentations().size(), other.get().getAugmentations().size());
+        }
+    }
+
+    private static Set<QName> childNames(final Module module) {
+        return module.getChildNodes().stream().map(DataSchemaNode::getQName).collect(Collectors.toSet());
+    }
+}
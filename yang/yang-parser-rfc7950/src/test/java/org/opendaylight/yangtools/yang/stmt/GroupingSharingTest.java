@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.stmt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.stmt.ContainerEffectiveStatement;
+import org.opendaylight.yangtools.yang.model.api.stmt.LeafEffectiveStatement;
+import org.opendaylight.yangtools.yang.model.api.stmt.ModuleEffectiveStatement;
+import org.opendaylight.yangtools.yang.model.api.stmt.MustEffectiveStatement;
+import org.opendaylight.yangtools.yang.model.api.stmt.WhenEffectiveStatement;
+
+public class GroupingSharingTest {
+    private static final QName FOO = QName.create("foo", "foo");
+    private static final QName ONE = QName.create(FOO, "one");
+    private static final QName TWO = QName.create(FOO, "two");
+
+    @Test
+    public void testContextIndependentStatementsShared() throws Exception {
+        final EffectiveModelContext context = StmtTestUtils.parseYangSource("/grouping-sharing/foo.yang");
+        final ModuleEffectiveStatement module = context.getModuleStatements().get(FOO.getModule());
+
+        final LeafEffectiveStatement one = leaf(module, ONE);
+        final LeafEffectiveStatement two = leaf(module, TWO);
+        // Leaves are instantiated in different places, hence they cannot be shared
+        assertNotSame(one, two);
+
+        // ... but their must and when statements do not depend on where they are instantiated
+        final MustEffectiveStatement mustOne = one.findFirstEffectiveSubstatement(MustEffectiveStatement.class)
+            .orElseThrow();
+        assertEquals(1, mustOne.effectiveSubstatements().size());
+        assertSame(mustOne, two.findFirstEffectiveSubstatement(MustEffectiveStatement.class).orElseThrow());
+        assertSame(one.findFirstEffectiveSubstatement(WhenEffectiveStatement.class).orElseThrow(),
+            two.findFirstEffectiveSubstatement(WhenEffectiveStatement.class).orElseThrow());
+    }
+
+    private static LeafEffectiveStatement leaf(final ModuleEffectiveStatement module, final QName container) {
+        return module.<ContainerEffectiveStatement>findDataTreeNode(container).orElseThrow()
+            .<LeafEffectiveStatement>findDataTreeNode(FOO).orElseThrow();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.stmt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.opendaylight.yangtools.yang.stmt.StmtTestUtils.sourceForResource;
+
+import com.google.common.collect.ImmutableSetMultimap;
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.parser.rfc7950.reactor.RFC7950Reactors;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ModelProcessingPhase;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+import org.opendaylight.yangtools.yang.parser.spi.meta.SomeModifiersUnresolvedException;
+import org.opendaylight.yangtools.yang.parser.spi.source.StatementStreamSource;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.CrossSourceStatementReactor.BuildAction;
+
+public class PhasedReactorTest {
+    @Test
+    public void testResumeBuild() throws ReactorException {
+        final BuildAction build = RFC7950Reactors.defaultReactor().newBuild()
+            .addSource(sourceForResource("/ietf/ietf-inet-types@2010-09-24.yang"))
+            .addSource(sourceForResource("/ietf/ietf-yang-types@2010-09-24.yang"));
+
+        assertSame(build, build.executeUpTo(ModelProcessingPhase.SOURCE_LINKAGE));
+        assertSame(build, build.executeUpTo(ModelProcessingPhase.FULL_DECLARATION));
+        // Phases which have already been executed are not executed again
+        assertSame(build, build.executeUpTo(ModelProcessingPhase.STATEMENT_DEFINITION));
+
+        final EffectiveModelContext context = build.buildEffective();
+        assertEquals(2, context.getModules().size());
+    }
+
+    @Test
+    public void testFailingPhase() throws ReactorException {
+        final BuildAction build = RFC7950Reactors.defaultReactor().newBuild()
+            .addSource(sourceForResource("/negative-scenario/testfile0.yang"))
+            .addSource(sourceForResource("/negative-scenario/testfile3.yang"));
+
+        // Augment targets are resolved only when building the effective model
+        build.executeUpTo(ModelProcessingPhase.FULL_DECLARATION);
+        assertThrows(SomeModifiersUnresolvedException.class,
+            () -> build.executeUpTo(ModelProcessingPhase.EFFECTIVE_MODEL));
+    }
+
+    @Test
+    public void testConfigurationAfterExecution() throws ReactorException {
+        final BuildAction build = RFC7950Reactors.defaultReactor().newBuild()
+            .addSource(sourceForResource("/ietf/ietf-inet-types@2010-09-24.yang"))
+            .executeUpTo(ModelProcessingPhase.SOURCE_PRE_LINKAGE);
+
+        final StatementStreamSource source = sourceForResource("/ietf/ietf-yang-types@2010-09-24.yang");
+        assertThrows(IllegalStateException.class, () -> build.addSource(source));
+        assertThrows(IllegalStateException.class, () -> build.addSources(source));
+        assertThrows(IllegalStateException.class, () -> build.addSources(List.of(source)));
+        assertThrows(IllegalStateException.class, () -> build.addLibSource(source));
+        assertThrows(IllegalStateException.class, () -> build.addLibSources(source));
+        assertThrows(IllegalStateException.class, () -> build.addLibSources(List.of(source)));
+        assertThrows(IllegalStateException.class, () -> build.setSupportedFeatures(Set.of()));
+        assertThrows(IllegalStateException.class,
+            () -> build.setModulesWithSupportedDeviations(ImmutableSetMultimap.of()));
+
+        // The build is not affected and can be completed
+        assertEquals(1, build.buildEffective().getModules().size());
+    }
+}